@@ -4,6 +4,8 @@ import com.gig.collide.api.comment.request.CommentCreateRequest;
 import com.gig.collide.api.comment.request.CommentQueryRequest;
 import com.gig.collide.api.comment.request.CommentUpdateRequest;
 import com.gig.collide.api.comment.response.CommentResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.comment.facade.CommentFacadeServiceImpl;
 import com.gig.collide.web.vo.Result;
@@ -99,6 +101,22 @@ public class CommentController {
         return result.getData();
     }
 
+    /**
+     * 按游标获取目标对象的评论列表
+     */
+    @GetMapping("/target/{targetId}/cursor")
+    public Result<CursorPageResponse<CommentResponse>> getTargetCommentsByCursor(@PathVariable Long targetId,
+                                                                                @RequestParam(required = false) String commentType,
+                                                                                @RequestParam(defaultValue = "0") Long parentCommentId,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(defaultValue = "20") Integer pageSize,
+                                                                                @RequestParam(defaultValue = "false") Boolean withTotal) {
+        log.info("REST请求 - 按游标获取目标评论，目标：{}，类型：{}，游标：{}", targetId, commentType, cursor);
+        CursorPageRequest pageRequest = CursorPageRequest.of(cursor, pageSize);
+        pageRequest.setWithTotal(withTotal);
+        return commentFacadeService.getTargetCommentsByCursor(targetId, commentType, parentCommentId, pageRequest);
+    }
+
     /**
      * 获取评论回复列表
      */
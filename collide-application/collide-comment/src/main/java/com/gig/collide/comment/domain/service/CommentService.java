@@ -2,6 +2,8 @@ package com.gig.collide.comment.domain.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.gig.collide.comment.domain.entity.Comment;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -99,6 +101,18 @@ public interface CommentService {
     IPage<Comment> getTargetComments(Long targetId, String commentType, Long parentCommentId,
                                    Integer pageNum, Integer pageSize, String orderBy, String orderDirection);
 
+    /**
+     * 按游标获取目标对象的正常评论，时间倒序，不受翻页深度影响
+     *
+     * @param targetId 目标对象ID
+     * @param commentType 评论类型
+     * @param parentCommentId 父评论ID
+     * @param seek 游标条件
+     * @return 当前页评论和下一页游标
+     */
+    KeysetPage<Comment> getTargetCommentsByCursor(Long targetId, String commentType, Long parentCommentId,
+                                                  KeysetQuery seek);
+
     /**
      * 获取评论的回复列表
      * 
@@ -248,11 +262,11 @@ public interface CommentService {
 
     /**
      * 更新用户信息（冗余字段同步）
-     * 当用户信息变更时，同步更新评论表中的冗余信息
+     * 当用户信息变更时，分批更新评论表中作为评论者、回复目标的冗余信息，每批单独提交
      * 
      * @param userId 用户ID
-     * @param nickname 新昵称
-     * @param avatar 新头像
+     * @param nickname 新昵称，为空时不更新
+     * @param avatar 新头像，为空时不更新
      * @return 更新成功的记录数
      */
     int updateUserInfo(Long userId, String nickname, String avatar);
@@ -3,11 +3,17 @@ package com.gig.collide.comment.domain.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.base.request.PageCursor;
 import com.gig.collide.comment.domain.entity.Comment;
 import com.gig.collide.comment.domain.service.CommentService;
 import com.gig.collide.comment.infrastructure.mapper.CommentMapper;
+import com.gig.collide.datasource.batch.KeysetBackfill;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +36,22 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentMapper commentMapper;
 
+    @Value("${collide.comment.profile-sync.batch-size:200}")
+    private int profileSyncBatchSize;
+
+    @Value("${collide.comment.profile-sync.batches-per-second:20}")
+    private double profileSyncBatchesPerSecond;
+
+    /**
+     * 用户资料冗余字段的分批回填，本节点所有回填任务共用一个限流
+     */
+    private KeysetBackfill profileBackfill;
+
+    @PostConstruct
+    public void initProfileBackfill() {
+        profileBackfill = new KeysetBackfill(profileSyncBatchSize, profileSyncBatchesPerSecond);
+    }
+
     @Override
     @Transactional
     public Comment createComment(Comment comment) {
@@ -193,6 +215,25 @@ public class CommentServiceImpl implements CommentService {
             parentCommentId, defaultStatus, orderBy, orderDirection);
     }
 
+    @Override
+    public KeysetPage<Comment> getTargetCommentsByCursor(Long targetId, String commentType, Long parentCommentId,
+                                                         KeysetQuery seek) {
+        String defaultStatus = "NORMAL";
+        List<Comment> rows = commentMapper.selectTargetCommentsByCursor(targetId, commentType,
+            parentCommentId, defaultStatus, seek);
+
+        Long total = null;
+        if (seek.isWithTotal()) {
+            LambdaQueryWrapper<Comment> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(Comment::getTargetId, targetId)
+                   .eq(commentType != null && !commentType.isEmpty(), Comment::getCommentType, commentType)
+                   .eq(parentCommentId != null, Comment::getParentCommentId, parentCommentId)
+                   .eq(Comment::getStatus, defaultStatus);
+            total = commentMapper.selectCount(wrapper);
+        }
+        return seek.toPage(rows, comment -> PageCursor.of(comment.getCreateTime(), comment.getId()), total);
+    }
+
     @Override
     public IPage<Comment> getCommentReplies(Long parentCommentId, Integer pageNum, Integer pageSize,
                                           String orderBy, String orderDirection) {
@@ -331,11 +372,21 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    @Transactional
     public int updateUserInfo(Long userId, String nickname, String avatar) {
         log.info("更新用户信息冗余字段，用户：{}，昵称：{}", userId, nickname);
         
-        return commentMapper.updateUserInfo(userId, nickname, avatar);
+        if (userId == null || (nickname == null && avatar == null)) {
+            return 0;
+        }
+        
+        int asAuthor = profileBackfill.run(
+            (afterId, limit) -> commentMapper.selectIdsForProfileSync(userId, false, nickname, avatar, afterId, limit),
+            ids -> commentMapper.updateProfileByIds(ids, false, nickname, avatar));
+        int asReplyTo = profileBackfill.run(
+            (afterId, limit) -> commentMapper.selectIdsForProfileSync(userId, true, nickname, avatar, afterId, limit),
+            ids -> commentMapper.updateProfileByIds(ids, true, nickname, avatar));
+        log.info("用户信息冗余字段更新完成，用户：{}，评论者：{}条，回复目标：{}条", userId, asAuthor, asReplyTo);
+        return asAuthor + asReplyTo;
     }
 
     @Override
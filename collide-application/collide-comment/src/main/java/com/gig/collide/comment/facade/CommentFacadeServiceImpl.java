@@ -5,9 +5,13 @@ import com.gig.collide.api.comment.request.CommentCreateRequest;
 import com.gig.collide.api.comment.request.CommentQueryRequest;
 import com.gig.collide.api.comment.request.CommentUpdateRequest;
 import com.gig.collide.api.comment.response.CommentResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.comment.domain.entity.Comment;
 import com.gig.collide.comment.domain.service.CommentService;
+import com.gig.collide.comment.infrastructure.profile.UserProfileOverlay;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.web.vo.Result;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +38,8 @@ public class CommentFacadeServiceImpl implements CommentFacadeService {
 
     private final CommentService commentService;
 
+    private final UserProfileOverlay userProfileOverlay;
+
     @Override
     public Result<CommentResponse> createComment(CommentCreateRequest request) {
         try {
@@ -163,6 +169,21 @@ public class CommentFacadeServiceImpl implements CommentFacadeService {
         }
     }
 
+    @Override
+    public Result<CursorPageResponse<CommentResponse>> getTargetCommentsByCursor(Long targetId, String commentType,
+                                                                                Long parentCommentId, CursorPageRequest pageRequest) {
+        try {
+            var page = commentService.getTargetCommentsByCursor(targetId, commentType, parentCommentId,
+                KeysetQuery.of(pageRequest));
+            CursorPageResponse<CommentResponse> response = page.toResponse(this::convertToResponse);
+            userProfileOverlay.apply(response.getDatas());
+            return Result.success(response);
+        } catch (Exception e) {
+            log.error("按游标获取目标评论失败", e);
+            return Result.error("COMMENT_GET_ERROR", "获取目标评论失败：" + e.getMessage());
+        }
+    }
+
     @Override
     public Result<PageResponse<CommentResponse>> getCommentReplies(Long parentCommentId, Integer pageNum, Integer pageSize) {
         try {
@@ -397,6 +418,7 @@ public class CommentFacadeServiceImpl implements CommentFacadeService {
         List<CommentResponse> responses = page.getRecords().stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
+        userProfileOverlay.apply(responses);
         
         PageResponse<CommentResponse> pageResponse = new PageResponse<>();
         pageResponse.setDatas(responses);
@@ -0,0 +1,30 @@
+package com.gig.collide.comment.infrastructure;
+
+import com.gig.collide.api.user.UserFacadeService;
+import org.apache.dubbo.config.annotation.DubboReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 评论模块Dubbo配置类
+ * 提供跨模块服务引用配置
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
+public class CommentDubboConfiguration {
+
+    /**
+     * 用户服务引用（用户资料回填与读取时覆盖）
+     */
+    @DubboReference(version = "1.0.0", check = false, timeout = 3000)
+    private UserFacadeService userFacadeService;
+
+    @Bean
+    @ConditionalOnMissingBean(name = "userFacadeService")
+    public UserFacadeService userFacadeService() {
+        return userFacadeService;
+    }
+}
@@ -3,6 +3,7 @@ package com.gig.collide.comment.infrastructure.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.gig.collide.comment.domain.entity.Comment;
+import com.gig.collide.datasource.page.KeysetQuery;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -61,6 +62,22 @@ public interface CommentMapper extends BaseMapper<Comment> {
                                           @Param("orderBy") String orderBy,
                                           @Param("orderDirection") String orderDirection);
 
+    /**
+     * 按游标获取目标对象的评论，时间倒序
+     *
+     * @param targetId 目标对象ID
+     * @param commentType 评论类型
+     * @param parentCommentId 父评论ID
+     * @param status 状态
+     * @param seek 游标条件，查询 seek.limit 条
+     * @return 评论列表
+     */
+    List<Comment> selectTargetCommentsByCursor(@Param("targetId") Long targetId,
+                                               @Param("commentType") String commentType,
+                                               @Param("parentCommentId") Long parentCommentId,
+                                               @Param("status") String status,
+                                               @Param("seek") KeysetQuery seek);
+
     /**
      * 获取用户评论列表
      * 
@@ -184,28 +201,36 @@ public interface CommentMapper extends BaseMapper<Comment> {
                                  @Param("status") String status);
 
     /**
-     * 更新用户信息（冗余字段同步）
+     * 查询冗余用户信息需要更新的评论ID（按ID升序，用于分批回填）
      * 
      * @param userId 用户ID
-     * @param nickname 新昵称
-     * @param avatar 新头像
-     * @return 影响行数
+     * @param asReplyTo true-作为回复目标用户的评论，false-用户发表的评论
+     * @param nickname 新昵称，为空时不比较
+     * @param avatar 新头像，为空时不比较
+     * @param afterId 上一批最后一个ID
+     * @param limit 本批条数
+     * @return 评论ID
      */
-    int updateUserInfo(@Param("userId") Long userId,
-                      @Param("nickname") String nickname,
-                      @Param("avatar") String avatar);
+    List<Long> selectIdsForProfileSync(@Param("userId") Long userId,
+                                       @Param("asReplyTo") boolean asReplyTo,
+                                       @Param("nickname") String nickname,
+                                       @Param("avatar") String avatar,
+                                       @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
 
     /**
-     * 更新回复目标用户信息（冗余字段同步）
+     * 按ID更新冗余用户信息
      * 
-     * @param replyToUserId 回复目标用户ID
-     * @param nickname 新昵称
-     * @param avatar 新头像
+     * @param ids 评论ID
+     * @param asReplyTo true-更新回复目标用户信息，false-更新评论用户信息
+     * @param nickname 新昵称，为空时不更新
+     * @param avatar 新头像，为空时不更新
      * @return 影响行数
      */
-    int updateReplyToUserInfo(@Param("replyToUserId") Long replyToUserId,
-                             @Param("nickname") String nickname,
-                             @Param("avatar") String avatar);
+    int updateProfileByIds(@Param("ids") List<Long> ids,
+                           @Param("asReplyTo") boolean asReplyTo,
+                           @Param("nickname") String nickname,
+                           @Param("avatar") String avatar);
 
     // =================== 高级查询 ===================
 
@@ -0,0 +1,25 @@
+package com.gig.collide.comment.infrastructure.mq;
+
+import com.gig.collide.comment.domain.service.CommentService;
+import com.gig.collide.mq.consumer.AbstractUserProfileConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户资料变更消息消费者，分批回填评论表中的冗余昵称、头像
+ * 事件携带变更后的资料，回填完成前读取时的资料覆盖保证展示不受影响
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class UserProfileConsumer extends AbstractUserProfileConsumer {
+
+    private final CommentService commentService;
+
+    @Override
+    protected void applyProfile(Long userId, String nickname, String avatar) {
+        commentService.updateUserInfo(userId, nickname, avatar);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gig.collide.comment.infrastructure.profile;
+
+import com.gig.collide.api.comment.response.CommentResponse;
+import com.gig.collide.api.user.UserFacadeService;
+import com.gig.collide.api.user.response.UserResponse;
+import com.gig.collide.base.loader.ProfileOverlay;
+import com.gig.collide.web.vo.Result;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 评论列表的用户资料覆盖
+ * 用户改昵称、头像后，评论表中的冗余字段由消息分批回填，回填完成前读取时用用户详情缓存中的最新资料覆盖评论者和回复目标；
+ * 每页一次批量查询，查询失败时保留表中的值
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileOverlay {
+
+    private final UserFacadeService userFacadeService;
+
+    @Value("${collide.comment.profile-sync.overlay-enabled:true}")
+    private boolean enabled;
+
+    private ProfileOverlay<CommentResponse, UserResponse> overlay;
+
+    @PostConstruct
+    public void init() {
+        overlay = ProfileOverlay.<CommentResponse, UserResponse>builder(this::loadUsers, UserResponse::getId)
+                .bind(CommentResponse::getUserId, (comment, user) -> {
+                    comment.setUserNickname(user.getNickname());
+                    comment.setUserAvatar(user.getAvatar());
+                })
+                .bind(CommentResponse::getReplyToUserId, (comment, user) -> {
+                    comment.setReplyToUserNickname(user.getNickname());
+                    comment.setReplyToUserAvatar(user.getAvatar());
+                })
+                .build();
+    }
+
+    public void apply(List<CommentResponse> comments) {
+        if (enabled) {
+            overlay.apply(comments);
+        }
+    }
+
+    private List<UserResponse> loadUsers(List<Long> userIds) {
+        Result<List<UserResponse>> result = userFacadeService.getUsersByIds(userIds);
+        return result != null && Boolean.TRUE.equals(result.getSuccess()) ? result.getData() : null;
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.dubbo.config.spring.context.annotation.EnableDubbo;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import com.alicp.jetcache.anno.config.EnableCreateCacheAnnotation;
 import com.alicp.jetcache.anno.config.EnableMethodCache;
@@ -22,6 +23,7 @@ import com.alicp.jetcache.anno.config.EnableMethodCache;
 @SpringBootApplication(scanBasePackages = "com.gig.collide.content")
 @EnableDubbo
 @EnableTransactionManagement
+@EnableScheduling
 @EnableMethodCache(basePackages = "com.gig.collide.content")
 @EnableCreateCacheAnnotation
 @MapperScan("com.gig.collide.content.infrastructure.mapper")
@@ -7,6 +7,8 @@ import com.gig.collide.api.content.request.ContentQueryRequest;
 import com.gig.collide.api.content.request.ChapterCreateRequest;
 import com.gig.collide.api.content.response.ContentResponse;
 import com.gig.collide.api.content.response.ChapterResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 import com.gig.collide.api.like.LikeFacadeService;
@@ -174,9 +176,13 @@ public class ContentController {
     // 处理内容的基础统计指标，不包含付费相关的销售统计
 
     @PostMapping("/{id}/view")
-    @Operation(summary = "增加浏览量", description = "增加内容的浏览量统计")
+    @Operation(summary = "增加浏览量", description = "增加内容的浏览量统计，传入访客ID时同时计入独立访客")
     public Result<Long> increaseViewCount(@PathVariable("id") Long contentId,
-                                         @Parameter(description = "增加数量") @RequestParam(defaultValue = "1") Integer increment) {
+                                         @Parameter(description = "增加数量") @RequestParam(defaultValue = "1") Integer increment,
+                                         @Parameter(description = "访客用户ID") @RequestParam(required = false) Long viewerId) {
+        if (viewerId != null && increment == 1) {
+            return contentFacadeService.recordView(contentId, viewerId);
+        }
         return contentFacadeService.increaseViewCount(contentId, increment);
     }
 
@@ -231,6 +237,20 @@ public class ContentController {
         return result.getData();
     }
 
+    @GetMapping("/author/{authorId}/cursor")
+    @Operation(summary = "按游标查询作者内容", description = "按创建时间倒序加载，翻页传上一页返回的 nextCursor")
+    public Result<CursorPageResponse<ContentResponse>> getContentsByAuthorByCursor(@PathVariable("authorId") Long authorId,
+                                                                                 @Parameter(description = "内容类型") @RequestParam(required = false) String contentType,
+                                                                                 @Parameter(description = "状态") @RequestParam(required = false) String status,
+                                                                                 @Parameter(description = "上一页返回的游标，第一页不传") @RequestParam(required = false) String cursor,
+                                                                                 @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
+                                                                                 @Parameter(description = "是否统计总数") @RequestParam(defaultValue = "false") Boolean withTotal) {
+        log.debug("REST按游标查询作者内容: 作者ID={}，游标：{}", authorId, cursor);
+        CursorPageRequest pageRequest = CursorPageRequest.of(cursor, pageSize);
+        pageRequest.setWithTotal(withTotal);
+        return contentFacadeService.getContentsByAuthorByCursor(authorId, contentType, status, pageRequest);
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "根据分类查询内容", description = "分页查询指定分类的内容列表")
     public PageResponse<ContentResponse> getContentsByCategory(@PathVariable("categoryId") Long categoryId,
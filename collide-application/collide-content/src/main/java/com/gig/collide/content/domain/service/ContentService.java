@@ -2,6 +2,8 @@ package com.gig.collide.content.domain.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.content.domain.entity.Content;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
 
 import java.util.List;
 import java.util.Map;
@@ -55,6 +57,15 @@ public interface ContentService {
      */
     Content getContentById(Long id, Boolean includeOffline);
 
+    /**
+     * 根据ID批量获取内容
+     * 
+     * @param ids 内容ID列表
+     * @param includeOffline 是否包含下线内容
+     * @return 内容列表，不存在或不可见的内容不返回
+     */
+    List<Content> getContentsByIds(List<Long> ids, Boolean includeOffline);
+
     /**
      * 分页查询内容
      * 
@@ -118,6 +129,17 @@ public interface ContentService {
      */
     Page<Content> getContentsByAuthor(Page<Content> page, Long authorId, String contentType, String status);
 
+    /**
+     * 按游标查询作者内容，创建时间倒序
+     * 
+     * @param authorId 作者ID
+     * @param contentType 内容类型
+     * @param status 状态
+     * @param seek 游标条件
+     * @return 当前页内容和下一页游标
+     */
+    KeysetPage<Content> getContentsByAuthor(Long authorId, String contentType, String status, KeysetQuery seek);
+
     /**
      * 根据分类查询内容
      * 
@@ -178,6 +200,15 @@ public interface ContentService {
      */
     Long increaseViewCount(Long contentId, Integer increment);
 
+    /**
+     * 记录一次浏览，浏览量加1并计入独立访客
+     * 
+     * @param contentId 内容ID
+     * @param viewerId 访客用户ID，可为空
+     * @return 更新后的浏览量
+     */
+    Long recordView(Long contentId, Long viewerId);
+
     /**
      * 增加点赞数
      * 
@@ -226,10 +257,11 @@ public interface ContentService {
 
     /**
      * 更新作者信息（冗余字段）
+     * 分批更新，每批单独提交
      * 
      * @param authorId 作者ID
-     * @param nickname 新昵称
-     * @param avatar 新头像
+     * @param nickname 新昵称，为空时不更新
+     * @param avatar 新头像，为空时不更新
      * @return 更新成功的记录数
      */
     Integer updateAuthorInfo(Long authorId, String nickname, String avatar);
@@ -2,11 +2,20 @@ package com.gig.collide.content.domain.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.base.request.PageCursor;
 import com.gig.collide.content.domain.entity.Content;
 import com.gig.collide.content.domain.service.ContentService;
+import com.gig.collide.content.infrastructure.counter.ContentCounterEngine;
+import com.gig.collide.content.infrastructure.counter.ContentCounterType;
 import com.gig.collide.content.infrastructure.mapper.ContentMapper;
+import com.gig.collide.content.infrastructure.mq.ContentEventPublisher;
+import com.gig.collide.datasource.batch.KeysetBackfill;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -29,6 +38,26 @@ public class ContentServiceImpl implements ContentService {
 
     private final ContentMapper contentMapper;
 
+    private final ContentEventPublisher contentEventPublisher;
+
+    private final ContentCounterEngine contentCounterEngine;
+
+    @Value("${collide.content.profile-sync.batch-size:200}")
+    private int profileSyncBatchSize;
+
+    @Value("${collide.content.profile-sync.batches-per-second:20}")
+    private double profileSyncBatchesPerSecond;
+
+    /**
+     * 作者资料冗余字段的分批回填，本节点所有回填任务共用一个限流
+     */
+    private KeysetBackfill profileBackfill;
+
+    @PostConstruct
+    public void initProfileBackfill() {
+        profileBackfill = new KeysetBackfill(profileSyncBatchSize, profileSyncBatchesPerSecond);
+    }
+
     // =================== 基础CRUD ===================
 
     @Override
@@ -55,6 +84,7 @@ public class ContentServiceImpl implements ContentService {
         // 保存内容
         contentMapper.insert(content);
         
+        contentEventPublisher.publishCreated(content.getId());
         log.info("内容创建成功: ID={}, 标题={}", content.getId(), content.getTitle());
         return content;
     }
@@ -81,6 +111,7 @@ public class ContentServiceImpl implements ContentService {
         
         // 更新内容
         contentMapper.updateById(content);
+        contentEventPublisher.publishUpdated(content.getId());
         
         log.info("内容更新成功: ID={}", content.getId());
         return content;
@@ -104,6 +135,7 @@ public class ContentServiceImpl implements ContentService {
         // 逻辑删除（设为OFFLINE状态）
         content.setStatus("OFFLINE");
         contentMapper.updateById(content);
+        contentEventPublisher.publishDeleted(contentId);
         
         log.info("内容删除成功: ID={}", contentId);
         return true;
@@ -125,9 +157,23 @@ public class ContentServiceImpl implements ContentService {
             return null;
         }
         
+        contentCounterEngine.applyPending(content);
         return content;
     }
 
+    @Override
+    public List<Content> getContentsByIds(List<Long> ids, Boolean includeOffline) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        boolean withOffline = Boolean.TRUE.equals(includeOffline);
+        
+        List<Content> contents = contentMapper.selectBatchIds(ids);
+        contents.removeIf(content -> !withOffline && "OFFLINE".equals(content.getStatus()));
+        contents.forEach(contentCounterEngine::applyPending);
+        return contents;
+    }
+
     @Override
     public Page<Content> queryContents(Page<Content> page, String title, String contentType,
                                      Long authorId, Long categoryId, String status, String reviewStatus,
@@ -202,6 +248,7 @@ public class ContentServiceImpl implements ContentService {
         // 发布内容
         content.publish();
         contentMapper.updateById(content);
+        contentEventPublisher.publishUpdated(contentId);
         
         log.info("内容发布成功: ID={}", contentId);
         return content;
@@ -226,6 +273,7 @@ public class ContentServiceImpl implements ContentService {
         // 下线内容
         content.offline();
         contentMapper.updateById(content);
+        contentEventPublisher.publishDeleted(contentId);
         
         log.info("内容下线成功: ID={}", contentId);
         return true;
@@ -249,6 +297,7 @@ public class ContentServiceImpl implements ContentService {
         }
         
         contentMapper.updateById(content);
+        contentEventPublisher.publishUpdated(contentId);
         
         log.info("内容审核完成: ID={}, 结果={}", contentId, reviewStatus);
         return content;
@@ -270,6 +319,22 @@ public class ContentServiceImpl implements ContentService {
         return contentMapper.selectPage(page, queryWrapper);
     }
 
+    @Override
+    public KeysetPage<Content> getContentsByAuthor(Long authorId, String contentType, String status, KeysetQuery seek) {
+        LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(Content::getAuthorId, authorId);
+        if (StringUtils.hasText(contentType)) {
+            queryWrapper.eq(Content::getContentType, contentType);
+        }
+        if (StringUtils.hasText(status)) {
+            queryWrapper.eq(Content::getStatus, status);
+        }
+        Long total = seek.isWithTotal() ? contentMapper.selectCount(queryWrapper) : null;
+
+        List<Content> rows = contentMapper.selectList(seek.apply(queryWrapper, Content::getCreateTime, Content::getId, true));
+        return seek.toPage(rows, content -> PageCursor.of(content.getCreateTime(), content.getId()), total);
+    }
+
     @Override
     public Page<Content> getContentsByCategory(Page<Content> page, Long categoryId, String contentType) {
         LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
@@ -339,60 +404,34 @@ public class ContentServiceImpl implements ContentService {
     // =================== 统计功能 ===================
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Long increaseViewCount(Long contentId, Integer increment) {
         log.debug("增加浏览量: ID={}, 增量={}", contentId, increment);
-        
-        // 使用MyBatis-Plus更新方式
-        Content content = contentMapper.selectById(contentId);
-        if (content != null) {
-            content.setViewCount((content.getViewCount() != null ? content.getViewCount() : 0L) + increment);
-            contentMapper.updateById(content);
-            return content.getViewCount();
-        }
-        return 0L;
+        return contentCounterEngine.increment(contentId, ContentCounterType.VIEW, increment);
+    }
+
+    @Override
+    public Long recordView(Long contentId, Long viewerId) {
+        Long viewCount = contentCounterEngine.increment(contentId, ContentCounterType.VIEW, 1);
+        contentCounterEngine.recordViewer(contentId, viewerId);
+        return viewCount;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Long increaseLikeCount(Long contentId, Integer increment) {
         log.debug("增加点赞数: ID={}, 增量={}", contentId, increment);
-        
-        Content content = contentMapper.selectById(contentId);
-        if (content != null) {
-            content.setLikeCount((content.getLikeCount() != null ? content.getLikeCount() : 0L) + increment);
-            contentMapper.updateById(content);
-            return content.getLikeCount();
-        }
-        return 0L;
+        return contentCounterEngine.increment(contentId, ContentCounterType.LIKE, increment);
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Long increaseCommentCount(Long contentId, Integer increment) {
         log.debug("增加评论数: ID={}, 增量={}", contentId, increment);
-        
-        Content content = contentMapper.selectById(contentId);
-        if (content != null) {
-            content.setCommentCount((content.getCommentCount() != null ? content.getCommentCount() : 0L) + increment);
-            contentMapper.updateById(content);
-            return content.getCommentCount();
-        }
-        return 0L;
+        return contentCounterEngine.increment(contentId, ContentCounterType.COMMENT, increment);
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Long increaseFavoriteCount(Long contentId, Integer increment) {
         log.debug("增加收藏数: ID={}, 增量={}", contentId, increment);
-        
-        Content content = contentMapper.selectById(contentId);
-        if (content != null) {
-            content.setFavoriteCount((content.getFavoriteCount() != null ? content.getFavoriteCount() : 0L) + increment);
-            contentMapper.updateById(content);
-            return content.getFavoriteCount();
-        }
-        return 0L;
+        return contentCounterEngine.increment(contentId, ContentCounterType.FAVORITE, increment);
     }
 
     @Override
@@ -417,7 +456,8 @@ public class ContentServiceImpl implements ContentService {
             content.setScoreTotal(scoreTotal);
             content.setScoreCount(scoreCount);
             
-            contentMapper.updateById(content);
+            // 只写评分字段，整行回写会覆盖计数刷盘的结果
+            contentMapper.updateScoreStats(contentId, scoreCount, scoreTotal);
             return content.getAverageScore();
         }
         return 0.0;
@@ -430,6 +470,7 @@ public class ContentServiceImpl implements ContentService {
         if (content == null) {
             return Collections.emptyMap();
         }
+        contentCounterEngine.applyPending(content);
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("id", content.getId());
@@ -440,6 +481,7 @@ public class ContentServiceImpl implements ContentService {
         stats.put("favoriteCount", content.getFavoriteCount());
         stats.put("scoreCount", content.getScoreCount());
         stats.put("averageScore", content.getAverageScore());
+        stats.put("uniqueViewerCount", contentCounterEngine.uniqueViewers(contentId));
         stats.put("createTime", content.getCreateTime());
         stats.put("updateTime", content.getUpdateTime());
         return stats;
@@ -448,30 +490,19 @@ public class ContentServiceImpl implements ContentService {
     // =================== 数据同步 ===================
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Integer updateAuthorInfo(Long authorId, String nickname, String avatar) {
         log.info("同步作者信息: ID={}, 昵称={}", authorId, nickname);
         
-        // 使用MyBatis-Plus更新相关内容的作者信息
-        LambdaQueryWrapper<Content> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Content::getAuthorId, authorId);
-        
-        List<Content> contents = contentMapper.selectList(queryWrapper);
-        if (contents.isEmpty()) {
+        String newNickname = StringUtils.hasText(nickname) ? nickname : null;
+        String newAvatar = StringUtils.hasText(avatar) ? avatar : null;
+        if (authorId == null || (newNickname == null && newAvatar == null)) {
             return 0;
         }
         
-        int updateCount = 0;
-        for (Content content : contents) {
-            if (StringUtils.hasText(nickname)) {
-                content.setAuthorNickname(nickname);
-            }
-            if (StringUtils.hasText(avatar)) {
-                content.setAuthorAvatar(avatar);
-            }
-            contentMapper.updateById(content);
-            updateCount++;
-        }
+        // 按主键分批更新，只更新冗余字段，不再逐条读出整行再整行写回
+        int updateCount = profileBackfill.run(
+                (afterId, limit) -> contentMapper.selectIdsForAuthorSync(authorId, newNickname, newAvatar, afterId, limit),
+                ids -> contentMapper.updateAuthorInfoByIds(ids, newNickname, newAvatar));
         
         log.info("作者信息同步完成: 更新{}条记录", updateCount);
         return updateCount;
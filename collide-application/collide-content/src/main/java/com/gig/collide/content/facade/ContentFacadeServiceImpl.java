@@ -8,12 +8,18 @@ import com.gig.collide.api.content.request.ContentQueryRequest;
 import com.gig.collide.api.content.request.ChapterCreateRequest;
 import com.gig.collide.api.content.response.ContentResponse;
 import com.gig.collide.api.content.response.ChapterResponse;
+import com.gig.collide.api.user.response.UserResponse;
+import com.gig.collide.base.loader.DataLoader;
+import com.gig.collide.base.loader.DataLoaderRegistry;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 import com.gig.collide.content.domain.entity.Content;
 import com.gig.collide.content.domain.entity.ContentChapter;
 import com.gig.collide.content.domain.service.ContentService;
 import com.gig.collide.content.domain.service.ContentChapterService;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.api.user.UserFacadeService;
 import com.gig.collide.api.category.CategoryFacadeService;
 import com.gig.collide.api.like.LikeFacadeService;
@@ -24,15 +30,29 @@ import org.apache.dubbo.config.annotation.DubboService;
 import org.springframework.beans.BeanUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.alicp.jetcache.Cache;
+import com.alicp.jetcache.CacheManager;
 import com.alicp.jetcache.anno.Cached;
 import com.alicp.jetcache.anno.CacheInvalidate;
 import com.alicp.jetcache.anno.CacheUpdate;
 import com.alicp.jetcache.anno.CacheType;
 import com.gig.collide.content.infrastructure.cache.ContentCacheConstant;
+import com.gig.collide.content.infrastructure.counter.ContentCounterEngine;
+import com.gig.collide.content.infrastructure.counter.ContentCounterType;
+import com.alicp.jetcache.template.QuickConfig;
+import com.gig.collide.content.infrastructure.enrich.EnrichmentExecutor;
+import jakarta.annotation.PostConstruct;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.concurrent.TimeUnit;
 
@@ -52,6 +72,9 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
 
     private final ContentService contentService;
     private final ContentChapterService contentChapterService;
+    private final EnrichmentExecutor enrichmentExecutor;
+    private final CacheManager cacheManager;
+    private final ContentCounterEngine contentCounterEngine;
     
     // =================== 跨模块服务注入 ===================
     @Autowired
@@ -66,6 +89,28 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
     @Autowired
     private FavoriteFacadeService favoriteFacadeService;
 
+    /**
+     * 内容详情缓存，与 getContentById 上的 @Cached 为同一个缓存实例，用于批量读取
+     */
+    private Cache<String, Result<ContentResponse>> contentDetailCache;
+
+    /**
+     * 内容统计缓存，与各写操作上 @CacheInvalidate 的统计缓存为同一个缓存实例
+     */
+    private Cache<String, Result<Map<String, Object>>> contentStatisticsCache;
+
+    @PostConstruct
+    public void initCache() {
+        contentDetailCache = cacheManager.getOrCreateCache(QuickConfig.newBuilder(ContentCacheConstant.CONTENT_DETAIL_CACHE)
+                .expire(Duration.ofMinutes(ContentCacheConstant.CONTENT_DETAIL_EXPIRE))
+                .cacheType(CacheType.BOTH)
+                .build());
+        contentStatisticsCache = cacheManager.getOrCreateCache(QuickConfig.newBuilder(ContentCacheConstant.CONTENT_STATISTICS_CACHE)
+                .expire(Duration.ofMinutes(ContentCacheConstant.STATISTICS_EXPIRE))
+                .cacheType(CacheType.BOTH)
+                .build());
+    }
+
     // =================== 内容管理 ===================
 
     @Override
@@ -185,13 +230,34 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
         }
     }
 
+    /**
+     * 详情先读缓存，缓存键与原 @Cached 的 CONTENT_DETAIL_KEY 一致；
+     * 浏览数、评论数在读取缓存后按计数引擎的当前值覆盖，缓存中的计数不会滞后一个缓存周期
+     */
     @Override
-    @Cached(name = ContentCacheConstant.CONTENT_DETAIL_CACHE,
-            key = ContentCacheConstant.CONTENT_DETAIL_KEY,
-            expire = ContentCacheConstant.CONTENT_DETAIL_EXPIRE,
-            timeUnit = TimeUnit.MINUTES,
-            cacheType = CacheType.BOTH)
     public Result<ContentResponse> getContentById(Long contentId, Boolean includeOffline) {
+        Result<ContentResponse> result = contentDetailCache.computeIfAbsent(
+                "content:detail:" + contentId + ":" + includeOffline, key -> loadContentDetail(contentId, includeOffline));
+        ContentResponse cached = dataOf(result);
+        if (cached == null) {
+            return result;
+        }
+        return Result.success(withLiveCounts(contentId, cached));
+    }
+
+    /**
+     * 复制缓存中的详情并覆盖本模块维护的计数；缓存对象在本地缓存中共享，不能直接修改。
+     * 点赞数、收藏数由点赞、收藏服务实时补充，这里只覆盖浏览数、评论数
+     */
+    private ContentResponse withLiveCounts(Long contentId, ContentResponse cached) {
+        ContentResponse response = new ContentResponse();
+        BeanUtils.copyProperties(cached, response);
+        overlayCount(contentId, ContentCounterType.VIEW, response::setViewCount);
+        overlayCount(contentId, ContentCounterType.COMMENT, response::setCommentCount);
+        return response;
+    }
+
+    private Result<ContentResponse> loadContentDetail(Long contentId, Boolean includeOffline) {
         try {
             log.debug("获取内容详情: ID={}", contentId);
             
@@ -203,63 +269,83 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
             
             ContentResponse response = convertToResponse(content);
             
+            // 作者、分类、实时点赞数、实时收藏数并发查询，超时或失败的字段保留数据库中的值
+            enrichmentExecutor.begin()
+                    .add("author", key("user", content.getAuthorId()),
+                            () -> dataOf(userFacadeService.getUserById(content.getAuthorId())),
+                            user -> {
+                                response.setAuthorNickname(user.getNickname());
+                                response.setAuthorAvatar(user.getAvatar());
+                            })
+                    .add("category", key("category", content.getCategoryId()),
+                            () -> dataOf(categoryFacadeService.getCategoryById(content.getCategoryId(), false)),
+                            category -> response.setCategoryName(category.getName()))
+                    .add("likeCount", key("like:CONTENT", contentId),
+                            () -> dataOf(likeFacadeService.getLikeCount("CONTENT", contentId)),
+                            response::setLikeCount)
+                    .add("favoriteCount", key("favorite:CONTENT", contentId),
+                            () -> dataOf(favoriteFacadeService.getTargetFavoriteCount("CONTENT", contentId)),
+                            response::setFavoriteCount)
+                    .await();
             
-            // 1. 获取作者详细信息
-            try {
-                var userResult = userFacadeService.getUserById(content.getAuthorId());
-                if (userResult.getSuccess()) {
-                    var user = userResult.getData();
-                    response.setAuthorNickname(user.getNickname());
-                    response.setAuthorAvatar(user.getAvatar());
-                    log.debug("作者信息获取成功: {}", user.getNickname());
-                }
-            } catch (Exception e) {
-                log.warn("获取作者信息失败: authorId={}, error={}", content.getAuthorId(), e.getMessage());
-                // 不影响主流程，继续执行
-            }
+            return Result.success(response);
             
-            // 2. 获取分类详细信息
-            try {
-                var categoryResult = categoryFacadeService.getCategoryById(content.getCategoryId(), false);
-                if (categoryResult.getSuccess()) {
-                    var category = categoryResult.getData();
-                    response.setCategoryName(category.getName());
-                    log.debug("分类信息获取成功: {}", category.getName());
-                }
-            } catch (Exception e) {
-                log.warn("获取分类信息失败: categoryId={}, error={}", content.getCategoryId(), e.getMessage());
-                // 不影响主流程，继续执行
+        } catch (Exception e) {
+            log.error("获取内容详情失败", e);
+            return Result.error("CONTENT_GET_FAILED", "获取内容详情失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<List<ContentResponse>> getContentsByIds(List<Long> contentIds, Boolean includeOffline) {
+        try {
+            if (CollectionUtils.isEmpty(contentIds)) {
+                return Result.success(Collections.emptyList());
             }
-            
-            // 3. 获取实时点赞数
-            try {
-                var likeCountResult = likeFacadeService.getLikeCount("CONTENT", contentId);
-                if (likeCountResult.getSuccess()) {
-                    response.setLikeCount(likeCountResult.getData());
-                    log.debug("点赞数获取成功: {}", likeCountResult.getData());
+            boolean withOffline = Boolean.TRUE.equals(includeOffline);
+            Set<Long> distinctIds = new LinkedHashSet<>(contentIds);
+            distinctIds.remove(null);
+            log.debug("批量获取内容: size={}", distinctIds.size());
+            
+            // 1. 批量读详情缓存，缓存键与 getContentById 一致；命中的详情复制后覆盖实时计数
+            Map<String, Long> cacheKeys = new LinkedHashMap<>();
+            distinctIds.forEach(id -> cacheKeys.put("content:detail:" + id + ":" + withOffline, id));
+            Map<String, Result<ContentResponse>> cached = contentDetailCache.getAll(cacheKeys.keySet());
+            
+            Map<Long, ContentResponse> found = new LinkedHashMap<>();
+            List<Long> missedIds = new ArrayList<>();
+            cacheKeys.forEach((key, id) -> {
+                Result<ContentResponse> hit = cached.get(key);
+                if (hit == null) {
+                    missedIds.add(id);
+                } else if (dataOf(hit) != null) {
+                    found.put(id, withLiveCounts(id, hit.getData()));
                 }
-            } catch (Exception e) {
-                log.warn("获取点赞数失败: contentId={}, error={}", contentId, e.getMessage());
-                // 使用数据库中的点赞数作为备用
+            });
+            
+            // 2. 未命中的内容一次查库，批量补充作者和实时计数
+            // 详情缓存保存的是完整补充后的详情，这里不回写，由 getContentById 填充
+            if (!missedIds.isEmpty()) {
+                List<ContentResponse> loaded = contentService.getContentsByIds(missedIds, withOffline).stream()
+                        .map(this::convertToResponse)
+                        .collect(Collectors.toList());
+                enrichList(loaded);
+                loaded.forEach(response -> found.put(response.getId(), response));
             }
             
-            // 4. 获取实时收藏数
-            try {
-                var favoriteCountResult = favoriteFacadeService.getTargetFavoriteCount("CONTENT", contentId);
-                if (favoriteCountResult.getSuccess()) {
-                    response.setFavoriteCount(favoriteCountResult.getData());
-                    log.debug("收藏数获取成功: {}", favoriteCountResult.getData());
+            // 3. 按请求顺序返回
+            List<ContentResponse> responses = new ArrayList<>(found.size());
+            for (Long id : distinctIds) {
+                ContentResponse response = found.get(id);
+                if (response != null) {
+                    responses.add(response);
                 }
-            } catch (Exception e) {
-                log.warn("获取收藏数失败: contentId={}, error={}", contentId, e.getMessage());
-                // 使用数据库中的收藏数作为备用
             }
-            
-            return Result.success(response);
+            return Result.success(responses);
             
         } catch (Exception e) {
-            log.error("获取内容详情失败", e);
-            return Result.error("CONTENT_GET_FAILED", "获取内容详情失败: " + e.getMessage());
+            log.error("批量获取内容失败", e);
+            return Result.error("CONTENT_BATCH_GET_FAILED", "批量获取内容失败: " + e.getMessage());
         }
     }
 
@@ -443,6 +529,17 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
         }
     }
 
+    @Override
+    public Result<Long> recordView(Long contentId, Long viewerId) {
+        try {
+            Long newCount = contentService.recordView(contentId, viewerId);
+            return Result.success(newCount);
+        } catch (Exception e) {
+            log.error("记录浏览失败", e);
+            return Result.error("","记录浏览失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public Result<Long> increaseLikeCount(Long contentId, Integer increment) {
         try {
@@ -507,13 +604,28 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
         }
     }
 
+    /**
+     * 统计先读缓存，缓存键与原 @Cached 的 CONTENT_STATISTICS_KEY 一致；
+     * 四项计数在读取缓存后按计数引擎的当前值覆盖，再计算热度评分
+     */
     @Override
-    @Cached(name = ContentCacheConstant.CONTENT_STATISTICS_CACHE,
-            key = ContentCacheConstant.CONTENT_STATISTICS_KEY,
-            expire = ContentCacheConstant.STATISTICS_EXPIRE,
-            timeUnit = TimeUnit.MINUTES,
-            cacheType = CacheType.BOTH)
     public Result<Map<String, Object>> getContentStatistics(Long contentId) {
+        Result<Map<String, Object>> result = contentStatisticsCache.computeIfAbsent(
+                "content:statistics:" + contentId, key -> loadContentStatistics(contentId));
+        Map<String, Object> cached = dataOf(result);
+        if (cached == null) {
+            return result;
+        }
+        Map<String, Object> statistics = new LinkedHashMap<>(cached);
+        overlayCount(contentId, ContentCounterType.VIEW, count -> statistics.put("viewCount", count));
+        overlayCount(contentId, ContentCounterType.LIKE, count -> statistics.put("likeCount", count));
+        overlayCount(contentId, ContentCounterType.COMMENT, count -> statistics.put("commentCount", count));
+        overlayCount(contentId, ContentCounterType.FAVORITE, count -> statistics.put("favoriteCount", count));
+        putHotScore(statistics);
+        return Result.success(statistics);
+    }
+
+    private Result<Map<String, Object>> loadContentStatistics(Long contentId) {
         try {
             log.debug("获取内容统计: contentId={}", contentId);
             
@@ -522,46 +634,19 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
             
             // =================== 跨模块实时统计增强 ===================
             
-            // 1. 获取实时点赞统计
-            try {
-                var likeCountResult = likeFacadeService.getLikeCount("CONTENT", contentId);
-                if (likeCountResult.getSuccess()) {
-                    statistics.put("realTimeLikeCount", likeCountResult.getData());
-                    log.debug("实时点赞数: {}", likeCountResult.getData());
-                }
-            } catch (Exception e) {
-                log.warn("获取点赞统计失败: {}", e.getMessage());
-            }
+            // 1. 实时点赞、收藏统计并发查询，与内容详情共用执行中的查询
+            enrichmentExecutor.begin()
+                    .add("realTimeLikeCount", key("like:CONTENT", contentId),
+                            () -> dataOf(likeFacadeService.getLikeCount("CONTENT", contentId)),
+                            likeCount -> statistics.put("realTimeLikeCount", likeCount))
+                    .add("realTimeFavoriteCount", key("favorite:CONTENT", contentId),
+                            () -> dataOf(favoriteFacadeService.getTargetFavoriteCount("CONTENT", contentId)),
+                            favoriteCount -> statistics.put("realTimeFavoriteCount", favoriteCount))
+                    .await();
             
-            // 2. 获取实时收藏统计
-            try {
-                var favoriteCountResult = favoriteFacadeService.getTargetFavoriteCount("CONTENT", contentId);
-                if (favoriteCountResult.getSuccess()) {
-                    statistics.put("realTimeFavoriteCount", favoriteCountResult.getData());
-                    log.debug("实时收藏数: {}", favoriteCountResult.getData());
-                }
-            } catch (Exception e) {
-                log.warn("获取收藏统计失败: {}", e.getMessage());
-            }
+            // 2. 热度评分依赖实时计数，在读取缓存后计算
             
-            // 3. 计算热度评分（综合多个维度）
-            try {
-                Integer viewCount = (Integer) statistics.getOrDefault("viewCount", 0);
-                Integer likeCount = (Integer) statistics.getOrDefault("realTimeLikeCount", 
-                                                                       statistics.getOrDefault("likeCount", 0));
-                Integer favoriteCount = (Integer) statistics.getOrDefault("realTimeFavoriteCount", 
-                                                                         statistics.getOrDefault("favoriteCount", 0));
-                Integer commentCount = (Integer) statistics.getOrDefault("commentCount", 0);
-                
-                // 热度计算公式：浏览量*0.1 + 点赞数*2 + 收藏数*5 + 评论数*3
-                Double hotScore = viewCount * 0.1 + likeCount * 2 + favoriteCount * 5 + commentCount * 3;
-                statistics.put("hotScore", Math.round(hotScore * 100.0) / 100.0);
-                log.debug("热度评分: {}", hotScore);
-            } catch (Exception e) {
-                log.warn("计算热度评分失败: {}", e.getMessage());
-            }
-            
-            // 4. 添加统计时间戳
+            // 3. 添加统计时间戳
             statistics.put("statisticsTime", System.currentTimeMillis());
             statistics.put("lastUpdateTime", java.time.LocalDateTime.now().toString());
             
@@ -596,6 +681,22 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
         }
     }
 
+    @Override
+    public Result<CursorPageResponse<ContentResponse>> getContentsByAuthorByCursor(Long authorId, String contentType,
+                                                                                  String status, CursorPageRequest pageRequest) {
+        try {
+            var page = contentService.getContentsByAuthor(authorId, contentType, status, KeysetQuery.of(pageRequest));
+            CursorPageResponse<ContentResponse> response = page.toResponse(this::convertToResponse);
+            if (response.getDatas() != null) {
+                enrichList(response.getDatas());
+            }
+            return Result.success(response);
+        } catch (Exception e) {
+            log.error("按游标查询作者内容失败", e);
+            return Result.error("CONTENT_QUERY_ERROR", "查询失败: " + e.getMessage());
+        }
+    }
+
     @Override
     @Cached(name = ContentCacheConstant.CONTENT_BY_CATEGORY_CACHE,
             key = ContentCacheConstant.CATEGORY_CONTENT_KEY,
@@ -716,6 +817,106 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
         }
     }
 
+    // =================== 字段补充 ===================
+
+    private static String key(String type, Long id) {
+        return id == null ? null : type + ":" + id;
+    }
+
+    private static <T> T dataOf(Result<T> result) {
+        return result != null && Boolean.TRUE.equals(result.getSuccess()) ? result.getData() : null;
+    }
+
+    private static long countOf(Map<String, Object> statistics, String name) {
+        return statistics.get(name) instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * 用计数引擎的当前值覆盖缓存中的计数，读取失败或内容已不存在时保留缓存值
+     */
+    private void overlayCount(Long contentId, ContentCounterType type, Consumer<Long> setter) {
+        try {
+            Long count = contentCounterEngine.current(contentId, type);
+            if (count != null) {
+                setter.accept(count);
+            }
+        } catch (Exception e) {
+            log.warn("读取内容实时计数失败，使用缓存值: contentId={}, type={}, 错误={}", contentId, type, e.getMessage());
+        }
+    }
+
+    /**
+     * 热度评分：浏览量*0.1 + 点赞数*2 + 收藏数*5 + 评论数*3，点赞、收藏优先使用实时统计
+     */
+    private static void putHotScore(Map<String, Object> statistics) {
+        try {
+            long viewCount = countOf(statistics, "viewCount");
+            long likeCount = statistics.containsKey("realTimeLikeCount")
+                    ? countOf(statistics, "realTimeLikeCount") : countOf(statistics, "likeCount");
+            long favoriteCount = statistics.containsKey("realTimeFavoriteCount")
+                    ? countOf(statistics, "realTimeFavoriteCount") : countOf(statistics, "favoriteCount");
+            long commentCount = countOf(statistics, "commentCount");
+            
+            Double hotScore = viewCount * 0.1 + likeCount * 2 + favoriteCount * 5 + commentCount * 3;
+            statistics.put("hotScore", Math.round(hotScore * 100.0) / 100.0);
+            log.debug("热度评分: {}", hotScore);
+        } catch (Exception e) {
+            log.warn("计算热度评分失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 列表补充作者和实时点赞数、收藏数
+     * 逐行登记查询键，每种数据合并为一次批量调用；超时或失败的字段保留数据库中的值
+     */
+    private void enrichList(List<ContentResponse> responses) {
+        if (responses.isEmpty() || !enrichmentExecutor.isListEnabled()) {
+            return;
+        }
+        DataLoader<Long, UserResponse> authors = DataLoader.of(userIds -> {
+            List<UserResponse> users = dataOf(userFacadeService.getUsersByIds(userIds));
+            return users == null ? null : users.stream()
+                    .collect(Collectors.toMap(UserResponse::getId, user -> user, (a, b) -> a));
+        });
+        DataLoader<Long, Long> likeCounts = DataLoader.of(
+                contentIds -> dataOf(likeFacadeService.batchGetLikeCount("CONTENT", contentIds)));
+        DataLoader<Long, Long> favoriteCounts = DataLoader.of(
+                contentIds -> dataOf(favoriteFacadeService.batchGetTargetFavoriteCount("CONTENT", contentIds)));
+        
+        List<ListRow> rows = new ArrayList<>(responses.size());
+        for (ContentResponse response : responses) {
+            rows.add(new ListRow(response, authors.load(response.getAuthorId()),
+                    likeCounts.load(response.getId()), favoriteCounts.load(response.getId())));
+        }
+        enrichmentExecutor.dispatch(new DataLoaderRegistry()
+                .register(authors).register(likeCounts).register(favoriteCounts));
+        
+        // 在调用线程上回填，截止时间后到达的结果不会再改动响应
+        for (ListRow row : rows) {
+            UserResponse author = loaded(row.author());
+            if (author != null) {
+                row.response().setAuthorNickname(author.getNickname());
+                row.response().setAuthorAvatar(author.getAvatar());
+            }
+            Long likeCount = loaded(row.likeCount());
+            if (likeCount != null) {
+                row.response().setLikeCount(likeCount);
+            }
+            Long favoriteCount = loaded(row.favoriteCount());
+            if (favoriteCount != null) {
+                row.response().setFavoriteCount(favoriteCount);
+            }
+        }
+    }
+
+    private static <T> T loaded(CompletableFuture<T> future) {
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private record ListRow(ContentResponse response, CompletableFuture<UserResponse> author,
+                           CompletableFuture<Long> likeCount, CompletableFuture<Long> favoriteCount) {
+    }
+
     // =================== 私有转换方法 ===================
 
     /**
@@ -790,6 +991,7 @@ public class ContentFacadeServiceImpl implements ContentFacadeService {
             List<ContentResponse> responseList = contentPage.getRecords().stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
+            enrichList(responseList);
             pageResponse.setDatas(responseList);
         }
         
@@ -0,0 +1,47 @@
+package com.gig.collide.content.infrastructure.counter;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个内容待刷盘的计数增量
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Data
+@NoArgsConstructor
+public class ContentCounterDelta {
+
+    private Long contentId;
+
+    private long viewDelta;
+
+    private long likeDelta;
+
+    private long commentDelta;
+
+    private long favoriteDelta;
+
+    public ContentCounterDelta(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public void add(ContentCounterType type, long delta) {
+        switch (type) {
+            case VIEW -> viewDelta += delta;
+            case LIKE -> likeDelta += delta;
+            case COMMENT -> commentDelta += delta;
+            case FAVORITE -> favoriteDelta += delta;
+        }
+    }
+
+    public long get(ContentCounterType type) {
+        return switch (type) {
+            case VIEW -> viewDelta;
+            case LIKE -> likeDelta;
+            case COMMENT -> commentDelta;
+            case FAVORITE -> favoriteDelta;
+        };
+    }
+}
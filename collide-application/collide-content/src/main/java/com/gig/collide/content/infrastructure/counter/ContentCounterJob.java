@@ -0,0 +1,40 @@
+package com.gig.collide.content.infrastructure.counter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 内容计数定时任务
+ * 每个节点只刷自己的本地增量，无需分布式锁
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentCounterJob {
+
+    private final ContentCounterEngine contentCounterEngine;
+
+    @Scheduled(fixedDelayString = "${collide.content.counter.flush-interval-ms:3000}")
+    public void flush() {
+        try {
+            contentCounterEngine.flush();
+        } catch (Exception e) {
+            log.error("内容计数定时刷盘异常", e);
+        }
+    }
+
+    /**
+     * 停机前刷盘，避免丢失本地增量
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("服务停止，刷盘内容计数");
+        flush();
+    }
+}
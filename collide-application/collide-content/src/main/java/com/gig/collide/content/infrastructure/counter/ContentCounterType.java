@@ -0,0 +1,45 @@
+package com.gig.collide.content.infrastructure.counter;
+
+import com.gig.collide.content.domain.entity.Content;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 内容计数类型
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public enum ContentCounterType {
+
+    VIEW(Content::getViewCount, Content::setViewCount),
+
+    LIKE(Content::getLikeCount, Content::setLikeCount),
+
+    COMMENT(Content::getCommentCount, Content::setCommentCount),
+
+    FAVORITE(Content::getFavoriteCount, Content::setFavoriteCount);
+
+    private final Function<Content, Long> getter;
+
+    private final BiConsumer<Content, Long> setter;
+
+    ContentCounterType(Function<Content, Long> getter, BiConsumer<Content, Long> setter) {
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    long read(Content content) {
+        Long value = getter.apply(content);
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * 叠加增量；浏览数之外的计数不低于0，与刷盘语句保持一致
+     */
+    void add(Content content, long delta) {
+        long value = read(content) + delta;
+        setter.accept(content, this == VIEW ? value : Math.max(value, 0L));
+    }
+}
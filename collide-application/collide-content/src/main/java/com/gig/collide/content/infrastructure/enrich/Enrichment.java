@@ -0,0 +1,76 @@
+package com.gig.collide.content.infrastructure.enrich;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 一次字段补充
+ * 查询在 {@link #add} 时立即并发发出；{@link #await} 在调用线程上依次回填结果，
+ * 单项超时或失败时跳过该字段，保留原值
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+public final class Enrichment {
+
+    private final EnrichmentExecutor executor;
+
+    private final List<Step<?>> steps = new ArrayList<>();
+
+    Enrichment(EnrichmentExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 添加一项补充
+     *
+     * @param field   字段名，用于日志
+     * @param key     查询键，为null时跳过该项
+     * @param loader  查询逻辑，返回null表示无数据
+     * @param applier 回填逻辑，在调用线程上执行
+     */
+    public <T> Enrichment add(String field, String key, Supplier<T> loader, Consumer<T> applier) {
+        if (key != null) {
+            steps.add(new Step<>(field, executor.submit(key, loader), applier));
+        }
+        return this;
+    }
+
+    /**
+     * 等待全部查询并回填，总耗时不超过最慢一项的截止时间
+     */
+    public void await() {
+        for (Step<?> step : steps) {
+            step.apply();
+        }
+    }
+
+    private record Step<T>(String field, CompletableFuture<T> future, Consumer<T> applier) {
+
+        void apply() {
+            T value;
+            try {
+                value = future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    log.warn("字段补充超时，降级为原值: field={}", field);
+                } else {
+                    log.warn("字段补充失败，降级为原值: field={}, error={}", field, cause.getMessage());
+                }
+                return;
+            }
+            if (value != null) {
+                applier.accept(value);
+            }
+        }
+    }
+}
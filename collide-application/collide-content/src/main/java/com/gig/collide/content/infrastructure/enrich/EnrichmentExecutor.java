@@ -0,0 +1,107 @@
+package com.gig.collide.content.infrastructure.enrich;
+
+import com.gig.collide.base.loader.DataLoaderRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 跨模块字段补充执行器
+ * <ul>
+ *     <li>并发：每次查询在独立的虚拟线程上执行，同一次补充的各项查询同时发出</li>
+ *     <li>超时：每个调用方各自等待至截止时间，超时只影响自己，查询本身继续完成供其他调用方使用</li>
+ *     <li>合并：相同键的查询在完成前只执行一次，并发请求共享同一个结果</li>
+ *     <li>批量：列表通过 {@link #dispatch} 把逐行查询合并为每种数据一次批量调用</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+public class EnrichmentExecutor {
+
+    /**
+     * 单项查询的截止时间（毫秒）
+     */
+    @Value("${collide.content.enrich.timeout-ms:300}")
+    private long timeoutMs;
+
+    /**
+     * 列表是否补充作者与实时计数
+     */
+    @Value("${collide.content.enrich.list-enabled:true}")
+    private boolean listEnabled;
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("collide-content-enrich-", 0).factory());
+
+    /**
+     * 执行中的查询，完成后移除
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * 开始一次补充
+     */
+    public Enrichment begin() {
+        return new Enrichment(this);
+    }
+
+    public boolean isListEnabled() {
+        return listEnabled;
+    }
+
+    /**
+     * 执行列表的批量加载，各加载器并发查询，超时的加载器放弃结果
+     *
+     * @return 是否在截止时间前全部完成
+     */
+    public boolean dispatch(DataLoaderRegistry registry) {
+        return registry.dispatchAll(executor, Duration.ofMillis(timeoutMs));
+    }
+
+    /**
+     * 提交查询，相同键复用执行中的查询
+     *
+     * @param key    查询键，相同键表示相同的查询
+     * @param loader 查询逻辑，返回null表示无数据
+     * @return 带截止时间的结果
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> submit(String key, Supplier<T> loader) {
+        CompletableFuture<Object> shared = inflight.get(key);
+        if (shared == null) {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            shared = inflight.putIfAbsent(key, created);
+            if (shared == null) {
+                shared = created;
+                executor.execute(() -> {
+                    try {
+                        created.complete(loader.get());
+                    } catch (Throwable e) {
+                        created.completeExceptionally(e);
+                    } finally {
+                        inflight.remove(key, created);
+                    }
+                });
+            }
+        }
+        // 副本上设置超时，避免一个调用方超时让共享结果失败
+        return (CompletableFuture<T>) shared.copy().orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,6 +2,7 @@ package com.gig.collide.content.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gig.collide.content.domain.entity.Content;
+import com.gig.collide.content.infrastructure.counter.ContentCounterDelta;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -99,6 +100,16 @@ public interface ContentMapper extends BaseMapper<Content> {
      */
     int updateFavoriteCount(@Param("id") Long id, @Param("increment") Long increment);
 
+    /**
+     * 批量累加计数，每行一个内容的四项增量，点赞、评论、收藏不低于0
+     */
+    int batchIncrementCounters(@Param("deltas") List<ContentCounterDelta> deltas);
+
+    /**
+     * 只查询计数字段
+     */
+    Content selectCounters(@Param("id") Long id);
+
     /**
      * 更新评分统计
      */
@@ -238,11 +249,20 @@ public interface ContentMapper extends BaseMapper<Content> {
     Map<String, Object> getContentStatistics(@Param("contentId") Long contentId);
 
     /**
-     * 更新作者信息
+     * 查询冗余作者信息需要更新的内容ID（按ID升序，用于分批回填）
+     */
+    List<Long> selectIdsForAuthorSync(@Param("authorId") Long authorId,
+                                      @Param("nickname") String nickname,
+                                      @Param("avatar") String avatar,
+                                      @Param("afterId") long afterId,
+                                      @Param("limit") int limit);
+
+    /**
+     * 按ID更新冗余作者信息，昵称、头像为空时不更新对应字段
      */
-    int updateAuthorInfo(@Param("authorId") Long authorId,
-                        @Param("nickname") String nickname,
-                        @Param("avatar") String avatar);
+    int updateAuthorInfoByIds(@Param("ids") List<Long> ids,
+                              @Param("nickname") String nickname,
+                              @Param("avatar") String avatar);
 
     /**
      * 更新分类信息
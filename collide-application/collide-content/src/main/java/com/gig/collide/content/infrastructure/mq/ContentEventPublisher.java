@@ -0,0 +1,59 @@
+package com.gig.collide.content.infrastructure.mq;
+
+import com.gig.collide.mq.constant.MqConstant;
+import com.gig.collide.mq.producer.StreamProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 内容变更事件发布
+ * 消息体为内容ID，在事务提交后发送，消费方按ID回查最新状态；发送失败只记录日志，不影响业务
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentEventPublisher {
+
+    private final StreamProducer streamProducer;
+
+    public void publishCreated(Long contentId) {
+        publishAfterCommit(MqConstant.CONTENT_CREATED_TOPIC, MqConstant.CREATE_TAG, contentId);
+    }
+
+    public void publishUpdated(Long contentId) {
+        publishAfterCommit(MqConstant.CONTENT_UPDATED_TOPIC, MqConstant.UPDATE_TAG, contentId);
+    }
+
+    public void publishDeleted(Long contentId) {
+        publishAfterCommit(MqConstant.CONTENT_DELETED_TOPIC, MqConstant.DELETE_TAG, contentId);
+    }
+
+    private void publishAfterCommit(String topic, String tag, Long contentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(topic, tag, contentId);
+                }
+            });
+        } else {
+            send(topic, tag, contentId);
+        }
+    }
+
+    private void send(String topic, String tag, Long contentId) {
+        try {
+            if (!streamProducer.send(topic, tag, String.valueOf(contentId))) {
+                log.warn("内容变更消息发送失败: topic={}, contentId={}", topic, contentId);
+            }
+        } catch (Exception e) {
+            log.error("内容变更消息发送异常: topic={}, contentId={}", topic, contentId, e);
+        }
+    }
+}
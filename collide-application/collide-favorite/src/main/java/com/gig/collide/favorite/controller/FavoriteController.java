@@ -4,6 +4,7 @@ import com.gig.collide.api.favorite.FavoriteFacadeService;
 import com.gig.collide.api.favorite.request.*;
 import com.gig.collide.api.favorite.response.FavoriteResponse;
 import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.favorite.infrastructure.profile.UserProfileOverlay;
 import com.gig.collide.web.vo.Result;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -53,6 +54,9 @@ public class FavoriteController {
     @Autowired
     private FavoriteFacadeService favoriteFacadeService;
 
+    @Autowired
+    private UserProfileOverlay userProfileOverlay;
+
     // =================== 收藏操作 ===================
 
     /**
@@ -182,7 +186,7 @@ public class FavoriteController {
             request.setCurrentPage(page);
             request.setPageSize(size);
             
-            return favoriteFacadeService.queryFavorites(request);
+            return userProfileOverlay.apply(favoriteFacadeService.queryFavorites(request));
         } catch (Exception e) {
             log.error("分页查询收藏记录失败", e);
             return Result.error("QUERY_FAVORITES_ERROR", "分页查询收藏记录失败: " + e.getMessage());
@@ -211,7 +215,7 @@ public class FavoriteController {
             log.debug("HTTP获取用户收藏列表: userId={}, favoriteType={}, page={}, size={}", 
                     userId, favoriteType, page, size);
             
-            return favoriteFacadeService.getUserFavorites(userId, favoriteType, page, size);
+            return userProfileOverlay.apply(favoriteFacadeService.getUserFavorites(userId, favoriteType, page, size));
         } catch (Exception e) {
             log.error("获取用户收藏列表失败", e);
             return Result.error("GET_USER_FAVORITES_ERROR", "获取用户收藏列表失败: " + e.getMessage());
@@ -238,7 +242,7 @@ public class FavoriteController {
             log.debug("HTTP获取内容收藏用户列表: favoriteType={}, targetId={}, page={}, size={}", 
                     favoriteType, targetId, page, size);
             
-            return favoriteFacadeService.getTargetFavorites(favoriteType, targetId, page, size);
+            return userProfileOverlay.apply(favoriteFacadeService.getTargetFavorites(favoriteType, targetId, page, size));
         } catch (Exception e) {
             log.error("获取内容收藏用户列表失败", e);
             return Result.error("GET_TARGET_FAVORITES_ERROR", "获取内容收藏用户列表失败: " + e.getMessage());
@@ -120,6 +120,15 @@ public interface FavoriteService {
      */
     Long getTargetFavoriteCount(String favoriteType, Long targetId);
 
+    /**
+     * 批量获取目标对象被收藏数量
+     * 
+     * @param favoriteType 收藏类型
+     * @param targetIds 目标ID列表
+     * @return 被收藏数量Map (targetId -> count)，包含全部传入的目标
+     */
+    Map<Long, Long> batchGetTargetFavoriteCount(String favoriteType, List<Long> targetIds);
+
     /**
      * 获取用户收藏统计信息
      * 
@@ -163,10 +172,10 @@ public interface FavoriteService {
 
     /**
      * 更新用户信息（冗余字段）
-     * 当用户信息变更时，同步更新收藏表中的冗余信息
+     * 当用户信息变更时，分批更新收藏表中的冗余昵称，每批单独提交
      * 
      * @param userId 用户ID
-     * @param nickname 新昵称
+     * @param nickname 新昵称，为空时不更新
      * @return 更新成功的记录数
      */
     int updateUserInfo(Long userId, String nickname);
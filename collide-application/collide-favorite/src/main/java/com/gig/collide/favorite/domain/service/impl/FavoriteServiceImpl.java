@@ -2,19 +2,24 @@ package com.gig.collide.favorite.domain.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.datasource.batch.KeysetBackfill;
 import com.gig.collide.favorite.domain.entity.Favorite;
 import com.gig.collide.favorite.domain.service.FavoriteService;
 import com.gig.collide.favorite.infrastructure.mapper.FavoriteMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +37,22 @@ public class FavoriteServiceImpl implements FavoriteService {
 
     private final FavoriteMapper favoriteMapper;
 
+    @Value("${collide.favorite.profile-sync.batch-size:200}")
+    private int profileSyncBatchSize;
+
+    @Value("${collide.favorite.profile-sync.batches-per-second:20}")
+    private double profileSyncBatchesPerSecond;
+
+    /**
+     * 用户资料冗余字段的分批回填，本节点所有回填任务共用一个限流
+     */
+    private KeysetBackfill profileBackfill;
+
+    @PostConstruct
+    public void initProfileBackfill() {
+        profileBackfill = new KeysetBackfill(profileSyncBatchSize, profileSyncBatchesPerSecond);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Favorite addFavorite(Favorite favorite) {
@@ -184,6 +205,26 @@ public class FavoriteServiceImpl implements FavoriteService {
         return favoriteMapper.countTargetFavorites(favoriteType, targetId, "active");
     }
 
+    @Override
+    public Map<Long, Long> batchGetTargetFavoriteCount(String favoriteType, List<Long> targetIds) {
+        if (!StringUtils.hasText(favoriteType) || targetIds == null || targetIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<Long, Long> countMap = new HashMap<>();
+        targetIds.stream().filter(Objects::nonNull).forEach(targetId -> countMap.put(targetId, 0L));
+        if (countMap.isEmpty()) {
+            return countMap;
+        }
+        List<Map<String, Object>> results = favoriteMapper.batchCountTargetFavorites(
+                favoriteType, new ArrayList<>(countMap.keySet()), "active");
+        for (Map<String, Object> result : results) {
+            countMap.put(Long.valueOf(result.get("targetId").toString()),
+                    Long.valueOf(result.get("favoriteCount").toString()));
+        }
+        return countMap;
+    }
+
     @Override
     public Map<String, Object> getUserFavoriteStatistics(Long userId) {
         if (userId == null) {
@@ -220,15 +261,18 @@ public class FavoriteServiceImpl implements FavoriteService {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public int updateUserInfo(Long userId, String nickname) {
         log.info("更新用户冗余信息: userId={}, nickname={}", userId, nickname);
 
-        if (userId == null) {
+        if (userId == null || nickname == null) {
             return 0;
         }
 
-        return favoriteMapper.updateUserInfo(userId, nickname);
+        int count = profileBackfill.run(
+                (afterId, limit) -> favoriteMapper.selectIdsForProfileSync(userId, nickname, afterId, limit),
+                ids -> favoriteMapper.updateNicknameByIds(ids, nickname));
+        log.info("用户冗余信息更新完成: userId={}, 更新{}条", userId, count);
+        return count;
     }
 
     @Override
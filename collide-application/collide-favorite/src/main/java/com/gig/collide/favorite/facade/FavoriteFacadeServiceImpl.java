@@ -281,6 +281,19 @@ public class FavoriteFacadeServiceImpl implements FavoriteFacadeService {
         }
     }
 
+    @Override
+    public Result<Map<Long, Long>> batchGetTargetFavoriteCount(String favoriteType, List<Long> targetIds) {
+        try {
+            log.debug("批量获取目标被收藏数量: 类型={}, 目标数量={}", favoriteType, targetIds != null ? targetIds.size() : 0);
+
+            Map<Long, Long> countMap = favoriteService.batchGetTargetFavoriteCount(favoriteType, targetIds);
+            return Result.success(countMap);
+        } catch (Exception e) {
+            log.error("批量获取目标被收藏数量失败: 类型={}", favoriteType, e);
+            return Result.error("BATCH_TARGET_FAVORITE_COUNT_ERROR", "批量获取目标被收藏数量失败: " + e.getMessage());
+        }
+    }
+
     @Override
     @Cached(name = FavoriteCacheConstant.FAVORITE_STATISTICS_CACHE, key = FavoriteCacheConstant.USER_FAVORITE_STATISTICS_KEY,
             expire = FavoriteCacheConstant.FAVORITE_STATISTICS_EXPIRE, timeUnit = TimeUnit.MINUTES, cacheType = CacheType.BOTH)
@@ -129,6 +129,18 @@ public interface FavoriteMapper extends BaseMapper<Favorite> {
                              @Param("targetId") Long targetId,
                              @Param("status") String status);
 
+    /**
+     * 批量统计目标对象被收藏数量
+     * 
+     * @param favoriteType 收藏类型
+     * @param targetIds 目标ID列表
+     * @param status 状态（可选）
+     * @return 被收藏数量列表，没有收藏的目标不返回
+     */
+    List<Map<String, Object>> batchCountTargetFavorites(@Param("favoriteType") String favoriteType,
+                                                       @Param("targetIds") List<Long> targetIds,
+                                                       @Param("status") String status);
+
     /**
      * 批量检查收藏状态
      * 
@@ -158,14 +170,28 @@ public interface FavoriteMapper extends BaseMapper<Favorite> {
                             @Param("status") String status);
 
     /**
-     * 更新用户信息（冗余字段）
+     * 查询冗余用户昵称需要更新的收藏记录ID（按ID升序，用于分批回填）
      * 
      * @param userId 用户ID
      * @param nickname 新昵称
+     * @param afterId 上一批最后一个ID
+     * @param limit 本批条数
+     * @return 收藏记录ID
+     */
+    List<Long> selectIdsForProfileSync(@Param("userId") Long userId,
+                                       @Param("nickname") String nickname,
+                                       @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
+
+    /**
+     * 按ID更新冗余用户昵称
+     * 
+     * @param ids 收藏记录ID
+     * @param nickname 新昵称
      * @return 更新行数
      */
-    int updateUserInfo(@Param("userId") Long userId,
-                      @Param("nickname") String nickname);
+    int updateNicknameByIds(@Param("ids") List<Long> ids,
+                            @Param("nickname") String nickname);
 
     /**
      * 更新目标对象信息（冗余字段）
@@ -0,0 +1,25 @@
+package com.gig.collide.favorite.infrastructure.mq;
+
+import com.gig.collide.favorite.domain.service.FavoriteService;
+import com.gig.collide.mq.consumer.AbstractUserProfileConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户资料变更消息消费者，分批回填收藏表中的冗余昵称
+ * 事件携带变更后的资料，回填完成前读取时的资料覆盖保证展示不受影响
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class UserProfileConsumer extends AbstractUserProfileConsumer {
+
+    private final FavoriteService favoriteService;
+
+    @Override
+    protected void applyProfile(Long userId, String nickname, String avatar) {
+        favoriteService.updateUserInfo(userId, nickname);
+    }
+}
@@ -4,6 +4,7 @@ import com.gig.collide.api.follow.FollowFacadeService;
 import com.gig.collide.api.follow.request.*;
 import com.gig.collide.api.follow.response.FollowResponse;
 import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.follow.infrastructure.profile.UserProfileOverlay;
 import com.gig.collide.web.vo.Result;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -46,6 +47,9 @@ public class FollowController {
     @Autowired
     private FollowFacadeService followFacadeService;
 
+    @Autowired
+    private UserProfileOverlay userProfileOverlay;
+
     // =================== 关注操作 ===================
 
     /**
@@ -166,7 +170,7 @@ public class FollowController {
             request.setCurrentPage(page);
             request.setPageSize(size);
             
-            return followFacadeService.queryFollows(request);
+            return userProfileOverlay.apply(followFacadeService.queryFollows(request));
         } catch (Exception e) {
             log.error("分页查询关注记录失败", e);
             return Result.error("QUERY_FOLLOWS_ERROR", "分页查询关注记录失败: " + e.getMessage());
@@ -192,7 +196,7 @@ public class FollowController {
         try {
             log.debug("HTTP获取关注者列表: userId={}, page={}, size={}", userId, page, size);
             
-            return followFacadeService.getFollowers(userId, page, size);
+            return userProfileOverlay.apply(followFacadeService.getFollowers(userId, page, size));
         } catch (Exception e) {
             log.error("获取关注者列表失败", e);
             return Result.error("GET_FOLLOWERS_ERROR", "获取关注者列表失败: " + e.getMessage());
@@ -216,7 +220,7 @@ public class FollowController {
         try {
             log.debug("HTTP获取关注列表: userId={}, page={}, size={}", userId, page, size);
             
-            return followFacadeService.getFollowing(userId, page, size);
+            return userProfileOverlay.apply(followFacadeService.getFollowing(userId, page, size));
         } catch (Exception e) {
             log.error("获取关注列表失败", e);
             return Result.error("GET_FOLLOWING_ERROR", "获取关注列表失败: " + e.getMessage());
@@ -326,7 +330,7 @@ public class FollowController {
         try {
             log.debug("HTTP获取互相关注列表: userId={}, page={}, size={}", userId, page, size);
             
-            return followFacadeService.getMutualFollows(userId, page, size);
+            return userProfileOverlay.apply(followFacadeService.getMutualFollows(userId, page, size));
         } catch (Exception e) {
             log.error("获取互相关注列表失败", e);
             return Result.error("GET_MUTUAL_ERROR", "获取互相关注列表失败: " + e.getMessage());
@@ -153,11 +153,11 @@ public interface FollowService {
 
     /**
      * 更新用户信息（冗余字段）
-     * 当用户信息变更时，同步更新关注表中的冗余信息
+     * 当用户信息变更时，分批更新关注表中作为关注者、被关注者的冗余信息，每批单独提交
      * 
      * @param userId 用户ID
-     * @param nickname 新昵称
-     * @param avatar 新头像
+     * @param nickname 新昵称，为空时不更新
+     * @param avatar 新头像，为空时不更新
      * @return 更新成功的记录数
      */
     int updateUserInfo(Long userId, String nickname, String avatar);
@@ -2,11 +2,14 @@ package com.gig.collide.follow.domain.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.datasource.batch.KeysetBackfill;
 import com.gig.collide.follow.domain.entity.Follow;
 import com.gig.collide.follow.domain.service.FollowService;
 import com.gig.collide.follow.infrastructure.mapper.FollowMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -32,6 +35,22 @@ public class FollowServiceImpl implements FollowService {
 
     private final FollowMapper followMapper;
 
+    @Value("${collide.follow.profile-sync.batch-size:200}")
+    private int profileSyncBatchSize;
+
+    @Value("${collide.follow.profile-sync.batches-per-second:20}")
+    private double profileSyncBatchesPerSecond;
+
+    /**
+     * 用户资料冗余字段的分批回填，本节点所有回填任务共用一个限流
+     */
+    private KeysetBackfill profileBackfill;
+
+    @PostConstruct
+    public void initProfileBackfill() {
+        profileBackfill = new KeysetBackfill(profileSyncBatchSize, profileSyncBatchesPerSecond);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Follow followUser(Follow follow) {
@@ -219,16 +238,22 @@ public class FollowServiceImpl implements FollowService {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public int updateUserInfo(Long userId, String nickname, String avatar) {
         log.info("更新用户冗余信息: userId={}, nickname={}", userId, nickname);
 
-        if (userId == null) {
+        if (userId == null || (nickname == null && avatar == null)) {
             return 0;
         }
 
-        // 同时更新作为关注者和被关注者的信息
-        return followMapper.updateUserInfo(userId, nickname, avatar, true, true);
+        // 分别按关注者、被关注者的索引分批更新，不再用 OR 条件一次锁住该用户的全部关注记录
+        int asFollower = profileBackfill.run(
+                (afterId, limit) -> followMapper.selectIdsForProfileSync(userId, true, nickname, avatar, afterId, limit),
+                ids -> followMapper.updateProfileByIds(ids, true, nickname, avatar));
+        int asFollowee = profileBackfill.run(
+                (afterId, limit) -> followMapper.selectIdsForProfileSync(userId, false, nickname, avatar, afterId, limit),
+                ids -> followMapper.updateProfileByIds(ids, false, nickname, avatar));
+        log.info("用户冗余信息更新完成: userId={}, 作为关注者={}, 作为被关注者={}", userId, asFollower, asFollowee);
+        return asFollower + asFollowee;
     }
 
     @Override
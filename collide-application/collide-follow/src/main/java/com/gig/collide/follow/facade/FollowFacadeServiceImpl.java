@@ -8,6 +8,7 @@ import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.follow.domain.entity.Follow;
 import com.gig.collide.follow.domain.service.FollowService;
 import com.gig.collide.follow.infrastructure.cache.FollowCacheConstant;
+import com.gig.collide.follow.infrastructure.mq.FollowEventPublisher;
 import com.gig.collide.web.vo.Result;
 import com.alicp.jetcache.anno.Cached;
 import com.alicp.jetcache.anno.CacheInvalidate;
@@ -38,6 +39,8 @@ public class FollowFacadeServiceImpl implements FollowFacadeService {
 
     private final FollowService followService;
 
+    private final FollowEventPublisher followEventPublisher;
+
     @Override
     @CacheInvalidate(name = FollowCacheConstant.FOLLOW_RELATION_CACHE)
     @CacheInvalidate(name = FollowCacheConstant.FOLLOWERS_LIST_CACHE)
@@ -61,6 +64,9 @@ public class FollowFacadeServiceImpl implements FollowFacadeService {
             long duration = System.currentTimeMillis() - startTime;
             log.info("关注用户成功: ID={}, followerId={}, followeeId={}, 耗时={}ms", 
                     savedFollow.getId(), request.getFollowerId(), request.getFolloweeId(), duration);
+
+            // 社交模块消费关注事件，回填被关注者近期动态到关注者的动态流
+            followEventPublisher.publishFollowed(request.getFollowerId(), request.getFolloweeId());
             return Result.success(response);
         } catch (IllegalArgumentException e) {
             log.warn("关注参数验证失败: followerId={}, followeeId={}, 错误={}", 
@@ -99,6 +105,9 @@ public class FollowFacadeServiceImpl implements FollowFacadeService {
             if (success) {
                 log.info("取消关注成功: followerId={}, followeeId={}, 耗时={}ms", 
                         request.getFollowerId(), request.getFolloweeId(), duration);
+
+                // 社交模块消费取关事件，从关注者的动态流移除被关注者的动态
+                followEventPublisher.publishUnfollowed(request.getFollowerId(), request.getFolloweeId());
                 return Result.success(null);
             } else {
                 log.warn("取消关注失败: followerId={}, followeeId={}", 
@@ -381,4 +390,4 @@ public class FollowFacadeServiceImpl implements FollowFacadeService {
 
         return pageResponse;
     }
-}
\ No newline at end of file
+}
@@ -54,4 +54,4 @@ public class FollowDubboConfiguration {
     public LikeFacadeService likeFacadeService() {
         return likeFacadeService;
     }
-}
+}
\ No newline at end of file
@@ -146,20 +146,36 @@ public interface FollowMapper extends BaseMapper<Follow> {
                           @Param("status") String status);
 
     /**
-     * 更新用户信息（冗余字段）
+     * 查询冗余用户信息需要更新的关注记录ID（按ID升序，用于分批回填）
      * 
      * @param userId 用户ID
-     * @param nickname 新昵称
-     * @param avatar 新头像
-     * @param updateAsFollower 是否更新作为关注者的信息
-     * @param updateAsFollowee 是否更新作为被关注者的信息
+     * @param asFollower true-作为关注者的记录，false-作为被关注者的记录
+     * @param nickname 新昵称，为空时不比较
+     * @param avatar 新头像，为空时不比较
+     * @param afterId 上一批最后一个ID
+     * @param limit 本批条数
+     * @return 关注记录ID
+     */
+    List<Long> selectIdsForProfileSync(@Param("userId") Long userId,
+                                       @Param("asFollower") boolean asFollower,
+                                       @Param("nickname") String nickname,
+                                       @Param("avatar") String avatar,
+                                       @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
+
+    /**
+     * 按ID更新冗余用户信息
+     * 
+     * @param ids 关注记录ID
+     * @param asFollower true-更新关注者信息，false-更新被关注者信息
+     * @param nickname 新昵称，为空时不更新
+     * @param avatar 新头像，为空时不更新
      * @return 更新行数
      */
-    int updateUserInfo(@Param("userId") Long userId,
-                      @Param("nickname") String nickname,
-                      @Param("avatar") String avatar,
-                      @Param("updateAsFollower") Boolean updateAsFollower,
-                      @Param("updateAsFollowee") Boolean updateAsFollowee);
+    int updateProfileByIds(@Param("ids") List<Long> ids,
+                           @Param("asFollower") boolean asFollower,
+                           @Param("nickname") String nickname,
+                           @Param("avatar") String avatar);
 
     /**
      * 获取用户的关注统计信息
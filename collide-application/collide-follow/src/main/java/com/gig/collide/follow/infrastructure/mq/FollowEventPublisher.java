@@ -0,0 +1,67 @@
+package com.gig.collide.follow.infrastructure.mq;
+
+import com.alibaba.fastjson2.JSON;
+import com.gig.collide.mq.constant.MqConstant;
+import com.gig.collide.mq.param.FollowChangedEvent;
+import com.gig.collide.mq.producer.StreamProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 关注关系变更事件发布
+ * 消息体为 {@link FollowChangedEvent}，在事务提交后发送，由社交模块异步回填/移除动态流；
+ * 关注服务不再同步调用社交服务，两个模块之间不存在双向的 Dubbo 依赖。
+ * 发送失败只记录日志，不影响关注结果，动态流在收件箱过期后按关注列表重建
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowEventPublisher {
+
+    private final StreamProducer streamProducer;
+
+    public void publishFollowed(Long followerId, Long followeeId) {
+        publish(followerId, followeeId, true);
+    }
+
+    public void publishUnfollowed(Long followerId, Long followeeId) {
+        publish(followerId, followeeId, false);
+    }
+
+    private void publish(Long followerId, Long followeeId, boolean followed) {
+        FollowChangedEvent event = new FollowChangedEvent()
+                .setFollowerId(followerId)
+                .setFolloweeId(followeeId)
+                .setFollowed(followed)
+                .setChangeTime(System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(FollowChangedEvent event) {
+        String tag = Boolean.TRUE.equals(event.getFollowed()) ? MqConstant.CREATE_TAG : MqConstant.DELETE_TAG;
+        try {
+            if (!streamProducer.send(MqConstant.FOLLOW_TOPIC, tag, JSON.toJSONString(event))) {
+                log.warn("关注变更消息发送失败: followerId={}, followeeId={}, followed={}",
+                        event.getFollowerId(), event.getFolloweeId(), event.getFollowed());
+            }
+        } catch (Exception e) {
+            log.error("关注变更消息发送异常: followerId={}, followeeId={}, followed={}",
+                    event.getFollowerId(), event.getFolloweeId(), event.getFollowed(), e);
+        }
+    }
+}
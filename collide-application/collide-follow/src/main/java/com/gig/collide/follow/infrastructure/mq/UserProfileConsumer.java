@@ -0,0 +1,25 @@
+package com.gig.collide.follow.infrastructure.mq;
+
+import com.gig.collide.follow.domain.service.FollowService;
+import com.gig.collide.mq.consumer.AbstractUserProfileConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户资料变更消息消费者，分批回填关注表中的冗余昵称、头像
+ * 事件携带变更后的资料，回填完成前读取时的资料覆盖保证展示不受影响
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class UserProfileConsumer extends AbstractUserProfileConsumer {
+
+    private final FollowService followService;
+
+    @Override
+    protected void applyProfile(Long userId, String nickname, String avatar) {
+        followService.updateUserInfo(userId, nickname, avatar);
+    }
+}
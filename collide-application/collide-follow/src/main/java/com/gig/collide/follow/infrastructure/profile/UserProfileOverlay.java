@@ -0,0 +1,80 @@
+package com.gig.collide.follow.infrastructure.profile;
+
+import com.gig.collide.api.follow.response.FollowResponse;
+import com.gig.collide.api.user.UserFacadeService;
+import com.gig.collide.api.user.response.UserResponse;
+import com.gig.collide.base.loader.ProfileOverlay;
+import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.web.vo.Result;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 关注列表的用户资料覆盖
+ * 用户改昵称、头像后，关注表中的冗余字段由消息分批回填，回填完成前读取时用用户详情缓存中的最新资料覆盖。
+ * 关注列表在门面层有缓存，覆盖放在返回HTTP响应之前，缓存中的旧资料同样会被覆盖；
+ * 门面返回的分页对象可能就是本地缓存中的实例，覆盖前先复制分页和每一行，不修改缓存中的对象；
+ * 每页一次批量查询，查询失败时保留表中的值
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileOverlay {
+
+    private final UserFacadeService userFacadeService;
+
+    @Value("${collide.follow.profile-sync.overlay-enabled:true}")
+    private boolean enabled;
+
+    private ProfileOverlay<FollowResponse, UserResponse> overlay;
+
+    @PostConstruct
+    public void init() {
+        overlay = ProfileOverlay.<FollowResponse, UserResponse>builder(this::loadUsers, UserResponse::getId)
+                .bind(FollowResponse::getFollowerId, (follow, user) -> {
+                    follow.setFollowerNickname(user.getNickname());
+                    follow.setFollowerAvatar(user.getAvatar());
+                })
+                .bind(FollowResponse::getFolloweeId, (follow, user) -> {
+                    follow.setFolloweeNickname(user.getNickname());
+                    follow.setFolloweeAvatar(user.getAvatar());
+                })
+                .build();
+    }
+
+    public Result<PageResponse<FollowResponse>> apply(Result<PageResponse<FollowResponse>> result) {
+        if (!enabled || result == null || !Boolean.TRUE.equals(result.getSuccess())
+                || result.getData() == null || result.getData().getDatas() == null) {
+            return result;
+        }
+        PageResponse<FollowResponse> page = new PageResponse<>();
+        BeanUtils.copyProperties(result.getData(), page);
+        page.setDatas(result.getData().getDatas().stream().map(this::copyOf).toList());
+        apply(page.getDatas());
+        return new Result<>(result.getSuccess(), result.getCode(), result.getMessage(), page);
+    }
+
+    public void apply(List<FollowResponse> follows) {
+        if (enabled) {
+            overlay.apply(follows);
+        }
+    }
+
+    private FollowResponse copyOf(FollowResponse source) {
+        FollowResponse copy = new FollowResponse();
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
+    private List<UserResponse> loadUsers(List<Long> userIds) {
+        Result<List<UserResponse>> result = userFacadeService.getUsersByIds(userIds);
+        return result != null && Boolean.TRUE.equals(result.getSuccess()) ? result.getData() : null;
+    }
+}
@@ -7,6 +7,7 @@ import org.apache.dubbo.config.spring.context.annotation.EnableDubbo;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -25,6 +26,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @MapperScan("com.gig.collide.goods.infrastructure.mapper")
 @EnableMethodCache(basePackages = "com.gig.collide.goods")
 @EnableCreateCacheAnnotation
+@EnableScheduling
 public class CollideGoodsApplication {
 
     public static void main(String[] args) {
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import java.util.Map;
@@ -171,6 +172,32 @@ public class GoodsController {
         return goodsFacadeService.batchReduceStock(stockMap);
     }
 
+    @PostMapping("/stock/reserve")
+    @Operation(summary = "预占库存", description = "按事务ID预占多个商品的库存，到期未确认自动释放")
+    public Result<Void> reserveStock(
+            @Parameter(description = "事务ID") @RequestParam @NotBlank String transactionId,
+            @Parameter(description = "有效期（秒）") @RequestParam(required = false) @Min(1) Integer ttlSeconds,
+            @Parameter(description = "商品ID和数量映射") @RequestBody @NotNull Map<Long, Integer> stockMap) {
+        log.debug("REST预占库存: transactionId={}, count={}", transactionId, stockMap.size());
+        return goodsFacadeService.reserveStock(transactionId, stockMap, ttlSeconds);
+    }
+
+    @PostMapping("/stock/reserve/{transactionId}/confirm")
+    @Operation(summary = "确认预占库存", description = "确认事务的库存预占")
+    public Result<Void> confirmStock(
+            @Parameter(description = "事务ID") @PathVariable @NotBlank String transactionId) {
+        log.debug("REST确认预占库存: transactionId={}", transactionId);
+        return goodsFacadeService.confirmStock(transactionId);
+    }
+
+    @PostMapping("/stock/reserve/{transactionId}/release")
+    @Operation(summary = "释放预占库存", description = "释放事务的库存预占")
+    public Result<Void> releaseStock(
+            @Parameter(description = "事务ID") @PathVariable @NotBlank String transactionId) {
+        log.debug("REST释放预占库存: transactionId={}", transactionId);
+        return goodsFacadeService.releaseStock(transactionId);
+    }
+
     @GetMapping("/low-stock")
     @Operation(summary = "查询低库存商品", description = "查询库存不足的商品列表")
     public Result<List<GoodsResponse>> getLowStockGoods(
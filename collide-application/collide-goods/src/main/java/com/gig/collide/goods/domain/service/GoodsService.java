@@ -158,6 +158,39 @@ public interface GoodsService {
      */
     boolean batchReduceStock(Map<Long, Integer> stockMap);
 
+    /**
+     * 预占库存（TCC Try），到期未确认自动释放
+     *
+     * @param transactionId 事务ID，同一事务重复预占幂等
+     * @param stockMap      商品ID和预占数量的映射
+     * @param ttlSeconds    有效期（秒），为空时使用默认值
+     * @return 是否成功
+     */
+    boolean reserveStock(String transactionId, Map<Long, Integer> stockMap, Integer ttlSeconds);
+
+    /**
+     * 确认预占（TCC Confirm）
+     *
+     * @param transactionId 事务ID
+     * @return 是否成功
+     */
+    boolean confirmStock(String transactionId);
+
+    /**
+     * 释放预占（TCC Cancel），已确认的预占释放后退回库存
+     *
+     * @param transactionId 事务ID
+     * @return 是否成功
+     */
+    boolean releaseStock(String transactionId);
+
+    /**
+     * 库存回写数据库后清理商品缓存
+     *
+     * @param goodsId 商品ID
+     */
+    void evictGoodsCache(Long goodsId);
+
     /**
      * 查询低库存商品
      *
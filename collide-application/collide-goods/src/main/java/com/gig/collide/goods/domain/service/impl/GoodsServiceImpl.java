@@ -8,11 +8,22 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.goods.domain.entity.Goods;
 import com.gig.collide.goods.domain.service.GoodsService;
 import com.gig.collide.goods.infrastructure.cache.GoodsCacheConstant;
+import com.gig.collide.goods.infrastructure.inventory.InventoryEngine;
+import com.gig.collide.goods.infrastructure.inventory.InventoryResult;
 import com.gig.collide.goods.infrastructure.mapper.GoodsMapper;
+import com.gig.collide.tcc.entity.TransActionLogState;
+import com.gig.collide.tcc.entity.TransTrySuccessType;
+import com.gig.collide.tcc.request.TccRequest;
+import com.gig.collide.tcc.response.TransactionCancelResponse;
+import com.gig.collide.tcc.response.TransactionConfirmResponse;
+import com.gig.collide.tcc.response.TransactionTryResponse;
+import com.gig.collide.tcc.service.TransactionLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -34,8 +45,22 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class GoodsServiceImpl implements GoodsService {
 
+    /**
+     * TCC 业务场景：库存预占
+     */
+    private static final String STOCK_RESERVE_SCENE = "STOCK_RESERVE";
+
+    /**
+     * TCC 业务模块
+     */
+    private static final String GOODS_MODULE = "GOODS";
+
     private final GoodsMapper goodsMapper;
 
+    private final InventoryEngine inventoryEngine;
+
+    private final TransactionLogService transactionLogService;
+
     // =================== 基础CRUD操作 ===================
 
     @Override
@@ -113,6 +138,9 @@ public class GoodsServiceImpl implements GoodsService {
         int result = goodsMapper.updateById(goods);
         if (result > 0) {
             log.info("商品更新成功: id={}", goods.getId());
+            if (goods.getStock() != null) {
+                evictInventoryAfterCommit(goods.getId());
+            }
             return true;
         } else {
             log.warn("商品更新失败: id={}", goods.getId());
@@ -266,18 +294,15 @@ public class GoodsServiceImpl implements GoodsService {
     public boolean checkStock(Long goodsId, Integer quantity) {
         log.debug("检查库存: goodsId={}, quantity={}", goodsId, quantity);
         
-        Goods goods = getGoodsById(goodsId);
-        if (goods == null) {
+        if (goodsId == null || quantity == null) {
             return false;
         }
         
-        return goods.hasStock(quantity);
+        Long available = inventoryEngine.available(goodsId);
+        return available != null && (available == -1 || available >= quantity);
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, 
-                     key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
     public boolean reduceStock(Long goodsId, Integer quantity) {
         log.info("扣减库存: goodsId={}, quantity={}", goodsId, quantity);
         
@@ -285,50 +310,116 @@ public class GoodsServiceImpl implements GoodsService {
             throw new IllegalArgumentException("参数无效");
         }
         
-        // 检查库存
-        if (!checkStock(goodsId, quantity)) {
-            log.warn("库存不足: goodsId={}, 需要={}", goodsId, quantity);
-            return false;
-        }
-        
-        int result = goodsMapper.reduceStock(goodsId, quantity);
-        if (result > 0) {
+        InventoryResult result = inventoryEngine.deduct(Map.of(goodsId, quantity));
+        if (result.isSuccess()) {
             log.info("库存扣减成功: goodsId={}, quantity={}", goodsId, quantity);
             return true;
-        } else {
-            log.warn("库存扣减失败: goodsId={}, quantity={}", goodsId, quantity);
-            return false;
         }
+        log.warn("库存扣减失败: goodsId={}, quantity={}, result={}", goodsId, quantity, result);
+        return false;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public boolean batchReduceStock(Map<Long, Integer> stockMap) {
         log.info("批量扣减库存: count={}", stockMap.size());
         
         if (CollectionUtils.isEmpty(stockMap)) {
             return true;
         }
+        validateStockMap(stockMap);
         
-        // 检查所有商品库存
-        for (Map.Entry<Long, Integer> entry : stockMap.entrySet()) {
-            if (!checkStock(entry.getKey(), entry.getValue())) {
-                log.warn("批量库存检查失败: goodsId={}, 需要={}", entry.getKey(), entry.getValue());
+        // 单个脚本内全部检查后一起扣减，不会出现部分扣减
+        InventoryResult result = inventoryEngine.deduct(stockMap);
+        log.info("批量库存扣减完成: result={}", result);
+        return result.isSuccess();
+    }
+
+    @Override
+    public boolean reserveStock(String transactionId, Map<Long, Integer> stockMap, Integer ttlSeconds) {
+        log.info("预占库存: transactionId={}, count={}", transactionId, stockMap == null ? 0 : stockMap.size());
+        
+        if (!StringUtils.hasText(transactionId) || CollectionUtils.isEmpty(stockMap)) {
+            throw new IllegalArgumentException("参数无效");
+        }
+        validateStockMap(stockMap);
+        
+        TccRequest tccRequest = buildTccRequest(transactionId);
+        TransactionTryResponse tryResponse = transactionLogService.tryTransaction(tccRequest);
+        if (!Boolean.TRUE.equals(tryResponse.getSuccess())) {
+            log.warn("预占库存事务记录失败: transactionId={}", transactionId);
+            return false;
+        }
+        if (tryResponse.getTransTrySuccessType() == TransTrySuccessType.DUPLICATED_TRY) {
+            // 重复的Try只有事务记录仍处于TRY时才继续，已取消或已确认的事务不能再次预占
+            TransActionLogState state = transactionLogService.getTransactionState(tccRequest);
+            if (state != TransActionLogState.TRY) {
+                log.warn("预占库存事务已结束，拒绝重复预占: transactionId={}, state={}", transactionId, state);
                 return false;
             }
         }
         
-        // 批量扣减
-        boolean allSuccess = true;
-        for (Map.Entry<Long, Integer> entry : stockMap.entrySet()) {
-            if (!reduceStock(entry.getKey(), entry.getValue())) {
-                allSuccess = false;
-                break;
-            }
+        InventoryResult result = inventoryEngine.reserve(transactionId, stockMap, ttlSeconds);
+        if (result.isSuccess()) {
+            log.info("库存预占成功: transactionId={}, result={}", transactionId, result);
+            return true;
         }
         
-        log.info("批量库存扣减完成: success={}", allSuccess);
-        return allSuccess;
+        log.warn("库存预占失败: transactionId={}, result={}", transactionId, result);
+        if (result != InventoryResult.CANCELLED) {
+            // 预占未生效：先在 Redis 写入取消标记，再取消事务记录，同一事务ID之后的预占和确认都会被拒绝
+            inventoryEngine.release(transactionId);
+            transactionLogService.cancelTransaction(tccRequest);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean confirmStock(String transactionId) {
+        log.info("确认预占库存: transactionId={}", transactionId);
+        
+        if (!StringUtils.hasText(transactionId)) {
+            throw new IllegalArgumentException("事务ID不能为空");
+        }
+        
+        InventoryResult result = inventoryEngine.confirm(transactionId);
+        if (!result.isSuccess()) {
+            log.warn("确认预占库存失败: transactionId={}, result={}", transactionId, result);
+            return false;
+        }
+        
+        TransactionConfirmResponse confirmResponse = transactionLogService.confirmTransaction(buildTccRequest(transactionId));
+        if (!Boolean.TRUE.equals(confirmResponse.getSuccess())) {
+            // Redis 侧已确认，重试时幂等，事务记录由重试补齐
+            log.warn("确认预占事务记录失败: transactionId={}", transactionId);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean releaseStock(String transactionId) {
+        log.info("释放预占库存: transactionId={}", transactionId);
+        
+        if (!StringUtils.hasText(transactionId)) {
+            throw new IllegalArgumentException("事务ID不能为空");
+        }
+        
+        InventoryResult result = inventoryEngine.release(transactionId);
+        TransactionCancelResponse cancelResponse = transactionLogService.cancelTransaction(buildTccRequest(transactionId));
+        if (!Boolean.TRUE.equals(cancelResponse.getSuccess())) {
+            log.warn("释放预占事务记录失败: transactionId={}, result={}", transactionId, result);
+            return false;
+        }
+        log.info("预占库存已释放: transactionId={}, result={}", transactionId, result);
+        return true;
+    }
+
+    @Override
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_DETAIL_CACHE, 
+                     key = GoodsCacheConstant.GOODS_DETAIL_KEY + "#goodsId")
+    @CacheInvalidate(name = GoodsCacheConstant.GOODS_LOW_STOCK_CACHE)
+    public void evictGoodsCache(Long goodsId) {
+        log.debug("库存回写后清理商品缓存: goodsId={}", goodsId);
     }
 
     @Override
@@ -463,8 +554,8 @@ public class GoodsServiceImpl implements GoodsService {
                 return result;
             }
             
-            // 检查库存
-            if (!goods.hasStock(quantity)) {
+            // 检查库存，以库存引擎中的可售数量为准，商品缓存中的库存可能已过时
+            if (!checkStock(goodsId, quantity)) {
                 result.put("valid", false);
                 result.put("message", "库存不足");
                 return result;
@@ -569,6 +660,37 @@ public class GoodsServiceImpl implements GoodsService {
 
     // =================== 私有方法 ===================
 
+    /**
+     * 后台修改了数据库库存，提交后丢弃 Redis 可售库存，下次访问重新加载
+     */
+    private void evictInventoryAfterCommit(Long goodsId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inventoryEngine.evict(goodsId);
+                }
+            });
+        } else {
+            inventoryEngine.evict(goodsId);
+        }
+    }
+
+    /**
+     * 校验扣减数量
+     */
+    private void validateStockMap(Map<Long, Integer> stockMap) {
+        for (Map.Entry<Long, Integer> entry : stockMap.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("参数无效: goodsId=" + entry.getKey() + ", quantity=" + entry.getValue());
+            }
+        }
+    }
+
+    private TccRequest buildTccRequest(String transactionId) {
+        return new TccRequest(transactionId, STOCK_RESERVE_SCENE, GOODS_MODULE);
+    }
+
     /**
      * 设置商品默认值
      */
@@ -390,6 +390,72 @@ public class GoodsFacadeServiceImpl implements GoodsFacadeService {
         }
     }
 
+    @Override
+    public Result<Void> reserveStock(String transactionId, Map<Long, Integer> stockMap, Integer ttlSeconds) {
+        try {
+            log.info("REST预占库存: transactionId={}, count={}", transactionId, stockMap == null ? 0 : stockMap.size());
+            
+            if (transactionId == null || CollectionUtils.isEmpty(stockMap)) {
+                return Result.failure("参数无效");
+            }
+            
+            boolean success = goodsService.reserveStock(transactionId, stockMap, ttlSeconds);
+            if (!success) {
+                return Result.failure("库存不足或预占失败");
+            }
+            
+            return Result.success();
+            
+        } catch (Exception e) {
+            log.error("预占库存失败: transactionId={}", transactionId, e);
+            return Result.failure("预占库存失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<Void> confirmStock(String transactionId) {
+        try {
+            log.info("REST确认预占库存: transactionId={}", transactionId);
+            
+            if (transactionId == null) {
+                return Result.failure("参数无效");
+            }
+            
+            boolean success = goodsService.confirmStock(transactionId);
+            if (!success) {
+                return Result.failure("预占不存在或已释放");
+            }
+            
+            return Result.success();
+            
+        } catch (Exception e) {
+            log.error("确认预占库存失败: transactionId={}", transactionId, e);
+            return Result.failure("确认预占库存失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<Void> releaseStock(String transactionId) {
+        try {
+            log.info("REST释放预占库存: transactionId={}", transactionId);
+            
+            if (transactionId == null) {
+                return Result.failure("参数无效");
+            }
+            
+            boolean success = goodsService.releaseStock(transactionId);
+            if (!success) {
+                return Result.failure("释放预占库存失败");
+            }
+            
+            return Result.success();
+            
+        } catch (Exception e) {
+            log.error("释放预占库存失败: transactionId={}", transactionId, e);
+            return Result.failure("释放预占库存失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public Result<List<GoodsResponse>> getLowStockGoods(Integer threshold) {
         try {
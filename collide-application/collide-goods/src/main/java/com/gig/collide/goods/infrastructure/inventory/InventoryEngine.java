@@ -0,0 +1,673 @@
+package com.gig.collide.goods.infrastructure.inventory;
+
+import com.gig.collide.goods.domain.entity.Goods;
+import com.gig.collide.goods.infrastructure.mapper.GoodsMapper;
+import com.gig.collide.lock.DistributedLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 库存预占引擎 - Redis 预扣版
+ * 库存镜像到 Redis，扣减、预占、确认、释放都在单个 Lua 脚本内对多个商品原子完成，
+ * 已确认的扣减记入增量 Hash，由定时任务批量回写 t_goods 并按数据库对账
+ *
+ * <p>Redis 结构（共用 {inventory} 哈希标签，集群模式下落在同一个槽，保证多商品脚本可执行）：</p>
+ * <ul>
+ *     <li>stock:{goodsId}：可售库存 = 数据库库存 - 未回写增量 - 预占中数量，-1 表示无限库存</li>
+ *     <li>reservation:{token}：预占单，state 字段为状态，g:{goodsId} 字段为预占数量</li>
+ *     <li>reserved：各商品预占中的数量；delta：已确认未回写的扣减量；flushing：回写中的扣减量</li>
+ *     <li>expiry：预占单到期时间，到期未确认的由定时任务释放</li>
+ *     <li>flush-gen：回写代次，每次取出或完成一批回写时加一</li>
+ * </ul>
+ * 每批回写带批次ID，与库存增量在同一事务内写入 t_goods_stock_flush，重复回写同一批次时跳过。
+ * 回源加载不与回写互斥：加载前记下回写代次和回写中的批次，用一条语句同时读出数据库库存和该批次是否已落库，
+ * 写入 Redis 时代次有变化就重试，因此数据库库存和增量 Hash 的中间状态不会被计算两次
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryEngine {
+
+    private static final String KEY_PREFIX = "collide:goods:{inventory}:";
+
+    private static final String STOCK_KEY_PREFIX = KEY_PREFIX + "stock:";
+
+    private static final String RESERVATION_KEY_PREFIX = KEY_PREFIX + "reservation:";
+
+    private static final String RESERVED_KEY = KEY_PREFIX + "reserved";
+
+    private static final String DELTA_KEY = KEY_PREFIX + "delta";
+
+    private static final String FLUSHING_KEY = KEY_PREFIX + "flushing";
+
+    private static final String EXPIRY_KEY = KEY_PREFIX + "expiry";
+
+    private static final String TRACKED_KEY = KEY_PREFIX + "tracked";
+
+    private static final String FLUSH_GEN_KEY = KEY_PREFIX + "flush-gen";
+
+    /**
+     * flushing 中记录批次ID的字段
+     */
+    private static final String BATCH_FIELD = "__batch";
+
+    /**
+     * 回写、对账互斥锁
+     */
+    public static final String LOCK_KEY = "collide:goods:inventory:lock";
+
+    /**
+     * 单个商品回源加载锁前缀，避免同一商品并发回源
+     */
+    private static final String LOAD_LOCK_PREFIX = "collide:goods:inventory:load:";
+
+    /**
+     * 加载时回写代次变化的最大重试次数
+     */
+    private static final int LOAD_MAX_ATTEMPTS = 3;
+
+    /**
+     * 批次记录中超出量明细的最大长度
+     */
+    private static final int MAX_OVERDRAWN_DETAIL = 2000;
+
+    /**
+     * 直接扣减：全部商品库存充足才一起扣减，返回 {结果码, 出错商品序号}
+     * 结果码：1 成功，-1 库存不足，-2 库存未加载
+     */
+    private static final String DEDUCT_SCRIPT = """
+        local n = #KEYS - 1
+        for i = 1, n do
+            local stock = redis.call('GET', KEYS[i + 1])
+            if not stock then
+                return {-2, i}
+            end
+            stock = tonumber(stock)
+            if stock ~= -1 and stock < tonumber(ARGV[i * 2]) then
+                return {-1, i}
+            end
+        end
+        for i = 1, n do
+            if tonumber(redis.call('GET', KEYS[i + 1])) ~= -1 then
+                redis.call('DECRBY', KEYS[i + 1], ARGV[i * 2])
+                redis.call('HINCRBY', KEYS[1], ARGV[i * 2 - 1], ARGV[i * 2])
+            end
+        end
+        return {1, 0}
+        """;
+
+    /**
+     * 预占：预占单已存在时按状态幂等返回，否则全部商品库存充足才一起预占
+     * 结果码：1 成功，0 重复预占，-1 库存不足，-2 库存未加载，-3 已取消
+     */
+    private static final String RESERVE_SCRIPT = """
+        local state = redis.call('HGET', KEYS[1], 'state')
+        if state then
+            if state == 'CANCELLED' then
+                return {-3, 0}
+            end
+            return {0, 0}
+        end
+        local n = #KEYS - 3
+        for i = 1, n do
+            local stock = redis.call('GET', KEYS[i + 3])
+            if not stock then
+                return {-2, i}
+            end
+            stock = tonumber(stock)
+            if stock ~= -1 and stock < tonumber(ARGV[i * 2 + 2]) then
+                return {-1, i}
+            end
+        end
+        for i = 1, n do
+            if tonumber(redis.call('GET', KEYS[i + 3])) ~= -1 then
+                local goodsId = ARGV[i * 2 + 1]
+                local quantity = ARGV[i * 2 + 2]
+                redis.call('DECRBY', KEYS[i + 3], quantity)
+                redis.call('HINCRBY', KEYS[2], goodsId, quantity)
+                redis.call('HSET', KEYS[1], 'g:' .. goodsId, quantity)
+            end
+        end
+        redis.call('HSET', KEYS[1], 'state', 'RESERVED')
+        redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+        return {1, 0}
+        """;
+
+    /**
+     * 确认：预占数量从 reserved 转入 delta 等待回写
+     * 结果码：1 成功，0 重复确认，-2 预占单不存在，-3 已取消
+     */
+    private static final String CONFIRM_SCRIPT = """
+        local state = redis.call('HGET', KEYS[1], 'state')
+        if not state then
+            return -2
+        end
+        if state == 'CANCELLED' then
+            return -3
+        end
+        if state == 'CONFIRMED' then
+            return 0
+        end
+        local fields = redis.call('HGETALL', KEYS[1])
+        for i = 1, #fields, 2 do
+            if string.sub(fields[i], 1, 2) == 'g:' then
+                local goodsId = string.sub(fields[i], 3)
+                if redis.call('HINCRBY', KEYS[2], goodsId, -tonumber(fields[i + 1])) == 0 then
+                    redis.call('HDEL', KEYS[2], goodsId)
+                end
+                redis.call('HINCRBY', KEYS[4], goodsId, fields[i + 1])
+            end
+        end
+        redis.call('HSET', KEYS[1], 'state', 'CONFIRMED')
+        redis.call('EXPIRE', KEYS[1], ARGV[2])
+        redis.call('ZREM', KEYS[3], ARGV[1])
+        return 1
+        """;
+
+    /**
+     * 释放：归还可售库存；预占中的从 reserved 扣回，已确认的从 delta 扣回（回写时加回数据库）
+     * 预占单不存在时写入取消标记，之后到达的预占会被拒绝，防止悬挂
+     * 结果码：1 成功，0 重复释放，2 空回滚
+     */
+    private static final String RELEASE_SCRIPT = """
+        local state = redis.call('HGET', KEYS[1], 'state')
+        if not state then
+            redis.call('HSET', KEYS[1], 'state', 'CANCELLED')
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 2
+        end
+        if state == 'CANCELLED' then
+            return 0
+        end
+        local counter = KEYS[2]
+        if state == 'CONFIRMED' then
+            counter = KEYS[4]
+        end
+        local fields = redis.call('HGETALL', KEYS[1])
+        for i = 1, #fields, 2 do
+            if string.sub(fields[i], 1, 2) == 'g:' then
+                local goodsId = string.sub(fields[i], 3)
+                local stockKey = ARGV[3] .. goodsId
+                if redis.call('EXISTS', stockKey) == 1 then
+                    redis.call('INCRBY', stockKey, fields[i + 1])
+                end
+                if redis.call('HINCRBY', counter, goodsId, -tonumber(fields[i + 1])) == 0 then
+                    redis.call('HDEL', counter, goodsId)
+                end
+            end
+        end
+        redis.call('HSET', KEYS[1], 'state', 'CANCELLED')
+        redis.call('EXPIRE', KEYS[1], ARGV[2])
+        redis.call('ZREM', KEYS[3], ARGV[1])
+        return 1
+        """;
+
+    /**
+     * 加载可售库存：数据库库存扣除未回写、预占中的数量，回写中的批次尚未落库时一并扣除
+     * ARGV[3] 为 0 时已加载则保持不变，为 1 时强制覆盖（对账）；ARGV[4] 为读取数据库前的回写代次，
+     * 代次已变化时不写入；ARGV[5] 为 1 表示数据库已包含回写中的批次。返回 {原值, 新值, 是否写入}
+     */
+    private static final String LOAD_SCRIPT = """
+        local current = redis.call('GET', KEYS[1])
+        if current and ARGV[3] == '0' then
+            return {current, current, '1'}
+        end
+        if (redis.call('GET', KEYS[6]) or '0') ~= ARGV[4] then
+            return {current or '', '', '0'}
+        end
+        local value = -1
+        local db = tonumber(ARGV[2])
+        if db ~= -1 then
+            value = db - tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+                - tonumber(redis.call('HGET', KEYS[4], ARGV[1]) or '0')
+            if ARGV[5] == '0' then
+                value = value - tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0')
+            end
+        end
+        redis.call('SET', KEYS[1], value)
+        redis.call('SADD', KEYS[5], ARGV[1])
+        return {current or '', tostring(value), '1'}
+        """;
+
+    /**
+     * 取出待回写增量：上次回写未完成时继续回写上次的，否则把 delta 整体转为 flushing 并分配批次ID
+     */
+    private static final String DRAIN_SCRIPT = """
+        if redis.call('EXISTS', KEYS[2]) == 0 then
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return {}
+            end
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            redis.call('INCR', KEYS[3])
+        end
+        redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[2])
+        return redis.call('HGETALL', KEYS[2])
+        """;
+
+    /**
+     * 完成回写：删除对应批次的 flushing，回写代次加一
+     */
+    private static final String FINISH_SCRIPT = """
+        if redis.call('HGET', KEYS[1], ARGV[1]) ~= ARGV[2] then
+            return 0
+        end
+        redis.call('DEL', KEYS[1])
+        redis.call('INCR', KEYS[2])
+        return 1
+        """;
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> deductScript = new DefaultRedisScript<>(DEDUCT_SCRIPT, List.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> reserveScript = new DefaultRedisScript<>(RESERVE_SCRIPT, List.class);
+
+    private final DefaultRedisScript<Long> confirmScript = new DefaultRedisScript<>(CONFIRM_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> releaseScript = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> loadScript = new DefaultRedisScript<>(LOAD_SCRIPT, List.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> drainScript = new DefaultRedisScript<>(DRAIN_SCRIPT, List.class);
+
+    private final DefaultRedisScript<Long> finishScript = new DefaultRedisScript<>(FINISH_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final GoodsMapper goodsMapper;
+
+    private final DistributedLock distributedLock;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 预占单默认有效期（秒），到期未确认自动释放
+     */
+    @Value("${collide.goods.inventory.reservation-ttl-seconds:900}")
+    private long reservationTtlSeconds;
+
+    /**
+     * 已确认、已取消预占单的保留时间（小时），保留期内支持幂等和确认后取消
+     */
+    @Value("${collide.goods.inventory.reservation-retention-hours:72}")
+    private long reservationRetentionHours;
+
+    /**
+     * 回源加载等待锁的最长时间（毫秒）
+     */
+    @Value("${collide.goods.inventory.load-lock-wait-ms:3000}")
+    private long loadLockWaitMs;
+
+    /**
+     * 对账每批商品数
+     */
+    @Value("${collide.goods.inventory.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    /**
+     * 回写批次记录保留天数
+     */
+    @Value("${collide.goods.inventory.flush-log-retention-days:7}")
+    private int flushLogRetentionDays;
+
+    // =================== 扣减与预占 ===================
+
+    /**
+     * 直接扣减，多个商品要么全部成功要么全部不扣
+     *
+     * @param stockMap 商品ID和扣减数量的映射
+     */
+    public InventoryResult deduct(Map<Long, Integer> stockMap) {
+        List<Long> goodsIds = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(DELTA_KEY);
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(stockMap).entrySet()) {
+            goodsIds.add(entry.getKey());
+            keys.add(STOCK_KEY_PREFIX + entry.getKey());
+            args.add(String.valueOf(entry.getKey()));
+            args.add(String.valueOf(entry.getValue()));
+        }
+        return executeWithLoad(goodsIds, () -> redisTemplate.execute(deductScript, keys, args.toArray()));
+    }
+
+    /**
+     * 预占库存，多个商品要么全部成功要么全部不占
+     *
+     * @param token      预占单号，同一单号重复预占幂等
+     * @param stockMap   商品ID和预占数量的映射
+     * @param ttlSeconds 有效期（秒），为空时使用默认值
+     */
+    public InventoryResult reserve(String token, Map<Long, Integer> stockMap, Integer ttlSeconds) {
+        long ttl = ttlSeconds != null && ttlSeconds > 0 ? ttlSeconds : reservationTtlSeconds;
+        List<Long> goodsIds = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(RESERVATION_KEY_PREFIX + token);
+        keys.add(RESERVED_KEY);
+        keys.add(EXPIRY_KEY);
+        args.add(token);
+        args.add(String.valueOf(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl)));
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(stockMap).entrySet()) {
+            goodsIds.add(entry.getKey());
+            keys.add(STOCK_KEY_PREFIX + entry.getKey());
+            args.add(String.valueOf(entry.getKey()));
+            args.add(String.valueOf(entry.getValue()));
+        }
+        return executeWithLoad(goodsIds, () -> redisTemplate.execute(reserveScript, keys, args.toArray()));
+    }
+
+    /**
+     * 确认预占
+     */
+    public InventoryResult confirm(String token) {
+        Long code = redisTemplate.execute(confirmScript,
+                List.of(RESERVATION_KEY_PREFIX + token, RESERVED_KEY, EXPIRY_KEY, DELTA_KEY),
+                token, String.valueOf(retentionSeconds()));
+        return switch (code == null ? -2 : code.intValue()) {
+            case 1 -> InventoryResult.SUCCESS;
+            case 0 -> InventoryResult.DUPLICATED;
+            case -3 -> InventoryResult.CANCELLED;
+            default -> InventoryResult.RESERVATION_NOT_FOUND;
+        };
+    }
+
+    /**
+     * 释放预占，已确认的预占同样可以释放（退回库存）
+     */
+    public InventoryResult release(String token) {
+        Long code = redisTemplate.execute(releaseScript,
+                List.of(RESERVATION_KEY_PREFIX + token, RESERVED_KEY, EXPIRY_KEY, DELTA_KEY),
+                token, String.valueOf(retentionSeconds()), STOCK_KEY_PREFIX);
+        return switch (code == null ? 0 : code.intValue()) {
+            case 1 -> InventoryResult.SUCCESS;
+            case 2 -> InventoryResult.EMPTY_CANCEL;
+            default -> InventoryResult.DUPLICATED;
+        };
+    }
+
+    /**
+     * 查询可售库存
+     *
+     * @return 可售数量，-1 表示无限库存，商品不存在返回 null
+     */
+    public Long available(Long goodsId) {
+        String value = redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + goodsId);
+        if (value == null) {
+            if (!load(goodsId)) {
+                return null;
+            }
+            value = redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + goodsId);
+        }
+        return value == null ? null : Long.parseLong(value);
+    }
+
+    /**
+     * 丢弃 Redis 中的可售库存，下次访问时按数据库重新加载
+     * 用于后台直接修改了数据库库存的场景
+     */
+    public void evict(Long goodsId) {
+        redisTemplate.delete(STOCK_KEY_PREFIX + goodsId);
+    }
+
+    /**
+     * 查询已到期的预占单
+     */
+    public List<String> expiredReservations(int limit) {
+        Set<String> tokens = redisTemplate.opsForZSet()
+                .rangeByScore(EXPIRY_KEY, 0, System.currentTimeMillis(), 0, limit);
+        return tokens == null ? Collections.emptyList() : new ArrayList<>(tokens);
+    }
+
+    // =================== 回写与对账（调用方持有 LOCK_KEY） ===================
+
+    /**
+     * 把已确认的扣减量回写数据库
+     * 批次记录和库存增量在同一事务内写入，批次已存在说明上次已落库、只是没来得及删除 flushing，
+     * 此时跳过回写直接完成，宕机重试不会重复扣减。扣减量超过数据库库存时库存按 0 处理，
+     * 超出部分记入批次记录并输出错误日志，由对账按数据库重算 Redis
+     *
+     * @return 回写的商品ID
+     */
+    public List<Long> flush() {
+        List<?> drained = redisTemplate.execute(drainScript, List.of(DELTA_KEY, FLUSHING_KEY, FLUSH_GEN_KEY),
+                BATCH_FIELD, UUID.randomUUID().toString());
+        if (drained == null || drained.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String batchId = null;
+        Map<Long, Long> deltas = new HashMap<>(drained.size());
+        for (int i = 0; i + 1 < drained.size(); i += 2) {
+            String field = drained.get(i).toString();
+            if (BATCH_FIELD.equals(field)) {
+                batchId = drained.get(i + 1).toString();
+                continue;
+            }
+            long quantity = Long.parseLong(drained.get(i + 1).toString());
+            if (quantity != 0) {
+                deltas.put(Long.parseLong(field), quantity);
+            }
+        }
+        String flushBatchId = batchId;
+        Boolean applied = transactionTemplate.execute(status -> applyBatch(flushBatchId, deltas));
+        redisTemplate.execute(finishScript, List.of(FLUSHING_KEY, FLUSH_GEN_KEY), BATCH_FIELD, batchId);
+        if (!Boolean.TRUE.equals(applied)) {
+            log.info("库存回写批次已落库，跳过: batchId={}", batchId);
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(deltas.keySet());
+    }
+
+    private boolean applyBatch(String batchId, Map<Long, Long> deltas) {
+        if (goodsMapper.insertStockFlush(batchId, deltas.size()) == 0) {
+            return false;
+        }
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        Map<Long, Long> overdrawn = new TreeMap<>();
+        for (Goods goods : goodsMapper.selectStockByIdsForUpdate(deltas.keySet())) {
+            long stock = goods.getStock() == null ? 0 : goods.getStock();
+            long quantity = deltas.get(goods.getId());
+            if (stock != -1 && quantity > stock) {
+                overdrawn.put(goods.getId(), quantity - stock);
+            }
+        }
+        goodsMapper.applyStockDeltas(deltas);
+        if (!overdrawn.isEmpty()) {
+            log.error("库存回写超出数据库库存，已按 0 处理: batchId={}, 超出量={}", batchId, overdrawn);
+            String detail = overdrawn.toString();
+            goodsMapper.updateStockFlushOverdrawn(batchId,
+                    detail.length() > MAX_OVERDRAWN_DETAIL ? detail.substring(0, MAX_OVERDRAWN_DETAIL) : detail);
+        }
+        return true;
+    }
+
+    /**
+     * 清理过期的回写批次记录
+     *
+     * @return 删除行数
+     */
+    public int purgeFlushLog() {
+        return goodsMapper.deleteStockFlushBefore(LocalDateTime.now().minusDays(flushLogRetentionDays));
+    }
+
+    /**
+     * 按数据库库存重算所有已加载商品的可售库存，修正漂移
+     * 应在 flush 之后执行，此时数据库已包含全部已回写的扣减
+     *
+     * @return 修正的商品数
+     */
+    public int reconcile() {
+        int repaired = 0;
+        List<Long> batch = new ArrayList<>(reconcileBatchSize);
+        ScanOptions options = ScanOptions.scanOptions().count(reconcileBatchSize).build();
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(TRACKED_KEY, options)) {
+            while (cursor.hasNext()) {
+                batch.add(Long.parseLong(cursor.next()));
+                if (batch.size() >= reconcileBatchSize) {
+                    repaired += reconcileBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            repaired += reconcileBatch(batch);
+        }
+        return repaired;
+    }
+
+    private int reconcileBatch(List<Long> goodsIds) {
+        FlushState state = flushState();
+        Map<Long, InventoryStock> dbStocks = loadDbStocks(goodsIds, state.batchId());
+        int repaired = 0;
+        for (Long goodsId : goodsIds) {
+            InventoryStock dbStock = dbStocks.get(goodsId);
+            if (dbStock == null) {
+                redisTemplate.delete(STOCK_KEY_PREFIX + goodsId);
+                redisTemplate.opsForSet().remove(TRACKED_KEY, String.valueOf(goodsId));
+                continue;
+            }
+            List<?> result = writeStock(goodsId, dbStock, state, true);
+            if (!isWritten(result)) {
+                log.debug("库存对账期间回写代次变化，下次对账处理: goodsId={}", goodsId);
+                continue;
+            }
+            String previous = result.get(0).toString();
+            String current = result.get(1).toString();
+            if (!previous.isEmpty() && !previous.equals(current)) {
+                log.warn("库存对账修正: goodsId={}, redis={}, 重算={}, 数据库={}", goodsId, previous, current,
+                        dbStock.getStock());
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    // =================== 内部方法 ===================
+
+    /**
+     * 执行扣减类脚本，遇到未加载的商品时回源加载后重试
+     */
+    @SuppressWarnings("rawtypes")
+    private InventoryResult executeWithLoad(List<Long> goodsIds, Supplier<List> script) {
+        for (int attempt = 0; attempt <= goodsIds.size(); attempt++) {
+            List result = script.get();
+            int code = ((Number) result.get(0)).intValue();
+            switch (code) {
+                case 1:
+                    return InventoryResult.SUCCESS;
+                case 0:
+                    return InventoryResult.DUPLICATED;
+                case -1:
+                    return InventoryResult.INSUFFICIENT;
+                case -3:
+                    return InventoryResult.CANCELLED;
+                default:
+                    Long goodsId = goodsIds.get(((Number) result.get(1)).intValue() - 1);
+                    if (!load(goodsId)) {
+                        return InventoryResult.GOODS_NOT_FOUND;
+                    }
+            }
+        }
+        throw new IllegalStateException("库存加载后仍未命中: " + goodsIds);
+    }
+
+    /**
+     * 从数据库加载单个商品的可售库存，已加载则不覆盖
+     * 只锁当前商品，与回写、对账和其他商品的加载互不阻塞
+     *
+     * @return 商品是否存在
+     */
+    private boolean load(Long goodsId) {
+        String lockKey = LOAD_LOCK_PREFIX + goodsId;
+        boolean locked = distributedLock.tryLock(lockKey, loadLockWaitMs, -1, TimeUnit.MILLISECONDS);
+        if (!locked) {
+            throw new IllegalStateException("库存加载繁忙，请稍后重试: goodsId=" + goodsId);
+        }
+        try {
+            for (int attempt = 0; attempt < LOAD_MAX_ATTEMPTS; attempt++) {
+                FlushState state = flushState();
+                InventoryStock dbStock = loadDbStocks(List.of(goodsId), state.batchId()).get(goodsId);
+                if (dbStock == null) {
+                    return false;
+                }
+                if (isWritten(writeStock(goodsId, dbStock, state, false))) {
+                    log.debug("库存已加载到Redis: goodsId={}, 数据库库存={}", goodsId, dbStock.getStock());
+                    return true;
+                }
+            }
+            throw new IllegalStateException("库存加载期间回写频繁，请稍后重试: goodsId=" + goodsId);
+        } finally {
+            distributedLock.unlock(lockKey);
+        }
+    }
+
+    /**
+     * 读取回写代次和回写中的批次ID，先读代次，写入时代次未变则批次ID与之对应
+     */
+    private FlushState flushState() {
+        String generation = redisTemplate.opsForValue().get(FLUSH_GEN_KEY);
+        Object batchId = redisTemplate.opsForHash().get(FLUSHING_KEY, BATCH_FIELD);
+        return new FlushState(generation == null ? "0" : generation, batchId == null ? null : batchId.toString());
+    }
+
+    private List<?> writeStock(Long goodsId, InventoryStock dbStock, FlushState state, boolean force) {
+        return redisTemplate.execute(loadScript,
+                List.of(STOCK_KEY_PREFIX + goodsId, DELTA_KEY, FLUSHING_KEY, RESERVED_KEY, TRACKED_KEY,
+                        FLUSH_GEN_KEY),
+                String.valueOf(goodsId), String.valueOf(dbStock.getStock() == null ? 0 : dbStock.getStock()),
+                force ? "1" : "0", state.generation(), Boolean.TRUE.equals(dbStock.getFlushApplied()) ? "1" : "0");
+    }
+
+    private static boolean isWritten(List<?> result) {
+        return result != null && result.size() > 2 && "1".equals(result.get(2).toString());
+    }
+
+    private Map<Long, InventoryStock> loadDbStocks(Collection<Long> goodsIds, String flushBatchId) {
+        Map<Long, InventoryStock> stocks = new HashMap<>(goodsIds.size() * 2);
+        for (InventoryStock stock : goodsMapper.selectStockSnapshot(goodsIds, flushBatchId)) {
+            stocks.put(stock.getId(), stock);
+        }
+        return stocks;
+    }
+
+    private long retentionSeconds() {
+        return Duration.ofHours(reservationRetentionHours).toSeconds();
+    }
+
+    /**
+     * 读取数据库前的回写状态
+     *
+     * @param generation 回写代次
+     * @param batchId    回写中的批次ID，没有时为 null
+     */
+    private record FlushState(String generation, String batchId) {
+    }
+}
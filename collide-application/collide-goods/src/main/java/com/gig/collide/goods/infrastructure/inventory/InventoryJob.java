@@ -0,0 +1,116 @@
+package com.gig.collide.goods.infrastructure.inventory;
+
+import com.gig.collide.goods.domain.service.GoodsService;
+import com.gig.collide.lock.DistributedLock;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 库存预占定时任务
+ * 释放到期未确认的预占单，批量回写已确认的扣减并按数据库对账
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryJob {
+
+    private final InventoryEngine inventoryEngine;
+
+    private final GoodsService goodsService;
+
+    private final DistributedLock distributedLock;
+
+    /**
+     * 每次释放的到期预占单数量上限
+     */
+    @Value("${collide.goods.inventory.expire-batch-size:200}")
+    private int expireBatchSize;
+
+    /**
+     * 释放到期预占单，走 TCC 取消流程留下事务记录
+     */
+    @Scheduled(fixedDelayString = "${collide.goods.inventory.expire-interval-ms:1000}")
+    public void releaseExpired() {
+        try {
+            List<String> tokens = inventoryEngine.expiredReservations(expireBatchSize);
+            for (String token : tokens) {
+                if (!goodsService.releaseStock(token)) {
+                    log.warn("到期预占释放失败，下次重试: token={}", token);
+                }
+            }
+            if (!tokens.isEmpty()) {
+                log.info("到期预占已释放: count={}", tokens.size());
+            }
+        } catch (Exception e) {
+            log.error("释放到期预占异常", e);
+        }
+    }
+
+    /**
+     * 批量回写已确认的扣减
+     */
+    @Scheduled(fixedDelayString = "${collide.goods.inventory.flush-interval-ms:2000}")
+    public void flush() {
+        runLocked("回写", () -> {
+            List<Long> flushed = inventoryEngine.flush();
+            if (!flushed.isEmpty()) {
+                flushed.forEach(goodsService::evictGoodsCache);
+                log.info("库存增量回写完成: count={}", flushed.size());
+            }
+        });
+    }
+
+    /**
+     * 先回写再对账，对账时数据库已包含全部已确认扣减
+     */
+    @Scheduled(fixedDelayString = "${collide.goods.inventory.reconcile-interval-ms:300000}",
+            initialDelayString = "${collide.goods.inventory.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        runLocked("对账", () -> {
+            inventoryEngine.flush().forEach(goodsService::evictGoodsCache);
+            int repaired = inventoryEngine.reconcile();
+            int purged = inventoryEngine.purgeFlushLog();
+            log.info("库存对账完成: repaired={}, 清理回写批次记录={}", repaired, purged);
+        });
+    }
+
+    /**
+     * 停机前回写，缩短数据库库存滞后时间
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("服务停止，回写库存增量");
+        flush();
+    }
+
+    private void runLocked(String action, Runnable task) {
+        boolean locked;
+        try {
+            locked = distributedLock.tryLock(InventoryEngine.LOCK_KEY, 0, -1, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("库存{}获取锁异常", action, e);
+            return;
+        }
+        if (!locked) {
+            log.debug("库存{}由其他节点执行，跳过本次", action);
+            return;
+        }
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("库存{}异常", action, e);
+        } finally {
+            distributedLock.unlock(InventoryEngine.LOCK_KEY);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.gig.collide.goods.infrastructure.inventory;
+
+/**
+ * 库存操作结果
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public enum InventoryResult {
+
+    /**
+     * 成功
+     */
+    SUCCESS,
+
+    /**
+     * 重复请求，之前已成功
+     */
+    DUPLICATED,
+
+    /**
+     * 库存不足
+     */
+    INSUFFICIENT,
+
+    /**
+     * 商品不存在
+     */
+    GOODS_NOT_FOUND,
+
+    /**
+     * 预占记录不存在（未预占或已过保留期）
+     */
+    RESERVATION_NOT_FOUND,
+
+    /**
+     * 预占已取消，包括超时释放和空回滚后到达的预占
+     */
+    CANCELLED,
+
+    /**
+     * 空回滚：取消时尚未预占，已记录取消标记防止悬挂
+     */
+    EMPTY_CANCEL;
+
+    public boolean isSuccess() {
+        return this == SUCCESS || this == DUPLICATED || this == EMPTY_CANCEL;
+    }
+}
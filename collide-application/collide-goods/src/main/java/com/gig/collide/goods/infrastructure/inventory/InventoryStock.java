@@ -0,0 +1,29 @@
+package com.gig.collide.goods.infrastructure.inventory;
+
+import lombok.Data;
+
+/**
+ * 回源加载时的数据库库存快照
+ * 库存和回写批次是否已落库由同一条语句读出，两者对应同一时刻的数据
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Data
+public class InventoryStock {
+
+    /**
+     * 商品ID
+     */
+    private Long id;
+
+    /**
+     * 数据库库存，-1 表示无限库存
+     */
+    private Integer stock;
+
+    /**
+     * 读取时回写中的批次是否已落库
+     */
+    private Boolean flushApplied;
+}
@@ -4,10 +4,14 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.goods.domain.entity.Goods;
+import com.gig.collide.goods.infrastructure.inventory.InventoryStock;
 import org.apache.ibatis.annotations.*;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 商品数据访问层
@@ -168,6 +172,58 @@ public interface GoodsMapper extends BaseMapper<Goods> {
             """)
     int reduceStock(@Param("goodsId") Long goodsId, @Param("quantity") Integer quantity);
 
+    /**
+     * 批量查询库存，同时返回回写批次是否已落库
+     *
+     * @param goodsIds     商品ID列表
+     * @param flushBatchId 回写中的批次ID，为空时视为未落库
+     * @return 库存快照
+     */
+    List<InventoryStock> selectStockSnapshot(@Param("goodsIds") Collection<Long> goodsIds,
+                                             @Param("flushBatchId") String flushBatchId);
+
+    /**
+     * 批量查询并锁定库存行
+     *
+     * @param goodsIds 商品ID列表
+     * @return 仅包含ID和库存的商品列表
+     */
+    List<Goods> selectStockByIdsForUpdate(@Param("goodsIds") Collection<Long> goodsIds);
+
+    /**
+     * 写入回写批次记录，批次已存在时不写入
+     *
+     * @param batchId    批次ID
+     * @param goodsCount 商品数
+     * @return 影响行数，0 表示该批次已回写
+     */
+    int insertStockFlush(@Param("batchId") String batchId, @Param("goodsCount") int goodsCount);
+
+    /**
+     * 记录回写批次中扣减超出数据库库存的商品
+     *
+     * @param batchId   批次ID
+     * @param overdrawn 商品ID和超出量
+     * @return 影响行数
+     */
+    int updateStockFlushOverdrawn(@Param("batchId") String batchId, @Param("overdrawn") String overdrawn);
+
+    /**
+     * 删除早于指定时间的回写批次记录
+     *
+     * @param before 截止时间
+     * @return 删除行数
+     */
+    int deleteStockFlushBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * 批量回写库存增量，无限库存商品不受影响
+     *
+     * @param deltas 商品ID和扣减数量的映射，负数表示归还
+     * @return 影响行数
+     */
+    int applyStockDeltas(@Param("deltas") Map<Long, Long> deltas);
+
     /**
      * 查询库存不足的商品
      *
@@ -0,0 +1,86 @@
+package com.gig.collide.like.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 点赞计数物化实体
+ * 对应t_like_count表，由计数引擎定时批量刷盘，替代实时COUNT查询
+ *
+ * @author Collide
+ * @version 2.0.0 (简洁版)
+ * @since 2024-01-01
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@TableName("t_like_count")
+public class LikeCount {
+
+    /**
+     * 计数维度：目标对象被点赞数
+     */
+    public static final String COUNTER_TYPE_TARGET = "TARGET";
+
+    /**
+     * 计数维度：用户点赞数
+     */
+    public static final String COUNTER_TYPE_USER = "USER";
+
+    /**
+     * 计数ID - 主键
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 计数维度：TARGET、USER
+     */
+    @TableField("counter_type")
+    private String counterType;
+
+    /**
+     * 计数归属ID：目标对象ID或用户ID
+     */
+    @TableField("owner_id")
+    private Long ownerId;
+
+    /**
+     * 点赞类型：CONTENT、COMMENT、DYNAMIC
+     */
+    @TableField("like_type")
+    private String likeType;
+
+    /**
+     * 点赞数量
+     */
+    @TableField("like_count")
+    private Long likeCount;
+
+    /**
+     * 创建时间 - 自动填充
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间 - 自动填充
+     */
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+
+    /**
+     * 判断是否为目标对象计数
+     */
+    public boolean isTargetCounter() {
+        return COUNTER_TYPE_TARGET.equals(counterType);
+    }
+}
@@ -3,6 +3,7 @@ package com.gig.collide.like.domain.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.gig.collide.like.domain.entity.Like;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -76,12 +77,15 @@ public interface LikeService {
      * @param targetId 目标对象ID（可选）
      * @param targetAuthorId 目标作者ID（可选）
      * @param status 状态（可选）
+     * @param createTimeStart 创建时间下界，含（可选）
+     * @param createTimeEnd 创建时间上界，含（可选）
      * @param orderBy 排序字段
      * @param orderDirection 排序方向
      * @return 分页结果
      */
     IPage<Like> queryLikes(Integer pageNum, Integer pageSize, Long userId, String likeType,
                           Long targetId, Long targetAuthorId, String status,
+                          LocalDateTime createTimeStart, LocalDateTime createTimeEnd,
                           String orderBy, String orderDirection);
 
     /**
@@ -93,6 +97,15 @@ public interface LikeService {
      */
     Long getLikeCount(String likeType, Long targetId);
 
+    /**
+     * 批量获取目标对象的点赞数量
+     * 
+     * @param likeType 点赞类型
+     * @param targetIds 目标对象ID列表
+     * @return 点赞数量Map (targetId -> likeCount)
+     */
+    Map<Long, Long> batchGetLikeCount(String likeType, List<Long> targetIds);
+
     /**
      * 获取用户的点赞数量
      * 
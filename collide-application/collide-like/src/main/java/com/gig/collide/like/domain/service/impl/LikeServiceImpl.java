@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.like.domain.entity.Like;
 import com.gig.collide.like.domain.service.LikeService;
+import com.gig.collide.like.infrastructure.counter.LikeCounterEngine;
 import com.gig.collide.like.infrastructure.mapper.LikeMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +34,8 @@ public class LikeServiceImpl implements LikeService {
 
     private final LikeMapper likeMapper;
 
+    private final LikeCounterEngine likeCounterEngine;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Like addLike(Like like) {
@@ -63,6 +66,7 @@ public class LikeServiceImpl implements LikeService {
                 existingLike.setUserAvatar(like.getUserAvatar());
                 
                 likeMapper.updateById(existingLike);
+                likeCounterEngine.recordLikeChange(like.getUserId(), like.getLikeType(), like.getTargetId(), 1);
                 log.info("重新激活点赞记录: id={}", existingLike.getId());
                 return existingLike;
             }
@@ -75,6 +79,7 @@ public class LikeServiceImpl implements LikeService {
 
         int result = likeMapper.insert(like);
         if (result > 0) {
+            likeCounterEngine.recordLikeChange(like.getUserId(), like.getLikeType(), like.getTargetId(), 1);
             log.info("创建点赞记录成功: id={}", like.getId());
             return like;
         } else {
@@ -97,6 +102,7 @@ public class LikeServiceImpl implements LikeService {
         // 更新状态为cancelled
         int result = likeMapper.updateLikeStatus(existingLike.getId(), "cancelled");
         if (result > 0) {
+            likeCounterEngine.recordLikeChange(userId, likeType, targetId, -1);
             log.info("取消点赞成功: id={}", existingLike.getId());
             return true;
         } else {
@@ -138,6 +144,7 @@ public class LikeServiceImpl implements LikeService {
     @Override
     public IPage<Like> queryLikes(Integer pageNum, Integer pageSize, Long userId, String likeType,
                                  Long targetId, Long targetAuthorId, String status,
+                                 LocalDateTime createTimeStart, LocalDateTime createTimeEnd,
                                  String orderBy, String orderDirection) {
         log.info("分页查询点赞记录: pageNum={}, pageSize={}, userId={}, likeType={}", 
                 pageNum, pageSize, userId, likeType);
@@ -163,6 +170,12 @@ public class LikeServiceImpl implements LikeService {
         if (StringUtils.hasText(status)) {
             queryWrapper.eq(Like::getStatus, status);
         }
+        if (createTimeStart != null) {
+            queryWrapper.ge(Like::getCreateTime, createTimeStart);
+        }
+        if (createTimeEnd != null) {
+            queryWrapper.le(Like::getCreateTime, createTimeEnd);
+        }
 
         // 设置排序
         if ("ASC".equalsIgnoreCase(orderDirection)) {
@@ -184,12 +197,20 @@ public class LikeServiceImpl implements LikeService {
 
     @Override
     public Long getLikeCount(String likeType, Long targetId) {
-        return likeMapper.countTargetLikes(targetId, likeType, "active");
+        return likeCounterEngine.getTargetCount(likeType, targetId);
+    }
+
+    @Override
+    public Map<Long, Long> batchGetLikeCount(String likeType, List<Long> targetIds) {
+        if (targetIds == null || targetIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return likeCounterEngine.getTargetCounts(likeType, targetIds);
     }
 
     @Override
     public Long getUserLikeCount(Long userId, String likeType) {
-        return likeMapper.countUserLikes(userId, likeType, "active");
+        return likeCounterEngine.getUserCount(userId, likeType);
     }
 
     @Override
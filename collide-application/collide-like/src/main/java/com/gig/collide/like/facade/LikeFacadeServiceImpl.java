@@ -57,7 +57,6 @@ public class LikeFacadeServiceImpl implements LikeFacadeService {
 
     @Override
     @CacheInvalidate(name = LikeCacheConstant.LIKE_STATUS_CACHE)
-    @CacheInvalidate(name = LikeCacheConstant.LIKE_COUNT_CACHE)
     @CacheInvalidate(name = LikeCacheConstant.LIKE_STATISTICS_CACHE)
     public Result<LikeResponse> addLike(LikeRequest request) {
         try {
@@ -90,7 +89,6 @@ public class LikeFacadeServiceImpl implements LikeFacadeService {
 
     @Override
     @CacheInvalidate(name = LikeCacheConstant.LIKE_STATUS_CACHE)
-    @CacheInvalidate(name = LikeCacheConstant.LIKE_COUNT_CACHE)
     @CacheInvalidate(name = LikeCacheConstant.LIKE_STATISTICS_CACHE)
     public Result<Void> cancelLike(LikeCancelRequest request) {
         try {
@@ -122,7 +120,6 @@ public class LikeFacadeServiceImpl implements LikeFacadeService {
 
     @Override
     @CacheInvalidate(name = LikeCacheConstant.LIKE_STATUS_CACHE)
-    @CacheInvalidate(name = LikeCacheConstant.LIKE_COUNT_CACHE)
     @CacheInvalidate(name = LikeCacheConstant.LIKE_STATISTICS_CACHE)
     public Result<LikeResponse> toggleLike(LikeToggleRequest request) {
         try {
@@ -194,6 +191,8 @@ public class LikeFacadeServiceImpl implements LikeFacadeService {
                     request.getTargetId(),
                     request.getTargetAuthorId(),
                     request.getStatus(),
+                    request.getCreateTimeStart(),
+                    request.getCreateTimeEnd(),
                     request.getOrderBy(),
                     request.getOrderDirection()
             );
@@ -213,9 +212,10 @@ public class LikeFacadeServiceImpl implements LikeFacadeService {
 
     // =================== 点赞统计功能 ===================
 
+    /**
+     * 点赞数由计数引擎从Redis/物化表读取并实时累加，不再使用方法缓存
+     */
     @Override
-    @Cached(name = LikeCacheConstant.LIKE_COUNT_CACHE, key = LikeCacheConstant.TARGET_LIKE_COUNT_KEY,
-            expire = LikeCacheConstant.LIKE_COUNT_EXPIRE, timeUnit = TimeUnit.MINUTES, cacheType = CacheType.BOTH)
     public Result<Long> getLikeCount(String likeType, Long targetId) {
         try {
             log.debug("获取点赞数量: 类型={}, 目标={}", likeType, targetId);
@@ -230,8 +230,19 @@ public class LikeFacadeServiceImpl implements LikeFacadeService {
     }
 
     @Override
-    @Cached(name = LikeCacheConstant.LIKE_COUNT_CACHE, key = LikeCacheConstant.USER_LIKE_COUNT_KEY,
-            expire = LikeCacheConstant.LIKE_COUNT_EXPIRE, timeUnit = TimeUnit.MINUTES, cacheType = CacheType.BOTH)
+    public Result<Map<Long, Long>> batchGetLikeCount(String likeType, List<Long> targetIds) {
+        try {
+            log.debug("批量获取点赞数量: 类型={}, 目标数量={}", likeType, targetIds != null ? targetIds.size() : 0);
+
+            Map<Long, Long> countMap = likeService.batchGetLikeCount(likeType, targetIds);
+            return Result.success(countMap);
+        } catch (Exception e) {
+            log.error("批量获取点赞数量失败: 类型={}", likeType, e);
+            return Result.error("BATCH_LIKE_COUNT_ERROR", "批量获取点赞数量失败: " + e.getMessage());
+        }
+    }
+
+    @Override
     public Result<Long> getUserLikeCount(Long userId, String likeType) {
         try {
             log.debug("获取用户点赞数量: 用户={}, 类型={}", userId, likeType);
@@ -1,5 +1,6 @@
 package com.gig.collide.like.infrastructure.cache;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,27 +30,17 @@ public class LikeCacheConstant {
      */
     public static final int LIKE_STATUS_EXPIRE = 15;
 
-    // =================== 点赞数量缓存 ===================
-    
-    /**
-     * 点赞数量缓存名称
-     */
-    public static final String LIKE_COUNT_CACHE = "like:count";
-    
-    /**
-     * 目标对象点赞数量缓存Key
-     */
-    public static final String TARGET_LIKE_COUNT_KEY = "'like:count:' + #likeType + ':' + #targetId";
-    
+    // =================== 点赞计数器（写后刷盘） ===================
+
     /**
-     * 用户点赞数量缓存Key
+     * 目标对象点赞计数Redis Hash前缀，field为点赞类型
      */
-    public static final String USER_LIKE_COUNT_KEY = "'like:count:user:' + #userId + ':' + #likeType";
-    
+    public static final String TARGET_COUNTER_REDIS_KEY_PREFIX = "collide:like:counter:target:";
+
     /**
-     * 点赞数量缓存过期时间（分钟）
+     * 用户点赞计数Redis Hash前缀，field为点赞类型
      */
-    public static final int LIKE_COUNT_EXPIRE = 30;
+    public static final String USER_COUNTER_REDIS_KEY_PREFIX = "collide:like:counter:user:";
 
     // =================== 点赞记录缓存 ===================
     
@@ -61,7 +52,7 @@ public class LikeCacheConstant {
     /**
      * 点赞记录分页缓存Key
      */
-    public static final String LIKE_RECORDS_KEY = "'like:records:' + #request.pageNum + ':' + #request.pageSize + ':' + #request.userId + ':' + #request.likeType + ':' + #request.targetId";
+    public static final String LIKE_RECORDS_KEY = "'like:records:' + #request.currentPage + ':' + #request.pageSize + ':' + #request.userId + ':' + #request.likeType + ':' + #request.targetId + ':' + #request.targetAuthorId + ':' + #request.status + ':' + #request.createTimeStart + ':' + #request.createTimeEnd + ':' + #request.orderBy + ':' + #request.orderDirection";
     
     /**
      * 点赞记录缓存过期时间（分钟）
@@ -199,6 +190,11 @@ public class LikeCacheConstant {
      * 点赞类型：动态点赞
      */
     public static final String LIKE_TYPE_DYNAMIC = "DYNAMIC";
+
+    /**
+     * 全部点赞类型
+     */
+    public static final List<String> LIKE_TYPES = List.of(LIKE_TYPE_CONTENT, LIKE_TYPE_COMMENT, LIKE_TYPE_DYNAMIC);
     
     /**
      * 点赞状态：活跃
@@ -0,0 +1,590 @@
+package com.gig.collide.like.infrastructure.counter;
+
+import com.gig.collide.like.domain.entity.LikeCount;
+import com.gig.collide.like.infrastructure.cache.LikeCacheConstant;
+import com.gig.collide.like.infrastructure.mapper.LikeCountMapper;
+import com.gig.collide.like.infrastructure.mapper.LikeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 点赞计数引擎 - 写后刷盘版
+ * 点赞/取消点赞只累加本地LongAdder增量并同步HINCRBY到Redis，
+ * 由定时任务批量刷入t_like_count物化表，读请求优先命中Redis，避免对t_like做COUNT查询
+ *
+ * <p>Redis结构：每个计数归属对象一个Hash，按点赞类型 {type} 存放四个field，例如
+ * {@code collide:like:counter:target:{targetId} -> {CONTENT: 10, p:CONTENT: 2, f:CONTENT: 0, v:CONTENT: 7}}：</p>
+ * <ul>
+ *     <li>{type}：缓存的总数 = 物化值 + 全部节点未刷盘增量，未命中时由读路径回源</li>
+ *     <li>p:{type}：全部节点已提交未刷盘的增量，每次点赞无条件累加，刷盘提交后扣回</li>
+ *     <li>f:{type}：刷盘中的批次数，大于 0 时物化值与 p 可能重复包含同一增量，此时不回源写缓存、不对账</li>
+ *     <li>v:{type}：刷盘完成次数，回源和对账在读取数据库前后比较，有变化即放弃本次写入</li>
+ * </ul>
+ * 存在未刷盘增量或刷盘中时Hash不过期，否则按配置过期。
+ *
+ * @author Collide
+ * @version 2.0.0 (简洁版)
+ * @since 2024-01-01
+ */
+@Slf4j
+@Component
+public class LikeCounterEngine {
+
+    /**
+     * 没有未刷盘增量和刷盘中批次时按 ARGV[3] 设置过期，否则保持不过期
+     */
+    private static final String EXPIRE_IF_IDLE = """
+        local idle = true
+        for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do
+            local prefix = string.sub(field, 1, 2)
+            if prefix == 'p:' or prefix == 'f:' then
+                idle = false
+                break
+            end
+        end
+        if idle then
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+        end
+        """;
+
+    /**
+     * 累加全局未刷盘增量；总数已缓存时同步累加，否则等待读路径回源。返回累加后的总数，未缓存时返回nil
+     */
+    private static final String INCREMENT_SCRIPT = """
+        redis.call('HINCRBY', KEYS[1], 'p:' .. ARGV[1], ARGV[2])
+        local value = nil
+        if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then
+            value = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+        end
+        redis.call('PERSIST', KEYS[1])
+        return value
+        """;
+
+    /**
+     * 回源初始化：没有刷盘中的批次且刷盘次数与读取数据库前一致时，写入 物化值 + 全局未刷盘增量；
+     * 已存在（并发初始化）则以已有值为准，条件不满足时返回nil
+     */
+    private static final String SEED_SCRIPT = """
+        local inflight = tonumber(redis.call('HGET', KEYS[1], 'f:' .. ARGV[1]) or '0')
+        if inflight > 0 or (redis.call('HGET', KEYS[1], 'v:' .. ARGV[1]) or '0') ~= ARGV[4] then
+            return nil
+        end
+        local value = tonumber(ARGV[2]) + tonumber(redis.call('HGET', KEYS[1], 'p:' .. ARGV[1]) or '0')
+        if value < 0 then
+            value = 0
+        end
+        redis.call('HSETNX', KEYS[1], ARGV[1], value)
+        """ + EXPIRE_IF_IDLE + """
+        return redis.call('HGET', KEYS[1], ARGV[1])
+        """;
+
+    /**
+     * 开始刷盘：刷盘中批次数加一，返回当前全局未刷盘增量
+     */
+    private static final String BEGIN_FLUSH_SCRIPT = """
+        redis.call('HINCRBY', KEYS[1], 'f:' .. ARGV[1], 1)
+        redis.call('PERSIST', KEYS[1])
+        return tonumber(redis.call('HGET', KEYS[1], 'p:' .. ARGV[1]) or '0')
+        """;
+
+    /**
+     * 结束刷盘：提交成功时扣回已落库的增量，ARGV[4] 为 1（开始时标记成功）时刷盘中批次数减一，刷盘完成次数加一
+     */
+    private static final String END_FLUSH_SCRIPT = """
+        if ARGV[2] ~= '0' and redis.call('HINCRBY', KEYS[1], 'p:' .. ARGV[1], -tonumber(ARGV[2])) == 0 then
+            redis.call('HDEL', KEYS[1], 'p:' .. ARGV[1])
+        end
+        if ARGV[4] == '1' and redis.call('HINCRBY', KEYS[1], 'f:' .. ARGV[1], -1) <= 0 then
+            redis.call('HDEL', KEYS[1], 'f:' .. ARGV[1])
+        end
+        redis.call('HINCRBY', KEYS[1], 'v:' .. ARGV[1], 1)
+        """ + EXPIRE_IF_IDLE + """
+        return 1
+        """;
+
+    private final DefaultRedisScript<Long> incrementScript = new DefaultRedisScript<>(INCREMENT_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<String> seedScript = new DefaultRedisScript<>(SEED_SCRIPT, String.class);
+
+    private final DefaultRedisScript<Long> beginFlushScript = new DefaultRedisScript<>(BEGIN_FLUSH_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> endFlushScript = new DefaultRedisScript<>(END_FLUSH_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final LikeCountMapper likeCountMapper;
+
+    private final LikeMapper likeMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 本地未刷盘增量，ConcurrentHashMap分段 + LongAdder分槽，热点目标的并发累加互不竞争
+     */
+    private final ConcurrentHashMap<CounterKey, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 本地增量中同步Redis失败、未计入全局未刷盘增量的部分，刷盘后扣回全局增量时排除
+     */
+    private final ConcurrentHashMap<CounterKey, LongAdder> unmirroredDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 结束标记失败的刷盘，下次刷盘前重试，重试成功前该计数不会回源写缓存
+     */
+    private final Queue<FlushEnd> failedFlushEnds = new ConcurrentLinkedQueue<>();
+
+    @Value("${collide.like.counter.redis-expire-seconds:1800}")
+    private long redisExpireSeconds;
+
+    @Value("${collide.like.counter.flush-batch-size:200}")
+    private int flushBatchSize;
+
+    @Value("${collide.like.counter.reconcile-batch-size:200}")
+    private int reconcileBatchSize;
+
+    public LikeCounterEngine(StringRedisTemplate redisTemplate, LikeCountMapper likeCountMapper,
+                             LikeMapper likeMapper, TransactionTemplate transactionTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.likeCountMapper = likeCountMapper;
+        this.likeMapper = likeMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // =================== 写路径 ===================
+
+    /**
+     * 记录一次点赞状态变化
+     * 存在事务时在提交后生效，避免回滚的点赞被计入
+     *
+     * @param userId 点赞用户ID
+     * @param likeType 点赞类型
+     * @param targetId 目标对象ID
+     * @param delta 变化量：点赞+1，取消-1
+     */
+    public void recordLikeChange(Long userId, String likeType, Long targetId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyLikeChange(userId, likeType, targetId, delta);
+                }
+            });
+        } else {
+            applyLikeChange(userId, likeType, targetId, delta);
+        }
+    }
+
+    private void applyLikeChange(Long userId, String likeType, Long targetId, long delta) {
+        increment(new CounterKey(LikeCount.COUNTER_TYPE_TARGET, targetId, likeType), delta);
+        increment(new CounterKey(LikeCount.COUNTER_TYPE_USER, userId, likeType), delta);
+    }
+
+    private void increment(CounterKey key, long delta) {
+        pendingDeltas.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        try {
+            redisTemplate.execute(incrementScript, Collections.singletonList(key.redisKey()),
+                    key.likeType(), String.valueOf(delta), String.valueOf(redisExpireSeconds));
+        } catch (Exception e) {
+            // Redis镜像失败只影响读缓存，删除field让下次读取回源，增量仍会刷盘；刷盘后扣回全局增量时排除本次变化
+            log.warn("点赞计数同步Redis失败: key={}, delta={}", key, delta, e);
+            unmirroredDeltas.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            evictRedis(key);
+        }
+    }
+
+    // =================== 读路径 ===================
+
+    /**
+     * 获取目标对象的点赞数
+     */
+    public Long getTargetCount(String likeType, Long targetId) {
+        return getCount(new CounterKey(LikeCount.COUNTER_TYPE_TARGET, targetId, likeType));
+    }
+
+    /**
+     * 批量获取目标对象的点赞数
+     * 一次管道读取全部目标的Redis计数，未命中的目标逐个回源初始化
+     *
+     * @return 目标ID -> 点赞数，包含全部传入的目标
+     */
+    public Map<Long, Long> getTargetCounts(String likeType, List<Long> targetIds) {
+        List<CounterKey> keys = new ArrayList<>(targetIds.size());
+        for (Long targetId : new LinkedHashSet<>(targetIds)) {
+            if (targetId != null) {
+                keys.add(new CounterKey(LikeCount.COUNTER_TYPE_TARGET, targetId, likeType));
+            }
+        }
+        List<Object> cached;
+        try {
+            cached = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    for (CounterKey key : keys) {
+                        operations.opsForHash().get((K) key.redisKey(), key.likeType());
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("点赞计数批量读取Redis失败，逐个读取: size={}", keys.size(), e);
+            cached = Collections.emptyList();
+        }
+
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            CounterKey key = keys.get(i);
+            Object value = i < cached.size() ? cached.get(i) : null;
+            counts.put(key.ownerId(), value != null ? Long.parseLong(value.toString()) : getCount(key));
+        }
+        return counts;
+    }
+
+    /**
+     * 获取用户的点赞数，likeType为空时汇总所有点赞类型
+     */
+    public Long getUserCount(Long userId, String likeType) {
+        if (likeType != null && !likeType.isEmpty()) {
+            return getCount(new CounterKey(LikeCount.COUNTER_TYPE_USER, userId, likeType));
+        }
+        long total = 0;
+        for (String type : LikeCacheConstant.LIKE_TYPES) {
+            total += getCount(new CounterKey(LikeCount.COUNTER_TYPE_USER, userId, type));
+        }
+        return total;
+    }
+
+    private Long getCount(CounterKey key) {
+        try {
+            Object cached = redisTemplate.opsForHash().get(key.redisKey(), key.likeType());
+            if (cached != null) {
+                return Long.parseLong(cached.toString());
+            }
+            // Redis未命中：回源物化表，加上全局未刷盘增量写回Redis供后续读取
+            CounterState state = readState(key);
+            long materialized = loadCount(key, state.pending());
+            String value = state.inflight() ? null : redisTemplate.execute(seedScript,
+                    Collections.singletonList(key.redisKey()), key.likeType(), String.valueOf(materialized),
+                    String.valueOf(redisExpireSeconds), state.version());
+            return value != null ? Long.parseLong(value) : Math.max(materialized + state.pending(), 0);
+        } catch (Exception e) {
+            log.warn("点赞计数读取Redis失败，降级读取物化表: key={}", key, e);
+            long pending = pendingDelta(key);
+            return Math.max(loadCount(key, pending) + pending, 0);
+        }
+    }
+
+    /**
+     * 物化值；物化行不存在时按t_like统计一次并物化，之后不再COUNT
+     * 实时统计已包含各节点已提交但未刷盘的增量，初始化时扣除，刷盘时再累加回来
+     *
+     * @param pending 全局未刷盘增量
+     */
+    private long loadCount(CounterKey key, long pending) {
+        LikeCount counter = likeCountMapper.findCounter(key.counterType(), key.ownerId(), key.likeType());
+        if (counter == null) {
+            likeCountMapper.insertSeedFromLikes(key.counterType(), key.ownerId(), key.likeType(), pending);
+            counter = likeCountMapper.findCounter(key.counterType(), key.ownerId(), key.likeType());
+        }
+        return counter != null ? nullToZero(counter.getLikeCount()) : 0L;
+    }
+
+    /**
+     * 一次读取全局未刷盘增量、刷盘中批次数和刷盘完成次数
+     */
+    private CounterState readState(CounterKey key) {
+        String type = key.likeType();
+        List<Object> values = redisTemplate.opsForHash().multiGet(key.redisKey(),
+                List.of("p:" + type, "f:" + type, "v:" + type));
+        return new CounterState(parseLong(values.get(0)), parseLong(values.get(1)) > 0,
+                values.get(2) != null ? values.get(2).toString() : "0");
+    }
+
+    private static long parseLong(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    private long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private long pendingDelta(CounterKey key) {
+        LongAdder adder = pendingDeltas.get(key);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    // =================== 刷盘 ===================
+
+    /**
+     * 将本地增量批量刷入物化表
+     *
+     * @return 刷盘的计数数量
+     */
+    public int flush() {
+        retryFailedFlushEnds();
+
+        List<LikeCount> drained = new ArrayList<>();
+        Map<CounterKey, Long> unmirrored = new HashMap<>();
+        for (Map.Entry<CounterKey, LongAdder> entry : pendingDeltas.entrySet()) {
+            CounterKey key = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            long skipped = drain(unmirroredDeltas, key);
+            if (skipped != 0) {
+                unmirrored.put(key, skipped);
+            }
+            if (delta == 0 && skipped == 0) {
+                // 空闲增量槽回收；移除后残留的并发增量重新放回
+                if (pendingDeltas.remove(key, adder)) {
+                    long late = adder.sumThenReset();
+                    if (late != 0) {
+                        pendingDeltas.computeIfAbsent(key, k -> new LongAdder()).add(late);
+                    }
+                }
+                continue;
+            }
+            drained.add(key.toCounter(delta));
+        }
+
+        for (int from = 0; from < drained.size(); from += flushBatchSize) {
+            List<LikeCount> batch = drained.subList(from, Math.min(from + flushBatchSize, drained.size()));
+            Map<CounterKey, Long> pendings = beginFlush(batch);
+            boolean committed = false;
+            try {
+                transactionTemplate.executeWithoutResult(status -> flushBatch(batch, pendings, unmirrored));
+                committed = true;
+            } catch (Exception e) {
+                log.error("点赞计数刷盘失败，增量放回等待下次刷盘: size={}", batch.size(), e);
+                for (LikeCount counter : batch) {
+                    CounterKey key = CounterKey.of(counter);
+                    pendingDeltas.computeIfAbsent(key, k -> new LongAdder()).add(counter.getLikeCount());
+                    Long skipped = unmirrored.get(key);
+                    if (skipped != null) {
+                        unmirroredDeltas.computeIfAbsent(key, k -> new LongAdder()).add(skipped);
+                    }
+                }
+            }
+            for (LikeCount counter : batch) {
+                CounterKey key = CounterKey.of(counter);
+                long flushed = committed ? counter.getLikeCount() - unmirrored.getOrDefault(key, 0L) : 0L;
+                boolean began = pendings.containsKey(key);
+                if (began || flushed != 0) {
+                    endFlush(new FlushEnd(key, flushed, began));
+                }
+            }
+        }
+
+        if (!drained.isEmpty()) {
+            log.info("点赞计数刷盘完成: count={}", drained.size());
+        }
+        return drained.size();
+    }
+
+    private static long drain(Map<CounterKey, LongAdder> deltas, CounterKey key) {
+        LongAdder adder = deltas.remove(key);
+        return adder != null ? adder.sumThenReset() : 0L;
+    }
+
+    /**
+     * 标记刷盘开始，返回各计数的全局未刷盘增量；Redis不可用时不标记，刷盘照常进行
+     */
+    private Map<CounterKey, Long> beginFlush(List<LikeCount> batch) {
+        Map<CounterKey, Long> pendings = new HashMap<>(batch.size() * 2);
+        for (LikeCount counter : batch) {
+            CounterKey key = CounterKey.of(counter);
+            try {
+                Long pending = redisTemplate.execute(beginFlushScript, Collections.singletonList(key.redisKey()),
+                        key.likeType());
+                pendings.put(key, pending != null ? pending : 0L);
+            } catch (Exception e) {
+                log.warn("点赞计数刷盘标记失败: key={}", key, e);
+            }
+        }
+        return pendings;
+    }
+
+    /**
+     * 标记刷盘结束，从全局未刷盘增量中扣回已落库的增量；失败时放入重试队列
+     */
+    private void endFlush(FlushEnd end) {
+        try {
+            redisTemplate.execute(endFlushScript, Collections.singletonList(end.key().redisKey()),
+                    end.key().likeType(), String.valueOf(end.flushed()), String.valueOf(redisExpireSeconds),
+                    end.began() ? "1" : "0");
+        } catch (Exception e) {
+            log.warn("点赞计数刷盘结束标记失败，下次刷盘重试: key={}", end.key(), e);
+            evictRedis(end.key());
+            failedFlushEnds.add(end);
+        }
+    }
+
+    private void retryFailedFlushEnds() {
+        for (int i = failedFlushEnds.size(); i > 0; i--) {
+            FlushEnd end = failedFlushEnds.poll();
+            if (end == null) {
+                return;
+            }
+            endFlush(end);
+        }
+    }
+
+    private void flushBatch(List<LikeCount> batch, Map<CounterKey, Long> pendings, Map<CounterKey, Long> unmirrored) {
+        Set<CounterKey> existing = new HashSet<>();
+        for (LikeCount counter : likeCountMapper.findCounters(batch)) {
+            existing.add(CounterKey.of(counter));
+        }
+
+        List<LikeCount> increments = new ArrayList<>(batch.size());
+        for (LikeCount counter : batch) {
+            CounterKey key = CounterKey.of(counter);
+            if (existing.contains(key)) {
+                increments.add(counter);
+                continue;
+            }
+            // 物化行不存在：按t_like统计初始化，统计值已包含本次增量，只需扣除其他节点尚未刷盘的部分；
+            // 并发初始化时行已被其他节点插入，本次增量照常累加
+            long mirrored = counter.getLikeCount() - unmirrored.getOrDefault(key, 0L);
+            long otherPending = pendings.getOrDefault(key, mirrored) - mirrored;
+            if (likeCountMapper.insertSeedFromLikes(key.counterType(), key.ownerId(), key.likeType(),
+                    otherPending) == 0) {
+                increments.add(counter);
+            }
+        }
+
+        if (!increments.isEmpty()) {
+            likeCountMapper.batchIncrement(increments);
+        }
+    }
+
+    // =================== 对账 ===================
+
+    /**
+     * 对账：按t_like重新统计时间窗口内变动过的计数，修正物化表漂移并清理对应Redis缓存
+     * 物化值应等于 t_like 统计值 - 全局未刷盘增量；计数正在刷盘或统计期间完成过刷盘时跳过，下次对账再处理，
+     * 修正按读取时的物化值做条件更新，统计之后的并发刷盘会使修正失效
+     *
+     * @param startTime 窗口开始时间
+     * @param endTime 窗口结束时间
+     * @return 修正的计数数量
+     */
+    public int reconcile(LocalDateTime startTime, LocalDateTime endTime) {
+        int repaired = 0;
+        long lastId = 0L;
+        List<LikeCount> batch;
+        do {
+            batch = likeCountMapper.findUpdatedBetween(startTime, endTime, lastId, reconcileBatchSize);
+            for (LikeCount likeCount : batch) {
+                lastId = likeCount.getId();
+                if (reconcileCounter(likeCount)) {
+                    repaired++;
+                }
+            }
+        } while (batch.size() == reconcileBatchSize);
+        return repaired;
+    }
+
+    private boolean reconcileCounter(LikeCount likeCount) {
+        CounterKey key = CounterKey.of(likeCount);
+        CounterState before = readState(key);
+        if (before.inflight()) {
+            return false;
+        }
+        Long counted = likeCount.isTargetCounter()
+                ? likeMapper.countTargetLikes(likeCount.getOwnerId(), likeCount.getLikeType(), "active")
+                : likeMapper.countUserLikes(likeCount.getOwnerId(), likeCount.getLikeType(), "active");
+        if (counted == null) {
+            return false;
+        }
+        long actual = Math.max(counted - before.pending(), 0);
+        if (actual == nullToZero(likeCount.getLikeCount())) {
+            return false;
+        }
+        CounterState after = readState(key);
+        if (after.inflight() || !after.version().equals(before.version())) {
+            return false;
+        }
+        if (likeCountMapper.repairCount(likeCount.getId(), likeCount.getLikeCount(), actual) == 0) {
+            return false;
+        }
+        log.warn("点赞计数漂移已修正: key={}, expected={}, actual={}, pending={}",
+                key, likeCount.getLikeCount(), actual, before.pending());
+        evictRedis(key);
+        return true;
+    }
+
+    private void evictRedis(CounterKey key) {
+        try {
+            redisTemplate.opsForHash().delete(key.redisKey(), key.likeType());
+        } catch (Exception e) {
+            log.warn("清理点赞计数缓存失败: key={}", key, e);
+        }
+    }
+
+    /**
+     * 待提交的刷盘结束标记
+     *
+     * @param key     计数键
+     * @param flushed 已落库且计入过全局增量的数量，刷盘失败时为 0
+     * @param began   开始标记是否成功
+     */
+    private record FlushEnd(CounterKey key, long flushed, boolean began) {
+    }
+
+    /**
+     * 计数在Redis中的刷盘状态
+     *
+     * @param pending  全局未刷盘增量
+     * @param inflight 是否有刷盘中的批次
+     * @param version  刷盘完成次数
+     */
+    private record CounterState(long pending, boolean inflight, String version) {
+    }
+
+    /**
+     * 计数键：计数维度 + 归属ID + 点赞类型
+     */
+    record CounterKey(String counterType, Long ownerId, String likeType) {
+
+        static CounterKey of(LikeCount counter) {
+            return new CounterKey(counter.getCounterType(), counter.getOwnerId(), counter.getLikeType());
+        }
+
+        String redisKey() {
+            return LikeCount.COUNTER_TYPE_TARGET.equals(counterType)
+                    ? LikeCacheConstant.TARGET_COUNTER_REDIS_KEY_PREFIX + ownerId
+                    : LikeCacheConstant.USER_COUNTER_REDIS_KEY_PREFIX + ownerId;
+        }
+
+        LikeCount toCounter(long delta) {
+            LikeCount counter = new LikeCount();
+            counter.setCounterType(counterType);
+            counter.setOwnerId(ownerId);
+            counter.setLikeType(likeType);
+            counter.setLikeCount(delta);
+            return counter;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.gig.collide.like.infrastructure.counter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 点赞计数定时任务
+ * 定时刷盘本地增量，并按t_like对账修复物化计数漂移
+ *
+ * @author Collide
+ * @version 2.0.0 (简洁版)
+ * @since 2024-01-01
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeCounterJob {
+
+    private final LikeCounterEngine likeCounterEngine;
+
+    /**
+     * 对账回看窗口（分钟）
+     */
+    @Value("${collide.like.counter.reconcile-lookback-minutes:60}")
+    private long reconcileLookbackMinutes;
+
+    /**
+     * 对账静默期（秒），只对该时间之前刷盘的计数对账，减少与刷盘并发而跳过的计数
+     */
+    @Value("${collide.like.counter.reconcile-quiet-seconds:60}")
+    private long reconcileQuietSeconds;
+
+    /**
+     * 批量刷盘本地增量
+     */
+    @Scheduled(fixedDelayString = "${collide.like.counter.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            likeCounterEngine.flush();
+        } catch (Exception e) {
+            log.error("点赞计数定时刷盘异常", e);
+        }
+    }
+
+    /**
+     * 对账修复计数漂移
+     */
+    @Scheduled(fixedDelayString = "${collide.like.counter.reconcile-interval-ms:600000}",
+            initialDelayString = "${collide.like.counter.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int repaired = likeCounterEngine.reconcile(now.minusMinutes(reconcileLookbackMinutes),
+                    now.minusSeconds(reconcileQuietSeconds));
+            log.info("点赞计数对账完成: repaired={}", repaired);
+        } catch (Exception e) {
+            log.error("点赞计数对账异常", e);
+        }
+    }
+
+    /**
+     * 停机前刷盘，避免丢失未落库的增量
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("服务停止，刷盘点赞计数增量");
+        flush();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gig.collide.like.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gig.collide.like.domain.entity.LikeCount;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 点赞计数物化表数据访问层
+ * 供计数引擎刷盘、回源和对账使用
+ *
+ * @author Collide
+ * @version 2.0.0 (简洁版)
+ * @since 2024-01-01
+ */
+@Mapper
+public interface LikeCountMapper extends BaseMapper<LikeCount> {
+
+    /**
+     * 查询单个计数
+     *
+     * @param counterType 计数维度
+     * @param ownerId 计数归属ID
+     * @param likeType 点赞类型
+     * @return 计数记录
+     */
+    LikeCount findCounter(@Param("counterType") String counterType,
+                          @Param("ownerId") Long ownerId,
+                          @Param("likeType") String likeType);
+
+    /**
+     * 批量查询已存在的计数
+     *
+     * @param counters 计数键列表（counterType、ownerId、likeType）
+     * @return 已存在的计数记录
+     */
+    List<LikeCount> findCounters(@Param("counters") List<LikeCount> counters);
+
+    /**
+     * 以t_like实时统计值初始化计数（已存在则忽略）
+     *
+     * @param counterType 计数维度
+     * @param ownerId 计数归属ID
+     * @param likeType 点赞类型
+     * @param exclude 统计值中已提交但尚未刷盘、之后会由刷盘累加的增量
+     * @return 插入行数
+     */
+    int insertSeedFromLikes(@Param("counterType") String counterType,
+                            @Param("ownerId") Long ownerId,
+                            @Param("likeType") String likeType,
+                            @Param("exclude") long exclude);
+
+    /**
+     * 批量累加计数增量
+     *
+     * @param counters 计数增量列表，likeCount为增量值
+     * @return 影响行数
+     */
+    int batchIncrement(@Param("counters") List<LikeCount> counters);
+
+    /**
+     * 对账修正计数（仅在计数未被并发刷盘修改时生效）
+     *
+     * @param id 计数ID
+     * @param expected 对账读取时的计数
+     * @param actual 按t_like统计的实际计数
+     * @return 更新行数
+     */
+    int repairCount(@Param("id") Long id,
+                    @Param("expected") Long expected,
+                    @Param("actual") Long actual);
+
+    /**
+     * 按ID游标查询时间窗口内更新过的计数
+     *
+     * @param startTime 窗口开始时间
+     * @param endTime 窗口结束时间
+     * @param lastId 上一批最大ID
+     * @param limit 批量大小
+     * @return 计数列表
+     */
+    List<LikeCount> findUpdatedBetween(@Param("startTime") LocalDateTime startTime,
+                                       @Param("endTime") LocalDateTime endTime,
+                                       @Param("lastId") Long lastId,
+                                       @Param("limit") int limit);
+}
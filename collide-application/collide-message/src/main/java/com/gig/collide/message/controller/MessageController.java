@@ -5,6 +5,8 @@ import com.gig.collide.api.message.request.MessageCreateRequest;
 import com.gig.collide.api.message.request.MessageQueryRequest;
 import com.gig.collide.api.message.response.MessageResponse;
 import com.gig.collide.api.message.response.MessageSessionResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 import io.swagger.v3.oas.annotations.Operation;
@@ -79,6 +81,20 @@ public class MessageController {
         return messageFacadeService.getChatHistory(userId1, userId2, currentPage, pageSize);
     }
 
+    @GetMapping("/chat/cursor")
+    @Operation(summary = "按游标获取聊天记录", description = "从最新消息开始倒序加载，翻页传上一页返回的 nextCursor")
+    public Result<CursorPageResponse<MessageResponse>> getChatHistoryByCursor(
+            @Parameter(description = "用户1 ID") @RequestParam Long userId1,
+            @Parameter(description = "用户2 ID") @RequestParam Long userId2,
+            @Parameter(description = "上一页返回的游标，第一页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize,
+            @Parameter(description = "是否统计总数") @RequestParam(defaultValue = "false") Boolean withTotal) {
+        log.debug("REST按游标获取聊天记录: 用户1={}, 用户2={}", userId1, userId2);
+        CursorPageRequest pageRequest = CursorPageRequest.of(cursor, pageSize);
+        pageRequest.setWithTotal(withTotal);
+        return messageFacadeService.getChatHistoryByCursor(userId1, userId2, pageRequest);
+    }
+
     @GetMapping("/wall/{userId}")
     @Operation(summary = "获取用户留言板", description = "获取用户个人页面的留言（包含置顶消息）")
     public Result<PageResponse<MessageResponse>> getUserWallMessages(
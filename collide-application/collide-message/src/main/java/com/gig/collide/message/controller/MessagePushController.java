@@ -0,0 +1,89 @@
+package com.gig.collide.message.controller;
+
+import com.gig.collide.message.infrastructure.push.MessagePushService;
+import com.gig.collide.message.infrastructure.push.PushAckBatcher;
+import com.gig.collide.message.infrastructure.push.PushConnectionRegistry;
+import com.gig.collide.message.infrastructure.push.PushSession;
+import com.gig.collide.message.infrastructure.push.SsePushSession;
+import com.gig.collide.web.vo.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 消息推送控制器
+ * 不支持 WebSocket 的客户端使用 SSE 接收推送，通过 HTTP 提交已读确认
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/message/push")
+@Tag(name = "消息推送", description = "新消息实时推送与已读确认")
+public class MessagePushController {
+
+    private final PushConnectionRegistry registry;
+
+    private final MessagePushService pushService;
+
+    private final PushAckBatcher ackBatcher;
+
+    private final ExecutorService pushExecutor;
+
+    /**
+     * SSE 连接超时时间（毫秒），超时后客户端自动重连
+     */
+    @Value("${collide.message.push.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Value("${collide.message.push.max-pending:256}")
+    private int maxPending;
+
+    public MessagePushController(PushConnectionRegistry registry, MessagePushService pushService,
+                                 PushAckBatcher ackBatcher,
+                                 @Qualifier("messagePushExecutor") ExecutorService pushExecutor) {
+        this.registry = registry;
+        this.pushService = pushService;
+        this.ackBatcher = ackBatcher;
+        this.pushExecutor = pushExecutor;
+    }
+
+    @GetMapping(value = "/sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅消息推送", description = "SSE 长连接，连接建立后先推送一次未读数，之后推送新消息")
+    public SseEmitter subscribe(@Parameter(description = "用户ID") @RequestParam Long userId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        PushSession session = new SsePushSession(userId, emitter, maxPending, pushExecutor);
+        Runnable cleanup = () -> {
+            session.close();
+            registry.unregister(session);
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        registry.register(session);
+        pushService.pushInitialState(session);
+        return emitter;
+    }
+
+    @PostMapping("/ack")
+    @Operation(summary = "确认已读", description = "批量确认消息已读，服务端合并后异步落库")
+    public Result<Void> ack(@Parameter(description = "用户ID") @RequestParam Long userId,
+                            @RequestBody List<Long> messageIds) {
+        if (messageIds == null || messageIds.isEmpty()) {
+            return Result.error("INVALID_PARAM", "消息ID列表不能为空");
+        }
+        ackBatcher.ack(userId, messageIds);
+        return Result.success(null);
+    }
+}
@@ -1,6 +1,8 @@
 package com.gig.collide.message.domain.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.message.domain.entity.Message;
 
 import java.time.LocalDateTime;
@@ -65,6 +67,11 @@ public interface MessageService {
      */
     Page<Message> getChatHistory(Long userId1, Long userId2, Integer currentPage, Integer pageSize);
 
+    /**
+     * 按游标获取两用户间的聊天记录，时间倒序，向上翻看更早的消息
+     */
+    KeysetPage<Message> getChatHistoryByCursor(Long userId1, Long userId2, KeysetQuery seek);
+
     /**
      * 获取用户留言板消息
      */
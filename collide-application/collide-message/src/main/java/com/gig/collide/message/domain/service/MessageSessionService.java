@@ -59,6 +59,21 @@ public interface MessageSessionService {
      */
     Long countUserSessions(Long userId, Boolean isArchived);
 
+    /**
+     * 获取用户的未读消息总数
+     */
+    Long getUnreadCount(Long userId);
+
+    /**
+     * 获取用户与对方的未读消息数
+     */
+    Long getUnreadCountWithUser(Long userId, Long otherUserId);
+
+    /**
+     * 使用户的收件箱缓存失效，下次访问时从数据库重建
+     */
+    void invalidateInbox(Long userId);
+
     // =================== 状态更新 ===================
 
     /**
@@ -76,6 +91,11 @@ public interface MessageSessionService {
      */
     boolean clearUnreadCount(Long userId, Long otherUserId);
 
+    /**
+     * 减少会话的未读计数（消息被标记已读或删除时调用）
+     */
+    boolean decreaseUnreadCount(Long userId, Long otherUserId, int count);
+
     /**
      * 更新会话归档状态
      */
@@ -1,9 +1,15 @@
 package com.gig.collide.message.domain.service.impl;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.base.request.PageCursor;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.message.domain.entity.Message;
+import com.gig.collide.message.domain.entity.MessageSession;
 import com.gig.collide.message.domain.service.MessageService;
+import com.gig.collide.message.domain.service.MessageSessionService;
 import com.gig.collide.message.infrastructure.mapper.MessageMapper;
+import com.gig.collide.message.infrastructure.push.MessagePushService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,6 +35,10 @@ public class MessageServiceImpl implements MessageService {
 
     private final MessageMapper messageMapper;
 
+    private final MessagePushService messagePushService;
+
+    private final MessageSessionService messageSessionService;
+
     // =================== 基础操作 ===================
 
     @Override
@@ -49,6 +59,7 @@ public class MessageServiceImpl implements MessageService {
         }
         
         messageMapper.insert(message);
+        messagePushService.pushAfterCommit(message);
         log.info("消息发送成功: ID={}", message.getId());
         return message;
     }
@@ -75,8 +86,12 @@ public class MessageServiceImpl implements MessageService {
             return true;
         }
         
+        List<MessageSession> unread = messageMapper.lockUnreadCounts(List.of(messageId), null);
         int result = messageMapper.updateMessageStatus(messageId, "read", LocalDateTime.now());
         boolean success = result > 0;
+        if (success) {
+            decreaseUnreadCounts(unread);
+        }
         log.info("标记消息已读{}: ID={}", success ? "成功" : "失败", messageId);
         return success;
     }
@@ -90,8 +105,12 @@ public class MessageServiceImpl implements MessageService {
             return true;
         }
         
+        List<MessageSession> unread = messageMapper.lockUnreadCounts(messageIds, userId);
         int result = messageMapper.batchMarkAsRead(messageIds, userId, LocalDateTime.now());
         boolean success = result > 0;
+        if (success) {
+            decreaseUnreadCounts(unread);
+        }
         log.info("批量标记消息已读{}: 影响行数={}", success ? "成功" : "失败", result);
         return success;
     }
@@ -107,8 +126,12 @@ public class MessageServiceImpl implements MessageService {
             return false;
         }
         
+        List<MessageSession> unread = messageMapper.lockUnreadCounts(List.of(messageId), null);
         int result = messageMapper.updateMessageStatus(messageId, "deleted", null);
         boolean success = result > 0;
+        if (success) {
+            decreaseUnreadCounts(unread);
+        }
         log.info("删除消息{}: ID={}", success ? "成功" : "失败", messageId);
         return success;
     }
@@ -122,8 +145,15 @@ public class MessageServiceImpl implements MessageService {
             return true;
         }
         
+        List<MessageSession> unread = messageMapper.lockUnreadCounts(messageIds, null);
         int result = messageMapper.batchDeleteMessages(messageIds, userId);
         boolean success = result > 0;
+        if (success) {
+            // 只扣减本次实际删除的消息，即当前用户作为发送者或接收者的消息
+            decreaseUnreadCounts(unread.stream()
+                    .filter(entry -> userId.equals(entry.getUserId()) || userId.equals(entry.getOtherUserId()))
+                    .toList());
+        }
         log.info("批量删除消息{}: 影响行数={}", success ? "成功" : "失败", result);
         return success;
     }
@@ -152,6 +182,15 @@ public class MessageServiceImpl implements MessageService {
         return messageMapper.findChatHistory(page, userId1, userId2, "deleted");
     }
 
+    @Override
+    public KeysetPage<Message> getChatHistoryByCursor(Long userId1, Long userId2, KeysetQuery seek) {
+        log.debug("按游标获取聊天记录: 用户1={}, 用户2={}, 游标={}", userId1, userId2, seek.getCursor());
+
+        List<Message> rows = messageMapper.findChatHistoryByCursor(userId1, userId2, "deleted", seek);
+        Long total = seek.isWithTotal() ? messageMapper.countChatHistory(userId1, userId2, "deleted") : null;
+        return seek.toPage(rows, message -> PageCursor.of(message.getCreateTime(), message.getId()), total);
+    }
+
     @Override
     public Page<Message> getUserWallMessages(Long userId, Integer currentPage, Integer pageSize) {
         log.debug("获取用户留言板: 用户ID={}, 页码={}", userId, currentPage);
@@ -180,14 +219,12 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     public Long getUnreadCount(Long userId) {
-        log.debug("获取未读消息数: 用户ID={}", userId);
-        return messageMapper.countUnreadMessages(userId);
+        return messageSessionService.getUnreadCount(userId);
     }
 
     @Override
     public Long getUnreadCountWithUser(Long userId, Long otherUserId) {
-        log.debug("获取与用户的未读消息数: 用户ID={}, 对方ID={}", userId, otherUserId);
-        return messageMapper.countUnreadWithUser(userId, otherUserId);
+        return messageSessionService.getUnreadCountWithUser(userId, otherUserId);
     }
 
     @Override
@@ -202,7 +239,7 @@ public class MessageServiceImpl implements MessageService {
         // 统计发送数和接收数
         Long sentCount = messageMapper.countSentMessages(userId, thirtyDaysAgo, null);
         Long receivedCount = messageMapper.countReceivedMessages(userId, thirtyDaysAgo, null);
-        Long unreadCount = messageMapper.countUnreadMessages(userId);
+        Long unreadCount = getUnreadCount(userId);
         
         statistics.put("sent_count", sentCount != null ? sentCount : 0);
         statistics.put("received_count", receivedCount != null ? receivedCount : 0);
@@ -223,8 +260,18 @@ public class MessageServiceImpl implements MessageService {
         log.debug("更新消息状态: ID={}, 状态={}", messageId, status);
         
         LocalDateTime readTime = "read".equals(status) ? LocalDateTime.now() : null;
+        List<MessageSession> unread = messageMapper.lockUnreadCounts(List.of(messageId), null);
         int result = messageMapper.updateMessageStatus(messageId, status, readTime);
         boolean success = result > 0;
+        if (success && ("read".equals(status) || "deleted".equals(status))) {
+            decreaseUnreadCounts(unread);
+        } else if (success && unread.isEmpty()) {
+            // 已读消息恢复为未读，增量不便维护，事务提交后由接收者下次访问时重建缓存
+            Message message = messageMapper.selectById(messageId);
+            if (message != null && !message.isRead() && !message.isDeleted()) {
+                messageSessionService.invalidateInbox(message.getReceiverId());
+            }
+        }
         log.info("更新消息状态{}: ID={}, 状态={}", success ? "成功" : "失败", messageId, status);
         return success;
     }
@@ -247,6 +294,9 @@ public class MessageServiceImpl implements MessageService {
         
         int result = messageMapper.markSessionMessagesAsRead(receiverId, senderId, LocalDateTime.now());
         boolean success = result > 0;
+        if (success) {
+            messageSessionService.decreaseUnreadCount(receiverId, senderId, result);
+        }
         log.info("标记会话消息已读{}: 影响行数={}", success ? "成功" : "失败", result);
         return success;
     }
@@ -287,4 +337,15 @@ public class MessageServiceImpl implements MessageService {
         log.info("清理过期消息完成: 删除数量={}", result);
         return result;
     }
-}
\ No newline at end of file
+
+    // =================== 内部方法 ===================
+
+    /**
+     * 按状态变更前锁定的未读统计扣减会话未读数
+     */
+    private void decreaseUnreadCounts(List<MessageSession> unread) {
+        for (MessageSession entry : unread) {
+            messageSessionService.decreaseUnreadCount(entry.getUserId(), entry.getOtherUserId(), entry.getUnreadCount());
+        }
+    }
+}
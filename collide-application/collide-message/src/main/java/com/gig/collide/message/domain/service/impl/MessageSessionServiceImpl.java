@@ -3,6 +3,8 @@ package com.gig.collide.message.domain.service.impl;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.message.domain.entity.MessageSession;
 import com.gig.collide.message.domain.service.MessageSessionService;
+import com.gig.collide.message.infrastructure.inbox.InboxCache;
+import com.gig.collide.message.infrastructure.mapper.MessageMapper;
 import com.gig.collide.message.infrastructure.mapper.MessageSessionMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,10 +12,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 消息会话业务服务实现 - 简洁版
  * 基于message-simple.sql的t_message_session表设计
+ * 未读计数和会话排序同步写入收件箱缓存，默认会话列表和未读数从缓存读取
  * 
  * @author GIG Team
  * @version 2.0.0 (简洁版)
@@ -26,6 +34,12 @@ public class MessageSessionServiceImpl implements MessageSessionService {
 
     private final MessageSessionMapper messageSessionMapper;
 
+    private final MessageMapper messageMapper;
+
+    private final InboxCache inboxCache;
+
+    private static final String DEFAULT_ORDER_BY = "last_message_time";
+
     // =================== 基础操作 ===================
 
     @Override
@@ -38,7 +52,9 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         
         if (updated > 0) {
             log.info("会话创建或更新成功: 用户ID={}, 对方ID={}", userId, otherUserId);
-            return messageSessionMapper.findByUserIds(userId, otherUserId);
+            MessageSession session = messageSessionMapper.findByUserIds(userId, otherUserId);
+            inboxCache.touchSession(session);
+            return session;
         } else {
             log.warn("会话创建或更新失败: 用户ID={}, 对方ID={}", userId, otherUserId);
             return null;
@@ -56,8 +72,12 @@ public class MessageSessionServiceImpl implements MessageSessionService {
     public boolean deleteSession(Long sessionId) {
         log.debug("删除会话: ID={}", sessionId);
         
+        MessageSession session = messageSessionMapper.selectById(sessionId);
         int result = messageSessionMapper.deleteById(sessionId);
         boolean success = result > 0;
+        if (success) {
+            inboxCache.invalidate(session.getUserId());
+        }
         log.info("删除会话{}: ID={}", success ? "成功" : "失败", sessionId);
         return success;
     }
@@ -70,6 +90,17 @@ public class MessageSessionServiceImpl implements MessageSessionService {
                                               Integer currentPage, Integer pageSize) {
         log.debug("查询用户会话列表: 用户ID={}, 页码={}, 页大小={}", userId, currentPage, pageSize);
         
+        // 默认会话列表（未归档、按最后消息时间倒序）从收件箱缓存分页
+        boolean defaultListing = Boolean.FALSE.equals(isArchived) && hasUnread == null
+                && (orderBy == null || orderBy.isEmpty() || DEFAULT_ORDER_BY.equals(orderBy))
+                && !"asc".equalsIgnoreCase(orderDirection);
+        if (defaultListing) {
+            Page<MessageSession> cached = getUserSessionsFromInbox(userId, currentPage, pageSize);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
         Page<MessageSession> page = new Page<>(currentPage, pageSize);
         return messageSessionMapper.findUserSessions(page, userId, isArchived, hasUnread, orderBy, orderDirection);
     }
@@ -97,6 +128,26 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         return messageSessionMapper.countUserSessions(userId, isArchived);
     }
 
+    @Override
+    public Long getUnreadCount(Long userId) {
+        log.debug("获取未读消息数: 用户ID={}", userId);
+        long cached = inboxCache.unreadTotal(userId);
+        return cached >= 0 ? cached : messageMapper.countUnreadMessages(userId);
+    }
+
+    @Override
+    public Long getUnreadCountWithUser(Long userId, Long otherUserId) {
+        log.debug("获取与用户的未读消息数: 用户ID={}, 对方ID={}", userId, otherUserId);
+        long cached = inboxCache.unreadWith(userId, otherUserId);
+        return cached >= 0 ? cached : messageMapper.countUnreadWithUser(userId, otherUserId);
+    }
+
+    @Override
+    public void invalidateInbox(Long userId) {
+        log.debug("收件箱缓存失效: 用户ID={}", userId);
+        inboxCache.invalidate(userId);
+    }
+
     // =================== 状态更新 ===================
 
     @Override
@@ -117,6 +168,9 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         
         int result = messageSessionMapper.incrementUnreadCount(userId, otherUserId);
         boolean success = result > 0;
+        if (success) {
+            inboxCache.incrementUnread(userId, otherUserId, 1);
+        }
         log.info("增加未读计数{}: 用户ID={}, 对方ID={}", success ? "成功" : "失败", userId, otherUserId);
         return success;
     }
@@ -128,10 +182,25 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         
         int result = messageSessionMapper.clearUnreadCount(userId, otherUserId);
         boolean success = result > 0;
+        inboxCache.clearUnread(userId, otherUserId);
         log.info("清零未读计数{}: 用户ID={}, 对方ID={}", success ? "成功" : "失败", userId, otherUserId);
         return success;
     }
 
+    @Override
+    @Transactional
+    public boolean decreaseUnreadCount(Long userId, Long otherUserId, int count) {
+        log.debug("减少未读计数: 用户ID={}, 对方ID={}, 数量={}", userId, otherUserId, count);
+        
+        if (count <= 0) {
+            return true;
+        }
+        int result = messageSessionMapper.decreaseUnreadCount(userId, otherUserId, count);
+        // 未读缓存以 t_message 为准，会话行不存在时同样需要扣减
+        inboxCache.incrementUnread(userId, otherUserId, -count);
+        return result > 0;
+    }
+
     @Override
     @Transactional
     public boolean updateArchiveStatus(Long sessionId, Boolean isArchived) {
@@ -139,6 +208,9 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         
         int result = messageSessionMapper.updateArchiveStatus(sessionId, isArchived);
         boolean success = result > 0;
+        if (success) {
+            inboxCache.touchSession(messageSessionMapper.selectById(sessionId));
+        }
         log.info("更新会话归档状态{}: ID={}, 归档={}", success ? "成功" : "失败", sessionId, isArchived);
         return success;
     }
@@ -193,4 +265,36 @@ public class MessageSessionServiceImpl implements MessageSessionService {
         log.info("清理归档会话完成: 删除数量={}", result);
         return result;
     }
-}
\ No newline at end of file
+
+    // =================== 内部方法 ===================
+
+    /**
+     * 从收件箱缓存分页读取会话，缓存不可用时返回 null
+     */
+    private Page<MessageSession> getUserSessionsFromInbox(Long userId, Integer currentPage, Integer pageSize) {
+        long offset = (long) (Math.max(1, currentPage) - 1) * pageSize;
+        InboxCache.InboxPage inboxPage = inboxCache.page(userId, offset, pageSize);
+        if (inboxPage == null) {
+            return null;
+        }
+
+        Page<MessageSession> page = new Page<>(currentPage, pageSize, inboxPage.total());
+        if (inboxPage.otherUserIds().isEmpty()) {
+            return page;
+        }
+        Map<Long, MessageSession> sessions = messageSessionMapper.findByOtherUserIds(userId, inboxPage.otherUserIds())
+                .stream()
+                .collect(Collectors.toMap(MessageSession::getOtherUserId, Function.identity()));
+        // 按缓存顺序组装，已被清理的会话跳过
+        List<MessageSession> records = new ArrayList<>(inboxPage.otherUserIds().size());
+        for (Long otherUserId : inboxPage.otherUserIds()) {
+            MessageSession session = sessions.get(otherUserId);
+            if (session != null) {
+                session.setUnreadCount(inboxPage.unread().getOrDefault(otherUserId, 0));
+                records.add(session);
+            }
+        }
+        page.setRecords(records);
+        return page;
+    }
+}
@@ -6,7 +6,10 @@ import com.gig.collide.api.message.request.MessageCreateRequest;
 import com.gig.collide.api.message.request.MessageQueryRequest;
 import com.gig.collide.api.message.response.MessageResponse;
 import com.gig.collide.api.message.response.MessageSessionResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.message.domain.entity.Message;
 import com.gig.collide.message.domain.entity.MessageSession;
 import com.gig.collide.message.domain.service.MessageService;
@@ -227,6 +230,24 @@ public class MessageFacadeServiceImpl implements MessageFacadeService {
         }
     }
 
+    @Override
+    public Result<CursorPageResponse<MessageResponse>> getChatHistoryByCursor(Long userId1, Long userId2, CursorPageRequest pageRequest) {
+        try {
+            log.debug("门面按游标获取聊天记录: 用户1={}, 用户2={}", userId1, userId2);
+
+            if (userId1 == null || userId2 == null) {
+                return Result.error("INVALID_PARAM", "用户ID不能为空");
+            }
+
+            var page = messageService.getChatHistoryByCursor(userId1, userId2, KeysetQuery.of(pageRequest));
+            return Result.success(page.toResponse(this::convertToResponse));
+
+        } catch (Exception e) {
+            log.error("门面按游标获取聊天记录异常", e);
+            return Result.error("SYSTEM_ERROR", "系统错误：" + e.getMessage());
+        }
+    }
+
     @Override
     public Result<PageResponse<MessageSessionResponse>> getUserSessions(Long userId, Integer currentPage, Integer pageSize) {
         try {
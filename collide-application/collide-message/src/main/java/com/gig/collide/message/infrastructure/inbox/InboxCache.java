@@ -0,0 +1,392 @@
+package com.gig.collide.message.infrastructure.inbox;
+
+import com.gig.collide.message.domain.entity.MessageSession;
+import com.gig.collide.message.infrastructure.mapper.MessageMapper;
+import com.gig.collide.message.infrastructure.mapper.MessageSessionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 用户收件箱缓存
+ * 把未读计数和会话排序物化到 Redis，未读数查询和会话列表分页不再访问 t_message / t_message_session
+ *
+ * <p>Redis 结构（同一用户的键共用 {userId} 哈希标签，脚本可在集群模式下执行）：</p>
+ * <ul>
+ *     <li>unread：Hash，field 为对方用户ID，value 为未读数；total 字段为未读总数</li>
+ *     <li>sessions：ZSET，member 为对方用户ID，score 为最后消息时间（毫秒），只包含未归档会话</li>
+ *     <li>ready：缓存已从数据库加载的标记，过期后下次访问重新加载，兜底修正偏差</li>
+ *     <li>dirty：缓存未加载期间发生过写入，加载过程中出现时放弃本次加载，避免丢失并发写入</li>
+ * </ul>
+ * 计数变更在事务提交后以增量方式写入，缓存未加载时跳过，写入失败时删除 ready 标记等待重新加载
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InboxCache {
+
+    private static final String KEY_PREFIX = "collide:message:inbox:";
+
+    private static final String TOTAL_FIELD = "total";
+
+    /**
+     * 调整未读数，结果不小于 0，total 按实际变化量同步调整
+     * 返回调整后的未读总数，缓存未加载时返回 -1
+     */
+    private static final String INCR_UNREAD_SCRIPT = """
+        local ttl = redis.call('PTTL', KEYS[2])
+        if ttl <= 0 then
+            redis.call('SET', KEYS[3], '1', 'EX', ARGV[3])
+            return -1
+        end
+        local before = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+        local after = before + tonumber(ARGV[2])
+        if after < 0 then
+            after = 0
+        end
+        if after == 0 then
+            redis.call('HDEL', KEYS[1], ARGV[1])
+        else
+            redis.call('HSET', KEYS[1], ARGV[1], after)
+        end
+        local total = redis.call('HINCRBY', KEYS[1], 'total', after - before)
+        redis.call('PEXPIRE', KEYS[1], ttl)
+        return total
+        """;
+
+    /**
+     * 清零与某用户的未读数，返回清零后的未读总数，缓存未加载时返回 -1
+     */
+    private static final String CLEAR_UNREAD_SCRIPT = """
+        local ttl = redis.call('PTTL', KEYS[2])
+        if ttl <= 0 then
+            redis.call('SET', KEYS[3], '1', 'EX', ARGV[2])
+            return -1
+        end
+        local before = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+        redis.call('HDEL', KEYS[1], ARGV[1])
+        local total = redis.call('HINCRBY', KEYS[1], 'total', -before)
+        redis.call('PEXPIRE', KEYS[1], ttl)
+        return total
+        """;
+
+    /**
+     * 更新会话排序，只接受更晚的时间；归档会话从排序中移除
+     */
+    private static final String TOUCH_SESSION_SCRIPT = """
+        local ttl = redis.call('PTTL', KEYS[2])
+        if ttl <= 0 then
+            redis.call('SET', KEYS[3], '1', 'EX', ARGV[4])
+            return 0
+        end
+        if ARGV[3] == '1' then
+            redis.call('ZREM', KEYS[1], ARGV[1])
+        else
+            local current = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not current or tonumber(current) < tonumber(ARGV[2]) then
+                redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            end
+        end
+        redis.call('PEXPIRE', KEYS[1], ttl)
+        return 1
+        """;
+
+    /**
+     * 读取未读数，返回 {是否已加载, 未读数}
+     */
+    private static final String READ_UNREAD_SCRIPT = """
+        if redis.call('EXISTS', KEYS[2]) == 0 then
+            return {0, 0}
+        end
+        return {1, tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')}
+        """;
+
+    /**
+     * 读取一页会话，返回 {是否已加载, 会话总数, 对方用户ID, 未读数, ...}
+     */
+    private static final String READ_PAGE_SCRIPT = """
+        if redis.call('EXISTS', KEYS[3]) == 0 then
+            return {0, 0}
+        end
+        local result = {1, redis.call('ZCARD', KEYS[2])}
+        local members = redis.call('ZREVRANGE', KEYS[2], ARGV[1], ARGV[2])
+        for _, member in ipairs(members) do
+            table.insert(result, member)
+            table.insert(result, redis.call('HGET', KEYS[1], member) or '0')
+        end
+        return result
+        """;
+
+    /**
+     * 整体加载，加载期间出现过写入时放弃；ARGV：ttl(秒), 未读条数, (对方ID, 未读数)..., (对方ID, 时间)...
+     */
+    private static final String LOAD_SCRIPT = """
+        if redis.call('EXISTS', KEYS[4]) == 1 then
+            return 0
+        end
+        redis.call('DEL', KEYS[1], KEYS[2])
+        local unreadCount = tonumber(ARGV[2])
+        local total = 0
+        for i = 1, unreadCount do
+            local count = tonumber(ARGV[i * 2 + 2])
+            redis.call('HSET', KEYS[1], ARGV[i * 2 + 1], count)
+            total = total + count
+        end
+        redis.call('HSET', KEYS[1], 'total', total)
+        for i = unreadCount * 2 + 3, #ARGV, 2 do
+            redis.call('ZADD', KEYS[2], ARGV[i + 1], ARGV[i])
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[1])
+        redis.call('EXPIRE', KEYS[2], ARGV[1])
+        redis.call('SET', KEYS[3], '1', 'EX', ARGV[1])
+        return 1
+        """;
+
+    private final DefaultRedisScript<Long> incrUnreadScript = new DefaultRedisScript<>(INCR_UNREAD_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> clearUnreadScript = new DefaultRedisScript<>(CLEAR_UNREAD_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> touchSessionScript = new DefaultRedisScript<>(TOUCH_SESSION_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> readUnreadScript = new DefaultRedisScript<>(READ_UNREAD_SCRIPT, List.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> readPageScript = new DefaultRedisScript<>(READ_PAGE_SCRIPT, List.class);
+
+    private final DefaultRedisScript<Long> loadScript = new DefaultRedisScript<>(LOAD_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final MessageMapper messageMapper;
+
+    private final MessageSessionMapper messageSessionMapper;
+
+    /**
+     * 缓存有效期（秒），到期后重新从数据库加载
+     */
+    @Value("${collide.message.inbox.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    /**
+     * dirty 标记有效期（秒），需覆盖一次加载的耗时
+     */
+    @Value("${collide.message.inbox.dirty-ttl-seconds:30}")
+    private long dirtyTtlSeconds;
+
+    // =================== 写入 ===================
+
+    /**
+     * 事务提交后调整未读数
+     */
+    public void incrementUnread(Long userId, Long otherUserId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(userId, () -> redisTemplate.execute(incrUnreadScript, writeKeys(userId, "unread"),
+                String.valueOf(otherUserId), String.valueOf(delta), String.valueOf(dirtyTtlSeconds)));
+    }
+
+    /**
+     * 事务提交后清零与某用户的未读数
+     */
+    public void clearUnread(Long userId, Long otherUserId) {
+        afterCommit(userId, () -> redisTemplate.execute(clearUnreadScript, writeKeys(userId, "unread"),
+                String.valueOf(otherUserId), String.valueOf(dirtyTtlSeconds)));
+    }
+
+    /**
+     * 事务提交后同步会话排序
+     */
+    public void touchSession(MessageSession session) {
+        if (session == null || session.getLastMessageTime() == null) {
+            return;
+        }
+        Long userId = session.getUserId();
+        String archived = session.isArchived() ? "1" : "0";
+        afterCommit(userId, () -> redisTemplate.execute(touchSessionScript, writeKeys(userId, "sessions"),
+                String.valueOf(session.getOtherUserId()), String.valueOf(toMillis(session.getLastMessageTime())),
+                archived, String.valueOf(dirtyTtlSeconds)));
+    }
+
+    /**
+     * 事务提交后使缓存失效，用于归档、删除等不便增量维护的变更
+     */
+    public void invalidate(Long userId) {
+        afterCommit(userId, () -> redisTemplate.delete(List.of(key(userId, "ready"), key(userId, "unread"), key(userId, "sessions"))));
+    }
+
+    // =================== 读取 ===================
+
+    /**
+     * 未读总数
+     */
+    public long unreadTotal(Long userId) {
+        return readUnread(userId, TOTAL_FIELD);
+    }
+
+    /**
+     * 与某用户的未读数
+     */
+    public long unreadWith(Long userId, Long otherUserId) {
+        return readUnread(userId, String.valueOf(otherUserId));
+    }
+
+    /**
+     * 按最后消息时间倒序分页读取未归档会话
+     *
+     * @return 会话总数和当前页的对方用户ID（按顺序）及未读数
+     */
+    public InboxPage page(Long userId, long offset, int limit) {
+        List<?> result = executeLoaded(userId, () -> redisTemplate.execute(readPageScript,
+                keys(userId, "unread", "sessions", "ready"),
+                String.valueOf(offset), String.valueOf(offset + limit - 1)));
+        if (result == null) {
+            return null;
+        }
+        Map<Long, Integer> unread = new HashMap<>();
+        List<Long> otherUserIds = new ArrayList<>();
+        for (int i = 2; i + 1 < result.size(); i += 2) {
+            Long otherUserId = Long.valueOf(String.valueOf(result.get(i)));
+            otherUserIds.add(otherUserId);
+            unread.put(otherUserId, Integer.valueOf(String.valueOf(result.get(i + 1))));
+        }
+        return new InboxPage(((Number) result.get(1)).longValue(), otherUserIds, unread);
+    }
+
+    /**
+     * 从数据库重建用户的收件箱缓存
+     *
+     * @return 是否重建成功，加载期间出现并发写入时返回 false
+     */
+    public boolean rebuild(Long userId) {
+        redisTemplate.delete(key(userId, "dirty"));
+
+        List<MessageSession> unread = messageMapper.countUnreadGroupBySender(userId);
+        List<MessageSession> sessions = messageSessionMapper.findInboxEntries(userId);
+
+        List<String> args = new ArrayList<>(2 + unread.size() * 2 + sessions.size() * 2);
+        args.add(String.valueOf(ttlSeconds));
+        args.add(String.valueOf(unread.size()));
+        for (MessageSession entry : unread) {
+            args.add(String.valueOf(entry.getOtherUserId()));
+            args.add(String.valueOf(entry.getUnreadCount()));
+        }
+        for (MessageSession session : sessions) {
+            args.add(String.valueOf(session.getOtherUserId()));
+            args.add(String.valueOf(toMillis(session.getLastMessageTime())));
+        }
+        Long loaded = redisTemplate.execute(loadScript, keys(userId, "unread", "sessions", "ready", "dirty"), args.toArray());
+        boolean success = loaded != null && loaded == 1L;
+        log.debug("收件箱缓存重建{}: 用户ID={}, 未读会话数={}, 会话数={}",
+                success ? "完成" : "放弃", userId, unread.size(), sessions.size());
+        return success;
+    }
+
+    // =================== 内部方法 ===================
+
+    private long readUnread(Long userId, String field) {
+        List<?> result = executeLoaded(userId, () -> redisTemplate.execute(readUnreadScript,
+                keys(userId, "unread", "ready"), field));
+        return result == null ? -1L : ((Number) result.get(1)).longValue();
+    }
+
+    /**
+     * 执行读取脚本，缓存未加载时重建后重试一次；仍未加载时返回 null，由调用方回源数据库
+     */
+    private List<?> executeLoaded(Long userId, Supplier<List<?>> reader) {
+        try {
+            List<?> result = reader.get();
+            if (isLoaded(result)) {
+                return result;
+            }
+            if (rebuild(userId)) {
+                result = reader.get();
+                if (isLoaded(result)) {
+                    return result;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取收件箱缓存失败，回源数据库: 用户ID={}", userId, e);
+        }
+        return null;
+    }
+
+    private static boolean isLoaded(List<?> result) {
+        return result != null && !result.isEmpty() && ((Number) result.get(0)).longValue() == 1L;
+    }
+
+    private void afterCommit(Long userId, Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("更新收件箱缓存失败，等待重新加载: 用户ID={}", userId, e);
+                try {
+                    redisTemplate.delete(key(userId, "ready"));
+                } catch (Exception ignored) {
+                    // Redis 不可用时依赖 ready 过期兜底
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guarded.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guarded.run();
+            }
+        });
+    }
+
+    /**
+     * 写入脚本的键依次为：目标结构、ready、dirty
+     */
+    private static List<String> writeKeys(Long userId, String target) {
+        return keys(userId, target, "ready", "dirty");
+    }
+
+    private static List<String> keys(Long userId, String... names) {
+        List<String> keys = new ArrayList<>(names.length);
+        for (String name : names) {
+            keys.add(key(userId, name));
+        }
+        return keys;
+    }
+
+    private static String key(Long userId, String name) {
+        return KEY_PREFIX + "{" + userId + "}:" + name;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 会话分页结果
+     *
+     * @param total        未归档会话总数
+     * @param otherUserIds 当前页对方用户ID，按最后消息时间倒序
+     * @param unread       当前页各会话的未读数
+     */
+    public record InboxPage(long total, List<Long> otherUserIds, Map<Long, Integer> unread) {
+    }
+}
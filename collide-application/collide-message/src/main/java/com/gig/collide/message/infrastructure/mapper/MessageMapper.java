@@ -2,7 +2,9 @@ package com.gig.collide.message.infrastructure.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.message.domain.entity.Message;
+import com.gig.collide.message.domain.entity.MessageSession;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -30,6 +32,21 @@ public interface MessageMapper extends BaseMapper<Message> {
                                  @Param("userId2") Long userId2,
                                  @Param("status") String status);
 
+    /**
+     * 按游标查询两用户间的聊天记录，时间倒序，查询 seek.limit 条
+     */
+    List<Message> findChatHistoryByCursor(@Param("userId1") Long userId1,
+                                          @Param("userId2") Long userId2,
+                                          @Param("status") String status,
+                                          @Param("seek") KeysetQuery seek);
+
+    /**
+     * 统计两用户间的聊天记录数
+     */
+    Long countChatHistory(@Param("userId1") Long userId1,
+                          @Param("userId2") Long userId2,
+                          @Param("status") String status);
+
     /**
      * 条件查询消息
      */
@@ -81,6 +98,19 @@ public interface MessageMapper extends BaseMapper<Message> {
     Long countUnreadWithUser(@Param("receiverId") Long receiverId,
                            @Param("senderId") Long senderId);
 
+    /**
+     * 按发送者分组统计未读消息数，用于重建收件箱缓存
+     * 结果中 otherUserId 为发送者ID，unreadCount 为未读数
+     */
+    List<MessageSession> countUnreadGroupBySender(@Param("receiverId") Long receiverId);
+
+    /**
+     * 锁定指定消息并按接收者、发送者分组统计其中的未读数，状态变更前调用
+     * 结果中 userId 为接收者ID，otherUserId 为发送者ID，unreadCount 为未读数
+     */
+    List<MessageSession> lockUnreadCounts(@Param("messageIds") List<Long> messageIds,
+                                        @Param("receiverId") Long receiverId);
+
     /**
      * 统计用户发送的消息数
      */
@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 消息会话数据访问接口 - 简洁版
@@ -44,6 +45,17 @@ public interface MessageSessionMapper extends BaseMapper<MessageSession> {
                                           @Param("userId") Long userId,
                                           @Param("sinceTime") LocalDateTime sinceTime);
 
+    /**
+     * 查询用户与指定对方用户的会话
+     */
+    List<MessageSession> findByOtherUserIds(@Param("userId") Long userId,
+                                          @Param("otherUserIds") List<Long> otherUserIds);
+
+    /**
+     * 查询用户全部未归档会话的对方用户ID和最后消息时间，用于重建收件箱缓存
+     */
+    List<MessageSession> findInboxEntries(@Param("userId") Long userId);
+
     // =================== 统计查询 ===================
 
     /**
@@ -79,6 +91,13 @@ public interface MessageSessionMapper extends BaseMapper<MessageSession> {
     int clearUnreadCount(@Param("userId") Long userId,
                        @Param("otherUserId") Long otherUserId);
 
+    /**
+     * 减少会话的未读计数，不小于 0
+     */
+    int decreaseUnreadCount(@Param("userId") Long userId,
+                          @Param("otherUserId") Long otherUserId,
+                          @Param("count") Integer count);
+
     /**
      * 更新会话归档状态
      */
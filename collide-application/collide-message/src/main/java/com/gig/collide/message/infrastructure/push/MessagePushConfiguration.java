@@ -0,0 +1,53 @@
+package com.gig.collide.message.infrastructure.push;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 消息推送配置
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
+@EnableWebSocket
+public class MessagePushConfiguration {
+
+    /**
+     * 推送写出线程，连接只在有事件时占用虚拟线程
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService messagePushExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("collide-message-push-", 0).factory());
+    }
+
+    @Bean
+    public WebSocketConfigurer messagePushWebSocketConfigurer(MessagePushWebSocketHandler handler) {
+        return (WebSocketHandlerRegistry registry) -> registry
+                .addHandler(handler, "/api/v1/message/push/ws")
+                .addInterceptors(handler)
+                .setAllowedOriginPatterns("*");
+    }
+
+    /**
+     * 订阅本节点的专属频道，接收其他节点转发的推送
+     */
+    @Bean
+    public RedisMessageListenerContainer messagePushListenerContainer(StringRedisTemplate redisTemplate,
+                                                                      PushConnectionRegistry registry,
+                                                                      MessagePushService pushService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        container.addMessageListener(pushService, new ChannelTopic(registry.channel()));
+        return container;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gig.collide.message.infrastructure.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gig.collide.message.domain.entity.Message;
+import com.gig.collide.message.infrastructure.mapper.MessageMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 消息推送
+ * 接收者在本节点的连接直接写出；在其他节点的连接通过 Redis 发布到该节点的专属频道，只发给有连接的节点
+ * 接收者不在线时不做处理，消息已落库，上线后通过查询接口获取
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+public class MessagePushService implements MessageListener {
+
+    private static final char SEPARATOR = '|';
+
+    private final PushConnectionRegistry registry;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final MessageMapper messageMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService pushExecutor;
+
+    public MessagePushService(PushConnectionRegistry registry, StringRedisTemplate redisTemplate,
+                              MessageMapper messageMapper, ObjectMapper objectMapper,
+                              @Qualifier("messagePushExecutor") ExecutorService pushExecutor) {
+        this.registry = registry;
+        this.redisTemplate = redisTemplate;
+        this.messageMapper = messageMapper;
+        this.objectMapper = objectMapper;
+        this.pushExecutor = pushExecutor;
+    }
+
+    /**
+     * 事务提交后异步推送新消息，不阻塞发送流程
+     */
+    public void pushAfterCommit(Message message) {
+        Runnable task = () -> pushExecutor.execute(() -> push(message.getReceiverId(), PushEvent.message(message)));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    public void push(Long userId, PushEvent event) {
+        String frame;
+        try {
+            frame = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("推送事件序列化失败: userId={}, type={}", userId, event.type(), e);
+            return;
+        }
+        deliverLocal(userId, frame);
+        try {
+            List<String> nodes = registry.remoteNodes(userId);
+            for (String node : nodes) {
+                redisTemplate.convertAndSend(PushConnectionRegistry.channel(node), userId + String.valueOf(SEPARATOR) + frame);
+            }
+        } catch (Exception e) {
+            log.warn("跨节点推送失败，接收者稍后通过查询获取: userId={}", userId, e);
+        }
+    }
+
+    /**
+     * 连接建立时推送一次未读数，之后由客户端根据新消息事件和已读确认自行维护，不再轮询
+     */
+    public void pushInitialState(PushSession session) {
+        pushExecutor.execute(() -> {
+            try {
+                Long count = messageMapper.countUnreadMessages(session.getUserId());
+                session.offer(objectMapper.writeValueAsString(PushEvent.unread(count == null ? 0L : count)));
+            } catch (Exception e) {
+                log.warn("推送初始未读数失败: userId={}", session.getUserId(), e);
+            }
+        });
+    }
+
+    /**
+     * 其他节点转发过来的推送
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index <= 0) {
+            return;
+        }
+        try {
+            deliverLocal(Long.parseLong(body.substring(0, index)), body.substring(index + 1));
+        } catch (NumberFormatException e) {
+            log.warn("无法解析的推送转发: {}", body);
+        }
+    }
+
+    private void deliverLocal(Long userId, String frame) {
+        Set<PushSession> sessions = registry.localSessions(userId);
+        for (PushSession session : sessions) {
+            session.offer(frame);
+        }
+    }
+}
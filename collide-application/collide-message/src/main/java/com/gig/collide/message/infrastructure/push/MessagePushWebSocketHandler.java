@@ -0,0 +1,132 @@
+package com.gig.collide.message.infrastructure.push;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * WebSocket 推送入口
+ * 连接地址 /api/v1/message/push/ws?userId=xxx，客户端上行帧：
+ * <ul>
+ *     <li>{"type":"ack","messageIds":[1,2,3]}：确认已读，合并后批量落库</li>
+ *     <li>{"type":"ping"}：心跳</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+public class MessagePushWebSocketHandler extends TextWebSocketHandler implements HandshakeInterceptor {
+
+    private static final String USER_ID_ATTRIBUTE = "userId";
+
+    private static final String PUSH_SESSION_ATTRIBUTE = "pushSession";
+
+    private final PushConnectionRegistry registry;
+
+    private final MessagePushService pushService;
+
+    private final PushAckBatcher ackBatcher;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService pushExecutor;
+
+    /**
+     * 单个连接待发送事件上限
+     */
+    @Value("${collide.message.push.max-pending:256}")
+    private int maxPending;
+
+    public MessagePushWebSocketHandler(PushConnectionRegistry registry, MessagePushService pushService,
+                                       PushAckBatcher ackBatcher, ObjectMapper objectMapper,
+                                       @Qualifier("messagePushExecutor") ExecutorService pushExecutor) {
+        this.registry = registry;
+        this.pushService = pushService;
+        this.ackBatcher = ackBatcher;
+        this.objectMapper = objectMapper;
+        this.pushExecutor = pushExecutor;
+    }
+
+    // =================== 握手 ===================
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return false;
+        }
+        String userId = servletRequest.getServletRequest().getParameter(USER_ID_ATTRIBUTE);
+        try {
+            attributes.put(USER_ID_ATTRIBUTE, Long.parseLong(userId));
+            return true;
+        } catch (NumberFormatException e) {
+            log.warn("推送连接缺少有效的用户ID: userId={}", userId);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    // =================== 连接 ===================
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Long userId = (Long) session.getAttributes().get(USER_ID_ATTRIBUTE);
+        PushSession pushSession = new WebSocketPushSession(userId, session, maxPending, pushExecutor);
+        session.getAttributes().put(PUSH_SESSION_ATTRIBUTE, pushSession);
+        registry.register(pushSession);
+        pushService.pushInitialState(pushSession);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Long userId = (Long) session.getAttributes().get(USER_ID_ATTRIBUTE);
+        try {
+            JsonNode frame = objectMapper.readTree(message.getPayload());
+            if (!"ack".equals(frame.path("type").asText())) {
+                return;
+            }
+            List<Long> messageIds = new ArrayList<>();
+            frame.path("messageIds").forEach(id -> messageIds.add(id.asLong()));
+            ackBatcher.ack(userId, messageIds);
+        } catch (Exception e) {
+            log.debug("忽略无法解析的上行帧: userId={}", userId);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("推送连接传输异常: sessionId={}", session.getId(), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        PushSession pushSession = (PushSession) session.getAttributes().get(PUSH_SESSION_ATTRIBUTE);
+        if (pushSession != null) {
+            pushSession.close();
+            registry.unregister(pushSession);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.gig.collide.message.infrastructure.push;
+
+import com.gig.collide.message.domain.service.MessageService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已读确认合并
+ * 客户端通过推送连接逐条或小批确认已读，这里按用户合并后定时调用 batchMarkAsRead，一个用户一次 UPDATE
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushAckBatcher {
+
+    private final MessageService messageService;
+
+    /**
+     * 单个用户待确认的消息数上限，超过的部分丢弃，客户端可以再次确认
+     */
+    @Value("${collide.message.push.ack-max-pending:1000}")
+    private int maxPendingPerUser;
+
+    private final Map<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+
+    public void ack(Long userId, Collection<Long> messageIds) {
+        if (userId == null || messageIds == null || messageIds.isEmpty()) {
+            return;
+        }
+        // compute 与 flush 中的 remove 对同一用户互斥，不会丢失确认
+        pending.compute(userId, (key, ids) -> {
+            Set<Long> merged = ids != null ? ids : new HashSet<>();
+            for (Long messageId : messageIds) {
+                if (merged.size() >= maxPendingPerUser) {
+                    break;
+                }
+                if (messageId != null) {
+                    merged.add(messageId);
+                }
+            }
+            return merged;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${collide.message.push.ack-flush-interval-ms:500}")
+    public void flush() {
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            Set<Long> ids = pending.remove(userId);
+            if (ids == null || ids.isEmpty()) {
+                continue;
+            }
+            try {
+                messageService.batchMarkAsRead(List.copyOf(ids), userId);
+            } catch (Exception e) {
+                log.error("批量标记已读失败: userId={}, count={}", userId, ids.size(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,166 @@
+package com.gig.collide.message.infrastructure.push;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 推送连接注册表
+ * <ul>
+ *     <li>本地：userId 到本节点连接的映射，同一用户可以有多个连接（多端登录）</li>
+ *     <li>路由：Redis route:{userId} 记录用户连接所在的节点，用户在本节点的第一个连接建立时加入，最后一个断开时移除</li>
+ *     <li>存活：每个节点定时刷新 node:{nodeId}，路由到已失效节点时顺带清理</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushConnectionRegistry {
+
+    private static final String KEY_PREFIX = "collide:message:push:";
+
+    private static final String ROUTE_KEY_PREFIX = KEY_PREFIX + "route:";
+
+    private static final String NODE_KEY_PREFIX = KEY_PREFIX + "node:";
+
+    private static final String CHANNEL_PREFIX = KEY_PREFIX + "channel:";
+
+    private static final String HEARTBEAT_FRAME = "{\"type\":\"ping\"}";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 节点存活标记有效期（秒），心跳间隔应小于它的 1/2
+     */
+    @Value("${collide.message.push.node-ttl-seconds:30}")
+    private long nodeTtlSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Long, Set<PushSession>> sessions = new ConcurrentHashMap<>();
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 本节点订阅的频道
+     */
+    public String channel() {
+        return channel(nodeId);
+    }
+
+    public static String channel(String nodeId) {
+        return CHANNEL_PREFIX + nodeId;
+    }
+
+    /**
+     * 路由的增删放在 compute 内执行，与同一用户的 unregister 串行，
+     * 避免最后一个连接断开的 SREM 晚于新连接的 SADD 而把仍在线用户的路由删掉
+     */
+    public void register(PushSession session) {
+        sessions.compute(session.getUserId(), (userId, current) -> {
+            Set<PushSession> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (set.isEmpty()) {
+                redisTemplate.opsForSet().add(routeKey(userId), nodeId);
+            }
+            set.add(session);
+            return set;
+        });
+        log.debug("推送连接已建立: userId={}, sessionId={}", session.getUserId(), session.getId());
+    }
+
+    public void unregister(PushSession session) {
+        sessions.computeIfPresent(session.getUserId(), (userId, current) -> {
+            current.remove(session);
+            if (!current.isEmpty()) {
+                return current;
+            }
+            try {
+                redisTemplate.opsForSet().remove(routeKey(userId), nodeId);
+            } catch (Exception e) {
+                log.warn("移除推送路由失败，等待节点失效后清理: userId={}", userId, e);
+            }
+            return null;
+        });
+        log.debug("推送连接已断开: userId={}, sessionId={}", session.getUserId(), session.getId());
+    }
+
+    public Set<PushSession> localSessions(Long userId) {
+        return sessions.getOrDefault(userId, Set.of());
+    }
+
+    /**
+     * 用户连接所在的其他存活节点，顺带清理已失效节点的路由
+     */
+    public List<String> remoteNodes(Long userId) {
+        Set<String> nodes = redisTemplate.opsForSet().members(routeKey(userId));
+        if (nodes == null || nodes.isEmpty()) {
+            return List.of();
+        }
+        List<String> alive = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            if (nodeId.equals(node)) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(NODE_KEY_PREFIX + node))) {
+                alive.add(node);
+            } else {
+                redisTemplate.opsForSet().remove(routeKey(userId), node);
+            }
+        }
+        return alive;
+    }
+
+    public int size() {
+        return sessions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * 刷新节点存活标记，并向全部连接发送心跳，避免中间代理按空闲超时断开
+     */
+    @Scheduled(fixedRateString = "${collide.message.push.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        try {
+            redisTemplate.opsForValue().set(NODE_KEY_PREFIX + nodeId, "1", Duration.ofSeconds(nodeTtlSeconds));
+        } catch (Exception e) {
+            log.error("刷新推送节点存活标记失败: nodeId={}", nodeId, e);
+        }
+        sessions.values().forEach(set -> set.forEach(session -> session.offer(HEARTBEAT_FRAME)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("推送节点停止，关闭连接: nodeId={}, connections={}", nodeId, size());
+        List<Long> userIds = new ArrayList<>(sessions.keySet());
+        sessions.values().forEach(set -> set.forEach(PushSession::close));
+        sessions.clear();
+        try {
+            for (Long userId : userIds) {
+                redisTemplate.opsForSet().remove(routeKey(userId), nodeId);
+            }
+            redisTemplate.delete(NODE_KEY_PREFIX + nodeId);
+        } catch (Exception e) {
+            log.warn("清理推送路由失败，等待节点失效后清理: nodeId={}", nodeId, e);
+        }
+    }
+
+    private static String routeKey(Long userId) {
+        return ROUTE_KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.gig.collide.message.infrastructure.push;
+
+import com.gig.collide.message.domain.entity.Message;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 推送事件
+ *
+ * @param type 事件类型：message 新消息，unread 未读数（仅建立连接时推送一次）
+ * @param data 事件内容
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public record PushEvent(String type, Object data) {
+
+    public static final String TYPE_MESSAGE = "message";
+
+    public static final String TYPE_UNREAD = "unread";
+
+    public static PushEvent message(Message message) {
+        return new PushEvent(TYPE_MESSAGE, new MessagePayload(message.getId(), message.getSenderId(),
+                message.getReceiverId(), message.getMessageType(), message.getContent(),
+                message.getExtraData(), message.getReplyToId(), message.getCreateTime()));
+    }
+
+    public static PushEvent unread(long count) {
+        return new PushEvent(TYPE_UNREAD, Map.of("count", count));
+    }
+
+    /**
+     * 新消息推送内容，客户端据此追加会话并自行累加未读数
+     */
+    public record MessagePayload(Long id, Long senderId, Long receiverId, String messageType, String content,
+                                 Map<String, Object> extraData, Long replyToId, LocalDateTime createTime) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.gig.collide.message.infrastructure.push;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 推送连接
+ * 空闲连接只占用一个 socket 和这个对象，不占线程；有待发送事件时才在虚拟线程中串行写出
+ * 待发送队列有上限，慢客户端积压超过上限时断开连接，客户端重连后通过查询接口补齐
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+public abstract class PushSession {
+
+    private final Long userId;
+
+    private final String id;
+
+    private final int maxPending;
+
+    private final Executor writer;
+
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    protected PushSession(Long userId, String id, int maxPending, Executor writer) {
+        this.userId = userId;
+        this.id = id;
+        this.maxPending = maxPending;
+        this.writer = writer;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 放入待发送队列
+     *
+     * @return false 表示连接已关闭或因积压被断开
+     */
+    public boolean offer(String frame) {
+        if (closed) {
+            return false;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            log.warn("推送连接积压超过上限，断开慢客户端: userId={}, sessionId={}, pending={}", userId, id, maxPending);
+            close();
+            return false;
+        }
+        pending.offer(frame);
+        scheduleDrain();
+        return true;
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.clear();
+        try {
+            doClose();
+        } catch (Exception e) {
+            log.debug("关闭推送连接异常: userId={}, sessionId={}", userId, id, e);
+        }
+    }
+
+    /**
+     * 写出一帧，只会被单个线程调用
+     */
+    protected abstract void write(String frame) throws Exception;
+
+    protected abstract void doClose() throws Exception;
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            String frame;
+            while (!closed && (frame = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                write(frame);
+            }
+        } catch (Exception e) {
+            log.debug("推送写出失败，关闭连接: userId={}, sessionId={}", userId, id, e);
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // 释放标记后可能有新事件入队
+        if (!closed && !pending.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.gig.collide.message.infrastructure.push;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * SSE 推送连接，已读确认通过 HTTP 接口提交
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public class SsePushSession extends PushSession {
+
+    private final SseEmitter emitter;
+
+    public SsePushSession(Long userId, SseEmitter emitter, int maxPending, Executor writer) {
+        super(userId, UUID.randomUUID().toString(), maxPending, writer);
+        this.emitter = emitter;
+    }
+
+    @Override
+    protected void write(String frame) throws Exception {
+        emitter.send(SseEmitter.event().data(frame, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    protected void doClose() {
+        emitter.complete();
+    }
+}
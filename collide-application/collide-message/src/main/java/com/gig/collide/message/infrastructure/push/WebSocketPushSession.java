@@ -0,0 +1,33 @@
+package com.gig.collide.message.infrastructure.push;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.Executor;
+
+/**
+ * WebSocket 推送连接
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public class WebSocketPushSession extends PushSession {
+
+    private final WebSocketSession session;
+
+    public WebSocketPushSession(Long userId, WebSocketSession session, int maxPending, Executor writer) {
+        super(userId, session.getId(), maxPending, writer);
+        this.session = session;
+    }
+
+    @Override
+    protected void write(String frame) throws Exception {
+        session.sendMessage(new TextMessage(frame));
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        session.close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+}
@@ -3,6 +3,8 @@ package com.gig.collide.order.controller;
 import com.gig.collide.api.order.request.OrderCreateRequest;
 import com.gig.collide.api.order.request.OrderQueryRequest;
 import com.gig.collide.api.order.response.OrderResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 import com.gig.collide.order.facade.OrderFacadeServiceImpl;
@@ -86,6 +88,18 @@ public class OrderController {
         return orderFacadeService.getUserOrders(userId, status, currentPage, pageSize);
     }
 
+    @GetMapping("/user/{userId}/cursor")
+    @Operation(summary = "按游标查询用户订单", description = "按下单时间倒序加载，翻页传上一页返回的 nextCursor")
+    public CursorPageResponse<OrderResponse> getUserOrdersByCursor(@PathVariable @NotNull @Min(1) Long userId,
+                                                                  @RequestParam(required = false) String status,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") @Min(1) Integer pageSize,
+                                                                  @RequestParam(defaultValue = "false") Boolean withTotal) {
+        CursorPageRequest pageRequest = CursorPageRequest.of(cursor, pageSize);
+        pageRequest.setWithTotal(withTotal);
+        return orderFacadeService.getUserOrdersByCursor(userId, status, pageRequest);
+    }
+
     @PostMapping("/{id}/payment/process")
     @Operation(summary = "处理订单支付", description = "处理订单支付请求")
     public Result<Map<String, Object>> processPayment(@PathVariable @NotNull @Min(1) Long id,
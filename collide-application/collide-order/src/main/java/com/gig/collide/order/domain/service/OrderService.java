@@ -2,6 +2,8 @@ package com.gig.collide.order.domain.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.order.domain.entity.Order;
 
 import java.time.LocalDateTime;
@@ -82,6 +84,16 @@ public interface OrderService {
      */
     IPage<Order> getOrdersByUserId(Page<Order> page, Long userId, String status);
 
+    /**
+     * 按游标查询用户订单，时间倒序
+     *
+     * @param userId 用户ID
+     * @param status 订单状态（可选）
+     * @param seek   游标条件
+     * @return 当前页订单和下一页游标
+     */
+    KeysetPage<Order> getOrdersByUserIdCursor(Long userId, String status, KeysetQuery seek);
+
     /**
      * 根据商品类型分页查询订单
      *
@@ -256,6 +268,22 @@ public interface OrderService {
      */
     int autoCompleteShippedOrders(Integer days);
 
+    /**
+     * 取消支付超时的订单，订单已支付或已取消时不做处理
+     *
+     * @param orderId 订单ID
+     * @return 是否实际取消
+     */
+    boolean cancelTimeoutOrder(Long orderId);
+
+    /**
+     * 自动完成已发货订单，订单已确认收货时不做处理
+     *
+     * @param orderId 订单ID
+     * @return 是否实际完成
+     */
+    boolean autoCompleteOrder(Long orderId);
+
     // =================== 统计分析 ===================
 
     /**
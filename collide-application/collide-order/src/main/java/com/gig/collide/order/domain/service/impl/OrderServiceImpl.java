@@ -5,22 +5,29 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.base.id.BizNoFormatter;
+import com.gig.collide.base.id.SnowflakeIdGenerator;
+import com.gig.collide.base.request.PageCursor;
+import com.gig.collide.datasource.page.KeysetPage;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.order.domain.entity.Order;
 import com.gig.collide.order.domain.service.OrderService;
 import com.gig.collide.order.infrastructure.cache.OrderCacheConstant;
+import com.gig.collide.order.infrastructure.deadline.DeadlineType;
+import com.gig.collide.order.infrastructure.deadline.OrderDeadlineQueue;
 import com.gig.collide.order.infrastructure.mapper.OrderMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * 订单业务服务实现类 - 缓存增强版
@@ -37,6 +44,34 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderMapper orderMapper;
 
+    private final OrderDeadlineQueue deadlineQueue;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    /**
+     * 订单号前缀
+     */
+    @Value("${collide.order.order-no-prefix:ORD}")
+    private String orderNoPrefix;
+
+    /**
+     * 支付超时时间（分钟）
+     */
+    @Value("${collide.order.timeout-minutes:30}")
+    private int timeoutMinutes;
+
+    /**
+     * 发货后自动确认收货天数
+     */
+    @Value("${collide.order.auto-complete-days:7}")
+    private int autoCompleteDays;
+
+    /**
+     * 兜底扫描每批订单数
+     */
+    @Value("${collide.order.deadline.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
     // =================== 订单创建和管理 ===================
 
     @Override
@@ -55,6 +90,10 @@ public class OrderServiceImpl implements OrderService {
         int result = orderMapper.insert(order);
         if (result > 0) {
             log.info("订单创建成功: id={}, orderNo={}", order.getId(), order.getOrderNo());
+            if (order.canPay()) {
+                deadlineQueue.register(DeadlineType.PAY_TIMEOUT, order.getId(),
+                        System.currentTimeMillis() + Duration.ofMinutes(timeoutMinutes).toMillis());
+            }
             return order.getId();
         } else {
             throw new RuntimeException("订单创建失败");
@@ -157,6 +196,7 @@ public class OrderServiceImpl implements OrderService {
         
         int result = orderMapper.update(null, updateWrapper);
         if (result > 0) {
+            deadlineQueue.remove(DeadlineType.PAY_TIMEOUT, orderId);
             log.info("订单取消成功: orderId={}", orderId);
             return true;
         } else {
@@ -195,6 +235,15 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.selectByUserId(page, userId, status);
     }
 
+    @Override
+    public KeysetPage<Order> getOrdersByUserIdCursor(Long userId, String status, KeysetQuery seek) {
+        log.debug("按游标查询用户订单: userId={}, status={}, cursor={}", userId, status, seek.getCursor());
+
+        List<Order> rows = orderMapper.selectByUserIdCursor(userId, status, seek);
+        Long total = seek.isWithTotal() ? orderMapper.countByUserId(userId, status) : null;
+        return seek.toPage(rows, order -> PageCursor.of(order.getCreateTime(), order.getId()), total);
+    }
+
     @Override
     @Cached(name = OrderCacheConstant.ORDER_LIST_CACHE,
             expire = OrderCacheConstant.LIST_EXPIRE,
@@ -311,6 +360,7 @@ public class OrderServiceImpl implements OrderService {
                 // 处理后续业务逻辑
                 handlePaymentSuccess(order);
             }
+            deadlineQueue.remove(DeadlineType.PAY_TIMEOUT, orderId);
             
             log.info("支付确认成功: orderId={}", orderId);
             return true;
@@ -457,6 +507,8 @@ public class OrderServiceImpl implements OrderService {
         
         if (success) {
             // 处理物流信息（可以扩展到物流表）
+            deadlineQueue.register(DeadlineType.AUTO_COMPLETE, orderId,
+                    System.currentTimeMillis() + Duration.ofDays(autoCompleteDays).toMillis());
             log.info("订单发货成功: orderId={}", orderId);
         }
         
@@ -479,6 +531,7 @@ public class OrderServiceImpl implements OrderService {
         boolean success = updateOrderStatus(orderId, Order.OrderStatus.COMPLETED.getCode());
         
         if (success) {
+            deadlineQueue.remove(DeadlineType.AUTO_COMPLETE, orderId);
             // 处理订单完成后的业务逻辑
             handleOrderComplete(orderId);
         }
@@ -500,61 +553,95 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.selectTimeoutOrders(timeoutTime);
     }
 
+    /**
+     * 兜底扫描：正常情况下超时订单由截止时间队列逐单处理，这里只补漏（如队列写入失败），
+     * 按主键游标分批、逐单条件更新，不持有长事务
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
+    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
+    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public int autoCancelTimeoutOrders(Integer timeoutMinutes) {
         log.info("自动取消超时订单: timeoutMinutes={}", timeoutMinutes);
         
-        List<Order> timeoutOrders = getTimeoutOrders(timeoutMinutes);
-        if (CollectionUtils.isEmpty(timeoutOrders)) {
-            return 0;
+        if (timeoutMinutes == null || timeoutMinutes <= 0) {
+            timeoutMinutes = this.timeoutMinutes;
         }
         
-        List<Long> orderIds = timeoutOrders.stream()
-                .map(Order::getId)
-                .collect(Collectors.toList());
-        
-        boolean success = batchCancelOrders(orderIds, "系统自动取消（支付超时）");
+        LocalDateTime timeoutTime = LocalDateTime.now().minusMinutes(timeoutMinutes);
+        int cancelCount = 0;
+        long lastId = 0L;
+        List<Long> orderIds;
+        do {
+            orderIds = orderMapper.selectTimeoutOrderIds(timeoutTime, lastId, sweepBatchSize);
+            for (Long orderId : orderIds) {
+                if (orderMapper.cancelIfUnpaid(orderId) > 0) {
+                    deadlineQueue.remove(DeadlineType.PAY_TIMEOUT, orderId);
+                    cancelCount++;
+                }
+                lastId = orderId;
+            }
+        } while (orderIds.size() == sweepBatchSize);
         
-        int cancelCount = success ? orderIds.size() : 0;
         log.info("自动取消超时订单完成: count={}", cancelCount);
-        
         return cancelCount;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
+    @CacheInvalidate(name = OrderCacheConstant.ORDER_LIST_CACHE)
+    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
     public int autoCompleteShippedOrders(Integer days) {
         log.info("自动完成已发货订单: days={}", days);
         
         if (days == null || days <= 0) {
-            days = 7; // 默认7天
+            days = autoCompleteDays;
         }
         
         // 查询超过指定天数的已发货订单
         LocalDateTime completionTime = LocalDateTime.now().minusDays(days);
+        int completeCount = 0;
+        long lastId = 0L;
+        List<Long> orderIds;
+        do {
+            orderIds = orderMapper.selectShippedOrderIds(completionTime, lastId, sweepBatchSize);
+            for (Long orderId : orderIds) {
+                if (orderMapper.completeIfShipped(orderId) > 0) {
+                    deadlineQueue.remove(DeadlineType.AUTO_COMPLETE, orderId);
+                    handleOrderComplete(orderId);
+                    completeCount++;
+                }
+                lastId = orderId;
+            }
+        } while (orderIds.size() == sweepBatchSize);
         
-        LambdaQueryWrapper<Order> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Order::getStatus, Order.OrderStatus.SHIPPED.getCode())
-                   .le(Order::getUpdateTime, completionTime);
-        
-        List<Order> shippedOrders = orderMapper.selectList(queryWrapper);
-        if (CollectionUtils.isEmpty(shippedOrders)) {
-            return 0;
-        }
-        
-        List<Long> orderIds = shippedOrders.stream()
-                .map(Order::getId)
-                .collect(Collectors.toList());
-        
-        boolean success = batchUpdateOrderStatus(orderIds, Order.OrderStatus.COMPLETED.getCode());
-        
-        int completeCount = success ? orderIds.size() : 0;
         log.info("自动完成已发货订单完成: count={}", completeCount);
-        
         return completeCount;
     }
 
+    @Override
+    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE, 
+                     key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
+    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
+    public boolean cancelTimeoutOrder(Long orderId) {
+        boolean cancelled = orderMapper.cancelIfUnpaid(orderId) > 0;
+        if (cancelled) {
+            log.info("支付超时订单已取消: orderId={}", orderId);
+        }
+        return cancelled;
+    }
+
+    @Override
+    @CacheInvalidate(name = OrderCacheConstant.ORDER_DETAIL_CACHE, 
+                     key = OrderCacheConstant.ORDER_DETAIL_KEY + "#orderId")
+    @CacheInvalidate(name = OrderCacheConstant.USER_ORDER_CACHE)
+    public boolean autoCompleteOrder(Long orderId) {
+        boolean completed = orderMapper.completeIfShipped(orderId) > 0;
+        if (completed) {
+            log.info("已发货订单自动完成: orderId={}", orderId);
+            handleOrderComplete(orderId);
+        }
+        return completed;
+    }
+
     // =================== 统计分析 ===================
 
     @Override
@@ -772,13 +859,8 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public String generateOrderNo(Long userId) {
-        // 格式：ORD + 年月日时分秒 + 用户ID后4位 + 随机3位数
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-        String timeStr = LocalDateTime.now().format(formatter);
-        String userSuffix = String.format("%04d", userId % 10000);
-        String randomSuffix = String.format("%03d", new Random().nextInt(1000));
-        
-        return "ORD" + timeStr + userSuffix + randomSuffix;
+        // 格式：ORD + 年月日时分秒 + 3位毫秒 + 7位workerId与序列号，由分布式ID编码，不依赖用户ID
+        return BizNoFormatter.format(orderNoPrefix, idGenerator.nextId());
     }
 
     // =================== 私有方法 ===================
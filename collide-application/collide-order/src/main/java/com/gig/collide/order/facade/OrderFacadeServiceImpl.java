@@ -7,7 +7,10 @@ import com.gig.collide.api.order.request.OrderCreateRequest;
 import com.gig.collide.api.order.request.OrderQueryRequest;
 import com.gig.collide.api.order.response.OrderResponse;
 import com.gig.collide.api.user.WalletFacadeService;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.web.vo.Result;
 import com.gig.collide.order.domain.entity.Order;
 import com.gig.collide.order.domain.service.OrderService;
@@ -143,6 +146,12 @@ public class OrderFacadeServiceImpl implements OrderFacadeService {
         return convertToPageResponse(result);
     }
 
+    @Override
+    public CursorPageResponse<OrderResponse> getUserOrdersByCursor(Long userId, String status, CursorPageRequest pageRequest) {
+        return orderService.getOrdersByUserIdCursor(userId, status, KeysetQuery.of(pageRequest))
+                .toResponse(this::convertToResponse);
+    }
+
     @Override
     public PageResponse<OrderResponse> getOrdersByGoodsType(String goodsType, String status, Integer currentPage, Integer pageSize) {
         Page<Order> page = new Page<>(currentPage, pageSize);
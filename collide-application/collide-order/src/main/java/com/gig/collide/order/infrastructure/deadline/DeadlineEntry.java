@@ -0,0 +1,17 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+/**
+ * 时间轮中的一个订单截止时间
+ *
+ * @param type     截止时间类型
+ * @param orderId  订单ID
+ * @param deadline 到期时间（毫秒）
+ * @author GIG Team
+ * @version 2.0.0
+ */
+record DeadlineEntry(DeadlineType type, long orderId, long deadline) {
+
+    String key() {
+        return type.getCode() + ":" + orderId;
+    }
+}
@@ -0,0 +1,118 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于分层时间轮的进程内定时器
+ * 单个平台线程驱动：从延迟队列取出到期的槽，槽内任务逐层降级，到达底层精度后回调
+ * 同一订单同一类型只保留一个任务，重复加入时忽略
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+final class DeadlineTimer {
+
+    private static final long POLL_TIMEOUT_MS = 200L;
+
+    private final DelayQueue<TimerBucket> queue = new DelayQueue<>();
+
+    private final TimingWheel wheel;
+
+    private final Consumer<DeadlineEntry> handler;
+
+    /**
+     * 已进入时间轮的任务，value 为到期时间
+     */
+    private final Map<String, Long> scheduled = new ConcurrentHashMap<>();
+
+    /**
+     * 外部线程提交的任务，由驱动线程放入时间轮，时间轮本身只在驱动线程访问
+     */
+    private final Queue<DeadlineEntry> pending = new ConcurrentLinkedQueue<>();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    DeadlineTimer(long tickMs, int wheelSize, Consumer<DeadlineEntry> handler) {
+        this.wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis(), queue);
+        this.handler = handler;
+        this.worker = Thread.ofPlatform().name("collide-order-deadline-timer").daemon().unstarted(this::run);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * 加入定时任务
+     *
+     * @return 是否新加入，已存在时返回 false
+     */
+    boolean schedule(DeadlineEntry entry) {
+        if (scheduled.putIfAbsent(entry.key(), entry.deadline()) != null) {
+            return false;
+        }
+        pending.offer(entry);
+        return true;
+    }
+
+    /**
+     * 任务执行结束或放弃后移除占位，之后可再次加入
+     */
+    void release(DeadlineEntry entry) {
+        scheduled.remove(entry.key());
+    }
+
+    int size() {
+        return scheduled.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                DeadlineEntry incoming;
+                while ((incoming = pending.poll()) != null) {
+                    addOrFire(incoming);
+                }
+                TimerBucket bucket = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                while (bucket != null) {
+                    wheel.advanceClock(bucket.getExpiration());
+                    bucket.flush(this::addOrFire);
+                    bucket = queue.poll();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("订单截止时间定时器异常", e);
+            }
+        }
+    }
+
+    private void addOrFire(DeadlineEntry entry) {
+        if (wheel.add(entry)) {
+            return;
+        }
+        try {
+            handler.accept(entry);
+        } catch (Exception e) {
+            scheduled.remove(entry.key());
+            log.error("订单截止时间回调异常: type={}, orderId={}", entry.type(), entry.orderId(), e);
+        }
+    }
+}
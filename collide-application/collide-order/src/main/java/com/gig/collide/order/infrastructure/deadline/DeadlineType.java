@@ -0,0 +1,30 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+/**
+ * 订单截止时间类型
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public enum DeadlineType {
+
+    /**
+     * 支付超时，到期取消未支付订单
+     */
+    PAY_TIMEOUT("pay-timeout"),
+
+    /**
+     * 收货超时，到期自动完成已发货订单
+     */
+    AUTO_COMPLETE("auto-complete");
+
+    private final String code;
+
+    DeadlineType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,122 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 订单截止时间持久化队列
+ * 每种类型一个 Redis ZSET，member 为订单ID，score 为到期时间（毫秒），服务重启后从这里恢复
+ * 到期任务执行前先通过 claim 把 score 推后一个租期，执行成功后删除；执行节点宕机时租期到后由其他节点重试
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderDeadlineQueue {
+
+    private static final String KEY_PREFIX = "collide:order:deadline:";
+
+    /**
+     * 认领到期任务：不存在返回 0，未到期返回 -1，认领成功返回 1
+     */
+    private static final String CLAIM_SCRIPT = """
+        local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+        if not score then
+            return 0
+        end
+        if tonumber(score) > tonumber(ARGV[2]) then
+            return -1
+        end
+        redis.call('ZADD', KEYS[1], 'XX', ARGV[3], ARGV[1])
+        return 1
+        """;
+
+    private final DefaultRedisScript<Long> claimScript = new DefaultRedisScript<>(CLAIM_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 登记截止时间，在事务中调用时提交后才写入，避免回滚后留下无效任务
+     */
+    public void register(DeadlineType type, Long orderId, long deadlineMs) {
+        afterCommit(() -> redisTemplate.opsForZSet().add(key(type), String.valueOf(orderId), deadlineMs));
+    }
+
+    /**
+     * 删除截止时间，订单已被用户操作推进到下一状态时调用
+     */
+    public void remove(DeadlineType type, Long orderId) {
+        afterCommit(() -> complete(type, orderId));
+    }
+
+    /**
+     * 查询截止时间不晚于 maxScore 的任务，按到期时间升序
+     */
+    List<DeadlineEntry> due(DeadlineType type, long maxScore, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(key(type), Double.NEGATIVE_INFINITY, maxScore, 0, limit);
+        if (tuples == null || tuples.isEmpty()) {
+            return List.of();
+        }
+        List<DeadlineEntry> entries = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            if (tuple.getValue() != null && tuple.getScore() != null) {
+                entries.add(new DeadlineEntry(type, Long.parseLong(tuple.getValue()), tuple.getScore().longValue()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 认领到期任务，成功后其他节点在租期内不会重复执行
+     *
+     * @return 1 认领成功，0 任务已不存在，-1 尚未到期（截止时间被延后）
+     */
+    long claim(DeadlineType type, long orderId, long nowMs, long leaseMs) {
+        Long code = redisTemplate.execute(claimScript, List.of(key(type)),
+                String.valueOf(orderId), String.valueOf(nowMs), String.valueOf(nowMs + leaseMs));
+        return code == null ? 0L : code;
+    }
+
+    void complete(DeadlineType type, Long orderId) {
+        redisTemplate.opsForZSet().remove(key(type), String.valueOf(orderId));
+    }
+
+    private static String key(DeadlineType type) {
+        return KEY_PREFIX + type.getCode();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            run(action);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                run(action);
+            }
+        });
+    }
+
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            // 队列写入失败不影响订单操作，由兜底扫描处理
+            log.error("订单截止时间队列写入失败", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+import com.gig.collide.order.domain.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单截止时间调度
+ * <ul>
+ *     <li>装载：定时从 Redis 队列取出未来一段时间内到期的任务放入时间轮，启动时立即装载一次，恢复重启前的任务</li>
+ *     <li>触发：时间轮到期后先认领，再在虚拟线程中执行取消或完成，信号量限制同时执行的数量</li>
+ *     <li>幂等：取消和完成都是带状态条件的单行更新，订单已支付或已确认收货时不会被改动</li>
+ * </ul>
+ * 超出装载窗口的任务只存在于 Redis，不占用内存
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderDeadlineScheduler {
+
+    private final OrderDeadlineQueue deadlineQueue;
+
+    private final OrderService orderService;
+
+    /**
+     * 时间轮最小刻度（毫秒）
+     */
+    @Value("${collide.order.deadline.tick-ms:100}")
+    private long tickMs;
+
+    /**
+     * 每层时间轮的槽数
+     */
+    @Value("${collide.order.deadline.wheel-size:64}")
+    private int wheelSize;
+
+    /**
+     * 装载窗口（分钟），只把这段时间内到期的任务放入时间轮
+     */
+    @Value("${collide.order.deadline.horizon-minutes:10}")
+    private long horizonMinutes;
+
+    /**
+     * 单次装载的任务数上限
+     */
+    @Value("${collide.order.deadline.pump-batch-size:2000}")
+    private int pumpBatchSize;
+
+    /**
+     * 认领租期（秒），执行失败或节点宕机时租期到后重试
+     */
+    @Value("${collide.order.deadline.lease-seconds:60}")
+    private long leaseSeconds;
+
+    /**
+     * 同时执行的任务数上限
+     */
+    @Value("${collide.order.deadline.max-concurrency:32}")
+    private int maxConcurrency;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("collide-order-deadline-", 0).factory());
+
+    private volatile DeadlineTimer timer;
+
+    private volatile Semaphore permits;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        permits = new Semaphore(maxConcurrency);
+        timer = new DeadlineTimer(tickMs, wheelSize, this::fire);
+        timer.start();
+        pump();
+        log.info("订单截止时间调度已启动: tickMs={}, wheelSize={}, horizonMinutes={}", tickMs, wheelSize, horizonMinutes);
+    }
+
+    /**
+     * 装载即将到期的任务，已在时间轮中的任务不会重复加入
+     */
+    @Scheduled(fixedDelayString = "${collide.order.deadline.pump-interval-ms:30000}",
+            initialDelayString = "${collide.order.deadline.pump-interval-ms:30000}")
+    public void pump() {
+        DeadlineTimer current = timer;
+        if (current == null) {
+            return;
+        }
+        long maxScore = System.currentTimeMillis() + Duration.ofMinutes(horizonMinutes).toMillis();
+        for (DeadlineType type : DeadlineType.values()) {
+            try {
+                List<DeadlineEntry> entries = deadlineQueue.due(type, maxScore, pumpBatchSize);
+                int added = 0;
+                for (DeadlineEntry entry : entries) {
+                    if (current.schedule(entry)) {
+                        added++;
+                    }
+                }
+                if (added > 0) {
+                    log.info("订单截止时间已装载: type={}, count={}, inWheel={}", type, added, current.size());
+                }
+            } catch (Exception e) {
+                log.error("装载订单截止时间失败: type={}", type, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        DeadlineTimer current = timer;
+        if (current != null) {
+            current.stop();
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("订单截止时间任务未在停机前执行完，租期到后由其他节点重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 时间轮驱动线程回调，只做认领和提交，不阻塞时间轮
+     */
+    private void fire(DeadlineEntry entry) {
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timer.release(entry);
+                return;
+            }
+            try {
+                execute(entry);
+            } finally {
+                permits.release();
+                timer.release(entry);
+            }
+        });
+    }
+
+    private void execute(DeadlineEntry entry) {
+        long claimed = deadlineQueue.claim(entry.type(), entry.orderId(),
+                System.currentTimeMillis(), TimeUnit.SECONDS.toMillis(leaseSeconds));
+        if (claimed != 1L) {
+            // 已被其他节点处理、被用户操作移除或截止时间已延后，交给下次装载
+            return;
+        }
+        try {
+            boolean changed = switch (entry.type()) {
+                case PAY_TIMEOUT -> orderService.cancelTimeoutOrder(entry.orderId());
+                case AUTO_COMPLETE -> orderService.autoCompleteOrder(entry.orderId());
+            };
+            deadlineQueue.complete(entry.type(), entry.orderId());
+            log.info("订单截止时间已处理: type={}, orderId={}, changed={}", entry.type(), entry.orderId(), changed);
+        } catch (Exception e) {
+            log.error("订单截止时间处理失败，租期到后重试: type={}, orderId={}", entry.type(), entry.orderId(), e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 时间轮的一个槽，到期时间为槽对应的时间起点
+ * 只有槽的到期时间变化时才重新放入延迟队列，同一时间段的任务共用一次出队
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+final class TimerBucket implements Delayed {
+
+    private final AtomicLong expiration = new AtomicLong(-1L);
+
+    private final List<DeadlineEntry> entries = new ArrayList<>();
+
+    synchronized void add(DeadlineEntry entry) {
+        entries.add(entry);
+    }
+
+    /**
+     * 设置到期时间
+     *
+     * @return 是否发生变化，变化时需要重新入队
+     */
+    boolean setExpiration(long expirationMs) {
+        return expiration.getAndSet(expirationMs) != expirationMs;
+    }
+
+    long getExpiration() {
+        return expiration.get();
+    }
+
+    /**
+     * 取出全部任务并重置，任务交给调用方重新插入时间轮或直接执行
+     */
+    void flush(Consumer<DeadlineEntry> consumer) {
+        List<DeadlineEntry> drained;
+        synchronized (this) {
+            drained = new ArrayList<>(entries);
+            entries.clear();
+            expiration.set(-1L);
+        }
+        drained.forEach(consumer);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getExpiration(), ((TimerBucket) other).getExpiration());
+    }
+}
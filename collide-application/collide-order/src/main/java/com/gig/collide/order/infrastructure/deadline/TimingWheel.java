@@ -0,0 +1,78 @@
+package com.gig.collide.order.infrastructure.deadline;
+
+import java.util.concurrent.DelayQueue;
+
+/**
+ * 分层时间轮
+ * 每层 wheelSize 个槽，上一层的一个槽跨度等于下一层整圈；超出本层范围的任务放到上层，
+ * 随时钟推进逐层降级，最终在最底层按 tickMs 精度到期
+ * 非线程安全，由 DeadlineTimer 的单个驱动线程访问
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+final class TimingWheel {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    private final TimerBucket[] buckets;
+
+    private final DelayQueue<TimerBucket> queue;
+
+    private long currentTime;
+
+    private TimingWheel overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs, DelayQueue<TimerBucket> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMs - startMs % tickMs;
+        this.buckets = new TimerBucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerBucket();
+        }
+    }
+
+    /**
+     * 放入时间轮
+     *
+     * @return false 表示已到期，调用方应直接执行
+     */
+    boolean add(DeadlineEntry entry) {
+        long expiration = entry.deadline();
+        if (expiration < currentTime + tickMs) {
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickMs;
+            TimerBucket bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.add(entry);
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                queue.offer(bucket);
+            }
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel(interval, wheelSize, currentTime, queue);
+        }
+        return overflowWheel.add(entry);
+    }
+
+    /**
+     * 推进时钟，上层同步推进
+     */
+    void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - timeMs % tickMs;
+            if (overflowWheel != null) {
+                overflowWheel.advanceClock(currentTime);
+            }
+        }
+    }
+}
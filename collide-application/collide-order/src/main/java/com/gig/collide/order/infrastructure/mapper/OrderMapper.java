@@ -3,6 +3,7 @@ package com.gig.collide.order.infrastructure.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.datasource.page.KeysetQuery;
 import com.gig.collide.order.domain.entity.Order;
 import org.apache.ibatis.annotations.*;
 import org.springframework.stereotype.Repository;
@@ -44,6 +45,50 @@ public interface OrderMapper extends BaseMapper<Order> {
             """)
     IPage<Order> selectByUserId(Page<Order> page, @Param("userId") Long userId, @Param("status") String status);
 
+    /**
+     * 按游标查询用户订单，时间倒序，需要 (user_id, create_time, id) 前缀的索引
+     *
+     * @param userId 用户ID
+     * @param status 订单状态（可选）
+     * @param seek   游标条件，查询 seek.limit 条
+     * @return 订单列表
+     */
+    @Select("""
+            <script>
+            SELECT * FROM t_order
+            WHERE user_id = #{userId}
+            <if test="status != null and status != ''">
+                AND status = #{status}
+            </if>
+            <if test="seek.cursor != null">
+                AND (create_time &lt; #{seek.cursor.sortTime}
+                    OR (create_time = #{seek.cursor.sortTime} AND id &lt; #{seek.cursor.id}))
+            </if>
+            ORDER BY create_time DESC, id DESC
+            LIMIT #{seek.limit}
+            </script>
+            """)
+    List<Order> selectByUserIdCursor(@Param("userId") Long userId, @Param("status") String status,
+                                     @Param("seek") KeysetQuery seek);
+
+    /**
+     * 统计用户订单数
+     *
+     * @param userId 用户ID
+     * @param status 订单状态（可选）
+     * @return 订单数
+     */
+    @Select("""
+            <script>
+            SELECT COUNT(*) FROM t_order
+            WHERE user_id = #{userId}
+            <if test="status != null and status != ''">
+                AND status = #{status}
+            </if>
+            </script>
+            """)
+    Long countByUserId(@Param("userId") Long userId, @Param("status") String status);
+
     /**
      * 根据订单号查询订单
      *
@@ -357,4 +402,44 @@ public interface OrderMapper extends BaseMapper<Order> {
             ORDER BY create_time DESC
             """)
     IPage<Order> searchOrders(Page<Order> page, @Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    /**
+     * 按主键游标查询待支付超时订单ID
+     *
+     * @param timeoutTime 创建时间早于该时间视为超时
+     * @param lastId      上一批最后一个订单ID
+     * @param limit       数量限制
+     * @return 订单ID列表，按ID升序
+     */
+    List<Long> selectTimeoutOrderIds(@Param("timeoutTime") LocalDateTime timeoutTime,
+                                     @Param("lastId") Long lastId,
+                                     @Param("limit") Integer limit);
+
+    /**
+     * 按主键游标查询发货后超时未确认收货的订单ID
+     *
+     * @param completionTime 更新时间早于该时间视为超时
+     * @param lastId         上一批最后一个订单ID
+     * @param limit          数量限制
+     * @return 订单ID列表，按ID升序
+     */
+    List<Long> selectShippedOrderIds(@Param("completionTime") LocalDateTime completionTime,
+                                     @Param("lastId") Long lastId,
+                                     @Param("limit") Integer limit);
+
+    /**
+     * 取消未支付订单，订单已支付或已取消时不更新
+     *
+     * @param orderId 订单ID
+     * @return 影响行数
+     */
+    int cancelIfUnpaid(@Param("orderId") Long orderId);
+
+    /**
+     * 完成已发货订单，订单已不是已发货状态时不更新
+     *
+     * @param orderId 订单ID
+     * @return 影响行数
+     */
+    int completeIfShipped(@Param("orderId") Long orderId);
+}
@@ -3,6 +3,8 @@ package com.gig.collide.payment.domain.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.base.id.BizNoFormatter;
+import com.gig.collide.base.id.SnowflakeIdGenerator;
 import com.gig.collide.payment.domain.entity.Payment;
 import com.gig.collide.payment.domain.service.PaymentService;
 import com.gig.collide.payment.infrastructure.mapper.PaymentMapper;
@@ -14,9 +16,7 @@ import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Random;
 
 /**
  * 支付服务实现类 - 简洁版
@@ -31,7 +31,8 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private PaymentMapper paymentMapper;
 
-    private final Random random = new Random();
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
 
     @Override
     @Transactional
@@ -185,9 +186,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public String generatePaymentNo() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = String.format("%06d", random.nextInt(1000000));
-        return "PAY" + timestamp + randomSuffix;
+        return BizNoFormatter.format("PAY", idGenerator.nextId());
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.alicp.jetcache.anno.config.EnableMethodCache;
 import org.apache.dubbo.config.spring.context.annotation.EnableDubbo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 搜索服务启动类 - 简洁版
@@ -19,6 +20,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @EnableDubbo
 @EnableMethodCache(basePackages = "com.gig.collide.search")
 @EnableCreateCacheAnnotation
+@EnableScheduling
 public class CollideSearchApplication {
 
     public static void main(String[] args) {
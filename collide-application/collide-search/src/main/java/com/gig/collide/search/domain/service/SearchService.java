@@ -16,9 +16,11 @@ public interface SearchService {
 
     /**
      * 执行搜索并记录历史
+     *
+     * @return 当前页结果，total 为全部命中数
      */
-    List<Object> search(String keyword, String searchType, Long userId, 
-                       Integer pageNum, Integer pageSize, String sortBy);
+    IPage<Object> search(String keyword, String searchType, Long userId,
+                         Integer pageNum, Integer pageSize, String sortBy);
 
     /**
      * 记录搜索历史
@@ -3,20 +3,30 @@ package com.gig.collide.search.domain.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.gig.collide.api.search.response.SearchResponse.SearchResultItem;
 import com.gig.collide.search.domain.entity.SearchHistory;
 import com.gig.collide.search.domain.entity.HotSearch;
 import com.gig.collide.search.domain.service.SearchService;
+import com.gig.collide.search.infrastructure.history.RecentSearchHistory;
+import com.gig.collide.search.infrastructure.history.RecentSearchHistory.RecentPage;
+import com.gig.collide.search.infrastructure.history.SearchHistoryWriter;
 import com.gig.collide.search.infrastructure.mapper.SearchHistoryMapper;
 import com.gig.collide.search.infrastructure.mapper.HotSearchMapper;
+import com.gig.collide.search.infrastructure.index.DocumentType;
+import com.gig.collide.search.infrastructure.index.IndexHit;
+import com.gig.collide.search.infrastructure.index.SearchIndexManager;
+import com.gig.collide.search.infrastructure.suggest.SuggestionIndex;
+import com.gig.collide.search.infrastructure.trend.HotSearchTrendTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 搜索服务实现类 - 简洁版
@@ -34,33 +44,58 @@ public class SearchServiceImpl implements SearchService {
     @Autowired
     private HotSearchMapper hotSearchMapper;
 
+    @Autowired
+    private SearchIndexManager searchIndexManager;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private HotSearchTrendTracker hotSearchTrendTracker;
+
+    @Autowired
+    private SearchHistoryWriter searchHistoryWriter;
+
+    @Autowired
+    private RecentSearchHistory recentSearchHistory;
+
+    /**
+     * 手工设置的趋势分保留时长（分钟）
+     */
+    @Value("${collide.search.trend.manual-hold-minutes:1440}")
+    private long trendManualHoldMinutes;
+
     @Override
     @Transactional
-    public List<Object> search(String keyword, String searchType, Long userId, 
-                              Integer pageNum, Integer pageSize, String sortBy) {
-        // 这里模拟搜索逻辑，实际应该调用不同模块的搜索接口
-        List<Object> results = new ArrayList<>();
+    public IPage<Object> search(String keyword, String searchType, Long userId,
+                                Integer pageNum, Integer pageSize, String sortBy) {
+        int current = pageNum == null ? 1 : pageNum;
+        int size = pageSize == null ? 20 : pageSize;
+        IPage<Object> results = new Page<>(current, size, 0);
         
         try {
             switch (searchType) {
                 case "content":
                     // 调用内容模块搜索
-                    results = searchContent(keyword, pageNum, pageSize, sortBy);
+                    results = searchContent(keyword, current, size, sortBy);
                     break;
                 case "goods":
                     // 调用商品模块搜索
-                    results = searchGoods(keyword, pageNum, pageSize, sortBy);
+                    results = searchGoods(keyword, current, size, sortBy);
                     break;
                 case "user":
                     // 调用用户模块搜索
-                    results = searchUsers(keyword, pageNum, pageSize, sortBy);
+                    results = searchUsers(keyword, current, size, sortBy);
+                    break;
+                case "comment":
+                    results = searchIndex(DocumentType.COMMENT, keyword, current, size, sortBy);
                     break;
                 default:
                     log.warn("未知搜索类型: {}", searchType);
             }
             
             // 记录搜索历史
-            recordSearchHistory(userId, keyword, searchType, results.size());
+            recordSearchHistory(userId, keyword, searchType, (int) results.getTotal());
             
             // 更新热搜统计
             updateHotSearchStats(keyword);
@@ -74,23 +109,24 @@ public class SearchServiceImpl implements SearchService {
     }
 
     @Override
-    @Transactional
     public void recordSearchHistory(Long userId, String keyword, String searchType, Integer resultCount) {
-        // 检查是否已存在相同的搜索记录
-        int count = searchHistoryMapper.countByUserIdAndKeyword(userId, keyword);
-        if (count == 0) {
-            SearchHistory history = new SearchHistory();
-            history.setUserId(userId);
-            history.setKeyword(keyword);
-            history.setSearchType(searchType);
-            history.setResultCount(resultCount);
-            searchHistoryMapper.insert(history);
-        }
+        // 异步合并写入，不占用搜索请求的数据库连接
+        searchHistoryWriter.submit(userId, keyword, searchType, resultCount);
     }
 
     @Override
     public IPage<SearchHistory> getSearchHistory(Long userId, String searchType, String keyword,
                                                 int pageNum, int pageSize, String sortBy, String sortDirection) {
+        // 默认视图的首页直接读 Redis 最近列表
+        if (isRecentView(searchType, keyword, pageNum, pageSize, sortBy, sortDirection)) {
+            RecentPage recent = recentSearchHistory.recent(userId, pageSize);
+            if (recent != null) {
+                Page<SearchHistory> page = new Page<>(1, pageSize, recent.total());
+                page.setRecords(recent.records());
+                return page;
+            }
+        }
+
         Page<SearchHistory> page = new Page<>(pageNum, pageSize);
         LambdaQueryWrapper<SearchHistory> queryWrapper = new LambdaQueryWrapper<>();
         
@@ -126,12 +162,33 @@ public class SearchServiceImpl implements SearchService {
     @Transactional
     public void clearSearchHistory(Long userId) {
         searchHistoryMapper.deleteByUserId(userId);
+        // 丢弃尚未落库的缓冲记录，避免清空后又被写回
+        searchHistoryWriter.discard(userId);
+        recentSearchHistory.clear(userId);
     }
 
     @Override
     @Transactional
     public void deleteSearchHistory(Long historyId) {
+        SearchHistory history = searchHistoryMapper.selectById(historyId);
+        if (history == null) {
+            return;
+        }
         searchHistoryMapper.deleteById(historyId);
+        recentSearchHistory.remove(history.getUserId(), history.getKeyword());
+    }
+
+    /**
+     * 无筛选、按时间倒序的首页可由最近列表直接返回
+     */
+    private boolean isRecentView(String searchType, String keyword, int pageNum, int pageSize,
+                                 String sortBy, String sortDirection) {
+        return pageNum == 1
+                && pageSize <= recentSearchHistory.getRecentSize()
+                && !StringUtils.hasText(searchType)
+                && !StringUtils.hasText(keyword)
+                && !"result_count".equals(sortBy)
+                && !"asc".equals(sortDirection);
     }
 
     @Override
@@ -141,6 +198,9 @@ public class SearchServiceImpl implements SearchService {
 
     @Override
     public List<String> getSearchSuggestions(String keyword, Integer limit) {
+        if (suggestionIndex.isReady()) {
+            return suggestionIndex.suggest(keyword, limit == null ? 10 : limit);
+        }
         return searchHistoryMapper.selectSuggestionsByPrefix(keyword, limit);
     }
 
@@ -157,45 +217,59 @@ public class SearchServiceImpl implements SearchService {
     @Override
     @Transactional
     public void updateHotSearchTrend(String keyword, Double trendScore) {
-        hotSearchMapper.updateTrendScore(keyword, BigDecimal.valueOf(trendScore));
+        hotSearchMapper.updateTrendScore(keyword, BigDecimal.valueOf(trendScore), trendManualHoldMinutes);
     }
 
     @Override
-    @Transactional
     public void updateHotSearchStats(String keyword) {
-        HotSearch hotSearch = hotSearchMapper.selectByKeyword(keyword);
-        if (hotSearch != null) {
-            hotSearchMapper.increaseSearchCount(keyword);
-        } else {
-            // 新增热搜记录
-            hotSearchMapper.insertOrUpdateHotSearch(keyword, 1L);
-        }
+        // 计数和趋势在内存聚合，定时批量落库
+        hotSearchTrendTracker.record(keyword);
+        suggestionIndex.record(keyword);
     }
 
     /**
-     * 搜索内容（模拟实现）
+     * 搜索内容
      */
-    private List<Object> searchContent(String keyword, Integer pageNum, Integer pageSize, String sortBy) {
-        // 这里应该调用内容模块的搜索接口
-        // 暂时返回空列表
-        return new ArrayList<>();
+    private IPage<Object> searchContent(String keyword, int pageNum, int pageSize, String sortBy) {
+        return searchIndex(DocumentType.CONTENT, keyword, pageNum, pageSize, sortBy);
     }
 
     /**
      * 搜索商品（模拟实现）
      */
-    private List<Object> searchGoods(String keyword, Integer pageNum, Integer pageSize, String sortBy) {
+    private IPage<Object> searchGoods(String keyword, int pageNum, int pageSize, String sortBy) {
         // 这里应该调用商品模块的搜索接口
-        // 暂时返回空列表
-        return new ArrayList<>();
+        // 暂时返回空页
+        return new Page<>(pageNum, pageSize, 0);
+    }
+
+    /**
+     * 搜索用户
+     */
+    private IPage<Object> searchUsers(String keyword, int pageNum, int pageSize, String sortBy) {
+        return searchIndex(DocumentType.USER, keyword, pageNum, pageSize, sortBy);
     }
 
     /**
-     * 搜索用户（模拟实现）
+     * 从内存倒排索引检索，total 为全部命中数而非当前页条数
      */
-    private List<Object> searchUsers(String keyword, Integer pageNum, Integer pageSize, String sortBy) {
-        // 这里应该调用用户模块的搜索接口
-        // 暂时返回空列表
-        return new ArrayList<>();
+    private IPage<Object> searchIndex(DocumentType type, String keyword, int pageNum, int pageSize, String sortBy) {
+        SearchIndexManager.SearchPage page = searchIndexManager.search(type, keyword, pageNum, pageSize, sortBy);
+        IPage<Object> result = new Page<>(pageNum, pageSize, page.total());
+        result.setRecords(page.hits().stream()
+                .map(hit -> (Object) toResultItem(type, hit))
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    private SearchResultItem toResultItem(DocumentType type, IndexHit hit) {
+        SearchResultItem item = new SearchResultItem();
+        item.setId(hit.id());
+        item.setTitle(hit.title());
+        item.setContent(hit.snippet());
+        item.setType(type.getCode());
+        item.setThumbnail(hit.thumbnail());
+        item.setScore(hit.score());
+        return item;
     }
 } 
\ No newline at end of file
@@ -64,7 +64,7 @@ public class SearchFacadeServiceImpl implements SearchFacadeService {
             log.info("执行搜索请求: 关键词={}, 类型={}", request.getKeyword(), request.getSearchType());
             long startTime = System.currentTimeMillis();
             
-            List<Object> results = searchService.search(
+            IPage<Object> results = searchService.search(
                 request.getKeyword(),
                 request.getSearchType(),
                 request.getUserId(),
@@ -78,16 +78,20 @@ public class SearchFacadeServiceImpl implements SearchFacadeService {
             SearchResponse response = new SearchResponse();
             response.setKeyword(request.getKeyword());
             response.setSearchType(request.getSearchType());
-            response.setTotalCount(results.size());
+            response.setTotalCount((int) results.getTotal());
+            response.setResults(results.getRecords().stream()
+                    .filter(SearchResponse.SearchResultItem.class::isInstance)
+                    .map(SearchResponse.SearchResultItem.class::cast)
+                    .collect(Collectors.toList()));
             response.setDuration(duration);
-            response.setHasMore(results.size() >= request.getPageSize());
+            response.setHasMore(results.getCurrent() * results.getSize() < results.getTotal());
             
             // 获取搜索建议
             List<String> suggestions = searchService.getSearchSuggestions(request.getKeyword(), 5);
             response.setSuggestions(suggestions);
             
             log.info("搜索执行完成: 关键词={}, 耗时={}ms, 结果数={}", 
-                    request.getKeyword(), duration, results.size());
+                    request.getKeyword(), duration, results.getTotal());
             return Result.success(response);
         } catch (Exception e) {
             log.error("搜索失败", e);
@@ -98,8 +102,6 @@ public class SearchFacadeServiceImpl implements SearchFacadeService {
     // =================== 搜索历史管理 ===================
 
     @Override
-    @Cached(name = SearchCacheConstant.SEARCH_HISTORY_CACHE, key = SearchCacheConstant.SEARCH_HISTORY_KEY, 
-            expire = SearchCacheConstant.SEARCH_HISTORY_EXPIRE, timeUnit = TimeUnit.MINUTES, cacheType = CacheType.BOTH)
     public Result<PageResponse<SearchHistoryResponse>> getSearchHistory(SearchHistoryQueryRequest request) {
         try {
             log.debug("查询搜索历史: 用户={}, 页码={}", request.getUserId(), request.getCurrentPage());
@@ -125,7 +127,6 @@ public class SearchFacadeServiceImpl implements SearchFacadeService {
     }
 
     @Override
-    @CacheInvalidate(name = SearchCacheConstant.SEARCH_HISTORY_CACHE)
     @CacheInvalidate(name = SearchCacheConstant.USER_PREFERENCE_CACHE)
     public Result<Void> clearSearchHistory(Long userId) {
         try {
@@ -140,7 +141,6 @@ public class SearchFacadeServiceImpl implements SearchFacadeService {
     }
 
     @Override
-    @CacheInvalidate(name = SearchCacheConstant.SEARCH_HISTORY_CACHE)
     @CacheInvalidate(name = SearchCacheConstant.USER_PREFERENCE_CACHE)
     public Result<Void> deleteSearchHistory(Long historyId) {
         try {
@@ -184,8 +184,6 @@ public class SearchFacadeServiceImpl implements SearchFacadeService {
     // =================== 搜索建议功能 ===================
 
     @Override
-    @Cached(name = SearchCacheConstant.SEARCH_SUGGESTION_CACHE, key = SearchCacheConstant.SEARCH_SUGGESTION_KEY, 
-            expire = SearchCacheConstant.SEARCH_SUGGESTION_EXPIRE, timeUnit = TimeUnit.MINUTES, cacheType = CacheType.BOTH)
     public Result<List<String>> getSearchSuggestions(String keyword, Integer limit) {
         try {
             log.debug("获取搜索建议: 关键词={}, 限制={}", keyword, limit);
@@ -1,26 +1,39 @@
 package com.gig.collide.search.infrastructure;
 
 import com.gig.collide.api.category.CategoryFacadeService;
+import com.gig.collide.api.comment.CommentFacadeService;
 import com.gig.collide.api.tag.TagFacadeService;
 import com.gig.collide.api.content.ContentFacadeService;
 import com.gig.collide.api.user.UserFacadeService;
 import org.apache.dubbo.config.annotation.DubboReference;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
+/**
+ * 搜索模块Dubbo配置类
+ * 引用内容、评论、用户等模块服务，用于构建搜索索引
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
 public class SearchDubboConfiguration {
-    @DubboReference(version = "1.0.0")
+    @DubboReference(version = "1.0.0", check = false, timeout = 10000)
     private UserFacadeService userFacadeService;
 
-    @DubboReference(version = "1.0.0")
+    @DubboReference(version = "1.0.0", check = false, timeout = 10000)
     private ContentFacadeService contentFacadeService;
 
-    @DubboReference(version = "1.0.0")
+    @DubboReference(version = "1.0.0", check = false, timeout = 10000)
     private TagFacadeService tagFacadeService;
 
-    @DubboReference(version = "1.0.0")
+    @DubboReference(version = "1.0.0", check = false, timeout = 10000)
     private CategoryFacadeService categoryFacadeService;
 
+    @DubboReference(version = "1.0.0", check = false, timeout = 10000)
+    private CommentFacadeService commentFacadeService;
+
 
     @Bean
     @ConditionalOnMissingBean(name = "userFacadeService")
@@ -45,4 +58,10 @@ public class SearchDubboConfiguration {
     public CategoryFacadeService categoryFacadeService() {
         return categoryFacadeService;
     }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "commentFacadeService")
+    public CommentFacadeService commentFacadeService() {
+        return commentFacadeService;
+    }
 }
@@ -29,23 +29,6 @@ public class SearchCacheConstant {
      */
     public static final int SEARCH_RESULT_EXPIRE = 30;
 
-    // =================== 搜索历史缓存 ===================
-    
-    /**
-     * 搜索历史缓存名称
-     */
-    public static final String SEARCH_HISTORY_CACHE = "search:history";
-    
-    /**
-     * 搜索历史缓存Key
-     */
-    public static final String SEARCH_HISTORY_KEY = "'search:history:' + #request.userId + ':' + #request.currentPage + ':' + #request.pageSize";
-    
-    /**
-     * 搜索历史缓存过期时间（分钟）
-     */
-    public static final int SEARCH_HISTORY_EXPIRE = 60;
-
     // =================== 热门搜索缓存 ===================
     
     /**
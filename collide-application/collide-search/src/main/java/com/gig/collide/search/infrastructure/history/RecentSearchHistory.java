@@ -0,0 +1,303 @@
+package com.gig.collide.search.infrastructure.history;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.gig.collide.search.domain.entity.SearchHistory;
+import com.gig.collide.search.infrastructure.mapper.SearchHistoryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户最近搜索缓存
+ * 保存每个用户最近的若干条搜索历史，默认排序的第一页直接从这里返回
+ *
+ * <p>Redis 结构（同一用户的键共用 {userId} 哈希标签）：</p>
+ * <ul>
+ *     <li>recent：ZSET，member 为关键词，score 为搜索时间（毫秒），超过上限时淘汰最早的</li>
+ *     <li>entries：Hash，field 为关键词，value 为 "ID|搜索类型|结果数"</li>
+ *     <li>total：用户历史记录总数，同时作为已加载标记；淘汰后再次搜索旧关键词时会多计，过期重新加载时修正</li>
+ *     <li>dirty：未加载期间发生过写入，加载过程中出现时放弃本次加载</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecentSearchHistory {
+
+    private static final String KEY_PREFIX = "collide:search:history:";
+
+    /**
+     * 追加一个用户的记录：ARGV 为 上限, ttl(秒), dirty ttl(秒), (关键词, 时间, 记录)...
+     */
+    private static final String APPEND_SCRIPT = """
+        if redis.call('EXISTS', KEYS[3]) == 0 then
+            redis.call('SET', KEYS[4], '1', 'EX', ARGV[3])
+            return 0
+        end
+        local added = 0
+        for i = 4, #ARGV, 3 do
+            added = added + redis.call('ZADD', KEYS[1], ARGV[i + 1], ARGV[i])
+            redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+        end
+        redis.call('INCRBY', KEYS[3], added)
+        local size = redis.call('ZCARD', KEYS[1])
+        local limit = tonumber(ARGV[1])
+        if size > limit then
+            local evicted = redis.call('ZRANGE', KEYS[1], 0, size - limit - 1)
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, size - limit - 1)
+            redis.call('HDEL', KEYS[2], unpack(evicted))
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[2])
+        redis.call('EXPIRE', KEYS[2], ARGV[2])
+        redis.call('EXPIRE', KEYS[3], ARGV[2])
+        return 1
+        """;
+
+    /**
+     * 删除一条记录
+     */
+    private static final String REMOVE_SCRIPT = """
+        if redis.call('EXISTS', KEYS[3]) == 0 then
+            return 0
+        end
+        local removed = redis.call('ZREM', KEYS[1], ARGV[1])
+        redis.call('HDEL', KEYS[2], ARGV[1])
+        if tonumber(redis.call('GET', KEYS[3])) > 0 then
+            redis.call('DECR', KEYS[3])
+        end
+        return removed
+        """;
+
+    /**
+     * 读取最近 N 条：返回 {是否已加载, 总数, 关键词, 时间, 记录, ...}
+     */
+    private static final String READ_SCRIPT = """
+        local total = redis.call('GET', KEYS[3])
+        if not total then
+            return {0}
+        end
+        local result = {1, tonumber(total)}
+        local members = redis.call('ZREVRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1, 'WITHSCORES')
+        for i = 1, #members, 2 do
+            table.insert(result, members[i])
+            table.insert(result, members[i + 1])
+            table.insert(result, redis.call('HGET', KEYS[2], members[i]) or '')
+        end
+        return result
+        """;
+
+    /**
+     * 整体加载：ARGV 为 ttl(秒), 总数, (关键词, 时间, 记录)...
+     */
+    private static final String LOAD_SCRIPT = """
+        if redis.call('EXISTS', KEYS[4]) == 1 then
+            return 0
+        end
+        redis.call('DEL', KEYS[1], KEYS[2])
+        for i = 3, #ARGV, 3 do
+            redis.call('ZADD', KEYS[1], ARGV[i + 1], ARGV[i])
+            redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+        end
+        redis.call('SET', KEYS[3], ARGV[2], 'EX', ARGV[1])
+        redis.call('EXPIRE', KEYS[1], ARGV[1])
+        redis.call('EXPIRE', KEYS[2], ARGV[1])
+        return 1
+        """;
+
+    private final DefaultRedisScript<Long> appendScript = new DefaultRedisScript<>(APPEND_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> removeScript = new DefaultRedisScript<>(REMOVE_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> readScript = new DefaultRedisScript<>(READ_SCRIPT, List.class);
+
+    private final DefaultRedisScript<Long> loadScript = new DefaultRedisScript<>(LOAD_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final SearchHistoryMapper searchHistoryMapper;
+
+    /**
+     * 每个用户缓存的最近搜索条数
+     */
+    @Value("${collide.search.history.recent-size:50}")
+    private int recentSize;
+
+    @Value("${collide.search.history.recent-ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${collide.search.history.dirty-ttl-seconds:30}")
+    private long dirtyTtlSeconds;
+
+    public int getRecentSize() {
+        return recentSize;
+    }
+
+    /**
+     * 追加已写入数据库的记录，未加载的用户跳过
+     */
+    public void append(List<SearchHistory> histories) {
+        Map<Long, List<SearchHistory>> byUser = new LinkedHashMap<>();
+        for (SearchHistory history : histories) {
+            byUser.computeIfAbsent(history.getUserId(), key -> new ArrayList<>()).add(history);
+        }
+        for (Map.Entry<Long, List<SearchHistory>> entry : byUser.entrySet()) {
+            List<String> args = new ArrayList<>(3 + entry.getValue().size() * 3);
+            args.add(String.valueOf(recentSize));
+            args.add(String.valueOf(ttlSeconds));
+            args.add(String.valueOf(dirtyTtlSeconds));
+            for (SearchHistory history : entry.getValue()) {
+                addEntry(args, history);
+            }
+            redisTemplate.execute(appendScript, keys(entry.getKey()), args.toArray());
+        }
+    }
+
+    /**
+     * 事务提交后删除一条记录
+     */
+    public void remove(Long userId, String keyword) {
+        afterCommit(userId, () -> redisTemplate.execute(removeScript, keys(userId), keyword));
+    }
+
+    /**
+     * 事务提交后清空缓存
+     */
+    public void clear(Long userId) {
+        afterCommit(userId, () -> redisTemplate.delete(keys(userId).subList(0, 3)));
+    }
+
+    /**
+     * 读取最近 limit 条，未加载时从数据库加载后重试一次；不可用时返回 null，由调用方回源数据库
+     *
+     * @return 总数和记录，按搜索时间倒序
+     */
+    public RecentPage recent(Long userId, int limit) {
+        try {
+            RecentPage page = read(userId, limit);
+            if (page == null && load(userId)) {
+                page = read(userId, limit);
+            }
+            return page;
+        } catch (Exception e) {
+            log.warn("读取最近搜索缓存失败，回源数据库: 用户={}", userId, e);
+            return null;
+        }
+    }
+
+    // =================== 内部方法 ===================
+
+    private RecentPage read(Long userId, int limit) {
+        List<?> result = redisTemplate.execute(readScript, keys(userId), String.valueOf(limit));
+        if (result == null || result.isEmpty() || ((Number) result.get(0)).longValue() != 1L) {
+            return null;
+        }
+        List<SearchHistory> records = new ArrayList<>((result.size() - 2) / 3);
+        for (int i = 2; i + 2 < result.size(); i += 3) {
+            SearchHistory history = parse(userId, String.valueOf(result.get(i)),
+                    String.valueOf(result.get(i + 1)), String.valueOf(result.get(i + 2)));
+            records.add(history);
+        }
+        return new RecentPage(((Number) result.get(1)).longValue(), records);
+    }
+
+    private boolean load(Long userId) {
+        redisTemplate.delete(key(userId, "dirty"));
+        Long total = searchHistoryMapper.selectCount(new LambdaQueryWrapper<SearchHistory>()
+                .eq(SearchHistory::getUserId, userId));
+        List<SearchHistory> recent = searchHistoryMapper.selectByUserId(userId, recentSize);
+
+        List<String> args = new ArrayList<>(2 + recent.size() * 3);
+        args.add(String.valueOf(ttlSeconds));
+        args.add(String.valueOf(total == null ? 0L : total));
+        for (SearchHistory history : recent) {
+            addEntry(args, history);
+        }
+        Long loaded = redisTemplate.execute(loadScript, keys(userId), args.toArray());
+        return loaded != null && loaded == 1L;
+    }
+
+    private void afterCommit(Long userId, Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("更新最近搜索缓存失败，等待重新加载: 用户={}", userId, e);
+                try {
+                    redisTemplate.delete(key(userId, "total"));
+                } catch (Exception ignored) {
+                    // Redis 不可用时依赖过期兜底
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guarded.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guarded.run();
+            }
+        });
+    }
+
+    private static void addEntry(List<String> args, SearchHistory history) {
+        args.add(history.getKeyword());
+        args.add(String.valueOf(toMillis(history.getCreateTime())));
+        args.add((history.getId() == null ? "" : history.getId()) + "|"
+                + (history.getSearchType() == null ? "" : history.getSearchType()) + "|"
+                + (history.getResultCount() == null ? 0 : history.getResultCount()));
+    }
+
+    private static SearchHistory parse(Long userId, String keyword, String score, String entry) {
+        SearchHistory history = new SearchHistory();
+        history.setUserId(userId);
+        history.setKeyword(keyword);
+        history.setCreateTime(LocalDateTime.ofInstant(Instant.ofEpochMilli((long) Double.parseDouble(score)),
+                ZoneId.systemDefault()));
+        String[] parts = entry.split("\\|", -1);
+        if (parts.length == 3) {
+            history.setId(parts[0].isEmpty() ? null : Long.valueOf(parts[0]));
+            history.setSearchType(parts[1].isEmpty() ? null : parts[1]);
+            history.setResultCount(Integer.valueOf(parts[2]));
+        }
+        return history;
+    }
+
+    private static List<String> keys(Long userId) {
+        return List.of(key(userId, "recent"), key(userId, "entries"), key(userId, "total"), key(userId, "dirty"));
+    }
+
+    private static String key(Long userId, String name) {
+        return KEY_PREFIX + "{" + userId + "}:" + name;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        LocalDateTime value = time == null ? LocalDateTime.now() : time;
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * @param total   用户历史记录总数
+     * @param records 最近的记录，按搜索时间倒序
+     */
+    public record RecentPage(long total, List<SearchHistory> records) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.gig.collide.search.infrastructure.history;
+
+import com.gig.collide.search.domain.entity.SearchHistory;
+import com.gig.collide.search.infrastructure.mapper.SearchHistoryMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 搜索历史异步写入
+ * 请求线程只把搜索事件放入有界队列（多生产者），单个写入线程按刷新窗口消费：
+ * 窗口内同一用户同一关键词只保留最后一次，批量 upsert 到 t_search_history 后同步最近搜索缓存
+ * 队列满时丢弃事件，搜索历史允许少量丢失，不能反压搜索请求。
+ * 用户清空历史时把清空时间写入 Redis，每个节点写入前都按该时间过滤，其他节点队列中清空前的事件不会被写回
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchHistoryWriter {
+
+    private static final int KEYWORD_MAX_LENGTH = 200;
+
+    private static final String CLEARED_KEY_PREFIX = "collide:search:history:";
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final SearchHistoryMapper searchHistoryMapper;
+
+    private final RecentSearchHistory recentSearchHistory;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${collide.search.history.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /**
+     * 刷新窗口（毫秒）
+     */
+    @Value("${collide.search.history.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    /**
+     * 单次写入的最大条数，窗口未结束但攒满时提前写入
+     */
+    @Value("${collide.search.history.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 清空时间在 Redis 中的保留时长（秒），需覆盖事件在各节点队列中的最长停留时间
+     */
+    @Value("${collide.search.history.cleared-ttl-seconds:600}")
+    private long clearedTtlSeconds;
+
+    private BlockingQueue<SearchHistory> queue;
+
+    /**
+     * 本节点记录的清空时间，合并窗口时先行过滤；写入前再按 Redis 中所有节点共享的清空时间过滤
+     */
+    private final Map<Long, LocalDateTime> clearedAt = new ConcurrentHashMap<>();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread worker;
+
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        worker = Thread.ofPlatform().name("collide-search-history-writer").daemon().start(this::run);
+    }
+
+    /**
+     * 提交一次搜索，不阻塞调用方
+     */
+    public void submit(Long userId, String keyword, String searchType, Integer resultCount) {
+        if (userId == null || keyword == null || keyword.isBlank()) {
+            return;
+        }
+        SearchHistory history = new SearchHistory();
+        history.setUserId(userId);
+        history.setKeyword(keyword.length() > KEYWORD_MAX_LENGTH ? keyword.substring(0, KEYWORD_MAX_LENGTH) : keyword);
+        history.setSearchType(searchType);
+        history.setResultCount(resultCount == null ? 0 : resultCount);
+        history.setCreateTime(LocalDateTime.now());
+        if (!queue.offer(history)) {
+            long count = dropped.incrementAndGet();
+            if ((count & 1023) == 1) {
+                log.warn("搜索历史队列已满，丢弃事件: 累计丢弃={}", count);
+            }
+        }
+    }
+
+    /**
+     * 用户清空历史时调用，丢弃所有节点尚未写入的清空前事件
+     */
+    public void discard(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        clearedAt.put(userId, now);
+        try {
+            redisTemplate.opsForValue().set(clearedKey(userId),
+                    String.valueOf(now.atZone(ZONE).toInstant().toEpochMilli()), Duration.ofSeconds(clearedTtlSeconds));
+        } catch (Exception e) {
+            log.warn("记录搜索历史清空时间失败，其他节点缓冲的事件可能被写回: 用户={}", userId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =================== 写入线程 ===================
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            Map<HistoryKey, SearchHistory> window = new LinkedHashMap<>();
+            try {
+                collect(window);
+            } catch (InterruptedException e) {
+                // 停机：把队列剩余事件并入当前窗口后写入
+                List<SearchHistory> rest = new ArrayList<>();
+                queue.drainTo(rest);
+                rest.forEach(history -> merge(window, history));
+            }
+            if (!window.isEmpty()) {
+                write(window.values());
+            }
+            expireTombstones();
+        }
+    }
+
+    private void collect(Map<HistoryKey, SearchHistory> window) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        List<SearchHistory> drained = new ArrayList<>();
+        while (window.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            SearchHistory history = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (history == null) {
+                return;
+            }
+            merge(window, history);
+            queue.drainTo(drained, batchSize);
+            drained.forEach(item -> merge(window, item));
+            drained.clear();
+        }
+    }
+
+    private void merge(Map<HistoryKey, SearchHistory> window, SearchHistory history) {
+        LocalDateTime cleared = clearedAt.get(history.getUserId());
+        if (cleared != null && !history.getCreateTime().isAfter(cleared)) {
+            return;
+        }
+        window.put(new HistoryKey(history.getUserId(), history.getKeyword()), history);
+    }
+
+    private void write(Collection<SearchHistory> histories) {
+        List<SearchHistory> batch = dropCleared(histories);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            searchHistoryMapper.batchUpsert(batch);
+            // 回查主键，最近搜索缓存中的记录需要支持按ID删除
+            Map<HistoryKey, Long> ids = new LinkedHashMap<>();
+            for (SearchHistory saved : searchHistoryMapper.selectIdsByUserKeywords(batch)) {
+                ids.put(new HistoryKey(saved.getUserId(), saved.getKeyword()), saved.getId());
+            }
+            batch.forEach(history -> history.setId(ids.get(new HistoryKey(history.getUserId(), history.getKeyword()))));
+        } catch (Exception e) {
+            log.error("批量写入搜索历史失败，本批丢弃: 条数={}", batch.size(), e);
+            return;
+        }
+        try {
+            recentSearchHistory.append(batch);
+        } catch (Exception e) {
+            log.warn("同步最近搜索缓存失败: 条数={}", batch.size(), e);
+        }
+    }
+
+    /**
+     * 按 Redis 中的清空时间过滤，读取失败时只依赖本节点的清空时间
+     */
+    private List<SearchHistory> dropCleared(Collection<SearchHistory> histories) {
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(histories.stream().map(SearchHistory::getUserId).toList()));
+        Map<Long, LocalDateTime> cleared = new HashMap<>();
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(userIds.stream().map(this::clearedKey).toList());
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    cleared.put(userIds.get(i), LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(values.get(i))), ZONE));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取搜索历史清空时间失败，仅按本节点记录过滤: 用户数={}", userIds.size(), e);
+        }
+        List<SearchHistory> batch = new ArrayList<>(histories.size());
+        for (SearchHistory history : histories) {
+            LocalDateTime time = cleared.get(history.getUserId());
+            if (time == null || history.getCreateTime().isAfter(time)) {
+                batch.add(history);
+            }
+        }
+        return batch;
+    }
+
+    private String clearedKey(Long userId) {
+        return CLEARED_KEY_PREFIX + "{" + userId + "}:cleared";
+    }
+
+    private void expireTombstones() {
+        if (clearedAt.isEmpty()) {
+            return;
+        }
+        // 清空前提交的事件最多在队列中停留一个窗口，之后标记失去作用
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs * 10));
+        clearedAt.values().removeIf(time -> time.isBefore(threshold));
+    }
+
+    private record HistoryKey(Long userId, String keyword) {
+    }
+}
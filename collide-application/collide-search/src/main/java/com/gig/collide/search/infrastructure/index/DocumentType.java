@@ -0,0 +1,38 @@
+package com.gig.collide.search.infrastructure.index;
+
+/**
+ * 索引文档类型，code 与搜索请求的 searchType 一致
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public enum DocumentType {
+
+    CONTENT("content"),
+
+    COMMENT("comment"),
+
+    USER("user");
+
+    private final String code;
+
+    DocumentType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 按 code 查找，不支持的类型返回 null
+     */
+    public static DocumentType of(String code) {
+        for (DocumentType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
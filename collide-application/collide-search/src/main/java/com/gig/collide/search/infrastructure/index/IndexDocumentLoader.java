@@ -0,0 +1,166 @@
+package com.gig.collide.search.infrastructure.index;
+
+import com.gig.collide.api.comment.CommentFacadeService;
+import com.gig.collide.api.comment.request.CommentQueryRequest;
+import com.gig.collide.api.comment.response.CommentResponse;
+import com.gig.collide.api.content.ContentFacadeService;
+import com.gig.collide.api.content.request.ContentQueryRequest;
+import com.gig.collide.api.content.response.ContentResponse;
+import com.gig.collide.api.user.UserFacadeService;
+import com.gig.collide.api.user.request.UserQueryRequest;
+import com.gig.collide.api.user.response.UserResponse;
+import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.web.vo.Result;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * 索引数据加载器
+ * 通过各模块的 Dubbo 接口分页读取内容、评论、用户，转换为索引文档
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexDocumentLoader {
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final String CONTENT_PUBLISHED = "PUBLISHED";
+
+    private final ContentFacadeService contentFacadeService;
+
+    private final CommentFacadeService commentFacadeService;
+
+    private final UserFacadeService userFacadeService;
+
+    /**
+     * 全量读取一种类型的文档
+     *
+     * @return 读取的文档数
+     */
+    public long loadAll(DocumentType type, Consumer<SearchDocument> sink) {
+        return switch (type) {
+            case CONTENT -> loadPages(page -> {
+                ContentQueryRequest request = new ContentQueryRequest();
+                request.setStatus(CONTENT_PUBLISHED);
+                request.setOrderBy("id");
+                request.setOrderDirection("ASC");
+                request.setCurrentPage(page);
+                request.setPageSize(PAGE_SIZE);
+                return contentFacadeService.queryContents(request);
+            }, IndexDocumentLoader::toDocument, sink);
+            case COMMENT -> loadPages(page -> {
+                CommentQueryRequest request = new CommentQueryRequest();
+                request.setStatus("NORMAL");
+                request.setOrderDirection("ASC");
+                request.setCurrentPage(page);
+                request.setPageSize(PAGE_SIZE);
+                return commentFacadeService.queryComments(request);
+            }, IndexDocumentLoader::toDocument, sink);
+            case USER -> loadPages(page -> {
+                UserQueryRequest request = new UserQueryRequest();
+                request.setStatus("active");
+                request.setCurrentPage(page);
+                request.setPageSize(PAGE_SIZE);
+                return userFacadeService.queryUsers(request);
+            }, IndexDocumentLoader::toDocument, sink);
+        };
+    }
+
+    /**
+     * 读取单条内容，未发布或不存在时返回空
+     */
+    public Optional<SearchDocument> loadContent(Long contentId) {
+        Result<ContentResponse> result = contentFacadeService.getContentById(contentId, false);
+        if (result == null || !Boolean.TRUE.equals(result.getSuccess())) {
+            throw new IllegalStateException("查询内容失败: " + contentId);
+        }
+        ContentResponse content = result.getData();
+        if (content == null || !CONTENT_PUBLISHED.equals(content.getStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(toDocument(content));
+    }
+
+    // =================== 文档转换 ===================
+
+    private static SearchDocument toDocument(ContentResponse content) {
+        String body = join(content.getDescription(), content.getTags(), content.getAuthorNickname(), content.getCategoryName());
+        long hotness = count(content.getViewCount()) + 5 * count(content.getLikeCount())
+                + 10 * (count(content.getCommentCount()) + count(content.getFavoriteCount()));
+        LocalDateTime time = content.getPublishTime() != null ? content.getPublishTime() : content.getCreateTime();
+        return new SearchDocument(content.getId(), content.getTitle(), body, content.getDescription(),
+                content.getCoverUrl(), toMillis(time), hotness);
+    }
+
+    private static SearchDocument toDocument(CommentResponse comment) {
+        long hotness = count(comment.getLikeCount()) + 2 * count(comment.getReplyCount());
+        return new SearchDocument(comment.getId(), null, comment.getContent(), comment.getContent(),
+                comment.getUserAvatar(), toMillis(comment.getCreateTime()), hotness);
+    }
+
+    private static SearchDocument toDocument(UserResponse user) {
+        return new SearchDocument(user.getId(), join(user.getNickname(), user.getUsername()),
+                join(user.getBio(), user.getLocation()), user.getBio(), user.getAvatar(),
+                toMillis(user.getCreateTime()), count(user.getFollowerCount()));
+    }
+
+    // =================== 内部方法 ===================
+
+    private <T> long loadPages(IntFunction<Result<PageResponse<T>>> pageLoader,
+                               Function<T, SearchDocument> converter,
+                               Consumer<SearchDocument> sink) {
+        long loaded = 0;
+        for (int page = 1; ; page++) {
+            Result<PageResponse<T>> result = pageLoader.apply(page);
+            if (result == null || !Boolean.TRUE.equals(result.getSuccess()) || result.getData() == null) {
+                throw new IllegalStateException("分页读取索引数据失败: page=" + page
+                        + ", message=" + (result == null ? null : result.getMessage()));
+            }
+            List<T> records = result.getData().getDatas();
+            if (records == null || records.isEmpty()) {
+                return loaded;
+            }
+            for (T record : records) {
+                sink.accept(converter.apply(record));
+            }
+            loaded += records.size();
+            if (records.size() < PAGE_SIZE) {
+                return loaded;
+            }
+        }
+    }
+
+    private static String join(String... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isEmpty()) {
+                if (!builder.isEmpty()) {
+                    builder.append(' ');
+                }
+                builder.append(part);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static long count(Number value) {
+        return value == null ? 0L : value.longValue();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,16 @@
+package com.gig.collide.search.infrastructure.index;
+
+/**
+ * 索引命中结果
+ *
+ * @param id        业务ID
+ * @param title     标题
+ * @param snippet   摘要
+ * @param thumbnail 缩略图
+ * @param timestamp 排序时间（毫秒）
+ * @param score     得分
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public record IndexHit(long id, String title, String snippet, String thumbnail, long timestamp, double score) {
+}
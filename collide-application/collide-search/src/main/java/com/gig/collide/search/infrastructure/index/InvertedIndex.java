@@ -0,0 +1,418 @@
+package com.gig.collide.search.infrastructure.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 单一文档类型的内存倒排索引
+ * <ul>
+ *     <li>每次写入分配新的递增文档序号，更新即"删除旧序号 + 追加新序号"，倒排列表始终有序追加</li>
+ *     <li>删除只清空存储字段并扣减所含词项的有效文档频率，删除数累积到一定比例后整体压缩重排序号</li>
+ *     <li>检索为 BM25 打分，文档总数和文档频率只计有效文档，按排序方式用定长小顶堆取前 K 条</li>
+ * </ul>
+ * 读写由读写锁保护，写操作只涉及一个文档的词项，持锁时间很短
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+final class InvertedIndex {
+
+    private static final double K1 = 1.2D;
+
+    private static final double B = 0.75D;
+
+    /**
+     * 标题词频权重
+     */
+    private static final int TITLE_BOOST = 2;
+
+    /**
+     * 存储字段截断长度
+     */
+    private static final int STORED_LENGTH = 200;
+
+    /**
+     * 最少需要命中的查询词比例
+     */
+    private static final double MIN_SHOULD_MATCH = 0.75D;
+
+    private static final int MIN_COMPACT_DELETED = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * 文档序号 → 存储字段，已删除为 null
+     */
+    private final List<StoredDoc> docs = new ArrayList<>();
+
+    private final Map<Long, Integer> ordById = new HashMap<>();
+
+    private long totalLength;
+
+    private int deleted;
+
+    void upsert(SearchDocument document) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(document.title())) {
+            termFreqs.merge(token, TITLE_BOOST, Integer::sum);
+            length++;
+        }
+        for (String token : Tokenizer.tokenize(document.body())) {
+            termFreqs.merge(token, 1, Integer::sum);
+            length++;
+        }
+        String title = truncate(document.title());
+        String snippet = truncate(document.snippet());
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordById.get(document.id());
+            if (previous != null) {
+                markDeleted(previous);
+            }
+            int ord = docs.size();
+            PostingList[] terms = new PostingList[termFreqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                PostingList postingList = postings.computeIfAbsent(entry.getKey(), key -> new PostingList());
+                postingList.add(ord, entry.getValue());
+                terms[i++] = postingList;
+            }
+            docs.add(new StoredDoc(document.id(), title, snippet, document.thumbnail(),
+                    document.timestamp(), document.hotness(), length, terms));
+            ordById.put(document.id(), ord);
+            totalLength += length;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ord = ordById.remove(id);
+            if (ord != null) {
+                markDeleted(ord);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索
+     *
+     * @param terms 查询词（已去重）
+     * @param sort  排序方式
+     * @param topK  返回条数上限
+     * @return 命中总数和前 topK 条结果
+     */
+    SearchHits search(List<String> terms, SortMode sort, int topK) {
+        if (terms.isEmpty() || topK <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            int live = ordById.size();
+            if (live == 0) {
+                return SearchHits.EMPTY;
+            }
+            double avgLength = Math.max(1D, (double) totalLength / live);
+            Map<Integer, Accumulator> accumulators = new HashMap<>();
+
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList == null || postingList.liveDocFreq() <= 0) {
+                    continue;
+                }
+                int docFreq = postingList.liveDocFreq();
+                double idf = Math.log(1D + Math.max(0D, live - docFreq + 0.5D) / (docFreq + 0.5D));
+                postingList.forEach((doc, termFreq) -> {
+                    StoredDoc stored = docs.get(doc);
+                    if (stored == null) {
+                        return;
+                    }
+                    double norm = termFreq * (K1 + 1D) / (termFreq + K1 * (1D - B + B * stored.length() / avgLength));
+                    accumulators.computeIfAbsent(doc, key -> new Accumulator()).add(idf * norm);
+                });
+            }
+
+            int minMatch = (int) Math.max(1, Math.ceil(terms.size() * MIN_SHOULD_MATCH));
+            Comparator<IndexHit> order = sort.comparator();
+            PriorityQueue<IndexHit> heap = new PriorityQueue<>(Math.min(topK, 1024) + 1, order);
+            int total = 0;
+            for (Map.Entry<Integer, Accumulator> entry : accumulators.entrySet()) {
+                Accumulator accumulator = entry.getValue();
+                if (accumulator.matched < minMatch) {
+                    continue;
+                }
+                total++;
+                StoredDoc stored = docs.get(entry.getKey());
+                IndexHit hit = new IndexHit(stored.id(), stored.title(), stored.snippet(), stored.thumbnail(),
+                        stored.timestamp(), sort.score(accumulator.score, stored.hotness()));
+                if (heap.size() < topK) {
+                    heap.add(hit);
+                } else if (order.compare(hit, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(hit);
+                }
+            }
+
+            List<IndexHit> hits = new ArrayList<>(heap);
+            hits.sort(order.reversed());
+            return new SearchHits(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =================== 快照 ===================
+
+    void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(docs.size());
+            for (StoredDoc doc : docs) {
+                out.writeBoolean(doc != null);
+                if (doc != null) {
+                    out.writeLong(doc.id());
+                    writeNullable(out, doc.title());
+                    writeNullable(out, doc.snippet());
+                    writeNullable(out, doc.thumbnail());
+                    out.writeLong(doc.timestamp());
+                    out.writeLong(doc.hotness());
+                    out.writeInt(doc.length());
+                }
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 快照不保存文档到词项的关联，加载时从倒排列表反推，同时恢复各词项的已删除计数
+     */
+    static InvertedIndex readFrom(DataInput in) throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        int docCount = in.readInt();
+        for (int ord = 0; ord < docCount; ord++) {
+            if (!in.readBoolean()) {
+                index.docs.add(null);
+                index.deleted++;
+                continue;
+            }
+            StoredDoc doc = new StoredDoc(in.readLong(), readNullable(in), readNullable(in), readNullable(in),
+                    in.readLong(), in.readLong(), in.readInt(), null);
+            index.docs.add(doc);
+            index.ordById.put(doc.id(), ord);
+            index.totalLength += doc.length();
+        }
+        int termCount = in.readInt();
+        List<List<PostingList>> docTerms = new ArrayList<>(docCount);
+        for (int ord = 0; ord < docCount; ord++) {
+            docTerms.add(index.docs.get(ord) == null ? null : new ArrayList<>());
+        }
+        for (int i = 0; i < termCount; i++) {
+            String term = in.readUTF();
+            PostingList postingList = PostingList.readFrom(in);
+            index.postings.put(term, postingList);
+            postingList.forEach((doc, termFreq) -> {
+                List<PostingList> terms = docTerms.get(doc);
+                if (terms == null) {
+                    postingList.markRemoved();
+                } else {
+                    terms.add(postingList);
+                }
+            });
+        }
+        for (int ord = 0; ord < docCount; ord++) {
+            StoredDoc doc = index.docs.get(ord);
+            if (doc != null) {
+                index.docs.set(ord, doc.withTerms(docTerms.get(ord).toArray(PostingList[]::new)));
+            }
+        }
+        return index;
+    }
+
+    // =================== 内部方法 ===================
+
+    private void markDeleted(int ord) {
+        StoredDoc doc = docs.set(ord, null);
+        if (doc != null) {
+            totalLength -= doc.length();
+            deleted++;
+            for (PostingList postingList : doc.terms()) {
+                postingList.markRemoved();
+            }
+        }
+    }
+
+    /**
+     * 删除的文档超过四分之一时重排序号，回收倒排列表中的无效记录
+     */
+    private void compactIfNeeded() {
+        if (deleted < MIN_COMPACT_DELETED || deleted * 4 < docs.size()) {
+            return;
+        }
+
+        int[] remap = new int[docs.size()];
+        List<StoredDoc> liveDocs = new ArrayList<>(docs.size() - deleted);
+        for (int ord = 0; ord < docs.size(); ord++) {
+            StoredDoc doc = docs.get(ord);
+            remap[ord] = doc == null ? -1 : liveDocs.size();
+            if (doc != null) {
+                liveDocs.add(doc);
+            }
+        }
+
+        Map<String, PostingList> compacted = new HashMap<>(postings.size());
+        List<List<PostingList>> docTerms = new ArrayList<>(liveDocs.size());
+        for (int ord = 0; ord < liveDocs.size(); ord++) {
+            docTerms.add(new ArrayList<>(liveDocs.get(ord).terms().length));
+        }
+        postings.forEach((term, postingList) -> {
+            PostingList rewritten = new PostingList();
+            postingList.forEach((doc, termFreq) -> {
+                if (remap[doc] >= 0) {
+                    rewritten.add(remap[doc], termFreq);
+                    docTerms.get(remap[doc]).add(rewritten);
+                }
+            });
+            if (rewritten.docFreq() > 0) {
+                compacted.put(term, rewritten);
+            }
+        });
+
+        postings.clear();
+        postings.putAll(compacted);
+        docs.clear();
+        for (int ord = 0; ord < liveDocs.size(); ord++) {
+            docs.add(liveDocs.get(ord).withTerms(docTerms.get(ord).toArray(PostingList[]::new)));
+        }
+        ordById.clear();
+        for (int ord = 0; ord < docs.size(); ord++) {
+            ordById.put(docs.get(ord).id(), ord);
+        }
+        deleted = 0;
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= STORED_LENGTH ? value : value.substring(0, STORED_LENGTH);
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * @param terms 文档包含的词项的倒排列表，删除时据此扣减文档频率
+     */
+    private record StoredDoc(long id, String title, String snippet, String thumbnail,
+                             long timestamp, long hotness, int length, PostingList[] terms) {
+
+        StoredDoc withTerms(PostingList[] terms) {
+            return new StoredDoc(id, title, snippet, thumbnail, timestamp, hotness, length, terms);
+        }
+    }
+
+    private static final class Accumulator {
+
+        private double score;
+
+        private int matched;
+
+        void add(double value) {
+            score += value;
+            matched++;
+        }
+    }
+
+    /**
+     * 排序方式
+     */
+    enum SortMode {
+
+        /**
+         * 相关度
+         */
+        RELEVANCE,
+
+        /**
+         * 时间，同一时间按相关度
+         */
+        TIME,
+
+        /**
+         * 热度加权的相关度
+         */
+        HOT;
+
+        static SortMode of(String sortBy) {
+            if ("time".equalsIgnoreCase(sortBy)) {
+                return TIME;
+            }
+            if ("hot".equalsIgnoreCase(sortBy)) {
+                return HOT;
+            }
+            return RELEVANCE;
+        }
+
+        double score(double bm25, long hotness) {
+            return this == HOT ? bm25 * (1D + Math.log1p(Math.max(0L, hotness))) : bm25;
+        }
+
+        Comparator<IndexHit> comparator() {
+            Comparator<IndexHit> byScore = Comparator.comparingDouble(IndexHit::score);
+            return this == TIME
+                    ? Comparator.comparingLong(IndexHit::timestamp).thenComparing(byScore)
+                    : byScore.thenComparingLong(IndexHit::timestamp);
+        }
+    }
+
+    /**
+     * 检索结果
+     *
+     * @param total 命中总数
+     * @param hits  排好序的前 K 条
+     */
+    record SearchHits(int total, List<IndexHit> hits) {
+
+        static final SearchHits EMPTY = new SearchHits(0, Collections.emptyList());
+    }
+}
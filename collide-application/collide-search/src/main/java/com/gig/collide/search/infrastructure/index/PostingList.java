@@ -0,0 +1,135 @@
+package com.gig.collide.search.infrastructure.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 倒排列表
+ * 文档序号严格递增追加，按 (序号差值, 词频) 依次写成变长整数，常见词的每条记录通常只占 2 个字节；
+ * 文档删除后记录留到压缩时回收，单独计数已删除的记录，IDF 只按仍有效的文档频率计算
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+final class PostingList {
+
+    private byte[] bytes;
+
+    private int length;
+
+    private int docFreq;
+
+    private int lastDoc = -1;
+
+    private int removed;
+
+    PostingList() {
+        this.bytes = new byte[8];
+    }
+
+    private PostingList(byte[] bytes, int docFreq, int lastDoc) {
+        this.bytes = bytes;
+        this.length = bytes.length;
+        this.docFreq = docFreq;
+        this.lastDoc = lastDoc;
+    }
+
+    /**
+     * 追加一条记录，doc 必须大于已有的所有序号
+     */
+    void add(int doc, int termFreq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("文档序号必须递增: " + doc + " <= " + lastDoc);
+        }
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(termFreq);
+        lastDoc = doc;
+        docFreq++;
+    }
+
+    int docFreq() {
+        return docFreq;
+    }
+
+    /**
+     * 仍有效的文档数
+     */
+    int liveDocFreq() {
+        return docFreq - removed;
+    }
+
+    /**
+     * 记录中的一个文档已被删除
+     */
+    void markRemoved() {
+        removed++;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int doc = -1;
+        while (position < length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            int termFreq = 0;
+            shift = 0;
+            do {
+                b = bytes[position++];
+                termFreq |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            doc += delta;
+            consumer.accept(doc, termFreq);
+        }
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(docFreq);
+        out.writeInt(lastDoc);
+        out.writeInt(length);
+        out.write(bytes, 0, length);
+    }
+
+    static PostingList readFrom(DataInput in) throws IOException {
+        int docFreq = in.readInt();
+        int lastDoc = in.readInt();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new PostingList(bytes, docFreq, lastDoc);
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    @FunctionalInterface
+    interface PostingConsumer {
+
+        void accept(int doc, int termFreq);
+    }
+}
@@ -0,0 +1,18 @@
+package com.gig.collide.search.infrastructure.index;
+
+/**
+ * 待索引文档
+ *
+ * @param id        业务ID
+ * @param title     标题，词频按 2 倍计入
+ * @param body      正文，只参与索引，不保存原文
+ * @param snippet   结果摘要
+ * @param thumbnail 缩略图
+ * @param timestamp 排序时间（毫秒）
+ * @param hotness   热度，用于热度排序
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public record SearchDocument(long id, String title, String body, String snippet,
+                             String thumbnail, long timestamp, long hotness) {
+}
@@ -0,0 +1,286 @@
+package com.gig.collide.search.infrastructure.index;
+
+import com.gig.collide.search.infrastructure.index.InvertedIndex.SearchHits;
+import com.gig.collide.search.infrastructure.index.InvertedIndex.SortMode;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 搜索索引管理
+ * <ul>
+ *     <li>启动：快照存在且未过期时直接加载，否则从各模块全量构建；构建在后台虚拟线程进行，不阻塞启动</li>
+ *     <li>增量：内容变更消息到达时单条更新；评论和用户依赖定时全量重建</li>
+ *     <li>重建：新索引构建完成后整体替换；构建期间的增量写入旧索引并暂存，替换前按到达顺序重放到新索引，
+ *     重放与替换在同一把锁内完成，每条增量对新索引只生效一次</li>
+ *     <li>快照：定时及停机时写入磁盘，先写临时文件再原子替换</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexManager {
+
+    private static final int SNAPSHOT_MAGIC = 0x43534958;
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final IndexDocumentLoader documentLoader;
+
+    /**
+     * 快照文件路径
+     */
+    @Value("${collide.search.index.snapshot-path:data/search-index.snapshot}")
+    private String snapshotPath;
+
+    /**
+     * 快照最大有效期（小时），超过后启动时重新全量构建
+     */
+    @Value("${collide.search.index.snapshot-max-age-hours:24}")
+    private long snapshotMaxAgeHours;
+
+    /**
+     * 单次检索最多取到的条数
+     */
+    @Value("${collide.search.index.max-window:1000}")
+    private int maxWindow;
+
+    private final Map<DocumentType, InvertedIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * 增量写入与重建替换之间的锁
+     */
+    private final Object changeLock = new Object();
+
+    /**
+     * 正在重建、尚未替换的类型 → 构建期间到达的增量，由 changeLock 保护
+     */
+    private final Map<DocumentType, List<Consumer<InvertedIndex>>> pendingChanges = new EnumMap<>(DocumentType.class);
+
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("collide-search-index-init").start(() -> {
+            if (!loadSnapshot()) {
+                rebuild();
+            }
+            ready = true;
+        });
+    }
+
+    /**
+     * 检索
+     *
+     * @param type     文档类型
+     * @param keyword  关键词
+     * @param pageNum  页码
+     * @param pageSize 页面大小
+     * @param sortBy   排序方式：relevance、time、hot
+     * @return 命中总数和当前页结果
+     */
+    public SearchPage search(DocumentType type, String keyword, int pageNum, int pageSize, String sortBy) {
+        InvertedIndex index = indexes.get(type);
+        if (index == null) {
+            if (!ready) {
+                log.warn("搜索索引尚未就绪: type={}", type);
+            }
+            return SearchPage.EMPTY;
+        }
+
+        int offset = (Math.max(1, pageNum) - 1) * pageSize;
+        int window = Math.min(offset + pageSize, maxWindow);
+        if (offset >= window) {
+            return SearchPage.EMPTY;
+        }
+        SearchHits hits = index.search(Tokenizer.tokenizeQuery(keyword), SortMode.of(sortBy), window);
+        List<IndexHit> page = offset >= hits.hits().size()
+                ? List.of()
+                : hits.hits().subList(offset, Math.min(window, hits.hits().size()));
+        return new SearchPage(hits.total(), page);
+    }
+
+    public void upsert(DocumentType type, SearchDocument document) {
+        synchronized (changeLock) {
+            indexes.computeIfAbsent(type, key -> new InvertedIndex()).upsert(document);
+            List<Consumer<InvertedIndex>> pending = pendingChanges.get(type);
+            if (pending != null) {
+                pending.add(index -> index.upsert(document));
+            }
+        }
+    }
+
+    public void remove(DocumentType type, long id) {
+        synchronized (changeLock) {
+            InvertedIndex index = indexes.get(type);
+            if (index != null) {
+                index.remove(id);
+            }
+            List<Consumer<InvertedIndex>> pending = pendingChanges.get(type);
+            if (pending != null) {
+                pending.add(building -> building.remove(id));
+            }
+        }
+    }
+
+    /**
+     * 全量重建，评论和用户没有变更消息，靠定时重建保持新鲜
+     */
+    @Scheduled(cron = "${collide.search.index.rebuild-cron:0 30 4 * * ?}")
+    public void rebuild() {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            log.info("搜索索引正在重建，跳过本次");
+            return;
+        }
+        try {
+            for (DocumentType type : DocumentType.values()) {
+                long start = System.currentTimeMillis();
+                InvertedIndex index = new InvertedIndex();
+                synchronized (changeLock) {
+                    pendingChanges.put(type, new ArrayList<>());
+                }
+                try {
+                    long loaded = documentLoader.loadAll(type, index::upsert);
+                    int replayed;
+                    synchronized (changeLock) {
+                        // 增量在加载之后重放，消费时按ID回查的最新数据覆盖加载时读到的旧数据
+                        List<Consumer<InvertedIndex>> pending = pendingChanges.remove(type);
+                        pending.forEach(change -> change.accept(index));
+                        replayed = pending.size();
+                        indexes.put(type, index);
+                    }
+                    log.info("搜索索引重建完成: type={}, 文档数={}, 重放增量={}, 耗时={}ms",
+                            type, loaded, replayed, System.currentTimeMillis() - start);
+                } catch (Exception e) {
+                    // 保留旧索引继续服务
+                    synchronized (changeLock) {
+                        pendingChanges.remove(type);
+                    }
+                    log.error("搜索索引重建失败: type={}", type, e);
+                }
+            }
+        } finally {
+            synchronized (changeLock) {
+                pendingChanges.clear();
+            }
+            rebuildRunning.set(false);
+        }
+        saveSnapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${collide.search.index.snapshot-interval-ms:600000}",
+            initialDelayString = "${collide.search.index.snapshot-interval-ms:600000}")
+    public void scheduledSnapshot() {
+        if (ready) {
+            saveSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ready) {
+            saveSnapshot();
+        }
+    }
+
+    // =================== 快照 ===================
+
+    private synchronized void saveSnapshot() {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        Path target = Paths.get(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long start = System.currentTimeMillis();
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(indexes.size());
+                for (Map.Entry<DocumentType, InvertedIndex> entry : indexes.entrySet()) {
+                    out.writeUTF(entry.getKey().name());
+                    entry.getValue().writeTo(out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("搜索索引快照已保存: path={}, 大小={}KB, 耗时={}ms",
+                    target, Files.size(target) / 1024, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.error("保存搜索索引快照失败: path={}", target, e);
+        }
+    }
+
+    private boolean loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("搜索索引快照格式不匹配，忽略: path={}", path);
+                return false;
+            }
+            long savedAt = in.readLong();
+            if (System.currentTimeMillis() - savedAt > Duration.ofHours(snapshotMaxAgeHours).toMillis()) {
+                log.info("搜索索引快照已过期，重新构建: path={}", path);
+                return false;
+            }
+            int count = in.readInt();
+            Map<DocumentType, InvertedIndex> loaded = new EnumMap<>(DocumentType.class);
+            for (int i = 0; i < count; i++) {
+                DocumentType type = DocumentType.valueOf(in.readUTF());
+                loaded.put(type, InvertedIndex.readFrom(in));
+            }
+            indexes.putAll(loaded);
+            log.info("搜索索引快照加载完成: path={}, 类型数={}, 耗时={}ms", path, count, System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            log.error("加载搜索索引快照失败，重新构建: path={}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * 检索结果页
+     *
+     * @param total 命中总数（最多统计到全部匹配文档）
+     * @param hits  当前页结果
+     */
+    public record SearchPage(int total, List<IndexHit> hits) {
+
+        static final SearchPage EMPTY = new SearchPage(0, List.of());
+    }
+}
@@ -33,9 +33,12 @@ public interface HotSearchMapper extends BaseMapper<HotSearch> {
     int increaseSearchCount(@Param("keyword") String keyword);
 
     /**
-     * 更新趋势分数
+     * 手工更新趋势分数
+     *
+     * @param holdMinutes 保留时长（分钟），期间定时落库的趋势分不覆盖该值
      */
-    int updateTrendScore(@Param("keyword") String keyword, @Param("trendScore") BigDecimal trendScore);
+    int updateTrendScore(@Param("keyword") String keyword, @Param("trendScore") BigDecimal trendScore,
+                         @Param("holdMinutes") long holdMinutes);
 
     /**
      * 根据关键词查询
@@ -47,8 +50,28 @@ public interface HotSearchMapper extends BaseMapper<HotSearch> {
      */
     List<HotSearch> selectActiveHotKeywords(@Param("limit") Integer limit);
 
+    /**
+     * 获取搜索建议候选关键词（按综合热度排序）
+     */
+    List<HotSearch> selectSuggestionCandidates(@Param("limit") Integer limit);
+
     /**
      * 批量插入或更新热搜数据
      */
     int insertOrUpdateHotSearch(@Param("keyword") String keyword, @Param("searchCount") Long searchCount);
+
+    /**
+     * 批量累加搜索次数，关键词不存在时插入
+     */
+    int batchIncreaseSearchCount(@Param("items") List<HotSearch> items);
+
+    /**
+     * 批量写入趋势分，关键词不存在时插入
+     */
+    int batchUpdateTrendScore(@Param("items") List<HotSearch> items);
+
+    /**
+     * 除指定关键词和手工设置仍在保留期内的关键词外，趋势分全部清零
+     */
+    int resetTrendScoreExcept(@Param("keywords") List<String> keywords);
 } 
\ No newline at end of file
@@ -43,6 +43,16 @@ public interface SearchHistoryMapper extends BaseMapper<SearchHistory> {
      */
     int countByUserIdAndKeyword(@Param("userId") Long userId, @Param("keyword") String keyword);
 
+    /**
+     * 批量插入或刷新搜索历史（用户ID + 关键词唯一）
+     */
+    int batchUpsert(@Param("items") List<SearchHistory> items);
+
+    /**
+     * 按用户ID + 关键词回查记录ID
+     */
+    List<SearchHistory> selectIdsByUserKeywords(@Param("items") List<SearchHistory> items);
+
     /**
      * 获取热门搜索关键词（基于搜索历史统计）
      */
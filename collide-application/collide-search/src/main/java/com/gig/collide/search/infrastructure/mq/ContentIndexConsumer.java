@@ -0,0 +1,61 @@
+package com.gig.collide.search.infrastructure.mq;
+
+import com.gig.collide.mq.consumer.AbstractStreamConsumer;
+import com.gig.collide.mq.param.MessageBody;
+import com.gig.collide.search.infrastructure.index.DocumentType;
+import com.gig.collide.search.infrastructure.index.IndexDocumentLoader;
+import com.gig.collide.search.infrastructure.index.SearchIndexManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.function.Consumer;
+
+/**
+ * 内容变更消息消费者，增量维护内容索引
+ * 消息体为内容ID；创建和更新时回查内容最新状态，只有已发布的内容进入索引，因此消息乱序或重复不影响结果
+ * 每个搜索实例各自持有索引，绑定需配置为广播消费
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ContentIndexConsumer extends AbstractStreamConsumer {
+
+    private final SearchIndexManager searchIndexManager;
+
+    private final IndexDocumentLoader documentLoader;
+
+    @Bean
+    public Consumer<Message<MessageBody>> contentCreated() {
+        return message -> refresh(getMessage(message, Long.class));
+    }
+
+    @Bean
+    public Consumer<Message<MessageBody>> contentUpdated() {
+        return message -> refresh(getMessage(message, Long.class));
+    }
+
+    @Bean
+    public Consumer<Message<MessageBody>> contentDeleted() {
+        return message -> {
+            Long contentId = getMessage(message, Long.class);
+            searchIndexManager.remove(DocumentType.CONTENT, contentId);
+            log.debug("内容已移出索引: contentId={}", contentId);
+        };
+    }
+
+    /**
+     * 回查失败时抛出异常，由消息队列重试
+     */
+    private void refresh(Long contentId) {
+        documentLoader.loadContent(contentId).ifPresentOrElse(
+                document -> searchIndexManager.upsert(DocumentType.CONTENT, document),
+                () -> searchIndexManager.remove(DocumentType.CONTENT, contentId));
+        log.debug("内容索引已刷新: contentId={}", contentId);
+    }
+}
@@ -0,0 +1,225 @@
+package com.gig.collide.search.infrastructure.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 带权前缀补全树
+ * <ul>
+ *     <li>每个关键词按原文、全拼、首字母三条路径插入，三条路径共享同一个词条对象</li>
+ *     <li>每个节点预先保存以该节点为前缀的权重前 K 个词条，查询只需走到前缀节点直接返回</li>
+ *     <li>子节点数组和前 K 数组都是写时复制，读完全无锁；写操作串行</li>
+ *     <li>两次重建之间权重只增不减，增量更新只需把词条提升进沿途节点的前 K，不会出现需要补位的情况</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+final class CompletionTrie {
+
+    /**
+     * 路径最大深度，更长的前缀没有补全价值
+     */
+    private static final int MAX_DEPTH = 32;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> BY_WEIGHT_DESC =
+            Comparator.comparingDouble((Entry entry) -> entry.weight).reversed();
+
+    private final int topK;
+
+    private final Node root = new Node('\0');
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    CompletionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * 批量构建，按权重降序插入，沿途节点只需追加
+     */
+    static CompletionTrie build(Map<String, Double> weights, int topK) {
+        CompletionTrie trie = new CompletionTrie(topK);
+        List<Map.Entry<String, Double>> sorted = new ArrayList<>(weights.entrySet());
+        sorted.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        for (Map.Entry<String, Double> item : sorted) {
+            trie.add(item.getKey(), item.getValue());
+        }
+        return trie;
+    }
+
+    /**
+     * 增加关键词权重，不存在时新增
+     */
+    synchronized void add(String keyword, double delta) {
+        String key = normalize(keyword);
+        if (key.isEmpty() || delta <= 0D) {
+            return;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(keyword.trim(), delta);
+            entries.put(key, entry);
+        } else {
+            entry.weight += delta;
+        }
+
+        promote(key, entry);
+        String[] pinyin = PinyinConverter.convert(key);
+        if (pinyin != null) {
+            promote(pinyin[0], entry);
+            promote(pinyin[1], entry);
+        }
+    }
+
+    /**
+     * 前缀补全
+     *
+     * @param prefix 前缀，支持原文、全拼、首字母
+     * @param limit  返回条数，不超过 topK
+     */
+    List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        Entry[] top = node.top;
+        int size = Math.min(limit, top.length);
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(top[i].keyword);
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // =================== 内部方法 ===================
+
+    private void promote(String path, Entry entry) {
+        Node node = root;
+        int depth = Math.min(path.length(), MAX_DEPTH);
+        for (int i = 0; i < depth; i++) {
+            node = node.childOrCreate(path.charAt(i));
+            node.offer(entry, topK);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+
+        private final String keyword;
+
+        private volatile double weight;
+
+        Entry(String keyword, double weight) {
+            this.keyword = keyword;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Node {
+
+        private final char ch;
+
+        /**
+         * 按字符有序
+         */
+        private volatile Node[] children = NO_CHILDREN;
+
+        /**
+         * 按权重降序
+         */
+        private volatile Entry[] top = NO_ENTRIES;
+
+        Node(char ch) {
+            this.ch = ch;
+        }
+
+        Node child(char target) {
+            Node[] current = children;
+            int index = indexOf(current, target);
+            return index >= 0 ? current[index] : null;
+        }
+
+        Node childOrCreate(char target) {
+            Node[] current = children;
+            int index = indexOf(current, target);
+            if (index >= 0) {
+                return current[index];
+            }
+            int insertAt = -index - 1;
+            Node created = new Node(target);
+            Node[] next = new Node[current.length + 1];
+            System.arraycopy(current, 0, next, 0, insertAt);
+            next[insertAt] = created;
+            System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+            children = next;
+            return created;
+        }
+
+        /**
+         * 词条已在前 K 中则重新排序，否则权重足够时挤掉末位
+         */
+        void offer(Entry entry, int topK) {
+            Entry[] current = top;
+            for (Entry existing : current) {
+                if (existing == entry) {
+                    Entry[] next = current.clone();
+                    Arrays.sort(next, BY_WEIGHT_DESC);
+                    top = next;
+                    return;
+                }
+            }
+            Entry[] next;
+            if (current.length < topK) {
+                next = Arrays.copyOf(current, current.length + 1);
+            } else if (current[current.length - 1].weight < entry.weight) {
+                next = current.clone();
+            } else {
+                return;
+            }
+            next[next.length - 1] = entry;
+            Arrays.sort(next, BY_WEIGHT_DESC);
+            top = next;
+        }
+
+        private static int indexOf(Node[] nodes, char target) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char value = nodes[mid].ch;
+                if (value < target) {
+                    low = mid + 1;
+                } else if (value > target) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
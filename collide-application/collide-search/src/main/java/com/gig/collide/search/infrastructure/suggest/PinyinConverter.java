@@ -0,0 +1,69 @@
+package com.gig.collide.search.infrastructure.suggest;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+/**
+ * 汉字转拼音
+ * 多音字取第一个读音，非汉字字符转小写原样保留，空白丢弃
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+final class PinyinConverter {
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    private PinyinConverter() {
+    }
+
+    /**
+     * 转换为全拼和首字母，不含汉字时返回 null
+     *
+     * @return [全拼, 首字母]
+     */
+    static String[] convert(String text) {
+        StringBuilder full = new StringBuilder(text.length() * 4);
+        StringBuilder initials = new StringBuilder(text.length());
+        boolean hasHan = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                continue;
+            }
+            String pinyin = toPinyin(ch);
+            if (pinyin != null) {
+                hasHan = true;
+                full.append(pinyin);
+                initials.append(pinyin.charAt(0));
+            } else {
+                char lower = Character.toLowerCase(ch);
+                full.append(lower);
+                initials.append(lower);
+            }
+        }
+        return hasHan ? new String[]{full.toString(), initials.toString()} : null;
+    }
+
+    private static String toPinyin(char ch) {
+        if (Character.UnicodeScript.of(ch) != Character.UnicodeScript.HAN) {
+            return null;
+        }
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(ch, FORMAT);
+            return readings == null || readings.length == 0 || readings[0].isEmpty() ? null : readings[0];
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            return null;
+        }
+    }
+}
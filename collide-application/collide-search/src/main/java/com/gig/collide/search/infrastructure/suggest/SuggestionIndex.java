@@ -0,0 +1,110 @@
+package com.gig.collide.search.infrastructure.suggest;
+
+import com.gig.collide.search.domain.entity.HotSearch;
+import com.gig.collide.search.infrastructure.mapper.HotSearchMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索建议索引
+ * <ul>
+ *     <li>权重与热搜排序一致：搜索次数 * 0.6 + 趋势分 * 0.4</li>
+ *     <li>启动后从热搜表构建，之后定时全量重建并整体替换，趋势分的变化靠重建生效</li>
+ *     <li>每次搜索增量累加搜索次数权重，新关键词立即可被补全</li>
+ * </ul>
+ * 未就绪时调用方应回退到数据库查询
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+
+    private static final double SEARCH_COUNT_WEIGHT = 0.6D;
+
+    private static final double TREND_SCORE_WEIGHT = 0.4D;
+
+    private final HotSearchMapper hotSearchMapper;
+
+    /**
+     * 每个前缀预计算的建议条数
+     */
+    @Value("${collide.search.suggestion.top-k:10}")
+    private int topK;
+
+    /**
+     * 参与补全的关键词上限
+     */
+    @Value("${collide.search.suggestion.max-keywords:50000}")
+    private int maxKeywords;
+
+    private volatile CompletionTrie trie;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("collide-search-suggestion-init").start(this::rebuild);
+    }
+
+    public boolean isReady() {
+        return trie != null;
+    }
+
+    /**
+     * 前缀补全，支持中文原文、全拼和拼音首字母
+     */
+    public List<String> suggest(String prefix, int limit) {
+        CompletionTrie current = trie;
+        return current == null ? List.of() : current.suggest(prefix, Math.min(limit, topK));
+    }
+
+    /**
+     * 记录一次搜索
+     */
+    public void record(String keyword) {
+        CompletionTrie current = trie;
+        if (current != null) {
+            current.add(keyword, SEARCH_COUNT_WEIGHT);
+        }
+    }
+
+    /**
+     * 全量重建，重建期间的增量由下一次重建从数据库补回
+     */
+    @Scheduled(fixedDelayString = "${collide.search.suggestion.rebuild-interval-ms:300000}",
+            initialDelayString = "${collide.search.suggestion.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<HotSearch> candidates = hotSearchMapper.selectSuggestionCandidates(maxKeywords);
+            Map<String, Double> weights = new HashMap<>(candidates.size() * 2);
+            for (HotSearch hotSearch : candidates) {
+                if (hotSearch.getKeyword() == null || hotSearch.getKeyword().isBlank()) {
+                    continue;
+                }
+                double searchCount = hotSearch.getSearchCount() == null ? 0D : hotSearch.getSearchCount();
+                double trendScore = hotSearch.getTrendScore() == null ? 0D : hotSearch.getTrendScore().doubleValue();
+                // 保证权重为正，零次搜索的关键词也能参与补全
+                double weight = Math.max(Double.MIN_VALUE,
+                        searchCount * SEARCH_COUNT_WEIGHT + trendScore * TREND_SCORE_WEIGHT);
+                weights.merge(hotSearch.getKeyword(), weight, Math::max);
+            }
+            CompletionTrie built = CompletionTrie.build(weights, topK);
+            trie = built;
+            log.info("搜索建议索引重建完成: 关键词数={}, 耗时={}ms", built.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 保留旧索引继续服务
+            log.error("搜索建议索引重建失败", e);
+        }
+    }
+}
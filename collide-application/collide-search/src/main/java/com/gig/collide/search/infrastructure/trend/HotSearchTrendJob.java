@@ -0,0 +1,123 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import com.gig.collide.lock.DistributedLock;
+import com.gig.collide.search.domain.entity.HotSearch;
+import com.gig.collide.search.infrastructure.mapper.HotSearchMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 趋势分落库任务
+ * 单节点执行：把全局榜单前 N 名的衰减分批量写入 t_hot_search.trend_score，跌出榜单的关键词清零，
+ * 替代原先按小时聚合 t_search_history 重算趋势分的 SQL。
+ * 衰减分按对数映射到原有的 1~3 区间后落库：不超过基线的正常搜索量记为 1.0，超过基线才高于 1.0，
+ * 热搜排序 (search_count * 0.6 + trend_score * 0.4)、趋势上升判断 (trend_score &gt; 1.0) 和搜索建议权重沿用原来的量纲。
+ * 管理员手工设置的趋势分在保留期内不被覆盖，也不被清零
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotSearchTrendJob {
+
+    private static final String LOCK_KEY = "collide:search:trend:lock";
+
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private static final double MIN_TREND_SCORE = 1.0D;
+
+    private static final double MAX_TREND_SCORE = 3.0D;
+
+    private final TrendScoreBoard trendScoreBoard;
+
+    private final HotSearchMapper hotSearchMapper;
+
+    private final DistributedLock distributedLock;
+
+    /**
+     * 写入趋势分的关键词数
+     */
+    @Value("${collide.search.trend.persist-top-n:1000}")
+    private int persistTopN;
+
+    /**
+     * 衰减分不超过该值时趋势分记为基线 1.0，对应原先每小时搜索不超过 10 次
+     */
+    @Value("${collide.search.trend.score-baseline:10}")
+    private double scoreBaseline;
+
+    /**
+     * 衰减分达到该值时趋势分记为上限 3.0，对应原先每小时搜索超过 100 次
+     */
+    @Value("${collide.search.trend.score-saturation:100}")
+    private double scoreSaturation;
+
+    @Scheduled(fixedDelayString = "${collide.search.trend.persist-interval-ms:60000}",
+            initialDelayString = "${collide.search.trend.persist-interval-ms:60000}")
+    public void persist() {
+        boolean locked;
+        try {
+            locked = distributedLock.tryLock(LOCK_KEY, 0, -1, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("趋势分落库获取锁异常", e);
+            return;
+        }
+        if (!locked) {
+            log.debug("趋势分落库由其他节点执行，跳过本次");
+            return;
+        }
+        try {
+            trendScoreBoard.renormalizeIfNeeded();
+
+            List<HotSearch> scores = new ArrayList<>();
+            for (TrendScoreBoard.TrendScore score : trendScoreBoard.top(persistTopN)) {
+                if (score.score() <= 0D) {
+                    continue;
+                }
+                BigDecimal trendScore = BigDecimal.valueOf(normalize(score.score(), scoreBaseline, scoreSaturation))
+                        .setScale(2, RoundingMode.HALF_UP);
+                HotSearch hotSearch = new HotSearch();
+                hotSearch.setKeyword(score.keyword());
+                hotSearch.setTrendScore(trendScore);
+                scores.add(hotSearch);
+            }
+
+            for (int from = 0; from < scores.size(); from += UPSERT_BATCH_SIZE) {
+                hotSearchMapper.batchUpdateTrendScore(scores.subList(from, Math.min(from + UPSERT_BATCH_SIZE, scores.size())));
+            }
+            int reset = hotSearchMapper.resetTrendScoreExcept(scores.stream().map(HotSearch::getKeyword).toList());
+            log.info("趋势分落库完成: 更新={}, 清零={}", scores.size(), reset);
+        } catch (Exception e) {
+            log.error("趋势分落库异常", e);
+        } finally {
+            distributedLock.unlock(LOCK_KEY);
+        }
+    }
+
+    /**
+     * 衰减分映射到 [1, 3]：不超过基线记为 1.0，基线到饱和值之间按 log(score / baseline) 增长，达到饱和值后不再增加
+     *
+     * @param score      衰减分
+     * @param baseline   基线
+     * @param saturation 饱和值，不大于基线时按基线的两倍处理
+     */
+    static double normalize(double score, double baseline, double saturation) {
+        double base = Math.max(baseline, 1D);
+        if (score <= base) {
+            return MIN_TREND_SCORE;
+        }
+        double ratio = Math.log(score / base) / Math.log(Math.max(saturation, base * 2D) / base);
+        return MIN_TREND_SCORE + (MAX_TREND_SCORE - MIN_TREND_SCORE) * Math.min(ratio, 1D);
+    }
+}
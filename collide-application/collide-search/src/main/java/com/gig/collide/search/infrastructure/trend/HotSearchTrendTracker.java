@@ -0,0 +1,231 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import com.gig.collide.search.domain.entity.HotSearch;
+import com.gig.collide.search.infrastructure.mapper.HotSearchMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热搜流式统计（节点本地阶段）
+ * <ul>
+ *     <li>搜索次数：按关键词累加在内存，定时批量 upsert 到 t_hot_search，不再每次搜索一条 UPDATE</li>
+ *     <li>趋势：每个时间桶一份 Count-Min Sketch + Space-Saving，桶结束后封存，
+ *     Top-K 计数取两者较小值（都只会偏大）合并到 Redis 全局榜单</li>
+ * </ul>
+ * 节点宕机时丢失最近一个刷新周期内的计数，热搜统计可以接受
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotSearchTrendTracker {
+
+    private static final int KEYWORD_MAX_LENGTH = 200;
+
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    /**
+     * Redis 不可用时最多保留的待合并时间桶数，超出时丢弃最旧的
+     */
+    private static final int MAX_SEALED_BUCKETS = 60;
+
+    private final HotSearchMapper hotSearchMapper;
+
+    private final TrendScoreBoard trendScoreBoard;
+
+    /**
+     * 时间桶长度（秒）
+     */
+    @Value("${collide.search.trend.bucket-seconds:60}")
+    private long bucketSeconds;
+
+    /**
+     * 每个时间桶跟踪的关键词数
+     */
+    @Value("${collide.search.trend.top-k:200}")
+    private int topK;
+
+    @Value("${collide.search.trend.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${collide.search.trend.sketch-width:4096}")
+    private int sketchWidth;
+
+    /**
+     * 一个刷新周期内累计的不同关键词上限，超出的关键词本周期只计入趋势
+     */
+    @Value("${collide.search.trend.max-pending-keywords:20000}")
+    private int maxPendingKeywords;
+
+    private final AtomicReference<Map<String, LongAdder>> pendingCounts = new AtomicReference<>(new ConcurrentHashMap<>());
+
+    private final AtomicReference<TrendBucket> currentBucket = new AtomicReference<>();
+
+    private final ConcurrentLinkedQueue<TrendBucket> sealedBuckets = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 记录一次搜索
+     */
+    public void record(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return;
+        }
+        String normalized = keyword.trim();
+        if (normalized.length() > KEYWORD_MAX_LENGTH) {
+            normalized = normalized.substring(0, KEYWORD_MAX_LENGTH);
+        }
+
+        Map<String, LongAdder> counts = pendingCounts.get();
+        LongAdder adder = counts.get(normalized);
+        if (adder == null && counts.size() < maxPendingKeywords) {
+            adder = counts.computeIfAbsent(normalized, key -> new LongAdder());
+        }
+        if (adder != null) {
+            adder.increment();
+        }
+
+        bucket(System.currentTimeMillis()).record(normalized);
+    }
+
+    /**
+     * 批量写入搜索次数，并把已封存的时间桶合并到全局榜单
+     */
+    @Scheduled(fixedDelayString = "${collide.search.trend.flush-interval-ms:5000}")
+    public void flush() {
+        flushCounts();
+        bucket(System.currentTimeMillis());
+        publishSealedBuckets();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("服务停止，写入热搜计数");
+        TrendBucket bucket = currentBucket.getAndSet(null);
+        if (bucket != null) {
+            sealedBuckets.add(bucket);
+        }
+        flushCounts();
+        publishSealedBuckets();
+    }
+
+    // =================== 内部方法 ===================
+
+    private TrendBucket bucket(long now) {
+        long bucketMillis = bucketSeconds * 1000L;
+        long start = now - now % bucketMillis;
+        while (true) {
+            TrendBucket bucket = currentBucket.get();
+            if (bucket != null && bucket.start == start) {
+                return bucket;
+            }
+            if (bucket != null && bucket.start > start) {
+                // 时钟回拨，计入较新的桶
+                return bucket;
+            }
+            TrendBucket next = new TrendBucket(start, new CountMinSketch(sketchDepth, sketchWidth), new SpaceSavingTopK(topK));
+            if (currentBucket.compareAndSet(bucket, next)) {
+                if (bucket != null) {
+                    sealedBuckets.add(bucket);
+                    if (sealedBuckets.size() > MAX_SEALED_BUCKETS) {
+                        sealedBuckets.poll();
+                    }
+                }
+                return next;
+            }
+        }
+    }
+
+    private void flushCounts() {
+        Map<String, LongAdder> counts = pendingCounts.getAndSet(new ConcurrentHashMap<>());
+        if (counts.isEmpty()) {
+            return;
+        }
+        List<HotSearch> batch = new ArrayList<>(Math.min(counts.size(), UPSERT_BATCH_SIZE));
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            HotSearch hotSearch = new HotSearch();
+            hotSearch.setKeyword(entry.getKey());
+            hotSearch.setSearchCount(entry.getValue().sum());
+            batch.add(hotSearch);
+            if (batch.size() == UPSERT_BATCH_SIZE) {
+                upsert(batch);
+                batch = new ArrayList<>(UPSERT_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            upsert(batch);
+        }
+        log.debug("热搜计数已写入: 关键词数={}", counts.size());
+    }
+
+    private void upsert(List<HotSearch> batch) {
+        try {
+            hotSearchMapper.batchIncreaseSearchCount(batch);
+        } catch (Exception e) {
+            log.error("批量写入热搜计数失败，本批计数丢弃: 关键词数={}", batch.size(), e);
+        }
+    }
+
+    private void publishSealedBuckets() {
+        TrendBucket bucket;
+        while ((bucket = sealedBuckets.peek()) != null) {
+            try {
+                trendScoreBoard.merge(bucket.start, bucket.topEntries());
+                sealedBuckets.poll();
+            } catch (Exception e) {
+                // 保留在队列中下次重试
+                log.warn("合并趋势时间桶失败: bucket={}", bucket.start, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 一个时间桶的统计
+     */
+    private static final class TrendBucket {
+
+        private final long start;
+
+        private final CountMinSketch sketch;
+
+        private final SpaceSavingTopK topK;
+
+        private TrendBucket(long start, CountMinSketch sketch, SpaceSavingTopK topK) {
+            this.start = start;
+            this.sketch = sketch;
+            this.topK = topK;
+        }
+
+        private void record(String keyword) {
+            sketch.add(keyword, 1L);
+            topK.offer(keyword, 1L);
+        }
+
+        /**
+         * Space-Saving 计数和 Sketch 估计都只会偏大，取较小值
+         */
+        private List<SpaceSavingTopK.Entry> topEntries() {
+            List<SpaceSavingTopK.Entry> entries = topK.entries();
+            List<SpaceSavingTopK.Entry> tightened = new ArrayList<>(entries.size());
+            for (SpaceSavingTopK.Entry entry : entries) {
+                long count = Math.min(entry.count(), sketch.estimate(entry.item()));
+                tightened.add(new SpaceSavingTopK.Entry(entry.item(), count, entry.error()));
+            }
+            return tightened;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving 频繁项统计
+ * 最多跟踪 capacity 个关键词，满了之后新关键词替换计数最小的一个并继承其计数作为误差；
+ * 出现次数超过 总次数 / capacity 的关键词一定会被保留
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public class SpaceSavingTopK {
+
+    private final int capacity;
+
+    private final Map<String, Counter> counters;
+
+    /**
+     * 按计数升序，首个元素为替换候选
+     */
+    private final TreeSet<Counter> ordered = new TreeSet<>(Comparator.comparingLong((Counter counter) -> counter.count)
+            .thenComparing(counter -> counter.item));
+
+    public SpaceSavingTopK(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(String item, long count) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += count;
+            ordered.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(item, count, 0L);
+        } else {
+            Counter evicted = ordered.pollFirst();
+            counters.remove(evicted.item);
+            counter = new Counter(item, evicted.count + count, evicted.count);
+        }
+        counters.put(item, counter);
+        ordered.add(counter);
+    }
+
+    /**
+     * 按计数降序返回跟踪中的关键词
+     */
+    public synchronized List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Counter counter : ordered.descendingSet()) {
+            entries.add(new Entry(counter.item, counter.count, counter.error));
+        }
+        return entries;
+    }
+
+    /**
+     * @param item  关键词
+     * @param count 计数，可能偏大
+     * @param error 计数最多偏大的量
+     */
+    public record Entry(String item, long count, long error) {
+    }
+
+    private static final class Counter {
+
+        private final String item;
+
+        private long count;
+
+        private final long error;
+
+        private Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
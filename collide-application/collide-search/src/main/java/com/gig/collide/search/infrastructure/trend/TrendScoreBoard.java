@@ -0,0 +1,178 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全局趋势分榜单
+ * 各节点封存的时间桶 Top-K 合并到同一个 Redis ZSET，分数按指数衰减累计（半衰期可配置）
+ *
+ * <p>采用前向衰减：写入时按时间桶相对基准时间的权重 e^(λ(t - landmark)) 放大，读取时统一乘以 e^(-λ(now - landmark))，
+ * 合并时无需改动已有成员；权重增长过大前由定时任务把全部分数折算到新的基准时间</p>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendScoreBoard {
+
+    private static final String KEY_PREFIX = "collide:search:{trend}:";
+
+    private static final String SCORE_KEY = KEY_PREFIX + "score";
+
+    private static final String LANDMARK_KEY = KEY_PREFIX + "landmark";
+
+    /**
+     * 权重指数超过该值时折算基准时间，e^30 约 1e13，远小于双精度上限
+     */
+    private static final double RENORMALIZE_EXPONENT = 30D;
+
+    /**
+     * 合并一个时间桶：ARGV 为 桶开始时间, λ(每毫秒), 榜单上限, (关键词, 次数)...
+     */
+    private static final String MERGE_SCRIPT = """
+        local landmark = tonumber(redis.call('GET', KEYS[2]) or '0')
+        if landmark == 0 then
+            landmark = tonumber(ARGV[1])
+            redis.call('SET', KEYS[2], ARGV[1])
+        end
+        local weight = math.exp(tonumber(ARGV[2]) * (tonumber(ARGV[1]) - landmark))
+        for i = 4, #ARGV, 2 do
+            redis.call('ZINCRBY', KEYS[1], tonumber(ARGV[i + 1]) * weight, ARGV[i])
+        end
+        local size = redis.call('ZCARD', KEYS[1])
+        local limit = tonumber(ARGV[3])
+        if size > limit then
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, size - limit - 1)
+        end
+        return size
+        """;
+
+    /**
+     * 折算到新的基准时间：ARGV 为 新基准时间, λ(每毫秒)
+     */
+    private static final String RENORMALIZE_SCRIPT = """
+        local landmark = tonumber(redis.call('GET', KEYS[2]) or '0')
+        local target = tonumber(ARGV[1])
+        if landmark == 0 or target <= landmark then
+            return 0
+        end
+        local factor = math.exp(-tonumber(ARGV[2]) * (target - landmark))
+        local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+        for i = 1, #entries, 2 do
+            redis.call('ZADD', KEYS[1], tonumber(entries[i + 1]) * factor, entries[i])
+        end
+        redis.call('SET', KEYS[2], ARGV[1])
+        return #entries / 2
+        """;
+
+    /**
+     * 读取榜单前 N 名：返回 {基准时间, 关键词, 分数, ...}
+     */
+    private static final String TOP_SCRIPT = """
+        local landmark = redis.call('GET', KEYS[2])
+        if not landmark then
+            return {}
+        end
+        local result = {landmark}
+        local entries = redis.call('ZREVRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1, 'WITHSCORES')
+        for i = 1, #entries do
+            table.insert(result, entries[i])
+        end
+        return result
+        """;
+
+    private final DefaultRedisScript<Long> mergeScript = new DefaultRedisScript<>(MERGE_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> renormalizeScript = new DefaultRedisScript<>(RENORMALIZE_SCRIPT, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> topScript = new DefaultRedisScript<>(TOP_SCRIPT, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 趋势分半衰期（分钟）
+     */
+    @Value("${collide.search.trend.half-life-minutes:60}")
+    private long halfLifeMinutes;
+
+    /**
+     * 榜单保留的关键词上限
+     */
+    @Value("${collide.search.trend.board-size:5000}")
+    private int boardSize;
+
+    /**
+     * 合并一个已封存的时间桶
+     */
+    public void merge(long bucketStart, List<SpaceSavingTopK.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(3 + entries.size() * 2);
+        args.add(String.valueOf(bucketStart));
+        args.add(String.valueOf(lambda()));
+        args.add(String.valueOf(boardSize));
+        for (SpaceSavingTopK.Entry entry : entries) {
+            args.add(entry.item());
+            args.add(String.valueOf(entry.count()));
+        }
+        redisTemplate.execute(mergeScript, List.of(SCORE_KEY, LANDMARK_KEY), args.toArray());
+    }
+
+    /**
+     * 读取当前趋势分前 N 名，分数已衰减到当前时间
+     */
+    public List<TrendScore> top(int limit) {
+        List<?> result = redisTemplate.execute(topScript, List.of(SCORE_KEY, LANDMARK_KEY), String.valueOf(limit));
+        if (result == null || result.isEmpty()) {
+            return List.of();
+        }
+        long landmark = Long.parseLong(String.valueOf(result.get(0)));
+        double decay = Math.exp(-lambda() * (System.currentTimeMillis() - landmark));
+        List<TrendScore> scores = new ArrayList<>(result.size() / 2);
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            double score = Double.parseDouble(String.valueOf(result.get(i + 1))) * decay;
+            scores.add(new TrendScore(String.valueOf(result.get(i)), score));
+        }
+        return scores;
+    }
+
+    /**
+     * 权重指数过大时折算到当前时间
+     */
+    public void renormalizeIfNeeded() {
+        String landmark = redisTemplate.opsForValue().get(LANDMARK_KEY);
+        if (landmark == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (lambda() * (now - Long.parseLong(landmark)) < RENORMALIZE_EXPONENT) {
+            return;
+        }
+        Long rescaled = redisTemplate.execute(renormalizeScript, List.of(SCORE_KEY, LANDMARK_KEY),
+                String.valueOf(now), String.valueOf(lambda()));
+        log.info("趋势分基准时间已折算: 关键词数={}", rescaled);
+    }
+
+    private double lambda() {
+        return Math.log(2) / (halfLifeMinutes * 60_000D);
+    }
+
+    /**
+     * @param keyword 关键词
+     * @param score   衰减到当前时间的趋势分
+     */
+    public record TrendScore(String keyword, double score) {
+    }
+}
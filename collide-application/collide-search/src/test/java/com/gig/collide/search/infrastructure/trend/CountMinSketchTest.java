@@ -0,0 +1,58 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CountMinSketch 估计值不小于真实次数，且在误差上界之内
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+class CountMinSketchTest {
+
+    @Test
+    void returnsExactCountWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        assertEquals(3L, sketch.add("java", 3L));
+        assertEquals(5L, sketch.add("java", 2L));
+        assertEquals(5L, sketch.estimate("java"));
+        assertEquals(0L, sketch.estimate("spring"));
+    }
+
+    @Test
+    void neverUnderestimatesAndStaysWithinErrorBound() {
+        int width = 256;
+        CountMinSketch sketch = new CountMinSketch(4, width);
+        int keywords = 2000;
+        for (int i = 0; i < keywords; i++) {
+            sketch.add("keyword-" + i, i % 10 + 1);
+        }
+        long total = 0;
+        for (int i = 0; i < keywords; i++) {
+            total += i % 10 + 1;
+        }
+
+        long bound = (long) Math.ceil(total * Math.E / width);
+        int withinBound = 0;
+        for (int i = 0; i < keywords; i++) {
+            long actual = i % 10 + 1;
+            long estimate = sketch.estimate("keyword-" + i);
+            assertTrue(estimate >= actual);
+            if (estimate - actual <= bound) {
+                withinBound++;
+            }
+        }
+        assertTrue(withinBound >= keywords * 0.95);
+    }
+
+    @Test
+    void rejectsDepthOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(9, 16));
+    }
+}
@@ -0,0 +1,47 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HotSearchTrendJob 把衰减分映射到 1~3 的趋势分
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+class HotSearchTrendJobTest {
+
+    private static final double BASELINE = 10D;
+
+    private static final double SATURATION = 100D;
+
+    @Test
+    void keepsScoresUpToBaselineAtOne() {
+        assertEquals(1.0, HotSearchTrendJob.normalize(0D, BASELINE, SATURATION));
+        assertEquals(1.0, HotSearchTrendJob.normalize(3D, BASELINE, SATURATION));
+        assertEquals(1.0, HotSearchTrendJob.normalize(BASELINE, BASELINE, SATURATION));
+    }
+
+    @Test
+    void risesAboveOneOnlyPastBaseline() {
+        assertTrue(HotSearchTrendJob.normalize(11D, BASELINE, SATURATION) > 1.0);
+    }
+
+    @Test
+    void capsAtThreeFromSaturation() {
+        assertEquals(3.0, HotSearchTrendJob.normalize(SATURATION, BASELINE, SATURATION), 1e-9);
+        assertEquals(3.0, HotSearchTrendJob.normalize(SATURATION * 50, BASELINE, SATURATION));
+    }
+
+    @Test
+    void growsMonotonicallyBetweenBaselineAndSaturation() {
+        double previous = HotSearchTrendJob.normalize(BASELINE, BASELINE, SATURATION);
+        for (double score = BASELINE + 1; score <= SATURATION; score++) {
+            double current = HotSearchTrendJob.normalize(score, BASELINE, SATURATION);
+            assertTrue(current > previous);
+            previous = current;
+        }
+    }
+}
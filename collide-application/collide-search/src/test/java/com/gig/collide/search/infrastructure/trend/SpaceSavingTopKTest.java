@@ -0,0 +1,68 @@
+package com.gig.collide.search.infrastructure.trend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SpaceSavingTopK 在容量受限时保留高频关键词并记录计数误差
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+class SpaceSavingTopKTest {
+
+    @Test
+    void tracksExactCountsBelowCapacity() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(3);
+        topK.offer("java", 5L);
+        topK.offer("spring", 2L);
+        topK.offer("java", 1L);
+
+        List<SpaceSavingTopK.Entry> entries = topK.entries();
+
+        assertEquals(2, entries.size());
+        assertEquals(new SpaceSavingTopK.Entry("java", 6L, 0L), entries.get(0));
+        assertEquals(new SpaceSavingTopK.Entry("spring", 2L, 0L), entries.get(1));
+    }
+
+    @Test
+    void replacesSmallestCounterAndInheritsItsCount() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2);
+        topK.offer("java", 5L);
+        topK.offer("spring", 2L);
+        topK.offer("redis", 1L);
+
+        List<SpaceSavingTopK.Entry> entries = topK.entries();
+
+        assertEquals(2, entries.size());
+        assertEquals(new SpaceSavingTopK.Entry("java", 5L, 0L), entries.get(0));
+        assertEquals(new SpaceSavingTopK.Entry("redis", 3L, 2L), entries.get(1));
+    }
+
+    @Test
+    void keepsFrequentKeywordsUnderChurn() {
+        int capacity = 10;
+        SpaceSavingTopK topK = new SpaceSavingTopK(capacity);
+        for (int round = 0; round < 100; round++) {
+            topK.offer("hot-a", 1L);
+            topK.offer("hot-b", 1L);
+            for (int i = 0; i < 5; i++) {
+                topK.offer("cold-" + round + "-" + i, 1L);
+            }
+        }
+
+        List<SpaceSavingTopK.Entry> entries = topK.entries();
+
+        assertEquals(capacity, entries.size());
+        List<String> items = entries.stream().map(SpaceSavingTopK.Entry::item).toList();
+        assertTrue(items.contains("hot-a"));
+        assertTrue(items.contains("hot-b"));
+        for (SpaceSavingTopK.Entry entry : entries) {
+            assertTrue(entry.count() - entry.error() <= 100L);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.gig.collide.api.social.request.SocialDynamicCreateRequest;
 import com.gig.collide.api.social.request.SocialDynamicQueryRequest;
 import com.gig.collide.api.social.request.SocialDynamicUpdateRequest;
 import com.gig.collide.api.social.response.SocialDynamicResponse;
+import com.gig.collide.api.social.response.SocialInteractionCursorResponse;
+import com.gig.collide.api.social.response.SocialTimelineResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 import io.swagger.v3.oas.annotations.Operation;
@@ -105,6 +107,16 @@ public class SocialDynamicController {
         return socialFacadeService.getUserDynamics(userId, currentPage, pageSize, dynamicType);
     }
 
+    @GetMapping("/timeline/{userId}")
+    @Operation(summary = "获取关注动态流", description = "关注用户的动态流，按发布时间倒序，使用游标分页")
+    public Result<SocialTimelineResponse> getFollowingTimeline(
+            @PathVariable Long userId,
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+        log.debug("REST查询关注动态流: 用户={}, 游标={}, 大小={}", userId, cursor, pageSize);
+        return socialFacadeService.getFollowingTimeline(userId, cursor, pageSize);
+    }
+
     // =================== 互动功能 ===================
 
     @PostMapping("/{id}/like")
@@ -171,4 +183,15 @@ public class SocialDynamicController {
         log.debug("REST查询用户互动记录: 用户={}, 页码={}, 大小={}", userId, currentPage, pageSize);
         return socialFacadeService.getUserInteractions(userId, currentPage, pageSize);
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/user/{userId}/interactions/cursor")
+    @Operation(summary = "游标获取用户互动记录聚合列表",
+               description = "与互动记录聚合列表内容相同，使用游标分页，后续页不重复拉取前面的记录")
+    public Result<SocialInteractionCursorResponse> getUserInteractionsByCursor(
+            @PathVariable Long userId,
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页面大小") @RequestParam(defaultValue = "20") Integer pageSize) {
+        log.debug("REST游标查询用户互动记录: 用户={}, 游标={}, 大小={}", userId, cursor, pageSize);
+        return socialFacadeService.getUserInteractionsByCursor(userId, cursor, pageSize);
+    }
+}
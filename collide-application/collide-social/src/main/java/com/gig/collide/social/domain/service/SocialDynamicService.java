@@ -46,11 +46,6 @@ public interface SocialDynamicService {
      */
     List<SocialDynamic> getUserDynamics(Long userId, Integer limit);
 
-    /**
-     * 获取关注用户的动态流
-     */
-    IPage<SocialDynamic> getFollowingDynamics(Long userId, int pageNum, int pageSize);
-
     /**
      * 根据类型获取动态列表
      */
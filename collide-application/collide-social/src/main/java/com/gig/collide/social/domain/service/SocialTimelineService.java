@@ -0,0 +1,50 @@
+package com.gig.collide.social.domain.service;
+
+import com.gig.collide.social.domain.entity.SocialDynamic;
+
+import java.util.List;
+
+/**
+ * 关注动态流服务接口
+ * 普通作者发布时推送到粉丝收件箱，大V作者发布时只写发件箱，读取时合并收件箱和所关注大V的发件箱
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public interface SocialTimelineService {
+
+    /**
+     * 发布动态到动态流，事务提交后异步扇出
+     */
+    void publish(SocialDynamic dynamic);
+
+    /**
+     * 游标分页读取关注动态流
+     *
+     * @param userId   用户ID
+     * @param cursor   上一页返回的游标，首页传空
+     * @param pageSize 页面大小
+     * @return 动态流分页
+     */
+    TimelinePage getTimeline(Long userId, String cursor, int pageSize);
+
+    /**
+     * 关注后回填被关注者的近期动态
+     */
+    void backfill(Long followerId, Long followeeId);
+
+    /**
+     * 取消关注后移除被关注者的动态
+     */
+    void remove(Long followerId, Long followeeId);
+
+    /**
+     * 动态流分页结果
+     *
+     * @param dynamics   当前页动态
+     * @param nextCursor 下一页游标，没有更多时为 null
+     * @param hasMore    是否还有更多
+     */
+    record TimelinePage(List<SocialDynamic> dynamics, String nextCursor, boolean hasMore) {
+    }
+}
@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.gig.collide.social.domain.entity.SocialDynamic;
 import com.gig.collide.social.domain.service.SocialDynamicService;
+import com.gig.collide.social.domain.service.SocialTimelineService;
 import com.gig.collide.social.infrastructure.mapper.SocialDynamicMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +28,9 @@ public class SocialDynamicServiceImpl implements SocialDynamicService {
     @Autowired
     private SocialDynamicMapper socialDynamicMapper;
 
+    @Autowired
+    private SocialTimelineService socialTimelineService;
+
     @Override
     @Transactional
     public SocialDynamic createDynamic(SocialDynamic dynamic) {
@@ -45,6 +49,9 @@ public class SocialDynamicServiceImpl implements SocialDynamicService {
         }
         
         socialDynamicMapper.insert(dynamic);
+
+        // 事务提交后推送到粉丝动态流
+        socialTimelineService.publish(dynamic);
         return dynamic;
     }
 
@@ -137,17 +144,6 @@ public class SocialDynamicServiceImpl implements SocialDynamicService {
         return socialDynamicMapper.selectByUserId(userId, limit);
     }
 
-    @Override
-    public IPage<SocialDynamic> getFollowingDynamics(Long userId, int pageNum, int pageSize) {
-        Page<SocialDynamic> page = new Page<>(pageNum, pageSize);
-        int offset = (pageNum - 1) * pageSize;
-        
-        List<SocialDynamic> dynamics = socialDynamicMapper.selectFollowingDynamics(userId, offset, pageSize);
-        page.setRecords(dynamics);
-        
-        return page;
-    }
-
     @Override
     public List<SocialDynamic> getDynamicsByType(String dynamicType, Integer limit) {
         return socialDynamicMapper.selectByDynamicType(dynamicType, limit);
@@ -0,0 +1,309 @@
+package com.gig.collide.social.domain.service.impl;
+
+import com.gig.collide.api.follow.FollowFacadeService;
+import com.gig.collide.api.follow.response.FollowResponse;
+import com.gig.collide.base.request.PageCursor;
+import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.social.domain.entity.SocialDynamic;
+import com.gig.collide.social.domain.service.SocialTimelineService;
+import com.gig.collide.social.infrastructure.mapper.SocialDynamicMapper;
+import com.gig.collide.social.infrastructure.timeline.TimelineStore;
+import com.gig.collide.social.infrastructure.timeline.TimelineStore.TimelineEntry;
+import com.gig.collide.web.vo.Result;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 关注动态流服务实现 - 推拉结合
+ * <ul>
+ *     <li>写：动态先进作者发件箱；普通作者按粉丝分页批量推送到粉丝收件箱，粉丝数超过阈值的作者标记为大V后不再扇出</li>
+ *     <li>读：收件箱缺失时从数据库重建；合并收件箱和所关注大V的发件箱，按 (发布时间, 动态ID) 游标分页</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SocialTimelineServiceImpl implements SocialTimelineService {
+
+    /**
+     * 扇出时每次拉取的粉丝数
+     */
+    private static final int FOLLOWER_PAGE_SIZE = 500;
+
+    /**
+     * 读取时多取的条数，容纳与游标同一毫秒发布的动态
+     */
+    private static final int TIE_SLACK = 16;
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparingLong(TimelineEntry::score)
+            .thenComparingLong(TimelineEntry::dynamicId)
+            .reversed();
+
+    private final TimelineStore timelineStore;
+
+    private final SocialDynamicMapper socialDynamicMapper;
+
+    private final FollowFacadeService followFacadeService;
+
+    /**
+     * 大V粉丝数阈值
+     */
+    @Value("${collide.social.timeline.celebrity-threshold:5000}")
+    private long celebrityThreshold;
+
+    private final ExecutorService fanoutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public void publish(SocialDynamic dynamic) {
+        Runnable task = () -> fanoutExecutor.execute(() -> fanout(dynamic));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    @Override
+    public TimelinePage getTimeline(Long userId, String cursor, int pageSize) {
+        Cursor position = Cursor.decode(cursor);
+        int fetchSize = pageSize + TIE_SLACK;
+
+        if (!timelineStore.hasInbox(userId)) {
+            rebuildInbox(userId);
+        }
+        List<TimelineEntry> candidates = new ArrayList<>(timelineStore.rangeInbox(userId, position.score(), fetchSize));
+        for (Long celebrityId : followedCelebrities(userId)) {
+            ensureOutbox(celebrityId);
+            candidates.addAll(timelineStore.rangeOutbox(celebrityId, position.score(), fetchSize));
+        }
+
+        // 收件箱重建时可能已包含大V动态，按动态ID去重
+        Set<Long> seen = new HashSet<>();
+        List<TimelineEntry> entries = candidates.stream()
+                .filter(position::isBefore)
+                .sorted(NEWEST_FIRST)
+                .filter(entry -> seen.add(entry.dynamicId()))
+                .limit(pageSize + 1L)
+                .collect(Collectors.toList());
+
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? Cursor.of(entries.get(entries.size() - 1)).encode() : null;
+        return new TimelinePage(loadDynamics(entries), nextCursor, hasMore);
+    }
+
+    @Override
+    public void backfill(Long followerId, Long followeeId) {
+        // 被关注者可能在关注之后才成为大V，无论是否大V都让关注的大V缓存失效，下次读取按关注列表重新计算
+        timelineStore.evictFollowedCelebrities(followerId);
+        if (timelineStore.isCelebrity(followeeId)) {
+            return;
+        }
+        // 收件箱不存在时下次读取会从数据库重建，无需回填
+        if (!timelineStore.hasInbox(followerId)) {
+            return;
+        }
+        ensureOutbox(followeeId);
+        timelineStore.mergeIntoInbox(followerId,
+                timelineStore.rangeOutbox(followeeId, Long.MAX_VALUE, timelineStore.getOutboxCapacity()));
+        log.debug("动态流回填完成: followerId={}, followeeId={}", followerId, followeeId);
+    }
+
+    @Override
+    public void remove(Long followerId, Long followeeId) {
+        // 同上，无论是否大V都让关注的大V缓存失效
+        timelineStore.evictFollowedCelebrities(followerId);
+        if (timelineStore.isCelebrity(followeeId)) {
+            return;
+        }
+        if (!timelineStore.hasInbox(followerId)) {
+            return;
+        }
+        // 只移除发件箱范围内的近期动态，更早的动态随收件箱截断或过期淘汰
+        ensureOutbox(followeeId);
+        List<Long> dynamicIds = timelineStore.rangeOutbox(followeeId, Long.MAX_VALUE, timelineStore.getOutboxCapacity())
+                .stream()
+                .map(TimelineEntry::dynamicId)
+                .collect(Collectors.toList());
+        timelineStore.removeFromInbox(followerId, dynamicIds);
+        log.debug("动态流移除完成: followerId={}, followeeId={}", followerId, followeeId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanoutExecutor.shutdown();
+    }
+
+    // =================== 内部方法 ===================
+
+    private void fanout(SocialDynamic dynamic) {
+        Long authorId = dynamic.getUserId();
+        try {
+            TimelineEntry entry = toEntry(dynamic);
+            if (timelineStore.hasOutbox(authorId)) {
+                timelineStore.pushToOutbox(authorId, entry);
+            } else {
+                rebuildOutbox(authorId);
+            }
+
+            if (timelineStore.isCelebrity(authorId)) {
+                return;
+            }
+            Result<Long> countResult = followFacadeService.getFollowersCount(authorId);
+            if (countResult != null && countResult.getData() != null && countResult.getData() >= celebrityThreshold) {
+                timelineStore.markCelebrity(authorId);
+                log.info("作者粉丝数超过阈值，切换为拉模式: authorId={}, followers={}", authorId, countResult.getData());
+                return;
+            }
+
+            int currentPage = 1;
+            int pushed = 0;
+            while (true) {
+                Result<PageResponse<FollowResponse>> result =
+                        followFacadeService.getFollowers(authorId, currentPage, FOLLOWER_PAGE_SIZE);
+                if (result == null || !Boolean.TRUE.equals(result.getSuccess()) || result.getData() == null) {
+                    log.warn("动态扇出获取粉丝失败: authorId={}, page={}", authorId, currentPage);
+                    break;
+                }
+                List<FollowResponse> followers = result.getData().getDatas();
+                if (CollectionUtils.isEmpty(followers)) {
+                    break;
+                }
+                timelineStore.pushToInboxes(followers.stream().map(FollowResponse::getFollowerId).collect(Collectors.toList()), entry);
+                pushed += followers.size();
+                if (followers.size() < FOLLOWER_PAGE_SIZE) {
+                    break;
+                }
+                currentPage++;
+            }
+            log.debug("动态扇出完成: dynamicId={}, authorId={}, followers={}", dynamic.getId(), authorId, pushed);
+        } catch (Exception e) {
+            log.error("动态扇出失败: dynamicId={}, authorId={}", dynamic.getId(), authorId, e);
+        }
+    }
+
+    private void rebuildInbox(Long userId) {
+        List<SocialDynamic> dynamics = socialDynamicMapper.selectFollowingTimeline(userId, timelineStore.getInboxCapacity());
+        timelineStore.rebuildInbox(userId, dynamics.stream().map(this::toEntry).collect(Collectors.toList()));
+    }
+
+    private void ensureOutbox(Long authorId) {
+        if (!timelineStore.hasOutbox(authorId)) {
+            rebuildOutbox(authorId);
+        }
+    }
+
+    private void rebuildOutbox(Long authorId) {
+        List<SocialDynamic> dynamics = socialDynamicMapper.selectByUserId(authorId, timelineStore.getOutboxCapacity());
+        timelineStore.rebuildOutbox(authorId, dynamics.stream().map(this::toEntry).collect(Collectors.toList()));
+    }
+
+    /**
+     * 用户关注的大V，按全局大V集合批量检查关注状态后缓存
+     */
+    private Set<Long> followedCelebrities(Long userId) {
+        Set<Long> cached = timelineStore.getFollowedCelebrities(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Set<Long> celebrities = timelineStore.getCelebrities();
+        if (celebrities.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Result<Map<Long, Boolean>> result = followFacadeService.batchCheckFollowStatus(userId, new ArrayList<>(celebrities));
+        if (result == null || !Boolean.TRUE.equals(result.getSuccess()) || result.getData() == null) {
+            log.warn("查询关注的大V失败: userId={}", userId);
+            return Collections.emptySet();
+        }
+        Set<Long> followed = result.getData().entrySet().stream()
+                .filter(entry -> Boolean.TRUE.equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        timelineStore.cacheFollowedCelebrities(userId, followed);
+        return followed;
+    }
+
+    /**
+     * 按游标顺序加载动态详情，跳过已删除的动态
+     */
+    private List<SocialDynamic> loadDynamics(List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, SocialDynamic> dynamics = socialDynamicMapper
+                .selectBatchIds(entries.stream().map(TimelineEntry::dynamicId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(SocialDynamic::getId, Function.identity()));
+
+        List<SocialDynamic> result = new ArrayList<>(entries.size());
+        for (TimelineEntry entry : entries) {
+            SocialDynamic dynamic = dynamics.get(entry.dynamicId());
+            if (dynamic != null && "normal".equals(dynamic.getStatus())) {
+                result.add(dynamic);
+            }
+        }
+        return result;
+    }
+
+    private TimelineEntry toEntry(SocialDynamic dynamic) {
+        LocalDateTime createTime = dynamic.getCreateTime() != null ? dynamic.getCreateTime() : LocalDateTime.now();
+        return new TimelineEntry(dynamic.getId(), createTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * 游标：上一页最后一条的 (发布时间, 动态ID)，与其他游标分页列表共用 {@link PageCursor} 编码
+     */
+    private record Cursor(long score, long dynamicId) {
+
+        private static final Cursor FIRST = new Cursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        static Cursor of(TimelineEntry entry) {
+            return new Cursor(entry.score(), entry.dynamicId());
+        }
+
+        static Cursor decode(String cursor) {
+            PageCursor position = PageCursor.decode(cursor);
+            return position == null ? FIRST : new Cursor(position.getSortKey(), position.getId());
+        }
+
+        boolean isBefore(TimelineEntry entry) {
+            return entry.score() < score || (entry.score() == score && entry.dynamicId() < dynamicId);
+        }
+
+        String encode() {
+            return PageCursor.of(score, dynamicId).encode();
+        }
+    }
+}
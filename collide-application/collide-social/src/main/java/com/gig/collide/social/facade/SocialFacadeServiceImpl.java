@@ -6,24 +6,24 @@ import com.gig.collide.api.social.request.SocialDynamicCreateRequest;
 import com.gig.collide.api.social.request.SocialDynamicQueryRequest;
 import com.gig.collide.api.social.request.SocialDynamicUpdateRequest;
 import com.gig.collide.api.social.response.SocialDynamicResponse;
+import com.gig.collide.base.exception.BizException;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.social.domain.entity.SocialDynamic;
 import com.gig.collide.social.domain.service.SocialDynamicService;
 import com.gig.collide.web.vo.Result;
 import com.gig.collide.api.user.UserFacadeService;
 import com.gig.collide.api.user.response.UserResponse;
-import com.gig.collide.api.like.LikeFacadeService;
-import com.gig.collide.api.like.request.LikeQueryRequest;
-import com.gig.collide.api.like.response.LikeResponse;
-import com.gig.collide.api.comment.CommentFacadeService;
-import com.gig.collide.api.comment.response.CommentResponse;
 import com.gig.collide.api.social.response.SocialInteractionResponse;
+import com.gig.collide.api.social.response.SocialInteractionCursorResponse;
+import com.gig.collide.api.social.response.SocialTimelineResponse;
+import com.gig.collide.social.domain.service.SocialTimelineService;
 
 import com.alicp.jetcache.anno.Cached;
 import com.alicp.jetcache.anno.CacheInvalidate;
 import com.alicp.jetcache.anno.CacheUpdate;
 import com.alicp.jetcache.anno.CacheType;
 import com.gig.collide.social.infrastructure.cache.SocialCacheConstant;
+import com.gig.collide.social.infrastructure.interaction.InteractionAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboService;
@@ -34,7 +34,6 @@ import org.springframework.util.CollectionUtils;
 import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.stream.Collectors;
 import java.util.concurrent.TimeUnit;
 
@@ -53,16 +52,14 @@ import java.util.concurrent.TimeUnit;
 public class SocialFacadeServiceImpl implements SocialFacadeService {
 
     private final SocialDynamicService socialDynamicService;
+
+    private final SocialTimelineService socialTimelineService;
+
+    private final InteractionAggregator interactionAggregator;
     
     // =================== 跨模块服务注入 ===================
     @Autowired
     private UserFacadeService userFacadeService;
-    
-    @Autowired
-    private LikeFacadeService likeFacadeService;
-    
-    @Autowired
-    private CommentFacadeService commentFacadeService;
 
     // =================== 动态管理 ===================
 
@@ -390,50 +387,36 @@ public class SocialFacadeServiceImpl implements SocialFacadeService {
         try {
             log.debug("查询用户互动记录: 用户={}, 页码={}, 大小={}", userId, currentPage, pageSize);
 
-            // 1. 查询用户点赞别人的记录 (LIKE_GIVE)
-            List<SocialInteractionResponse> likeGiveList = getLikeGiveInteractions(userId);
-            List<SocialInteractionResponse> allInteractions = new ArrayList<>(likeGiveList);
-            log.debug("用户点赞别人记录数: {}", likeGiveList.size());
-            
-            // 2. 查询被别人点赞的记录 (LIKE_RECEIVE)
-            List<SocialInteractionResponse> likeReceiveList = getLikeReceiveInteractions(userId);
-            allInteractions.addAll(likeReceiveList);
-            log.debug("被别人点赞记录数: {}", likeReceiveList.size());
-            
-            // 3. 查询用户评论别人的记录 (COMMENT_GIVE)
-            List<SocialInteractionResponse> commentGiveList = getCommentGiveInteractions(userId);
-            allInteractions.addAll(commentGiveList);
-            log.debug("用户评论别人记录数: {}", commentGiveList.size());
-            
-            // 4. 查询被别人评论的记录 (COMMENT_RECEIVE)
-            List<SocialInteractionResponse> commentReceiveList = getCommentReceiveInteractions(userId);
-            allInteractions.addAll(commentReceiveList);
-            log.debug("被别人评论记录数: {}", commentReceiveList.size());
-            
-            // 5. 按时间排序合并结果（最新的在前）
-            allInteractions.sort(Comparator.comparing(SocialInteractionResponse::getInteractionTime).reversed());
-            
-            // 6. 分页处理
-            int total = allInteractions.size();
+            // 四路并发查询后归并，只取到当前页末尾，超过最大深度的部分需使用游标接口
             int offset = (currentPage - 1) * pageSize;
-            int end = Math.min(offset + pageSize, total);
-            
-            List<SocialInteractionResponse> pagedData;
-            if (offset >= total) {
-                pagedData = Collections.emptyList();
-            } else {
-                pagedData = allInteractions.subList(offset, end);
-            }
-            
+            int maxDepth = interactionAggregator.getMaxDepth();
+            InteractionAggregator.InteractionPage page = offset >= maxDepth
+                    ? new InteractionAggregator.InteractionPage(Collections.emptyList(), true, true)
+                    : interactionAggregator.aggregate(userId, null, offset + pageSize);
+
+            List<SocialInteractionResponse> merged = page.interactions();
+            List<SocialInteractionResponse> pagedData = offset >= merged.size()
+                    ? Collections.emptyList()
+                    : merged.subList(offset, merged.size());
+            // 深度内还有记录时多报一条，客户端可继续翻页；被深度截断时总数按已聚合的条数上报
+            long knownTotal = page.truncated()
+                    ? Math.max(offset, merged.size())
+                    : page.hasMore() ? merged.size() + 1 : merged.size();
+
             PageResponse<Object> response = new PageResponse<>();
             response.setDatas(new ArrayList<>(pagedData));
-            response.setTotal(total);
+            response.setTotal(knownTotal);
             response.setCurrentPage(currentPage);
             response.setPageSize(pageSize);
-            response.setTotalPage((int) Math.ceil((double) total / pageSize));
+            response.setTotalPage((int) Math.ceil((double) knownTotal / pageSize));
             response.setSuccess(true);
-            
-            log.debug("用户互动记录查询完成: 用户={}, 总记录数={}, 当前页记录数={}", userId, total, pagedData.size());
+            if (page.truncated()) {
+                response.setResponseCode("INTERACTION_DEPTH_TRUNCATED");
+                response.setResponseMessage("超过最大分页深度 " + maxDepth + "，请使用游标接口继续查询");
+            }
+
+            log.debug("用户互动记录查询完成: 用户={}, 归并记录数={}, 当前页记录数={}, 截断={}",
+                    userId, merged.size(), pagedData.size(), page.truncated());
             return response;
         } catch (Exception e) {
             log.error("查询用户互动记录失败", e);
@@ -441,154 +424,59 @@ public class SocialFacadeServiceImpl implements SocialFacadeService {
         }
     }
 
-    // =================== 互动记录查询方法 ===================
-
-    /**
-     * 获取用户点赞别人的记录 (LIKE_GIVE)
-     */
-    private List<SocialInteractionResponse> getLikeGiveInteractions(Long userId) {
+    @Override
+    public Result<SocialInteractionCursorResponse> getUserInteractionsByCursor(Long userId, String cursor, Integer pageSize) {
         try {
-            LikeQueryRequest likeQuery = new LikeQueryRequest();
-            likeQuery.setUserId(userId);
-            likeQuery.setLikeType("DYNAMIC");
-            likeQuery.setStatus("active");
-            likeQuery.setCurrentPage(1);
-            likeQuery.setPageSize(100); // 获取前100条记录
-            likeQuery.setOrderBy("create_time");
-            likeQuery.setOrderDirection("DESC");
-            
-            Result<PageResponse<LikeResponse>> likeResult = likeFacadeService.queryLikes(likeQuery);
-            if (!likeResult.getSuccess() || likeResult.getData() == null) {
-                log.warn("查询用户点赞记录失败: userId={}", userId);
-                return Collections.emptyList();
-            }
-            
-            List<LikeResponse> likes = likeResult.getData().getDatas();
-            return likes.stream().map(like -> {
-                SocialInteractionResponse interaction = new SocialInteractionResponse();
-                interaction.setInteractionId(like.getId());
-                interaction.setInteractionType("LIKE_GIVE");
-                interaction.setInteractionTime(like.getCreateTime());
-                interaction.setDynamicId(like.getTargetId());
-                interaction.setInteractionUserId(userId);
-                interaction.setInteractionUserName(like.getUserNickname());
-                interaction.setInteractionUserAvatar(like.getUserAvatar());
-                interaction.setDynamicAuthorId(like.getTargetAuthorId());
-                interaction.setIsRead(true);
-                return interaction;
-            }).collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("查询用户点赞记录失败", e);
-            return Collections.emptyList();
-        }
-    }
+            log.debug("游标查询用户互动记录: 用户={}, 游标={}, 大小={}", userId, cursor, pageSize);
 
-    /**
-     * 获取被别人点赞的记录 (LIKE_RECEIVE)
-     */
-    private List<SocialInteractionResponse> getLikeReceiveInteractions(Long userId) {
-        try {
-            LikeQueryRequest likeQuery = new LikeQueryRequest();
-            likeQuery.setTargetAuthorId(userId);
-            likeQuery.setLikeType("DYNAMIC");
-            likeQuery.setStatus("active");
-            likeQuery.setCurrentPage(1);
-            likeQuery.setPageSize(100); // 获取前100条记录
-            likeQuery.setOrderBy("create_time");
-            likeQuery.setOrderDirection("DESC");
-            
-            Result<PageResponse<LikeResponse>> likeResult = likeFacadeService.queryLikes(likeQuery);
-            if (!likeResult.getSuccess() || likeResult.getData() == null) {
-                log.warn("查询被点赞记录失败: userId={}", userId);
-                return Collections.emptyList();
-            }
-            
-            List<LikeResponse> likes = likeResult.getData().getDatas();
-            return likes.stream().map(like -> {
-                SocialInteractionResponse interaction = new SocialInteractionResponse();
-                interaction.setInteractionId(like.getId());
-                interaction.setInteractionType("LIKE_RECEIVE");
-                interaction.setInteractionTime(like.getCreateTime());
-                interaction.setDynamicId(like.getTargetId());
-                interaction.setDynamicAuthorId(userId);
-                interaction.setInteractionUserId(like.getUserId());
-                interaction.setInteractionUserName(like.getUserNickname());
-                interaction.setInteractionUserAvatar(like.getUserAvatar());
-                interaction.setIsRead(false); // 默认未读
-                return interaction;
-            }).collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("查询被点赞记录失败", e);
-            return Collections.emptyList();
-        }
-    }
+            int size = pageSize == null || pageSize <= 0 ? 20 : Math.min(pageSize, 100);
+            InteractionAggregator.InteractionPage page = interactionAggregator.aggregate(userId, cursor, size);
+            boolean hasMore = page.hasMore();
+            List<SocialInteractionResponse> interactions = page.interactions();
 
-    /**
-     * 获取用户评论别人的记录 (COMMENT_GIVE)
-     */
-    private List<SocialInteractionResponse> getCommentGiveInteractions(Long userId) {
-        try {
-            Result<PageResponse<CommentResponse>> commentResult = commentFacadeService.getUserComments(
-                userId, "DYNAMIC", "NORMAL", 1, 100);
-            
-            if (!commentResult.getSuccess() || commentResult.getData() == null) {
-                log.warn("查询用户评论记录失败: userId={}", userId);
-                return Collections.emptyList();
-            }
-            
-            List<CommentResponse> comments = commentResult.getData().getDatas();
-            return comments.stream().map(comment -> {
-                SocialInteractionResponse interaction = new SocialInteractionResponse();
-                interaction.setInteractionId(comment.getId());
-                interaction.setInteractionType("COMMENT_GIVE");
-                interaction.setInteractionTime(comment.getCreateTime());
-                interaction.setDynamicId(comment.getTargetId());
-                interaction.setInteractionUserId(userId);
-                interaction.setInteractionUserName(comment.getUserNickname());
-                interaction.setInteractionUserAvatar(comment.getUserAvatar());
-                interaction.setCommentContent(comment.getContent());
-                interaction.setIsRead(true);
-                return interaction;
-            }).collect(Collectors.toList());
+            SocialInteractionCursorResponse response = new SocialInteractionCursorResponse();
+            response.setInteractions(new ArrayList<>(interactions));
+            response.setHasMore(hasMore);
+            response.setNextCursor(hasMore ? interactionAggregator.cursorOf(interactions.get(interactions.size() - 1)) : null);
+            return Result.success(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("游标查询用户互动记录参数错误: 用户={}, 游标={}", userId, cursor);
+            return Result.error("INTERACTION_PARAM_ERROR", e.getMessage());
         } catch (Exception e) {
-            log.error("查询用户评论记录失败", e);
-            return Collections.emptyList();
+            log.error("游标查询用户互动记录失败", e);
+            return Result.error("INTERACTION_QUERY_ERROR", "查询用户互动记录失败: " + e.getMessage());
         }
     }
 
-    /**
-     * 获取被别人评论的记录 (COMMENT_RECEIVE)
-     */
-    private List<SocialInteractionResponse> getCommentReceiveInteractions(Long userId) {
+    // =================== 关注动态流 ===================
+
+    @Override
+    public Result<SocialTimelineResponse> getFollowingTimeline(Long userId, String cursor, Integer pageSize) {
         try {
-            Result<PageResponse<CommentResponse>> commentResult = commentFacadeService.getUserReplies(userId, 1, 100);
-            
-            if (!commentResult.getSuccess() || commentResult.getData() == null) {
-                log.warn("查询被评论记录失败: userId={}", userId);
-                return Collections.emptyList();
-            }
-            
-            List<CommentResponse> comments = commentResult.getData().getDatas();
-            return comments.stream().map(comment -> {
-                SocialInteractionResponse interaction = new SocialInteractionResponse();
-                interaction.setInteractionId(comment.getId());
-                interaction.setInteractionType("COMMENT_RECEIVE");
-                interaction.setInteractionTime(comment.getCreateTime());
-                interaction.setDynamicId(comment.getTargetId());
-                interaction.setDynamicAuthorId(userId);
-                interaction.setInteractionUserId(comment.getUserId());
-                interaction.setInteractionUserName(comment.getUserNickname());
-                interaction.setInteractionUserAvatar(comment.getUserAvatar());
-                interaction.setCommentContent(comment.getContent());
-                interaction.setIsRead(false); // 默认未读
-                return interaction;
-            }).collect(Collectors.toList());
+            log.debug("查询关注动态流: 用户={}, 游标={}, 大小={}", userId, cursor, pageSize);
+
+            int size = pageSize == null || pageSize <= 0 ? 20 : Math.min(pageSize, 100);
+            SocialTimelineService.TimelinePage page = socialTimelineService.getTimeline(userId, cursor, size);
+
+            List<SocialDynamicResponse> dynamics = page.dynamics().stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+            SocialTimelineResponse response = new SocialTimelineResponse();
+            response.setDynamics(dynamics);
+            response.setNextCursor(page.nextCursor());
+            response.setHasMore(page.hasMore());
+            return Result.success(response);
+        } catch (BizException e) {
+            log.warn("查询关注动态流参数错误: 用户={}, 游标={}", userId, cursor);
+            return Result.error("TIMELINE_PARAM_ERROR", e.getMessage());
         } catch (Exception e) {
-            log.error("查询被评论记录失败", e);
-            return Collections.emptyList();
+            log.error("查询关注动态流失败", e);
+            return Result.error("TIMELINE_QUERY_ERROR", "查询关注动态流失败: " + e.getMessage());
         }
     }
 
+    // =================== 互动记录查询方法 ===================
+
     // =================== 私有方法 ===================
 
     /**
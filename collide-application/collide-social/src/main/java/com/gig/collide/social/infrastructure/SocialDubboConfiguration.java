@@ -2,6 +2,7 @@ package com.gig.collide.social.infrastructure;
 
 import com.gig.collide.api.like.LikeFacadeService;
 import com.gig.collide.api.comment.CommentFacadeService;
+import com.gig.collide.api.follow.FollowFacadeService;
 import com.gig.collide.api.user.UserFacadeService;
 import org.apache.dubbo.config.annotation.DubboReference;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -19,6 +20,9 @@ public class SocialDubboConfiguration {
     @DubboReference(version = "1.0.0")
     private LikeFacadeService likeFacadeService;
 
+    @DubboReference(version = "1.0.0", check = false)
+    private FollowFacadeService followFacadeService;
+
 
     @Bean
     @ConditionalOnMissingBean(name = "userFacadeService")
@@ -37,4 +41,10 @@ public class SocialDubboConfiguration {
     public LikeFacadeService likeFacadeService() {
         return likeFacadeService;
     }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "followFacadeService")
+    public FollowFacadeService followFacadeService() {
+        return followFacadeService;
+    }
 }
@@ -0,0 +1,339 @@
+package com.gig.collide.social.infrastructure.interaction;
+
+import com.gig.collide.api.comment.CommentFacadeService;
+import com.gig.collide.api.comment.response.CommentResponse;
+import com.gig.collide.api.like.LikeFacadeService;
+import com.gig.collide.api.like.request.LikeQueryRequest;
+import com.gig.collide.api.like.response.LikeResponse;
+import com.gig.collide.api.social.response.SocialInteractionResponse;
+import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.web.vo.Result;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户互动记录聚合器
+ * <ul>
+ *     <li>并发：点赞别人、被点赞、评论别人、被评论四路远程查询在虚拟线程上同时发出，共用一个超时，超时或失败的来源按空处理</li>
+ *     <li>归并：各来源已按时间倒序，用堆做 k 路归并，取满所需条数即停止；多取一条判断是否还有更多</li>
+ *     <li>深度：单次最多聚合 max-depth 条，之后仍有记录时标记为截断，调用方需改用游标继续</li>
+ *     <li>游标：按 (互动时间, 来源, 互动ID) 定位，点赞查询把游标时间下推为 createTimeEnd，后续页不再拉取前面的数据</li>
+ * </ul>
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ * @since 2024-01-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InteractionAggregator {
+
+    /**
+     * 每个来源多取的条数，容纳与游标同一时间的记录
+     */
+    private static final int TIE_SLACK = 8;
+
+    /**
+     * 评论接口单页最大条数
+     */
+    private static final int COMMENT_PAGE_SIZE = 100;
+
+    /**
+     * 来源顺序，即游标中的来源序号
+     */
+    private static final List<String> SOURCES = List.of("LIKE_GIVE", "LIKE_RECEIVE", "COMMENT_GIVE", "COMMENT_RECEIVE");
+
+    private static final Comparator<Interaction> NEWEST_FIRST = Comparator
+            .comparingLong(Interaction::time).reversed()
+            .thenComparingInt(Interaction::source)
+            .thenComparing(Comparator.comparingLong(Interaction::id).reversed());
+
+    private final LikeFacadeService likeFacadeService;
+
+    private final CommentFacadeService commentFacadeService;
+
+    /**
+     * 四路查询的总超时（毫秒）
+     */
+    @Value("${collide.social.interaction.timeout-ms:800}")
+    private long timeoutMs;
+
+    /**
+     * 单次聚合最多取到的条数，更深的分页需使用游标
+     */
+    @Value("${collide.social.interaction.max-depth:500}")
+    private int maxDepth;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * 聚合游标之后最新的 limit 条互动记录，按时间倒序
+     *
+     * @param userId 用户ID
+     * @param cursor 上一页最后一条的游标，首页为 null
+     * @param limit  条数，超过 max-depth 时按 max-depth 聚合
+     * @return 互动记录及是否还有更多、是否被深度截断
+     */
+    public InteractionPage aggregate(Long userId, String cursor, int limit) {
+        InteractionCursor position = InteractionCursor.parse(cursor);
+        int size = Math.min(limit, maxDepth);
+        int fetchSize = size + 1;
+
+        List<CompletableFuture<List<Interaction>>> futures = new ArrayList<>(SOURCES.size());
+        for (int source = 0; source < SOURCES.size(); source++) {
+            int index = source;
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> fetch(index, userId, position, fetchSize), executor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        log.warn("查询互动记录超时或失败: 来源={}, 用户={}, 错误={}", SOURCES.get(index), userId, e.toString());
+                        return Collections.emptyList();
+                    }));
+        }
+
+        List<List<Interaction>> streams = new ArrayList<>(futures.size());
+        futures.forEach(future -> streams.add(future.join()));
+        List<Interaction> merged = merge(streams, fetchSize);
+        boolean hasMore = merged.size() > size;
+        List<SocialInteractionResponse> interactions = merged.stream()
+                .limit(size)
+                .map(Interaction::response)
+                .toList();
+        return new InteractionPage(interactions, hasMore, hasMore && size < limit);
+    }
+
+    /**
+     * 生成互动记录对应的游标，与 aggregate 返回的顺序一致
+     */
+    public String cursorOf(SocialInteractionResponse response) {
+        int source = SOURCES.indexOf(response.getInteractionType());
+        return new InteractionCursor(toMillis(response.getInteractionTime()), source, idOf(response)).format();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // =================== 归并 ===================
+
+    /**
+     * 堆上 k 路归并，每个流须已按 NEWEST_FIRST 排序
+     */
+    static List<Interaction> merge(List<List<Interaction>> streams, int limit) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, streams.size()),
+                (a, b) -> NEWEST_FIRST.compare(streams.get(a[0]).get(a[1]), streams.get(b[0]).get(b[1])));
+        for (int i = 0; i < streams.size(); i++) {
+            if (!streams.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<Interaction> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<Interaction> stream = streams.get(head[0]);
+            merged.add(stream.get(head[1]));
+            if (++head[1] < stream.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    // =================== 来源查询 ===================
+
+    private List<Interaction> fetch(int source, Long userId, InteractionCursor cursor, int limit) {
+        List<SocialInteractionResponse> responses = switch (source) {
+            case 0 -> fetchLikes(userId, true, cursor, limit);
+            case 1 -> fetchLikes(userId, false, cursor, limit);
+            case 2 -> fetchComments(userId, true, cursor, limit);
+            default -> fetchComments(userId, false, cursor, limit);
+        };
+
+        // 远程结果只保证按时间排序，这里补齐同一时间内的次序并裁掉游标之前的记录
+        return responses.stream()
+                .map(response -> new Interaction(source, toMillis(response.getInteractionTime()), idOf(response), response))
+                .filter(cursor::isBefore)
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 点赞记录支持按创建时间过滤，游标时间直接下推
+     */
+    private List<SocialInteractionResponse> fetchLikes(Long userId, boolean given, InteractionCursor cursor, int limit) {
+        LikeQueryRequest likeQuery = new LikeQueryRequest();
+        if (given) {
+            likeQuery.setUserId(userId);
+        } else {
+            likeQuery.setTargetAuthorId(userId);
+        }
+        likeQuery.setLikeType("DYNAMIC");
+        likeQuery.setStatus("active");
+        likeQuery.setCreateTimeEnd(cursor.upperBound());
+        likeQuery.setCurrentPage(1);
+        likeQuery.setPageSize(limit + TIE_SLACK);
+        likeQuery.setOrderBy("create_time");
+        likeQuery.setOrderDirection("DESC");
+
+        Result<PageResponse<LikeResponse>> likeResult = likeFacadeService.queryLikes(likeQuery);
+        if (!Boolean.TRUE.equals(likeResult.getSuccess()) || likeResult.getData() == null
+                || likeResult.getData().getDatas() == null) {
+            log.warn("查询点赞记录失败: userId={}, given={}", userId, given);
+            return Collections.emptyList();
+        }
+
+        return likeResult.getData().getDatas().stream().map(like -> {
+            SocialInteractionResponse interaction = new SocialInteractionResponse();
+            interaction.setInteractionId(like.getId());
+            interaction.setInteractionType(given ? "LIKE_GIVE" : "LIKE_RECEIVE");
+            interaction.setInteractionTime(like.getCreateTime());
+            interaction.setDynamicId(like.getTargetId());
+            interaction.setDynamicAuthorId(given ? like.getTargetAuthorId() : userId);
+            interaction.setInteractionUserId(given ? userId : like.getUserId());
+            interaction.setInteractionUserName(like.getUserNickname());
+            interaction.setInteractionUserAvatar(like.getUserAvatar());
+            interaction.setIsRead(given);
+            return interaction;
+        }).toList();
+    }
+
+    /**
+     * 评论接口不支持时间过滤，按页顺序读取直到游标之后的记录足够或到达最大深度
+     */
+    private List<SocialInteractionResponse> fetchComments(Long userId, boolean given, InteractionCursor cursor, int limit) {
+        int pageSize = Math.min(limit + TIE_SLACK, COMMENT_PAGE_SIZE);
+        int maxPages = (maxDepth + pageSize - 1) / pageSize + 1;
+        List<SocialInteractionResponse> interactions = new ArrayList<>();
+        int matched = 0;
+
+        for (int page = 1; page <= maxPages && matched < limit + TIE_SLACK; page++) {
+            Result<PageResponse<CommentResponse>> commentResult = given
+                    ? commentFacadeService.getUserComments(userId, "DYNAMIC", "NORMAL", page, pageSize)
+                    : commentFacadeService.getUserReplies(userId, page, pageSize);
+            if (!Boolean.TRUE.equals(commentResult.getSuccess()) || commentResult.getData() == null) {
+                log.warn("查询评论记录失败: userId={}, given={}", userId, given);
+                break;
+            }
+
+            List<CommentResponse> comments = commentResult.getData().getDatas();
+            if (CollectionUtils.isEmpty(comments)) {
+                break;
+            }
+            for (CommentResponse comment : comments) {
+                SocialInteractionResponse interaction = new SocialInteractionResponse();
+                interaction.setInteractionId(comment.getId());
+                interaction.setInteractionType(given ? "COMMENT_GIVE" : "COMMENT_RECEIVE");
+                interaction.setInteractionTime(comment.getCreateTime());
+                interaction.setDynamicId(comment.getTargetId());
+                interaction.setInteractionUserId(given ? userId : comment.getUserId());
+                interaction.setInteractionUserName(comment.getUserNickname());
+                interaction.setInteractionUserAvatar(comment.getUserAvatar());
+                interaction.setCommentContent(comment.getContent());
+                interaction.setIsRead(given);
+                if (!given) {
+                    interaction.setDynamicAuthorId(userId);
+                }
+                interactions.add(interaction);
+                if (toMillis(comment.getCreateTime()) <= cursor.time()) {
+                    matched++;
+                }
+            }
+            if (comments.size() < pageSize) {
+                break;
+            }
+        }
+        return interactions;
+    }
+
+    // =================== 内部方法 ===================
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long idOf(SocialInteractionResponse response) {
+        return response.getInteractionId() == null ? 0L : response.getInteractionId();
+    }
+
+    /**
+     * 聚合结果
+     *
+     * @param interactions 按时间倒序的互动记录
+     * @param hasMore      之后是否还有记录
+     * @param truncated    请求的条数超过 max-depth 且之后仍有记录，深度之外的记录未返回
+     */
+    public record InteractionPage(List<SocialInteractionResponse> interactions, boolean hasMore, boolean truncated) {
+    }
+
+    /**
+     * 归并元素
+     *
+     * @param source 来源序号
+     * @param time   互动时间（毫秒）
+     */
+    record Interaction(int source, long time, long id, SocialInteractionResponse response) {
+    }
+
+    /**
+     * 互动记录游标，格式为 "时间_来源_互动ID"，与 NEWEST_FIRST 的排序键一致
+     */
+    private record InteractionCursor(long time, int source, long id) {
+
+        private static final InteractionCursor FIRST = new InteractionCursor(Long.MAX_VALUE, -1, Long.MAX_VALUE);
+
+        static InteractionCursor parse(String cursor) {
+            if (!StringUtils.hasText(cursor)) {
+                return FIRST;
+            }
+            String[] parts = cursor.split("_");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("无效的游标: " + cursor);
+            }
+            return new InteractionCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        }
+
+        /**
+         * 记录是否排在游标之后
+         */
+        boolean isBefore(Interaction interaction) {
+            return NEWEST_FIRST.compare(interaction, new Interaction(source, time, id, null)) > 0;
+        }
+
+        /**
+         * 下推给远程查询的时间上界（含），首页不限制
+         */
+        LocalDateTime upperBound() {
+            return this == FIRST ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        }
+
+        String format() {
+            return time + "_" + source + "_" + id;
+        }
+    }
+}
@@ -37,11 +37,9 @@ public interface SocialDynamicMapper extends BaseMapper<SocialDynamic> {
     List<SocialDynamic> selectHotDynamics(@Param("limit") Integer limit);
 
     /**
-     * 获取关注用户的动态流
+     * 获取关注用户的近期动态ID和发布时间，用于重建动态流收件箱
      */
-    List<SocialDynamic> selectFollowingDynamics(@Param("userId") Long userId, 
-                                               @Param("offset") Integer offset, 
-                                               @Param("limit") Integer limit);
+    List<SocialDynamic> selectFollowingTimeline(@Param("userId") Long userId, @Param("limit") Integer limit);
 
     /**
      * 增加点赞数
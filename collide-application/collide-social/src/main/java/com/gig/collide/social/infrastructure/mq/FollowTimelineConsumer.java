@@ -0,0 +1,54 @@
+package com.gig.collide.social.infrastructure.mq;
+
+import com.gig.collide.mq.consumer.AbstractStreamConsumer;
+import com.gig.collide.mq.param.FollowChangedEvent;
+import com.gig.collide.mq.param.MessageBody;
+import com.gig.collide.social.domain.service.SocialTimelineService;
+import com.gig.collide.social.infrastructure.timeline.TimelineStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.function.Consumer;
+
+/**
+ * 关注变更消息消费者，关注后回填、取关后移除关注者动态流中被关注者的动态
+ * 关注服务只发送事件，不再同步调用社交服务；同一对关注关系的消息乱序到达时，
+ * 按变更时间丢弃较早的事件，避免先取关后关注的结果被旧消息覆盖
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class FollowTimelineConsumer extends AbstractStreamConsumer {
+
+    private final SocialTimelineService socialTimelineService;
+
+    private final TimelineStore timelineStore;
+
+    @Bean
+    public Consumer<Message<MessageBody>> followChanged() {
+        return message -> {
+            FollowChangedEvent event = getMessage(message, FollowChangedEvent.class);
+            if (event == null || event.getFollowerId() == null || event.getFolloweeId() == null
+                    || event.getFollowed() == null || event.getChangeTime() == null) {
+                log.warn("关注变更消息缺少字段，跳过: identifier={}", getIdentifier(message));
+                return;
+            }
+            if (!timelineStore.acceptFollowChange(event.getFollowerId(), event.getFolloweeId(), event.getChangeTime())) {
+                log.info("关注变更消息早于已处理的变更，跳过: followerId={}, followeeId={}, followed={}",
+                        event.getFollowerId(), event.getFolloweeId(), event.getFollowed());
+                return;
+            }
+            if (event.getFollowed()) {
+                socialTimelineService.backfill(event.getFollowerId(), event.getFolloweeId());
+            } else {
+                socialTimelineService.remove(event.getFollowerId(), event.getFolloweeId());
+            }
+        };
+    }
+}
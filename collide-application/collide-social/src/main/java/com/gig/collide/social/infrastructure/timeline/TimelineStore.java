@@ -0,0 +1,313 @@
+package com.gig.collide.social.infrastructure.timeline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 动态流 Redis 存储
+ * <ul>
+ *     <li>收件箱 inbox:{userId}：推模式写入的关注动态，score 为发布时间，成员为动态ID，定长截断</li>
+ *     <li>发件箱 outbox:{userId}：作者自己的近期动态，用于大V拉模式读取和关注回填</li>
+ *     <li>大V集合：粉丝数超过阈值的作者，发布时不扇出，读取时从其发件箱拉取合并</li>
+ * </ul>
+ * 收件箱和发件箱只在已存在时追加，不存在时由读取方从数据库整体重建，避免出现缺失历史的残缺列表
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ * @since 2024-01-16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimelineStore {
+
+    private static final String INBOX_KEY_PREFIX = "collide:social:timeline:inbox:";
+
+    private static final String OUTBOX_KEY_PREFIX = "collide:social:timeline:outbox:";
+
+    private static final String CELEBRITY_KEY = "collide:social:timeline:celebrities";
+
+    private static final String CELEBRITY_FOLLOW_KEY_PREFIX = "collide:social:timeline:celebrity-follow:";
+
+    private static final String FOLLOW_CHANGE_KEY_PREFIX = "collide:social:timeline:follow-change:";
+
+    /**
+     * 占位成员，标记列表已从数据库重建过（可能为空）
+     */
+    private static final String PLACEHOLDER = "0";
+
+    /**
+     * Redis Lua 脚本：列表存在时追加并截断到固定长度
+     */
+    private static final String APPEND_IF_EXISTS_SCRIPT = """
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            return 0
+        end
+        redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+        redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 2))
+        return 1
+        """;
+
+    /**
+     * Redis Lua 脚本：关注变更时间不早于已处理的变更时记录并返回1，否则返回0（同一消息重试仍返回1）
+     */
+    private static final String ACCEPT_FOLLOW_CHANGE_SCRIPT = """
+        local last = redis.call('HGET', KEYS[1], ARGV[1])
+        if last and tonumber(last) > tonumber(ARGV[2]) then
+            return 0
+        end
+        redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+        redis.call('EXPIRE', KEYS[1], ARGV[3])
+        return 1
+        """;
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 收件箱容量
+     */
+    @Value("${collide.social.timeline.inbox-capacity:800}")
+    private int inboxCapacity;
+
+    /**
+     * 发件箱容量
+     */
+    @Value("${collide.social.timeline.outbox-capacity:200}")
+    private int outboxCapacity;
+
+    /**
+     * 收件箱和发件箱过期时间（天），不活跃用户的列表自动回收
+     */
+    @Value("${collide.social.timeline.expire-days:7}")
+    private long expireDays;
+
+    /**
+     * 用户关注的大V缓存时间（分钟）
+     */
+    @Value("${collide.social.timeline.celebrity-follow-expire-minutes:10}")
+    private long celebrityFollowExpireMinutes;
+
+    public int getInboxCapacity() {
+        return inboxCapacity;
+    }
+
+    public int getOutboxCapacity() {
+        return outboxCapacity;
+    }
+
+    // =================== 收件箱 ===================
+
+    public boolean hasInbox(Long userId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(INBOX_KEY_PREFIX + userId));
+    }
+
+    public void rebuildInbox(Long userId, List<TimelineEntry> entries) {
+        rebuild(INBOX_KEY_PREFIX + userId, entries, inboxCapacity);
+    }
+
+    /**
+     * 批量推送到多个收件箱，一次 pipeline 完成；收件箱不存在的用户跳过，读取时再重建
+     */
+    public void pushToInboxes(Collection<Long> userIds, TimelineEntry entry) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String score = String.valueOf(entry.score());
+        String member = String.valueOf(entry.dynamicId());
+        String capacity = String.valueOf(inboxCapacity);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long userId : userIds) {
+                stringConnection.eval(APPEND_IF_EXISTS_SCRIPT, ReturnType.INTEGER, 1,
+                        INBOX_KEY_PREFIX + userId, score, member, capacity);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 把多条动态合并进已存在的收件箱
+     */
+    public void mergeIntoInbox(Long userId, List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        String key = INBOX_KEY_PREFIX + userId;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (TimelineEntry entry : entries) {
+                stringConnection.eval(APPEND_IF_EXISTS_SCRIPT, ReturnType.INTEGER, 1,
+                        key, String.valueOf(entry.score()), String.valueOf(entry.dynamicId()), String.valueOf(inboxCapacity));
+            }
+            return null;
+        });
+    }
+
+    public void removeFromInbox(Long userId, Collection<Long> dynamicIds) {
+        if (dynamicIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForZSet().remove(INBOX_KEY_PREFIX + userId,
+                dynamicIds.stream().map(String::valueOf).toArray());
+    }
+
+    public List<TimelineEntry> rangeInbox(Long userId, long maxScore, int limit) {
+        return range(INBOX_KEY_PREFIX + userId, maxScore, limit);
+    }
+
+    // =================== 发件箱 ===================
+
+    public boolean hasOutbox(Long authorId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(OUTBOX_KEY_PREFIX + authorId));
+    }
+
+    public void rebuildOutbox(Long authorId, List<TimelineEntry> entries) {
+        rebuild(OUTBOX_KEY_PREFIX + authorId, entries, outboxCapacity);
+    }
+
+    public void pushToOutbox(Long authorId, TimelineEntry entry) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> ((StringRedisConnection) connection).eval(
+                APPEND_IF_EXISTS_SCRIPT, ReturnType.INTEGER, 1, OUTBOX_KEY_PREFIX + authorId,
+                String.valueOf(entry.score()), String.valueOf(entry.dynamicId()), String.valueOf(outboxCapacity)));
+    }
+
+    public List<TimelineEntry> rangeOutbox(Long authorId, long maxScore, int limit) {
+        return range(OUTBOX_KEY_PREFIX + authorId, maxScore, limit);
+    }
+
+    // =================== 大V ===================
+
+    public boolean isCelebrity(Long authorId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(CELEBRITY_KEY, String.valueOf(authorId)));
+    }
+
+    public void markCelebrity(Long authorId) {
+        redisTemplate.opsForSet().add(CELEBRITY_KEY, String.valueOf(authorId));
+    }
+
+    public Set<Long> getCelebrities() {
+        return toIds(redisTemplate.opsForSet().members(CELEBRITY_KEY));
+    }
+
+    /**
+     * 用户关注的大V，未缓存时返回 null
+     */
+    public Set<Long> getFollowedCelebrities(Long userId) {
+        Set<String> members = redisTemplate.opsForSet().members(CELEBRITY_FOLLOW_KEY_PREFIX + userId);
+        return members == null || members.isEmpty() ? null : toIds(members);
+    }
+
+    public void cacheFollowedCelebrities(Long userId, Collection<Long> celebrityIds) {
+        String key = CELEBRITY_FOLLOW_KEY_PREFIX + userId;
+        List<String> members = new ArrayList<>(celebrityIds.size() + 1);
+        members.add(PLACEHOLDER);
+        celebrityIds.forEach(id -> members.add(String.valueOf(id)));
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) {
+                operations.multi();
+                operations.delete(key);
+                operations.opsForSet().add(key, members.toArray());
+                operations.expire(key, Duration.ofMinutes(celebrityFollowExpireMinutes));
+                return operations.exec();
+            }
+        });
+    }
+
+    public void evictFollowedCelebrities(Long userId) {
+        redisTemplate.delete(CELEBRITY_FOLLOW_KEY_PREFIX + userId);
+    }
+
+    // =================== 关注变更 ===================
+
+    /**
+     * 登记一次关注变更，乱序到达的较早变更返回 false，调用方应丢弃
+     *
+     * @param changeTime 变更时间（毫秒）
+     */
+    public boolean acceptFollowChange(Long followerId, Long followeeId, long changeTime) {
+        Long accepted = redisTemplate.execute((RedisCallback<Long>) connection -> ((StringRedisConnection) connection).eval(
+                ACCEPT_FOLLOW_CHANGE_SCRIPT, ReturnType.INTEGER, 1, FOLLOW_CHANGE_KEY_PREFIX + followerId,
+                String.valueOf(followeeId), String.valueOf(changeTime), String.valueOf(Duration.ofDays(expireDays).toSeconds())));
+        return accepted != null && accepted == 1L;
+    }
+
+    // =================== 内部方法 ===================
+
+    private void rebuild(String key, List<TimelineEntry> entries, int capacity) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        tuples.add(ZSetOperations.TypedTuple.of(PLACEHOLDER, 0D));
+        entries.stream()
+                .limit(capacity)
+                .forEach(entry -> tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(entry.dynamicId()), (double) entry.score())));
+
+        // MULTI/EXEC 保证删除、写入、设置过期一次完成，其他连接看不到被删空或没有过期时间的中间状态
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) {
+                operations.multi();
+                operations.delete(key);
+                operations.opsForZSet().add(key, tuples);
+                operations.expire(key, Duration.ofDays(expireDays));
+                return operations.exec();
+            }
+        });
+    }
+
+    /**
+     * 按 score 倒序读取不超过 maxScore 的条目（含 maxScore，便于游标处理同一毫秒的多条动态）
+     */
+    private List<TimelineEntry> range(String key, long maxScore, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().reverseRangeByScoreWithScores(key, 1, maxScore, 0, limit);
+        if (tuples == null || tuples.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<TimelineEntry> entries = new ArrayList<>(tuples.size());
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            if (tuple.getValue() != null && tuple.getScore() != null && !PLACEHOLDER.equals(tuple.getValue())) {
+                entries.add(new TimelineEntry(Long.parseLong(tuple.getValue()), tuple.getScore().longValue()));
+            }
+        }
+        return entries;
+    }
+
+    private Set<Long> toIds(Set<String> members) {
+        if (members == null) {
+            return Collections.emptySet();
+        }
+        return members.stream()
+                .filter(member -> !PLACEHOLDER.equals(member))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 动态流条目
+     *
+     * @param dynamicId 动态ID
+     * @param score     发布时间（毫秒）
+     */
+    public record TimelineEntry(long dynamicId, long score) {
+    }
+}
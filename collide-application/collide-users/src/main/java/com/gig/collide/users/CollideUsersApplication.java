@@ -5,6 +5,7 @@ import org.apache.dubbo.config.spring.context.annotation.EnableDubbo;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import com.alicp.jetcache.anno.config.EnableCreateCacheAnnotation;
 import com.alicp.jetcache.anno.config.EnableMethodCache;
@@ -24,6 +25,7 @@ import com.alicp.jetcache.anno.config.EnableMethodCache;
 @EnableMethodCache(basePackages = "com.gig.collide.users")
 @EnableCreateCacheAnnotation
 @MapperScan("com.gig.collide.users.infrastructure.mapper")
+@EnableScheduling
 public class CollideUsersApplication {
 
     public static void main(String[] args) {
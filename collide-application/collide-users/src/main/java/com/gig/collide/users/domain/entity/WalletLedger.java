@@ -0,0 +1,88 @@
+package com.gig.collide.users.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 钱包流水实体
+ * 对应t_wallet_ledger表，只追加不修改；同一用户同一业务ID同一类型只记一条，用于幂等
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Data
+@TableName("t_wallet_ledger")
+public class WalletLedger {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 业务ID，为空时不做幂等
+     */
+    private String businessId;
+
+    /**
+     * 流水类型：income、expense、freeze、unfreeze
+     */
+    private String entryType;
+
+    /**
+     * 金额
+     */
+    private BigDecimal amount;
+
+    /**
+     * 入账子账户，-1 表示主账户
+     */
+    private Integer subAccount;
+
+    /**
+     * 描述
+     */
+    private String description;
+
+    private LocalDateTime createTime;
+
+    /**
+     * 流水类型枚举
+     */
+    public enum EntryType {
+        INCOME("income"),
+        EXPENSE("expense"),
+        FREEZE("freeze"),
+        UNFREEZE("unfreeze");
+
+        private final String code;
+
+        EntryType(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    public static WalletLedger of(Long userId, String businessId, EntryType type, BigDecimal amount,
+                                  int subAccount, String description) {
+        WalletLedger ledger = new WalletLedger();
+        ledger.setUserId(userId);
+        ledger.setBusinessId(businessId);
+        ledger.setEntryType(type.getCode());
+        ledger.setAmount(amount);
+        ledger.setSubAccount(subAccount);
+        ledger.setDescription(description);
+        return ledger;
+    }
+}
@@ -4,6 +4,8 @@ import com.gig.collide.api.user.request.UserQueryRequest;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.users.domain.entity.User;
 
+import java.util.List;
+
 /**
  * 用户领域服务接口 - 简洁版
  * 
@@ -27,6 +29,11 @@ public interface UserService {
      */
     User getUserById(Long userId);
 
+    /**
+     * 根据ID批量查询用户，不存在的用户不返回
+     */
+    List<User> getUsersByIds(List<Long> userIds);
+
     /**
      * 根据用户名查询用户
      */
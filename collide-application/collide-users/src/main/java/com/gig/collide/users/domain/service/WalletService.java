@@ -61,4 +61,11 @@ public interface WalletService {
      * 解冻金额（订单取消或完成时使用）
      */
     boolean unfreezeAmount(Long userId, BigDecimal amount, String businessId, String description);
+
+    /**
+     * 合并热点账户子账户中的入账到主账户
+     *
+     * @return 合并的金额
+     */
+    BigDecimal settleSubAccounts(Long userId);
 }
\ No newline at end of file
@@ -79,6 +79,14 @@ public class UserServiceImpl implements UserService {
         return userMapper.findById(userId);
     }
 
+    @Override
+    public List<User> getUsersByIds(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        return userMapper.findByIds(userIds);
+    }
+
     @Override
     public User getUserByUsername(String username) {
         return userMapper.findByUsername(username);
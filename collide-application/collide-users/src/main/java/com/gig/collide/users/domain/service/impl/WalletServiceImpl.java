@@ -1,18 +1,30 @@
 package com.gig.collide.users.domain.service.impl;
 
 import com.gig.collide.users.domain.entity.UserWallet;
+import com.gig.collide.users.domain.entity.WalletLedger;
+import com.gig.collide.users.domain.entity.WalletLedger.EntryType;
 import com.gig.collide.users.domain.service.WalletService;
 import com.gig.collide.users.infrastructure.mapper.UserWalletMapper;
+import com.gig.collide.users.infrastructure.mapper.WalletLedgerMapper;
+import com.gig.collide.users.infrastructure.mapper.WalletSubAccountMapper;
+import com.gig.collide.users.infrastructure.wallet.HotAccountDetector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
- * 钱包服务实现
+ * 钱包服务实现 - 流水版
+ * <ul>
+ *     <li>幂等：每次变动先追加一条流水，同一用户同一业务ID同一类型重复提交时直接返回成功，不再变动余额</li>
+ *     <li>扣款、冻结、解冻：主账户单条条件更新，强一致；余额不足时先就地结算子账户再重试</li>
+ *     <li>入账：普通账户直接加到主账户；热点收款账户分散到多个子账户行，读取时汇总，由结算任务合并</li>
+ * </ul>
+ * 变动失败时回滚整个事务，流水不会留下，业务方可以用同一业务ID重试
  * 
  * @author GIG Team
  * @version 2.0.0
@@ -24,6 +36,12 @@ public class WalletServiceImpl implements WalletService {
 
     private final UserWalletMapper walletMapper;
 
+    private final WalletLedgerMapper ledgerMapper;
+
+    private final WalletSubAccountMapper subAccountMapper;
+
+    private final HotAccountDetector hotAccountDetector;
+
     @Override
     public UserWallet getWalletByUserId(Long userId) {
         return walletMapper.selectByUserId(userId);
@@ -51,69 +69,34 @@ public class WalletServiceImpl implements WalletService {
 
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public boolean freezeAmount(Long userId, BigDecimal amount, String businessId, String description) {
         log.info("用户{}冻结金额，金额：{}，业务ID：{}，描述：{}", userId, amount, businessId, description);
 
-        try {
-            UserWallet wallet = getWalletByUserId(userId);
-            if (wallet == null) {
-                log.error("冻结失败：钱包不存在，用户ID：{}", userId);
-                return false;
-            }
-
-            if (!wallet.hasSufficientBalance(amount)) {
-                log.error("冻结失败：可用余额不足，用户ID：{}，需要金额：{}，可用余额：{}", userId, amount, wallet.getAvailableBalance());
-                return false;
-            }
-
-            // 减少可用余额，增加冻结金额
-            int deductResult = walletMapper.updateBalance(userId, amount, false);
-            int freezeResult = walletMapper.updateFrozenAmount(userId, amount, true);
-
-            if (deductResult <= 0 || freezeResult <= 0) {
-                log.error("冻结失败：数据库操作失败，用户ID：{}，金额：{}", userId, amount);
-                return false;
-            }
-
+        if (!appendLedger(userId, businessId, EntryType.FREEZE, amount, HotAccountDetector.MAIN_ACCOUNT, description)) {
+            return true;
+        }
+        if (walletMapper.freezeBalance(userId, amount) > 0
+                || (settleForDebit(userId) && walletMapper.freezeBalance(userId, amount) > 0)) {
             return true;
-        } catch (Exception e) {
-            log.error("冻结失败：用户{}，金额：{}，错误：{}", userId, amount, e.getMessage());
-            return false;
         }
+        log.error("冻结失败：钱包不存在、状态异常或可用余额不足，用户ID：{}，金额：{}", userId, amount);
+        return rollback();
     }
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public boolean unfreezeAmount(Long userId, BigDecimal amount, String businessId, String description) {
         log.info("用户{}解冻金额，金额：{}，业务ID：{}，描述：{}", userId, amount, businessId, description);
 
-        try {
-            UserWallet wallet = getWalletByUserId(userId);
-            if (wallet == null) {
-                log.error("解冻失败：钱包不存在，用户ID：{}", userId);
-                return false;
-            }
-
-            if (wallet.getFrozenAmount().compareTo(amount) < 0) {
-                log.error("解冻失败：冻结金额不足，用户ID：{}，需要解冻：{}，冻结金额：{}", userId, amount, wallet.getFrozenAmount());
-                return false;
-            }
-
-            // 减少冻结金额，增加可用余额
-            int unfreezeResult = walletMapper.updateFrozenAmount(userId, amount, false);
-            int addResult = walletMapper.updateBalance(userId, amount, true);
-
-            if (unfreezeResult <= 0 || addResult <= 0) {
-                log.error("解冻失败：数据库操作失败，用户ID：{}，金额：{}", userId, amount);
-                return false;
-            }
-
+        if (!appendLedger(userId, businessId, EntryType.UNFREEZE, amount, HotAccountDetector.MAIN_ACCOUNT, description)) {
+            return true;
+        }
+        if (walletMapper.unfreezeBalance(userId, amount) > 0) {
             return true;
-        } catch (Exception e) {
-            log.error("解冻失败：用户{}，金额：{}，错误：{}", userId, amount, e.getMessage());
-            return false;
         }
+        log.error("解冻失败：钱包不存在或冻结金额不足，用户ID：{}，金额：{}", userId, amount);
+        return rollback();
     }
 
     @Override
@@ -123,41 +106,101 @@ public class WalletServiceImpl implements WalletService {
     }
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public boolean deductBalance(Long userId, BigDecimal amount, String businessId, String description) {
         log.info("用户{}扣款，金额：{}，业务ID：{}，描述：{}", userId, amount, businessId, description);
-        
-        try {
-            int result = walletMapper.deductBalance(userId, amount);
-            return result > 0;
-        } catch (Exception e) {
-            log.error("扣款失败：用户{}，金额：{}，错误：{}", userId, amount, e.getMessage());
-            return false;
+
+        if (!appendLedger(userId, businessId, EntryType.EXPENSE, amount, HotAccountDetector.MAIN_ACCOUNT, description)) {
+            return true;
+        }
+        if (walletMapper.deductBalance(userId, amount) > 0
+                || (settleForDebit(userId) && walletMapper.deductBalance(userId, amount) > 0)) {
+            return true;
         }
+        log.error("扣款失败：钱包不存在、状态异常或余额不足，用户ID：{}，金额：{}", userId, amount);
+        return rollback();
     }
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public boolean addBalance(Long userId, BigDecimal amount, String businessId, String description) {
         log.info("用户{}充值，金额：{}，业务ID：{}，描述：{}", userId, amount, businessId, description);
-        
-        try {
-            int result = walletMapper.addBalance(userId, amount);
-            return result > 0;
-        } catch (Exception e) {
-            log.error("充值失败：用户{}，金额：{}，错误：{}", userId, amount, e.getMessage());
-            return false;
+
+        int subAccount = hotAccountDetector.route(userId);
+        if (!appendLedger(userId, businessId, EntryType.INCOME, amount, subAccount, description)) {
+            return true;
         }
+        if (subAccount != HotAccountDetector.MAIN_ACCOUNT) {
+            // 热点账户：只写子账户行，不与主账户上的扣款和其他入账争抢行锁；状态检查与主账户入账一致，但不加锁
+            if (walletMapper.existsActive(userId)) {
+                subAccountMapper.credit(userId, subAccount, amount);
+                return true;
+            }
+            log.error("充值失败：钱包不存在或状态异常，用户ID：{}，金额：{}", userId, amount);
+            return rollback();
+        }
+        if (walletMapper.addBalance(userId, amount) > 0) {
+            return true;
+        }
+        log.error("充值失败：钱包不存在或状态异常，用户ID：{}，金额：{}", userId, amount);
+        return rollback();
     }
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
+    public BigDecimal settleSubAccounts(Long userId) {
+        // 先锁主账户再锁子账户，与扣款时的就地结算保持相同的加锁顺序
+        if (walletMapper.lockByUserId(userId) == null) {
+            // 入账前已检查钱包存在，走到这里说明钱包被删除，子账户金额无处合并，需要人工处理
+            throw new IllegalStateException("钱包不存在，子账户无法结算: userId=" + userId);
+        }
+        BigDecimal pending = subAccountMapper.sumForUpdate(userId);
+        if (pending == null || pending.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        walletMapper.mergeSettled(userId, pending);
+        subAccountMapper.clear(userId);
+        log.debug("子账户已结算: userId={}, amount={}", userId, pending);
+        return pending;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
     public void updateWalletStatus(Long userId, String status) {
-        UserWallet wallet = getWalletByUserId(userId);
-        if (wallet != null) {
-            wallet.setStatus(status);
-            wallet.setUpdateTime(LocalDateTime.now());
-            walletMapper.updateById(wallet);
+        // 只更新状态，查询结果中的余额包含子账户金额，不能整行写回
+        walletMapper.updateStatus(userId, status);
+    }
+
+    // =================== 私有方法 ===================
+
+    /**
+     * 追加流水
+     *
+     * @return false 表示同一业务ID已处理过
+     */
+    private boolean appendLedger(Long userId, String businessId, EntryType type, BigDecimal amount,
+                                 int subAccount, String description) {
+        if (ledgerMapper.insertIgnore(WalletLedger.of(userId, businessId, type, amount, subAccount, description)) > 0) {
+            return true;
         }
+        log.info("重复的钱包变动，忽略：用户ID：{}，业务ID：{}，类型：{}", userId, businessId, type.getCode());
+        return false;
+    }
+
+    /**
+     * 扣款余额不足时就地结算子账户
+     *
+     * @return 是否有金额被合并，有才值得重试
+     */
+    private boolean settleForDebit(Long userId) {
+        return settleSubAccounts(userId).signum() > 0;
+    }
+
+    /**
+     * 回滚当前事务，撤销已追加的流水
+     */
+    private boolean rollback() {
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return false;
     }
-}
\ No newline at end of file
+}
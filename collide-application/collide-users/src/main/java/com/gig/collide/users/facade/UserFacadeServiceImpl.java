@@ -22,13 +22,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.apache.dubbo.config.annotation.DubboService;
+import com.alicp.jetcache.Cache;
+import com.alicp.jetcache.CacheManager;
 import com.alicp.jetcache.anno.Cached;
 import com.alicp.jetcache.anno.CacheInvalidate;
-import com.alicp.jetcache.anno.CacheUpdate;
 import com.alicp.jetcache.anno.CacheType;
+import com.alicp.jetcache.template.QuickConfig;
 import com.gig.collide.users.infrastructure.cache.UserCacheConstant;
+import com.gig.collide.users.infrastructure.mq.UserEventPublisher;
+import jakarta.annotation.PostConstruct;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.concurrent.TimeUnit;
 
@@ -52,6 +63,27 @@ public class UserFacadeServiceImpl implements UserFacadeService {
     @Autowired
     private UserBlockService userBlockService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserEventPublisher userEventPublisher;
+
+    /**
+     * 用户详情缓存，与 getUserById 上的 @Cached 为同一个缓存实例，用于批量读写。
+     * 开启本地缓存同步，更新时通过广播失效其他节点的本地缓存，批量覆盖不会读到旧资料
+     */
+    private Cache<String, Result<UserResponse>> userDetailCache;
+
+    @PostConstruct
+    public void initCache() {
+        userDetailCache = cacheManager.getOrCreateCache(QuickConfig.newBuilder(UserCacheConstant.USER_DETAIL_CACHE)
+                .expire(Duration.ofMinutes(UserCacheConstant.USER_DETAIL_EXPIRE))
+                .cacheType(CacheType.BOTH)
+                .syncLocal(true)
+                .build());
+    }
+
     @Override
     @CacheInvalidate(name = UserCacheConstant.USER_LIST_CACHE)
     public Result<Void> createUser(UserCreateRequest request) {
@@ -76,9 +108,6 @@ public class UserFacadeServiceImpl implements UserFacadeService {
     }
 
     @Override
-    @CacheUpdate(name = UserCacheConstant.USER_DETAIL_CACHE,
-                 key = UserCacheConstant.USER_DETAIL_KEY,
-                 value = "#result.data")
     @CacheInvalidate(name = UserCacheConstant.USER_LIST_CACHE)
     @CacheInvalidate(name = UserCacheConstant.USER_USERNAME_CACHE)
     public Result<UserResponse> updateUser(UserUpdateRequest request) {
@@ -89,11 +118,21 @@ public class UserFacadeServiceImpl implements UserFacadeService {
             if (user == null) {
                 return Result.error("USER_NOT_FOUND", "用户不存在");
             }
+            String oldNickname = user.getNickname();
+            String oldAvatar = user.getAvatar();
             
             BeanUtils.copyProperties(request, user);
             User updatedUser = userService.updateUser(user);
             UserResponse response = convertToResponse(updatedUser);
             
+            // 先刷新详情缓存，各模块读取时用它覆盖冗余的昵称、头像；再通知各模块分批回填
+            userDetailCache.put(detailKey(updatedUser.getId()), Result.success(response));
+            if (!Objects.equals(oldNickname, updatedUser.getNickname())
+                    || !Objects.equals(oldAvatar, updatedUser.getAvatar())) {
+                userEventPublisher.publishProfileUpdated(updatedUser.getId(),
+                        updatedUser.getNickname(), updatedUser.getAvatar());
+            }
+            
             log.info("用户更新成功: ID={}", updatedUser.getId());
             return Result.success(response);
         } catch (Exception e) {
@@ -107,7 +146,8 @@ public class UserFacadeServiceImpl implements UserFacadeService {
             key = UserCacheConstant.USER_DETAIL_KEY,
             expire = UserCacheConstant.USER_DETAIL_EXPIRE,
             timeUnit = TimeUnit.MINUTES,
-            cacheType = CacheType.BOTH)
+            cacheType = CacheType.BOTH,
+            syncLocal = true)
     public Result<UserResponse> getUserById(Long userId) {
         try {
             log.debug("获取用户详情: ID={}", userId);
@@ -125,6 +165,60 @@ public class UserFacadeServiceImpl implements UserFacadeService {
         }
     }
 
+    @Override
+    public Result<List<UserResponse>> getUsersByIds(List<Long> userIds) {
+        try {
+            if (userIds == null || userIds.isEmpty()) {
+                return Result.success(List.of());
+            }
+            Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+            distinctIds.remove(null);
+            log.debug("批量获取用户详情: size={}", distinctIds.size());
+
+            // 1. 批量读缓存，缓存键与 getUserById 一致
+            Map<String, Long> cacheKeys = new LinkedHashMap<>();
+            distinctIds.forEach(id -> cacheKeys.put(detailKey(id), id));
+            Map<String, Result<UserResponse>> cached = userDetailCache.getAll(cacheKeys.keySet());
+
+            Map<Long, UserResponse> found = new LinkedHashMap<>();
+            List<Long> missedIds = new ArrayList<>();
+            cacheKeys.forEach((key, id) -> {
+                Result<UserResponse> hit = cached.get(key);
+                if (hit == null) {
+                    missedIds.add(id);
+                } else if (Boolean.TRUE.equals(hit.getSuccess()) && hit.getData() != null) {
+                    found.put(id, hit.getData());
+                }
+            });
+
+            // 2. 未命中的用户一次查库，并回写缓存
+            if (!missedIds.isEmpty()) {
+                Map<String, Result<UserResponse>> loaded = new LinkedHashMap<>();
+                for (User user : userService.getUsersByIds(missedIds)) {
+                    UserResponse response = convertToResponse(user);
+                    found.put(user.getId(), response);
+                    loaded.put(detailKey(user.getId()), Result.success(response));
+                }
+                if (!loaded.isEmpty()) {
+                    userDetailCache.putAll(loaded);
+                }
+            }
+
+            // 3. 按请求顺序返回
+            List<UserResponse> responses = new ArrayList<>(found.size());
+            for (Long id : distinctIds) {
+                UserResponse response = found.get(id);
+                if (response != null) {
+                    responses.add(response);
+                }
+            }
+            return Result.success(responses);
+        } catch (Exception e) {
+            log.error("批量查询用户失败", e);
+            return Result.error("USER_BATCH_QUERY_ERROR", "批量查询用户失败: " + e.getMessage());
+        }
+    }
+
     @Override
     @Cached(name = UserCacheConstant.USER_USERNAME_CACHE,
             key = UserCacheConstant.USERNAME_KEY,
@@ -355,6 +449,13 @@ public class UserFacadeServiceImpl implements UserFacadeService {
         }
     }
 
+    /**
+     * 用户详情缓存键，与 UserCacheConstant.USER_DETAIL_KEY 保持一致
+     */
+    private static String detailKey(Long userId) {
+        return "user:detail:" + userId;
+    }
+
     /**
      * 转换为响应对象
      */
@@ -21,6 +21,11 @@ public interface UserMapper {
      */
     User findById(@Param("id") Long id);
 
+    /**
+     * 根据ID批量查询用户
+     */
+    List<User> findByIds(@Param("ids") List<Long> ids);
+
     /**
      * 根据用户名查询用户
      */
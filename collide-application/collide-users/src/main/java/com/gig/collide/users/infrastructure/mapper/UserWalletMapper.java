@@ -58,4 +58,38 @@ public interface UserWalletMapper extends BaseMapper<UserWallet> {
      */
     int addBalance(@Param("userId") Long userId, 
                   @Param("amount") BigDecimal amount);
-}
\ No newline at end of file
+
+    /**
+     * 锁定主账户行
+     */
+    Long lockByUserId(@Param("userId") Long userId);
+
+    /**
+     * 钱包是否存在且状态正常（不加锁）
+     */
+    boolean existsActive(@Param("userId") Long userId);
+
+    /**
+     * 冻结金额（原子操作）
+     */
+    int freezeBalance(@Param("userId") Long userId,
+                      @Param("amount") BigDecimal amount);
+
+    /**
+     * 解冻金额（原子操作）
+     */
+    int unfreezeBalance(@Param("userId") Long userId,
+                        @Param("amount") BigDecimal amount);
+
+    /**
+     * 合并子账户结算金额
+     */
+    int mergeSettled(@Param("userId") Long userId,
+                     @Param("amount") BigDecimal amount);
+
+    /**
+     * 更新钱包状态
+     */
+    int updateStatus(@Param("userId") Long userId,
+                     @Param("status") String status);
+}
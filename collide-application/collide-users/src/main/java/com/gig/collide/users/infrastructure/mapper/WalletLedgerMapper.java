@@ -0,0 +1,22 @@
+package com.gig.collide.users.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gig.collide.users.domain.entity.WalletLedger;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 钱包流水Mapper
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Mapper
+public interface WalletLedgerMapper extends BaseMapper<WalletLedger> {
+
+    /**
+     * 追加流水，业务ID与类型重复时忽略
+     *
+     * @return 1 新增，0 重复
+     */
+    int insertIgnore(WalletLedger ledger);
+}
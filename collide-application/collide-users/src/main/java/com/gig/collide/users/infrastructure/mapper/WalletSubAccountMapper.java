@@ -0,0 +1,43 @@
+package com.gig.collide.users.infrastructure.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 钱包子账户Mapper
+ * 热点账户的入账分散到多个子账户行，由结算任务合并回主账户
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Mapper
+public interface WalletSubAccountMapper {
+
+    /**
+     * 子账户入账，行不存在时创建
+     */
+    int credit(@Param("userId") Long userId,
+               @Param("shard") Integer shard,
+               @Param("amount") BigDecimal amount);
+
+    /**
+     * 锁定用户全部子账户并汇总待结算金额
+     */
+    BigDecimal sumForUpdate(@Param("userId") Long userId);
+
+    /**
+     * 清零用户全部子账户
+     */
+    int clear(@Param("userId") Long userId);
+
+    /**
+     * 按用户ID升序查询有待结算金额的用户
+     *
+     * @param afterUserId 上一批最后一个用户ID，从头开始时为 0
+     * @param limit       本批最多用户数
+     */
+    List<Long> selectPendingUserIds(@Param("afterUserId") Long afterUserId, @Param("limit") Integer limit);
+}
@@ -0,0 +1,56 @@
+package com.gig.collide.users.infrastructure.mq;
+
+import com.alibaba.fastjson2.JSON;
+import com.gig.collide.mq.constant.MqConstant;
+import com.gig.collide.mq.param.UserProfileChangedEvent;
+import com.gig.collide.mq.producer.StreamProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 用户资料变更事件发布
+ * 消息体为 {@link UserProfileChangedEvent}，携带变更后的昵称、头像和变更时间，在事务提交后发送；
+ * 各模块直接用事件中的资料分批回填冗余字段，不再回查带本地缓存的用户详情。
+ * 发送失败只记录日志，读取时的资料覆盖保证展示不受影响
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventPublisher {
+
+    private final StreamProducer streamProducer;
+
+    public void publishProfileUpdated(Long userId, String nickname, String avatar) {
+        UserProfileChangedEvent event = new UserProfileChangedEvent()
+                .setUserId(userId)
+                .setNickname(nickname)
+                .setAvatar(avatar)
+                .setUpdateTime(System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(UserProfileChangedEvent event) {
+        try {
+            if (!streamProducer.send(MqConstant.USER_UPDATED_TOPIC, MqConstant.UPDATE_TAG, JSON.toJSONString(event))) {
+                log.warn("用户资料变更消息发送失败: userId={}", event.getUserId());
+            }
+        } catch (Exception e) {
+            log.error("用户资料变更消息发送异常: userId={}", event.getUserId(), e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gig.collide.users.infrastructure.wallet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热点收款账户识别
+ * 按秒统计本节点每个用户的入账次数，超过阈值后在 hold 时间内视为热点，入账分散到子账户
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Component
+public class HotAccountDetector {
+
+    /**
+     * 主账户入账，不使用子账户
+     */
+    public static final int MAIN_ACCOUNT = -1;
+
+    /**
+     * 每秒入账次数阈值
+     */
+    @Value("${collide.users.wallet.hot-threshold-per-second:20}")
+    private long hotThreshold;
+
+    /**
+     * 识别为热点后的保持时间（毫秒）
+     */
+    @Value("${collide.users.wallet.hot-hold-ms:60000}")
+    private long hotHoldMs;
+
+    /**
+     * 热点账户的子账户数量
+     */
+    @Value("${collide.users.wallet.sub-accounts:8}")
+    private int subAccounts;
+
+    private final Map<Long, LongAdder> window = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> hotUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次入账并选择入账位置
+     *
+     * @return 子账户序号，非热点账户返回 {@link #MAIN_ACCOUNT}
+     */
+    public int route(Long userId) {
+        LongAdder counter = window.computeIfAbsent(userId, key -> new LongAdder());
+        counter.increment();
+        long now = System.currentTimeMillis();
+        if (counter.sum() >= hotThreshold) {
+            hotUntil.put(userId, now + hotHoldMs);
+        }
+        Long until = hotUntil.get(userId);
+        if (until == null || until < now) {
+            return MAIN_ACCOUNT;
+        }
+        return ThreadLocalRandom.current().nextInt(subAccounts);
+    }
+
+    /**
+     * 滚动统计窗口，并清理已过期的热点标记
+     */
+    @Scheduled(fixedRate = 1000)
+    public void roll() {
+        window.clear();
+        long now = System.currentTimeMillis();
+        hotUntil.values().removeIf(until -> until < now);
+    }
+}
@@ -0,0 +1,65 @@
+package com.gig.collide.users.infrastructure.wallet;
+
+import com.gig.collide.users.domain.service.WalletService;
+import com.gig.collide.users.infrastructure.mapper.WalletSubAccountMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 子账户结算任务
+ * 定时把热点账户子账户中的入账合并回主账户，每个用户单独事务；
+ * 结算先锁主账户行再锁子账户行，与扣款时的就地结算顺序一致，多节点同时执行也不会重复合并。
+ * 按用户ID游标分批推进，一轮扫完再从头开始，结算失败的用户不会挡住后面的用户
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletSettlementJob {
+
+    private final WalletSubAccountMapper subAccountMapper;
+
+    private final WalletService walletService;
+
+    /**
+     * 每次结算的用户数上限
+     */
+    @Value("${collide.users.wallet.settle-batch-size:200}")
+    private int settleBatchSize;
+
+    /**
+     * 上一批最后一个用户ID，仅由调度线程访问
+     */
+    private long cursor;
+
+    @Scheduled(fixedDelayString = "${collide.users.wallet.settle-interval-ms:5000}")
+    public void settle() {
+        List<Long> userIds;
+        try {
+            userIds = subAccountMapper.selectPendingUserIds(cursor, settleBatchSize);
+        } catch (Exception e) {
+            log.error("查询待结算子账户失败", e);
+            return;
+        }
+        cursor = userIds.size() < settleBatchSize ? 0 : userIds.get(userIds.size() - 1);
+        int settled = 0;
+        for (Long userId : userIds) {
+            try {
+                walletService.settleSubAccounts(userId);
+                settled++;
+            } catch (Exception e) {
+                log.error("子账户结算失败，下次重试: userId={}", userId, e);
+            }
+        }
+        if (settled > 0) {
+            log.info("子账户结算完成: count={}", settled);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.gig.collide.api.comment.request.CommentCreateRequest;
 import com.gig.collide.api.comment.request.CommentUpdateRequest;
 import com.gig.collide.api.comment.request.CommentQueryRequest;
 import com.gig.collide.api.comment.response.CommentResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 
@@ -85,6 +87,19 @@ public interface CommentFacadeService {
     Result<PageResponse<CommentResponse>> getTargetComments(Long targetId, String commentType, 
                                                            Long parentCommentId, Integer currentPage, Integer pageSize);
 
+    /**
+     * 按游标获取目标对象的评论列表
+     * 按时间倒序下滑加载，第一页不传游标，之后传上一页返回的 nextCursor
+     *
+     * @param targetId 目标对象ID
+     * @param commentType 评论类型：CONTENT、DYNAMIC
+     * @param parentCommentId 父评论ID，0表示获取根评论
+     * @param pageRequest 游标和页面大小
+     * @return 评论列表和下一页游标
+     */
+    Result<CursorPageResponse<CommentResponse>> getTargetCommentsByCursor(Long targetId, String commentType,
+                                                                         Long parentCommentId, CursorPageRequest pageRequest);
+
     /**
      * 获取评论的回复列表
      * 
@@ -7,6 +7,8 @@ import com.gig.collide.api.content.request.ChapterCreateRequest;
 import com.gig.collide.api.content.response.ContentResponse;
 import com.gig.collide.api.content.response.ChapterResponse;
 import com.gig.collide.web.vo.Result;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 
 /**
@@ -60,6 +62,16 @@ public interface ContentFacadeService {
      */
     Result<ContentResponse> getContentById(Long contentId, Boolean includeOffline);
     
+    /**
+     * 根据ID批量获取内容
+     * 优先读取内容详情缓存，未命中的内容一次批量查库；不存在的内容不返回
+     * 
+     * @param contentIds 内容ID列表
+     * @param includeOffline 是否包含下线内容
+     * @return 内容列表，按传入顺序
+     */
+    Result<java.util.List<ContentResponse>> getContentsByIds(java.util.List<Long> contentIds, Boolean includeOffline);
+    
     /**
      * 分页查询内容
      * 支持按类型、作者、分类、状态等条件查询
@@ -140,6 +152,15 @@ public interface ContentFacadeService {
      */
     Result<Long> increaseViewCount(Long contentId, Integer increment);
     
+    /**
+     * 记录一次浏览，浏览量加1并计入独立访客
+     * 
+     * @param contentId 内容ID
+     * @param viewerId 访客用户ID，可为空
+     * @return 更新后的浏览量
+     */
+    Result<Long> recordView(Long contentId, Long viewerId);
+    
     /**
      * 增加点赞数
      * 
@@ -199,6 +220,19 @@ public interface ContentFacadeService {
      */
     Result<PageResponse<ContentResponse>> getContentsByAuthor(Long authorId, String contentType, 
                                                             String status, Integer currentPage, Integer pageSize);
+
+    /**
+     * 按游标查询作者内容
+     * 按创建时间倒序，第一页不传游标，之后传上一页返回的 nextCursor
+     * 
+     * @param authorId 作者ID
+     * @param contentType 内容类型（可选）
+     * @param status 状态（可选）
+     * @param pageRequest 游标和页面大小
+     * @return 内容列表和下一页游标
+     */
+    Result<CursorPageResponse<ContentResponse>> getContentsByAuthorByCursor(Long authorId, String contentType,
+                                                                           String status, CursorPageRequest pageRequest);
     
     /**
      * 根据分类查询内容
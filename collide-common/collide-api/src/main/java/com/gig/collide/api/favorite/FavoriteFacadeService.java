@@ -111,6 +111,16 @@ public interface FavoriteFacadeService {
      */
     Result<Long> getTargetFavoriteCount(String favoriteType, Long targetId);
     
+    /**
+     * 批量获取目标对象被收藏数量
+     * 列表页一次取回整页目标的收藏数，避免逐个调用 getTargetFavoriteCount
+     * 
+     * @param favoriteType 收藏类型
+     * @param targetIds 目标ID列表
+     * @return 被收藏数量Map (targetId -> count)
+     */
+    Result<java.util.Map<Long, Long>> batchGetTargetFavoriteCount(String favoriteType, java.util.List<Long> targetIds);
+    
     /**
      * 获取用户收藏统计信息
      * 包含各类型收藏数量统计
@@ -162,6 +162,32 @@ public interface GoodsFacadeService {
      */
     Result<Void> batchReduceStock(Map<Long, Integer> stockMap);
 
+    /**
+     * 预占库存（TCC Try），多个商品要么全部预占成功要么全部不占，到期未确认自动释放
+     *
+     * @param transactionId 事务ID（如订单号），同一事务重复预占幂等
+     * @param stockMap      商品ID和预占数量的映射
+     * @param ttlSeconds    有效期（秒），为空时使用服务端默认值
+     * @return 预占结果（仅返回状态）
+     */
+    Result<Void> reserveStock(String transactionId, Map<Long, Integer> stockMap, Integer ttlSeconds);
+
+    /**
+     * 确认预占（TCC Confirm）
+     *
+     * @param transactionId 事务ID
+     * @return 确认结果（仅返回状态）
+     */
+    Result<Void> confirmStock(String transactionId);
+
+    /**
+     * 释放预占（TCC Cancel），未预占时记录空回滚，已确认的预占释放后退回库存
+     *
+     * @param transactionId 事务ID
+     * @return 释放结果（仅返回状态）
+     */
+    Result<Void> releaseStock(String transactionId);
+
     /**
      * 查询低库存商品
      *
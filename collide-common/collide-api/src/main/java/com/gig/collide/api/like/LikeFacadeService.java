@@ -75,6 +75,16 @@ public interface LikeFacadeService {
      */
     Result<Long> getLikeCount(String likeType, Long targetId);
     
+    /**
+     * 批量获取目标对象的点赞数量
+     * 列表页一次取回整页目标的点赞数，避免逐个调用 getLikeCount
+     * 
+     * @param likeType 点赞类型
+     * @param targetIds 目标ID列表
+     * @return 点赞数量Map (targetId -> likeCount)
+     */
+    Result<java.util.Map<Long, Long>> batchGetLikeCount(String likeType, java.util.List<Long> targetIds);
+    
     /**
      * 获取用户的点赞数量
      * 统计用户的总点赞数（按类型）
@@ -6,6 +6,8 @@ import com.gig.collide.api.message.request.MessageSessionQueryRequest;
 import com.gig.collide.api.message.response.MessageResponse;
 import com.gig.collide.api.message.response.MessageSessionResponse;
 import com.gig.collide.web.vo.Result;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 
 /**
@@ -87,6 +89,17 @@ public interface MessageFacadeService {
      * @return 聊天记录
      */
     Result<PageResponse<MessageResponse>> getChatHistory(Long userId1, Long userId2, Integer currentPage, Integer pageSize);
+
+    /**
+     * 按游标获取两用户间的聊天记录
+     * 从最新消息开始按时间倒序加载，第一页不传游标，之后传上一页返回的 nextCursor
+     *
+     * @param userId1 用户1 ID
+     * @param userId2 用户2 ID
+     * @param pageRequest 游标和页面大小
+     * @return 聊天记录和下一页游标
+     */
+    Result<CursorPageResponse<MessageResponse>> getChatHistoryByCursor(Long userId1, Long userId2, CursorPageRequest pageRequest);
     
     /**
      * 获取用户会话列表
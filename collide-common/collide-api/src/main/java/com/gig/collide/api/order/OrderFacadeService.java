@@ -3,6 +3,8 @@ package com.gig.collide.api.order;
 import com.gig.collide.api.order.request.OrderCreateRequest;
 import com.gig.collide.api.order.request.OrderQueryRequest;
 import com.gig.collide.api.order.response.OrderResponse;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.response.CursorPageResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 
@@ -85,6 +87,17 @@ public interface OrderFacadeService {
      */
     PageResponse<OrderResponse> getUserOrders(Long userId, String status, Integer currentPage, Integer pageSize);
 
+    /**
+     * 按游标查询用户订单
+     * 按下单时间倒序，第一页不传游标，之后传上一页返回的 nextCursor
+     *
+     * @param userId      用户ID
+     * @param status      订单状态（可选）
+     * @param pageRequest 游标和页面大小
+     * @return 订单列表和下一页游标
+     */
+    CursorPageResponse<OrderResponse> getUserOrdersByCursor(Long userId, String status, CursorPageRequest pageRequest);
+
     /**
      * 根据商品类型查询订单
      *
@@ -23,7 +23,7 @@ public class SearchRequest implements Serializable {
     @Size(max = 200, message = "搜索关键词长度不能超过200字符")
     private String keyword;
 
-    @Pattern(regexp = "^(content|goods|user)$", message = "搜索类型只能是content、goods或user")
+    @Pattern(regexp = "^(content|goods|user|comment)$", message = "搜索类型只能是content、goods、user或comment")
     private String searchType = "content";
 
     @NotNull(message = "用户ID不能为空")
@@ -4,6 +4,8 @@ import com.gig.collide.api.social.request.SocialDynamicCreateRequest;
 import com.gig.collide.api.social.request.SocialDynamicQueryRequest;
 import com.gig.collide.api.social.request.SocialDynamicUpdateRequest;
 import com.gig.collide.api.social.response.SocialDynamicResponse;
+import com.gig.collide.api.social.response.SocialInteractionCursorResponse;
+import com.gig.collide.api.social.response.SocialTimelineResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.Result;
 
@@ -153,4 +155,25 @@ public interface SocialFacadeService {
      * @return 互动记录列表
      */
     PageResponse<Object> getUserInteractions(Long userId, Integer currentPage, Integer pageSize);
-} 
\ No newline at end of file
+
+    /**
+     * 获取用户互动记录聚合列表（游标分页），后续页不重复拉取前面的记录
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标，首页传空
+     * @param pageSize 页面大小
+     * @return 互动记录
+     */
+    Result<SocialInteractionCursorResponse> getUserInteractionsByCursor(Long userId, String cursor, Integer pageSize);
+
+    // =================== 关注动态流 ===================
+
+    /**
+     * 获取关注用户的动态流（游标分页）
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标，首页传空
+     * @param pageSize 页面大小
+     * @return 动态流
+     */
+    Result<SocialTimelineResponse> getFollowingTimeline(Long userId, String cursor, Integer pageSize);
+
+}
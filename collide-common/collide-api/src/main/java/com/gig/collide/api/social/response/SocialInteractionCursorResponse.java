@@ -0,0 +1,31 @@
+package com.gig.collide.api.social.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 用户互动记录响应 - 游标分页
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Data
+public class SocialInteractionCursorResponse implements Serializable {
+
+    /**
+     * 当前页互动记录，按互动时间倒序
+     */
+    private List<SocialInteractionResponse> interactions;
+
+    /**
+     * 下一页游标，透传给下一次请求
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多
+     */
+    private Boolean hasMore;
+}
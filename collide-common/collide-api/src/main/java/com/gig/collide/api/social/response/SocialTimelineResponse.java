@@ -0,0 +1,31 @@
+package com.gig.collide.api.social.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 关注动态流响应 - 游标分页
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Data
+public class SocialTimelineResponse implements Serializable {
+
+    /**
+     * 当前页动态，按发布时间倒序
+     */
+    private List<SocialDynamicResponse> dynamics;
+
+    /**
+     * 下一页游标，透传给下一次请求
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多
+     */
+    private Boolean hasMore;
+}
@@ -12,6 +12,8 @@ import com.gig.collide.api.user.response.UserBlockResponse;
 import com.gig.collide.base.response.PageResponse;
 import com.gig.collide.web.vo.*;
 
+import java.util.List;
+
 /**
  * 用户管理门面服务接口 - 简洁版
  * 基于简洁版SQL设计，保留核心功能
@@ -36,6 +38,12 @@ public interface UserFacadeService {
      */
     Result<UserResponse> getUserById(Long userId);
 
+    /**
+     * 根据ID批量查询用户
+     * 与 getUserById 共用用户详情缓存，未命中的用户一次批量查库；不存在的用户不返回
+     */
+    Result<List<UserResponse>> getUsersByIds(List<Long> userIds);
+
     /**
      * 根据用户名查询用户
      */
@@ -0,0 +1,216 @@
+package com.gig.collide.api.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alicp.jetcache.CacheValueHolder;
+import com.alicp.jetcache.support.JavaValueDecoder;
+import com.alicp.jetcache.support.JavaValueEncoder;
+import com.gig.collide.api.content.response.ContentResponse;
+import com.gig.collide.api.user.response.UserResponse;
+import com.gig.collide.base.response.PageResponse;
+import com.gig.collide.cache.codec.CacheTypeRegistry;
+import com.gig.collide.cache.codec.CollideBinaryCodec;
+import com.gig.collide.web.vo.Result;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 远程缓存值编解码基准测试
+ * 对比 JetCache java、fastjson2 与 collide 二进制编码在真实响应对象上的编码、解码耗时，
+ * 运行前先打印三者的编码大小：
+ * <pre>
+ * mvn -pl collide-common/collide-api test-compile exec:java \
+ *     -Dexec.classpathScope=test -Dexec.mainClass=com.gig.collide.api.benchmark.CacheCodecBenchmark
+ * </pre>
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    /**
+     * 与 cache.yml 中 collide.cache.codec.registered-types 的前几项一致
+     */
+    private static final String[] REGISTERED_TYPES = {
+            "com.gig.collide.web.vo.Result",
+            "com.gig.collide.base.response.PageResponse",
+            "com.gig.collide.base.response.CursorPageResponse",
+            "com.gig.collide.base.response.MultiResponse",
+            "com.gig.collide.base.response.SingleResponse",
+            "com.gig.collide.api.content.response.ContentResponse",
+            "com.gig.collide.api.content.response.ChapterResponse",
+            "com.gig.collide.api.user.response.UserResponse"
+    };
+
+    /**
+     * userDetail：用户详情；contentPage：20条内容的分页列表
+     */
+    @Param({"userDetail", "contentPage"})
+    public String payload;
+
+    private CollideBinaryCodec codec;
+
+    private Object value;
+
+    private byte[] javaBytes;
+
+    private byte[] fastjsonBytes;
+
+    private byte[] collideBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new CollideBinaryCodec(new CacheTypeRegistry(REGISTERED_TYPES), 1024);
+        value = payload(payload);
+        javaBytes = JavaValueEncoder.INSTANCE.apply(value);
+        fastjsonBytes = fastjsonEncode(value);
+        collideBytes = codec.encode(value);
+    }
+
+    @Benchmark
+    public byte[] encodeJava() {
+        return JavaValueEncoder.INSTANCE.apply(value);
+    }
+
+    @Benchmark
+    public Object decodeJava() {
+        return JavaValueDecoder.INSTANCE.apply(javaBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeFastjson() {
+        return fastjsonEncode(value);
+    }
+
+    @Benchmark
+    public Object decodeFastjson() {
+        return JSON.parseObject(fastjsonBytes, Object.class,
+                JSONReader.Feature.SupportAutoType, JSONReader.Feature.FieldBased);
+    }
+
+    @Benchmark
+    public byte[] encodeCollide() {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public Object decodeCollide() {
+        return codec.decode(collideBytes);
+    }
+
+    private static byte[] fastjsonEncode(Object value) {
+        return JSON.toJSONBytes(value, JSONWriter.Feature.WriteClassName, JSONWriter.Feature.FieldBased);
+    }
+
+    // =================== 测试数据 ===================
+
+    /**
+     * 与JetCache远程缓存写入的结构一致：CacheValueHolder包装门面方法的返回值
+     */
+    static Object payload(String name) {
+        long expireAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(60);
+        if ("userDetail".equals(name)) {
+            return new CacheValueHolder<>(Result.success(user(10001L)), expireAt);
+        }
+        List<ContentResponse> contents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            contents.add(content(20000L + i));
+        }
+        PageResponse<ContentResponse> page = new PageResponse<>();
+        page.setDatas(contents);
+        page.setCurrentPage(1);
+        page.setPageSize(20);
+        page.setTotal(3580);
+        page.setTotalPage(179);
+        return new CacheValueHolder<>(Result.success(page), expireAt);
+    }
+
+    private static UserResponse user(Long id) {
+        UserResponse user = new UserResponse();
+        user.setId(id);
+        user.setUsername("collide_user_" + id);
+        user.setNickname("夜读的猫");
+        user.setAvatar("https://cdn.collide.example/avatar/" + id + ".png");
+        user.setEmail("user" + id + "@collide.example");
+        user.setPhone("13800138000");
+        user.setRole("user");
+        user.setStatus("active");
+        user.setBio("喜欢科幻和悬疑小说，偶尔画画漫画。");
+        user.setBirthday(LocalDate.of(1995, 6, 18));
+        user.setGender("female");
+        user.setLocation("杭州");
+        user.setFollowerCount(1523L);
+        user.setFollowingCount(87L);
+        user.setContentCount(42L);
+        user.setLikeCount(9630L);
+        user.setLastLoginTime(LocalDateTime.of(2024, 5, 20, 21, 13, 7));
+        user.setLoginCount(318L);
+        user.setInviteCode("CLD8K2QX");
+        user.setInvitedCount(3L);
+        user.setWalletBalance(new BigDecimal("128.50"));
+        user.setWalletFrozen(BigDecimal.ZERO);
+        user.setWalletStatus("active");
+        user.setCreateTime(LocalDateTime.of(2023, 1, 5, 10, 0, 0));
+        user.setUpdateTime(LocalDateTime.of(2024, 5, 20, 21, 13, 7));
+        return user;
+    }
+
+    private static ContentResponse content(Long id) {
+        ContentResponse content = new ContentResponse();
+        content.setId(id);
+        content.setTitle("星海彼岸 第" + (id % 100) + "卷");
+        content.setDescription("一艘迷航的殖民舰在未知星域醒来，船员们必须在资源耗尽前找到回家的路。");
+        content.setContentType("NOVEL");
+        content.setContentData("{\"wordCount\":182300,\"chapterCount\":64,\"serial\":true}");
+        content.setCoverUrl("https://cdn.collide.example/cover/" + id + ".jpg");
+        content.setTags("[\"科幻\",\"太空\",\"冒险\"]");
+        content.setAuthorId(10001L);
+        content.setAuthorNickname("夜读的猫");
+        content.setAuthorAvatar("https://cdn.collide.example/avatar/10001.png");
+        content.setCategoryId(3L);
+        content.setCategoryName("科幻");
+        content.setStatus("PUBLISHED");
+        content.setReviewStatus("APPROVED");
+        content.setViewCount(58213L + id);
+        content.setLikeCount(4120L);
+        content.setCommentCount(386L);
+        content.setFavoriteCount(1290L);
+        content.setScoreCount(512L);
+        content.setScoreTotal(4388L);
+        content.setPublishTime(LocalDateTime.of(2024, 3, 1, 8, 30, 0));
+        content.setCreateTime(LocalDateTime.of(2024, 2, 27, 19, 45, 12));
+        content.setUpdateTime(LocalDateTime.of(2024, 5, 18, 22, 1, 3));
+        return content;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        CollideBinaryCodec codec = new CollideBinaryCodec(new CacheTypeRegistry(REGISTERED_TYPES), 1024);
+        for (String name : new String[]{"userDetail", "contentPage"}) {
+            Object value = payload(name);
+            System.out.printf("%-12s java=%dB fastjson2=%dB collide=%dB%n", name,
+                    JavaValueEncoder.INSTANCE.apply(value).length, fastjsonEncode(value).length, codec.encode(value).length);
+        }
+
+        Options options = new OptionsBuilder()
+            .include(CacheCodecBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
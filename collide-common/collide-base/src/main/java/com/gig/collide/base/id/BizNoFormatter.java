@@ -0,0 +1,79 @@
+package com.gig.collide.base.id;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 业务单号格式化
+ * <pre>
+ * 前缀 + yyyyMMddHHmmss + 3 位毫秒 + 7 位 workerId 与序列号
+ * </pre>
+ * 单号由ID完整编码，唯一性与ID一致；日期部分按秒缓存，同一秒内不重复格式化
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public final class BizNoFormatter {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final long LOW_MASK = (1L << (SnowflakeIdGenerator.WORKER_BITS + SnowflakeIdGenerator.SEQUENCE_BITS)) - 1;
+
+    private static final int SECOND_DIGITS = 14;
+
+    private static final int MILLI_DIGITS = 3;
+
+    private static final int LOW_DIGITS = 7;
+
+    private static volatile SecondText cached = new SecondText(Long.MIN_VALUE, new char[SECOND_DIGITS]);
+
+    private BizNoFormatter() {
+    }
+
+    /**
+     * 格式化业务单号
+     *
+     * @param prefix 前缀，如 ORD、PAY
+     * @param id     {@link SnowflakeIdGenerator} 生成的ID
+     */
+    public static String format(String prefix, long id) {
+        long timestamp = SnowflakeIdGenerator.timestampOf(id);
+        long second = Math.floorDiv(timestamp, 1000L);
+        SecondText text = cached;
+        if (text.second != second) {
+            text = new SecondText(second, render(second));
+            cached = text;
+        }
+
+        int length = prefix.length();
+        char[] chars = new char[length + SECOND_DIGITS + MILLI_DIGITS + LOW_DIGITS];
+        prefix.getChars(0, length, chars, 0);
+        System.arraycopy(text.digits, 0, chars, length, SECOND_DIGITS);
+        writeDigits(chars, length + SECOND_DIGITS, MILLI_DIGITS, Math.floorMod(timestamp, 1000L));
+        writeDigits(chars, length + SECOND_DIGITS + MILLI_DIGITS, LOW_DIGITS, id & LOW_MASK);
+        return new String(chars);
+    }
+
+    private static char[] render(long second) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZONE);
+        char[] digits = new char[SECOND_DIGITS];
+        writeDigits(digits, 0, 4, time.getYear());
+        writeDigits(digits, 4, 2, time.getMonthValue());
+        writeDigits(digits, 6, 2, time.getDayOfMonth());
+        writeDigits(digits, 8, 2, time.getHour());
+        writeDigits(digits, 10, 2, time.getMinute());
+        writeDigits(digits, 12, 2, time.getSecond());
+        return digits;
+    }
+
+    private static void writeDigits(char[] chars, int offset, int width, long value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private record SecondText(long second, char[] digits) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.gig.collide.base.id;
+
+/**
+ * 固定 workerId，由部署方保证各实例不重复
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public class FixedWorkerIdAssigner implements WorkerIdAssigner {
+
+    private final WorkerLease lease;
+
+    public FixedWorkerIdAssigner(int workerId) {
+        if (workerId < 0 || workerId > SnowflakeIdGenerator.MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId 超出范围: " + workerId);
+        }
+        this.lease = new WorkerLease(workerId, 0L, Long.MAX_VALUE);
+    }
+
+    @Override
+    public WorkerLease current() {
+        return lease;
+    }
+}
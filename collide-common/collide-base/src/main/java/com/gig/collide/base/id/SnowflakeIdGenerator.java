@@ -0,0 +1,172 @@
+package com.gig.collide.base.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分布式ID生成器 - Snowflake 结构
+ * <pre>
+ * | 41 位毫秒时间戳（自 2024-01-01 起） | 10 位 workerId | 12 位序列号 |
+ * </pre>
+ * <ul>
+ *     <li>无锁：时间戳和下一个序列号打包在一个 AtomicLong 中，CAS 一次分配一段序列号</li>
+ *     <li>批量：平台线程每次预取 blockSize 个ID缓存在线程本地，超过 blockMaxAgeMs 未用完的丢弃；
+ *     虚拟线程数量多且生命周期短，逐个分配</li>
+ *     <li>时钟回拨：回拨不超过 maxClockBackwardMs 时沿用上次时间戳继续分配，序列号用尽后借用下一毫秒，
+ *     借用不超过 maxClockBackwardMs，超过后自旋等待时钟追上；回拨超过容忍范围直接抛出异常</li>
+ *     <li>租约：workerId 租约过期后拒绝生成，避免与重新分配到同一 workerId 的实例重复</li>
+ * </ul>
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public class SnowflakeIdGenerator implements AutoCloseable {
+
+    /**
+     * 起始时间 2024-01-01 00:00:00 +08:00
+     */
+    public static final long EPOCH = 1704038400000L;
+
+    public static final int WORKER_BITS = 10;
+
+    public static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+
+    private static final int SEQUENCE_LIMIT = 1 << SEQUENCE_BITS;
+
+    private static final int TIMESTAMP_SHIFT = WORKER_BITS + SEQUENCE_BITS;
+
+    /**
+     * state 低位存下一个序列号，取值 0 ~ 4096，需要 13 位
+     */
+    private static final int STATE_SEQUENCE_BITS = SEQUENCE_BITS + 1;
+
+    private static final long STATE_SEQUENCE_MASK = (1L << STATE_SEQUENCE_BITS) - 1;
+
+    private final WorkerIdAssigner assigner;
+
+    private final int blockSize;
+
+    private final long blockMaxAgeMs;
+
+    private final long maxClockBackwardMs;
+
+    /**
+     * 上次分配的时间戳 << 13 | 下一个序列号
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    public SnowflakeIdGenerator(WorkerIdAssigner assigner, int blockSize, long blockMaxAgeMs, long maxClockBackwardMs) {
+        if (blockSize < 1 || blockSize > SEQUENCE_LIMIT) {
+            throw new IllegalArgumentException("blockSize 超出范围: " + blockSize);
+        }
+        this.assigner = assigner;
+        this.blockSize = blockSize;
+        this.blockMaxAgeMs = blockMaxAgeMs;
+        this.maxClockBackwardMs = maxClockBackwardMs;
+    }
+
+    /**
+     * 生成ID，同一线程内单调递增，不同线程间按毫秒大致有序
+     */
+    public long nextId() {
+        if (blockSize == 1 || Thread.currentThread().isVirtual()) {
+            Block single = new Block();
+            allocate(single, 1);
+            return single.next();
+        }
+        Block block = blocks.get();
+        long now = System.currentTimeMillis();
+        if (block.remaining == 0 || block.lease != assigner.current()
+                || now - block.timestamp > blockMaxAgeMs || now > block.lease.validUntil()) {
+            allocate(block, blockSize);
+        }
+        return block.next();
+    }
+
+    /**
+     * 从ID中解析生成时间（毫秒）
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    /**
+     * 从ID中解析 workerId
+     */
+    public static int workerIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_WORKER_ID);
+    }
+
+    /**
+     * 停止使用时归还 workerId
+     */
+    @Override
+    public void close() {
+        assigner.release(state.get() >>> STATE_SEQUENCE_BITS);
+    }
+
+    private void allocate(Block block, int want) {
+        WorkerLease lease = assigner.current();
+        while (true) {
+            long now = System.currentTimeMillis();
+            if (now > lease.validUntil()) {
+                throw new IllegalStateException("workerId 租约已过期，暂停生成ID: workerId=" + lease.workerId());
+            }
+            long current = state.get();
+            long lastTimestamp = current >>> STATE_SEQUENCE_BITS;
+            long timestamp = Math.max(now, lease.notBefore());
+            if (timestamp < lastTimestamp) {
+                if (lastTimestamp - timestamp > maxClockBackwardMs) {
+                    throw new IllegalStateException("时钟回拨超过容忍范围: backward=" + (lastTimestamp - timestamp) + "ms");
+                }
+                timestamp = lastTimestamp;
+            }
+            int sequence = timestamp == lastTimestamp ? (int) (current & STATE_SEQUENCE_MASK) : 0;
+            if (sequence >= SEQUENCE_LIMIT) {
+                timestamp = lastTimestamp + 1;
+                sequence = 0;
+                if (timestamp - now > maxClockBackwardMs) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+            }
+            int count = Math.min(want, SEQUENCE_LIMIT - sequence);
+            long next = (timestamp << STATE_SEQUENCE_BITS) | (sequence + count);
+            if (state.compareAndSet(current, next)) {
+                block.reset(lease, timestamp, sequence, count);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 一段连续的ID
+     */
+    private static final class Block {
+
+        private WorkerLease lease;
+
+        private long timestamp;
+
+        private long nextId;
+
+        private int remaining;
+
+        void reset(WorkerLease lease, long timestamp, int sequence, int count) {
+            this.lease = lease;
+            this.timestamp = timestamp;
+            this.nextId = ((timestamp - EPOCH) << TIMESTAMP_SHIFT)
+                    | ((long) lease.workerId() << SEQUENCE_BITS)
+                    | sequence;
+            this.remaining = count;
+        }
+
+        long next() {
+            remaining--;
+            return nextId++;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.gig.collide.base.id;
+
+/**
+ * workerId 分配器
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public interface WorkerIdAssigner {
+
+    /**
+     * 当前租约，续期或重新分配后返回新对象
+     */
+    WorkerLease current();
+
+    /**
+     * 归还 workerId
+     *
+     * @param lastTimestamp 已生成ID的最大时间戳，下一个持有者从其后开始
+     */
+    default void release(long lastTimestamp) {
+    }
+}
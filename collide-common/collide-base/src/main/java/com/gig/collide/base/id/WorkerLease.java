@@ -0,0 +1,13 @@
+package com.gig.collide.base.id;
+
+/**
+ * workerId 租约
+ *
+ * @param workerId   分配到的 workerId
+ * @param notBefore  可使用的最小时间戳（毫秒），保证不与上一个持有者生成的ID重复
+ * @param validUntil 租约有效期（毫秒），过期后不能再生成ID
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public record WorkerLease(int workerId, long notBefore, long validUntil) {
+}
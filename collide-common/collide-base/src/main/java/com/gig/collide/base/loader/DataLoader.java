@@ -0,0 +1,131 @@
+package com.gig.collide.base.loader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 请求级批量加载器
+ * 列表逐行调用 {@link #load} 只登记键，{@link #dispatch} 时把登记的键合并为一次批量查询，
+ * 避免每行一次远程调用。同一个键在一个加载器内只查询一次。
+ *
+ * <pre>
+ * DataLoader&lt;Long, UserResponse&gt; users = DataLoader.of(userIds -&gt; ...);
+ * rows.forEach(row -&gt; users.load(row.getUserId()).thenAccept(user -&gt; row.setNickname(user.getNickname())));
+ * users.dispatch();
+ * </pre>
+ *
+ * 加载器随请求创建和丢弃，不做跨请求缓存；跨请求缓存由批量接口自身负责。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+public final class DataLoader<K, V> {
+
+    /**
+     * 默认单批最大键数
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+
+    private final int maxBatchSize;
+
+    /**
+     * 本加载器内全部查询过的键
+     */
+    private final Map<K, CompletableFuture<V>> futures = new HashMap<>();
+
+    /**
+     * 登记后尚未查询的键
+     */
+    private final Map<K, CompletableFuture<V>> queued = new LinkedHashMap<>();
+
+    private DataLoader(Function<List<K>, Map<K, V>> batchFunction, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * @param batchFunction 批量查询，返回键到值的映射；不存在的键可缺省，返回null视为全部不存在
+     */
+    public static <K, V> DataLoader<K, V> of(Function<List<K>, Map<K, V>> batchFunction) {
+        return new DataLoader<>(batchFunction, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public static <K, V> DataLoader<K, V> of(Function<List<K>, Map<K, V>> batchFunction, int maxBatchSize) {
+        return new DataLoader<>(batchFunction, maxBatchSize);
+    }
+
+    /**
+     * 登记一个键；键为null时返回值为null的结果
+     *
+     * @return 在 {@link #dispatch} 后完成，值不存在时为null
+     */
+    public synchronized CompletableFuture<V> load(K key) {
+        if (key == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<V> future = futures.get(key);
+        if (future == null) {
+            future = new CompletableFuture<>();
+            futures.put(key, future);
+            queued.put(key, future);
+        }
+        return future;
+    }
+
+    public synchronized boolean hasQueued() {
+        return !queued.isEmpty();
+    }
+
+    /**
+     * 批量查询已登记的键，超过单批上限时分批
+     * 查询失败时对应的结果以异常完成，不影响其他批次
+     */
+    public void dispatch() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (queued.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(queued);
+            queued.clear();
+        }
+
+        List<K> keys = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < keys.size(); from += maxBatchSize) {
+            List<K> chunk = new ArrayList<>(keys.subList(from, Math.min(from + maxBatchSize, keys.size())));
+            Map<K, V> values;
+            try {
+                values = batchFunction.apply(chunk);
+            } catch (Exception e) {
+                log.warn("批量加载失败: size={}, error={}", chunk.size(), e.getMessage());
+                chunk.forEach(key -> batch.get(key).completeExceptionally(e));
+                continue;
+            }
+            for (K key : chunk) {
+                batch.get(key).complete(values != null ? values.get(key) : null);
+            }
+        }
+    }
+
+    /**
+     * 放弃尚未完成的结果，之后到达的查询结果不再回填
+     */
+    public synchronized void cancel() {
+        CancellationException cancelled = new CancellationException("批量加载已取消");
+        futures.values().forEach(future -> future.completeExceptionally(cancelled));
+        queued.clear();
+    }
+}
@@ -0,0 +1,86 @@
+package com.gig.collide.base.loader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 一个请求内的多个批量加载器
+ * 各加载器在一轮内并发批量查询；回填结果时登记的新键（如按内容取到作者后再取作者信息）在下一轮查询，直到没有待查询的键
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+public final class DataLoaderRegistry {
+
+    /**
+     * 最大轮数，防止回填逻辑循环登记
+     */
+    private static final int MAX_ROUNDS = 8;
+
+    private final List<DataLoader<?, ?>> loaders = new ArrayList<>();
+
+    public DataLoaderRegistry register(DataLoader<?, ?> loader) {
+        loaders.add(loader);
+        return this;
+    }
+
+    /**
+     * 在当前线程上依次查询
+     */
+    public void dispatchAll() {
+        for (int round = 0; round < MAX_ROUNDS && hasQueued(); round++) {
+            loaders.forEach(DataLoader::dispatch);
+        }
+    }
+
+    /**
+     * 各加载器在执行器上并发查询，总耗时超过 timeout 时放弃未完成的结果，对应字段保留原值
+     *
+     * @return 是否在超时前全部完成
+     */
+    public boolean dispatchAll(Executor executor, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (int round = 0; round < MAX_ROUNDS && hasQueued(); round++) {
+            List<CompletableFuture<Void>> dispatches = new ArrayList<>(loaders.size());
+            for (DataLoader<?, ?> loader : loaders) {
+                if (loader.hasQueued()) {
+                    dispatches.add(CompletableFuture.runAsync(loader::dispatch, executor));
+                }
+            }
+            try {
+                CompletableFuture.allOf(dispatches.toArray(CompletableFuture[]::new))
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("批量加载超时，未完成的字段保留原值: timeout={}ms", timeout.toMillis());
+                loaders.forEach(DataLoader::cancel);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                loaders.forEach(DataLoader::cancel);
+                return false;
+            } catch (ExecutionException e) {
+                // dispatch 内部已处理查询异常，这里只会是执行器拒绝等意外
+                log.warn("批量加载异常: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private boolean hasQueued() {
+        for (DataLoader<?, ?> loader : loaders) {
+            if (loader.hasQueued()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
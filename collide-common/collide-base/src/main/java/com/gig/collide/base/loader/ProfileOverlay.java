@@ -0,0 +1,143 @@
+package com.gig.collide.base.loader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 冗余资料覆盖
+ * 列表行中冗余保存了其他服务的资料（如用户昵称、头像），源数据变更后由消息异步回填，
+ * 回填完成前读取时用批量查询到的最新资料覆盖。每次覆盖只发起一次批量查询，查询失败时保留行中原值。
+ *
+ * <pre>
+ * ProfileOverlay&lt;CommentResponse, UserResponse&gt; overlay = ProfileOverlay.&lt;CommentResponse, UserResponse&gt;builder(
+ *                 userIds -&gt; ..., UserResponse::getId)
+ *         .bind(CommentResponse::getUserId, (comment, user) -&gt; comment.setUserNickname(user.getNickname()))
+ *         .build();
+ * overlay.apply(comments);
+ * </pre>
+ *
+ * @param <T> 行类型
+ * @param <P> 资料类型
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+public final class ProfileOverlay<T, P> {
+
+    private final Function<List<Long>, List<P>> loader;
+
+    private final Function<P, Long> idOf;
+
+    private final List<Binding<T, P>> bindings;
+
+    private ProfileOverlay(Function<List<Long>, List<P>> loader, Function<P, Long> idOf, List<Binding<T, P>> bindings) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.bindings = bindings;
+    }
+
+    /**
+     * @param loader 按ID批量查询资料，返回null视为查询失败
+     * @param idOf   资料的ID
+     */
+    public static <T, P> Builder<T, P> builder(Function<List<Long>, List<P>> loader, Function<P, Long> idOf) {
+        return new Builder<>(Objects.requireNonNull(loader), Objects.requireNonNull(idOf));
+    }
+
+    /**
+     * 用最新资料覆盖各行的冗余字段
+     *
+     * @param rows 列表行，原地修改
+     */
+    public void apply(List<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T row : rows) {
+            for (Binding<T, P> binding : bindings) {
+                ids.add(binding.id().apply(row));
+            }
+        }
+        ids.remove(null);
+        Map<Long, P> profiles = load(ids);
+        if (profiles.isEmpty()) {
+            return;
+        }
+        for (T row : rows) {
+            for (Binding<T, P> binding : bindings) {
+                P profile = profiles.get(binding.id().apply(row));
+                if (profile != null) {
+                    binding.setter().accept(row, profile);
+                }
+            }
+        }
+    }
+
+    private Map<Long, P> load(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<P> loaded = loader.apply(new ArrayList<>(ids));
+            if (loaded == null) {
+                log.warn("批量查询资料失败，保留冗余字段: size={}", ids.size());
+                return Map.of();
+            }
+            Map<Long, P> profiles = new HashMap<>(loaded.size() * 2);
+            for (P profile : loaded) {
+                if (profile != null) {
+                    profiles.putIfAbsent(idOf.apply(profile), profile);
+                }
+            }
+            return profiles;
+        } catch (Exception e) {
+            log.warn("批量查询资料异常，保留冗余字段: size={}, 错误={}", ids.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private record Binding<T, P>(Function<T, Long> id, BiConsumer<T, P> setter) {
+    }
+
+    public static final class Builder<T, P> {
+
+        private final Function<List<Long>, List<P>> loader;
+
+        private final Function<P, Long> idOf;
+
+        private final List<Binding<T, P>> bindings = new ArrayList<>();
+
+        private Builder(Function<List<Long>, List<P>> loader, Function<P, Long> idOf) {
+            this.loader = loader;
+            this.idOf = idOf;
+        }
+
+        /**
+         * 登记一组冗余字段
+         *
+         * @param id     行中引用的资料ID
+         * @param setter 用资料覆盖行中的冗余字段
+         */
+        public Builder<T, P> bind(Function<T, Long> id, BiConsumer<T, P> setter) {
+            bindings.add(new Binding<>(Objects.requireNonNull(id), Objects.requireNonNull(setter)));
+            return this;
+        }
+
+        public ProfileOverlay<T, P> build() {
+            if (bindings.isEmpty()) {
+                throw new IllegalStateException("at least one binding is required");
+            }
+            return new ProfileOverlay<>(loader, idOf, List.copyOf(bindings));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.gig.collide.base.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 游标分页请求
+ * 适用于按时间倒序不断下滑的列表，不受页码深度影响；第一页不传游标，之后传上一页返回的 nextCursor
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Setter
+@Getter
+public class CursorPageRequest extends BaseRequest {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上一页返回的游标，第一页为空
+     */
+    private String cursor;
+    /**
+     * 每页结果数
+     */
+    private int pageSize;
+    /**
+     * 是否统计总数，默认不统计，避免每次翻页都执行 COUNT
+     */
+    private boolean withTotal;
+
+    public static CursorPageRequest of(String cursor, int pageSize) {
+        CursorPageRequest request = new CursorPageRequest();
+        request.setCursor(cursor);
+        request.setPageSize(pageSize);
+        return request;
+    }
+}
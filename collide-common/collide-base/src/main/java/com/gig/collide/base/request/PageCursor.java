@@ -0,0 +1,93 @@
+package com.gig.collide.base.request;
+
+import com.gig.collide.base.exception.BizException;
+import com.gig.collide.base.exception.CommonErrorCode;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * 游标分页的位置
+ * 由上一页最后一条记录的排序键和ID组成，编码为不透明字符串交给客户端，下一页按 (排序键, ID) 定位
+ * 时间类排序键按毫秒时间戳保存
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public final class PageCursor {
+
+    private static final byte VERSION = 1;
+
+    private static final int ENCODED_BYTES = 1 + Long.BYTES * 2;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final long sortKey;
+
+    private final long id;
+
+    private PageCursor(long sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public static PageCursor of(long sortKey, long id) {
+        return new PageCursor(sortKey, id);
+    }
+
+    public static PageCursor of(LocalDateTime sortTime, long id) {
+        return new PageCursor(sortTime == null ? 0L : sortTime.atZone(ZONE).toInstant().toEpochMilli(), id);
+    }
+
+    /**
+     * 解析客户端传回的游标，空串表示第一页
+     *
+     * @return 第一页时返回 null
+     * @throws BizException 游标格式不正确
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BizException("分页游标无效", CommonErrorCode.PARAM_INVALID);
+        }
+        if (bytes.length != ENCODED_BYTES || bytes[0] != VERSION) {
+            throw new BizException("分页游标无效", CommonErrorCode.PARAM_INVALID);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, Long.BYTES * 2);
+        return new PageCursor(buffer.getLong(), buffer.getLong());
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES);
+        buffer.put(VERSION).putLong(sortKey).putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public long getSortKey() {
+        return sortKey;
+    }
+
+    /**
+     * 排序键按时间解释，供 XML 中与 DATETIME 列比较
+     */
+    public LocalDateTime getSortTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(sortKey), ZONE);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{sortKey=" + sortKey + ", id=" + id + "}";
+    }
+}
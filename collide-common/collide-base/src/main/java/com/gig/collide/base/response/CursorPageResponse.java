@@ -0,0 +1,46 @@
+package com.gig.collide.base.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页响应
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Setter
+@Getter
+public class CursorPageResponse<T> extends MultiResponse<T> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 下一页游标，没有更多数据时为空
+     */
+    private String nextCursor;
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+    /**
+     * 总数，请求未要求统计时为空
+     */
+    private Long total;
+
+    public static <T> CursorPageResponse<T> of(List<T> datas, String nextCursor, Long total) {
+        CursorPageResponse<T> response = new CursorPageResponse<>();
+        response.setSuccess(true);
+        response.setDatas(datas);
+        response.setNextCursor(nextCursor);
+        response.setHasMore(nextCursor != null);
+        response.setTotal(total);
+        return response;
+    }
+
+    public static <T> CursorPageResponse<T> empty() {
+        return of(Collections.emptyList(), null, null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.gig.collide.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 字节读取，与 {@link BinaryOutput} 的编码对应
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+final class BinaryInput {
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private final int limit;
+
+    BinaryInput(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    int readByte() {
+        check(1);
+        return buffer[position++];
+    }
+
+    byte[] readBytes(int length) {
+        check(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    int readIntBE() {
+        check(4);
+        return ((buffer[position++] & 0xFF) << 24)
+                | ((buffer[position++] & 0xFF) << 16)
+                | ((buffer[position++] & 0xFF) << 8)
+                | (buffer[position++] & 0xFF);
+    }
+
+    long readLongBE() {
+        return ((long) readIntBE() << 32) | (readIntBE() & 0xFFFFFFFFL);
+    }
+
+    int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("变长整数格式错误");
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("变长整数格式错误");
+    }
+
+    int readZigZagInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        int length = readVarInt();
+        check(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    private void check(int length) {
+        if (length < 0 || position + length > limit) {
+            throw new IllegalStateException("缓存数据已截断");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.gig.collide.cache.codec;
+
+import com.alicp.jetcache.CacheValueHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存类型编号表
+ * 登记过的类型在缓存数据中只写一个编号，未登记的类型写完整类名
+ *
+ * <p>编号按登记顺序分配：内置类型从1开始，配置的类型从 {@link #CUSTOM_ID_START} 开始。
+ * 读写同一份缓存的节点必须使用相同的登记列表，列表只能在末尾追加，
+ * 不再使用的类型保留占位，否则已写入的缓存会被解析为错误的类型。</p>
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+public final class CacheTypeRegistry {
+
+    /**
+     * 配置类型的起始编号，之前的编号留给内置类型
+     */
+    static final int CUSTOM_ID_START = 64;
+
+    private final Map<Class<?>, Integer> ids = new HashMap<>();
+
+    private final Map<Integer, Class<?>> types = new HashMap<>();
+
+    /**
+     * @param typeNames 配置的类名，按位置分配编号；加载不到的类保留编号
+     */
+    public CacheTypeRegistry(String[] typeNames) {
+        register(1, CacheValueHolder.class);
+        if (typeNames == null) {
+            return;
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (int i = 0; i < typeNames.length; i++) {
+            String typeName = typeNames[i].trim();
+            if (typeName.isEmpty()) {
+                continue;
+            }
+            try {
+                register(CUSTOM_ID_START + i, Class.forName(typeName, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                log.debug("缓存类型不在当前应用中，保留编号: id={}, type={}", CUSTOM_ID_START + i, typeName);
+            }
+        }
+    }
+
+    private void register(int id, Class<?> type) {
+        ids.put(type, id);
+        types.put(id, type);
+    }
+
+    /**
+     * @return 类型编号，未登记返回0
+     */
+    int idOf(Class<?> type) {
+        Integer id = ids.get(type);
+        return id != null ? id : 0;
+    }
+
+    Class<?> typeOf(int id) {
+        Class<?> type = types.get(id);
+        if (type == null) {
+            throw new IllegalStateException("未登记的缓存类型编号: " + id);
+        }
+        return type;
+    }
+}
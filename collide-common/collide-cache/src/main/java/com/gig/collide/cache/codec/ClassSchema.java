@@ -0,0 +1,82 @@
+package com.gig.collide.cache.codec;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 对象的字段结构
+ * 字段按继承层次从父类到子类、同一类内按名称排序，编码时按此顺序逐个写值，不写字段名。
+ * 字段名和类型参与计算指纹，写入缓存数据；读取时指纹不一致说明类已变更，放弃该条缓存
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+final class ClassSchema {
+
+    final Class<?> type;
+
+    final Field[] fields;
+
+    final int fingerprint;
+
+    private final Constructor<?> constructor;
+
+    private ClassSchema(Class<?> type, Field[] fields, Constructor<?> constructor) {
+        this.type = type;
+        this.fields = fields;
+        this.constructor = constructor;
+        this.fingerprint = fingerprint(fields);
+    }
+
+    /**
+     * @return 字段结构；没有无参构造器或字段无法访问时返回null，由调用方改用Java序列化
+     */
+    static ClassSchema of(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isArray()) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                hierarchy.add(0, current);
+            }
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current : hierarchy) {
+                Field[] declared = current.getDeclaredFields();
+                Arrays.sort(declared, Comparator.comparing(Field::getName));
+                for (Field field : declared) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            return new ClassSchema(type, fields.toArray(Field[]::new), constructor);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    Object newInstance() throws ReflectiveOperationException {
+        return constructor.newInstance();
+    }
+
+    private static int fingerprint(Field[] fields) {
+        int hash = 17;
+        for (Field field : fields) {
+            hash = 31 * hash + field.getName().hashCode();
+            hash = 31 * hash + field.getType().getName().hashCode();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,466 @@
+package com.gig.collide.cache.codec;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存值二进制编解码
+ *
+ * <p>格式：{@code 魔数(4) | 标志(1) | [原始长度(varint)] | 数据}，标志位0表示数据经过LZ4压缩。
+ * 数据中每个值以一个类型字节开头；对象按 {@link ClassSchema} 的字段顺序逐个写值，不写字段名；
+ * 每种类型在一条数据中首次出现时写编号或类名以及结构指纹，之后只写序号。</p>
+ *
+ * <p>没有无参构造器、无法反射访问的类型（如JDK内部类）退回Java序列化，只影响该值本身。</p>
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public final class CollideBinaryCodec {
+
+    /**
+     * 数据魔数 "CLD" + 格式版本1
+     */
+    static final int MAGIC = 0x434C4401;
+
+    private static final int FLAG_LZ4 = 1;
+
+    private static final int HEADER_LENGTH = 5;
+
+    private static final int MAX_DEPTH = 64;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte CHAR = 9;
+    private static final byte STRING = 10;
+    private static final byte BIG_DECIMAL = 11;
+    private static final byte BIG_INTEGER = 12;
+    private static final byte LOCAL_DATE_TIME = 13;
+    private static final byte LOCAL_DATE = 14;
+    private static final byte INSTANT = 15;
+    private static final byte DATE = 16;
+    private static final byte BYTES = 17;
+    private static final byte LIST = 18;
+    private static final byte SET = 19;
+    private static final byte MAP = 20;
+    private static final byte ENUM = 21;
+    private static final byte OBJECT = 22;
+    private static final byte JAVA = 23;
+
+    private final CacheTypeRegistry registry;
+
+    /**
+     * 数据达到该长度才尝试压缩，小于等于0表示不压缩
+     */
+    private final int compressThreshold;
+
+    private final LZ4Compressor compressor;
+
+    private final LZ4FastDecompressor decompressor;
+
+    private final ConcurrentHashMap<Class<?>, Optional<ClassSchema>> schemas = new ConcurrentHashMap<>();
+
+    public CollideBinaryCodec(CacheTypeRegistry registry, int compressThreshold) {
+        this.registry = registry;
+        this.compressThreshold = compressThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    // =================== 编码 ===================
+
+    public byte[] encode(Object value) {
+        BinaryOutput out = new BinaryOutput(256);
+        writeValue(out, value, new IdentityHashMap<>(), 0);
+        int length = out.size();
+
+        if (compressThreshold > 0 && length >= compressThreshold) {
+            byte[] compressed = new byte[HEADER_LENGTH + 5 + compressor.maxCompressedLength(length)];
+            BinaryOutput header = new BinaryOutput(HEADER_LENGTH + 5);
+            header.writeIntBE(MAGIC);
+            header.writeByte(FLAG_LZ4);
+            header.writeVarInt(length);
+            int offset = header.size();
+            int compressedLength = compressor.compress(out.array(), 0, length, compressed, offset, compressed.length - offset);
+            // 压缩后没有变小（如已压缩的图片数据）就保存原文
+            if (offset + compressedLength < HEADER_LENGTH + length) {
+                System.arraycopy(header.array(), 0, compressed, 0, offset);
+                return Arrays.copyOf(compressed, offset + compressedLength);
+            }
+        }
+
+        byte[] result = new byte[HEADER_LENGTH + length];
+        result[0] = (byte) (MAGIC >>> 24);
+        result[1] = (byte) (MAGIC >>> 16);
+        result[2] = (byte) (MAGIC >>> 8);
+        result[3] = (byte) MAGIC;
+        result[4] = 0;
+        System.arraycopy(out.array(), 0, result, HEADER_LENGTH, length);
+        return result;
+    }
+
+    private void writeValue(BinaryOutput out, Object value, Map<Class<?>, Integer> classes, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalStateException("缓存值嵌套过深，可能存在循环引用");
+        }
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            out.writeString(s);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeZigZagLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeZigZagInt(i);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TRUE : FALSE);
+        } else if (value instanceof LocalDateTime time) {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeZigZagLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeVarInt(time.getNano());
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(BIG_DECIMAL);
+            out.writeZigZagInt(decimal.scale());
+            byte[] unscaled = decimal.unscaledValue().toByteArray();
+            out.writeVarInt(unscaled.length);
+            out.writeBytes(unscaled);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeLongBE(Double.doubleToRawLongBits(d));
+        } else if (value instanceof Float f) {
+            out.writeByte(FLOAT);
+            out.writeIntBE(Float.floatToRawIntBits(f));
+        } else if (value instanceof Short s) {
+            out.writeByte(SHORT);
+            out.writeZigZagInt(s);
+        } else if (value instanceof Byte b) {
+            out.writeByte(BYTE);
+            out.writeByte(b);
+        } else if (value instanceof Character c) {
+            out.writeByte(CHAR);
+            out.writeVarInt(c);
+        } else if (value instanceof BigInteger integer) {
+            out.writeByte(BIG_INTEGER);
+            byte[] bytes = integer.toByteArray();
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes);
+        } else if (value instanceof LocalDate date) {
+            out.writeByte(LOCAL_DATE);
+            out.writeZigZagLong(date.toEpochDay());
+        } else if (value instanceof Instant instant) {
+            out.writeByte(INSTANT);
+            out.writeZigZagLong(instant.getEpochSecond());
+            out.writeVarInt(instant.getNano());
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeZigZagLong(((Date) value).getTime());
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(BYTES);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes);
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte(value instanceof Set ? SET : LIST);
+            out.writeVarInt(collection.size());
+            for (Object element : collection) {
+                writeValue(out, element, classes, depth + 1);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey(), classes, depth + 1);
+                writeValue(out, entry.getValue(), classes, depth + 1);
+            }
+        } else if (value instanceof Enum<?> e) {
+            out.writeByte(ENUM);
+            writeClass(out, e.getDeclaringClass(), 0, classes);
+            out.writeString(e.name());
+        } else {
+            ClassSchema schema = schemaOf(value.getClass());
+            if (schema == null) {
+                writeJava(out, value);
+                return;
+            }
+            out.writeByte(OBJECT);
+            writeClass(out, schema.type, schema.fingerprint, classes);
+            for (Field field : schema.fields) {
+                try {
+                    writeValue(out, field.get(value), classes, depth + 1);
+                } catch (IllegalAccessException ex) {
+                    throw new IllegalStateException("读取字段失败: " + field, ex);
+                }
+            }
+        }
+    }
+
+    private void writeClass(BinaryOutput out, Class<?> type, int fingerprint, Map<Class<?>, Integer> classes) {
+        Integer index = classes.get(type);
+        if (index != null) {
+            out.writeVarInt(index + 1);
+            return;
+        }
+        out.writeVarInt(0);
+        int id = registry.idOf(type);
+        out.writeVarInt(id);
+        if (id == 0) {
+            out.writeString(type.getName());
+        }
+        out.writeIntBE(fingerprint);
+        classes.put(type, classes.size());
+    }
+
+    private void writeJava(BinaryOutput out, Object value) {
+        if (!(value instanceof Serializable)) {
+            throw new IllegalArgumentException("缓存值无法编码: " + value.getClass().getName());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Java序列化失败: " + value.getClass().getName(), e);
+        }
+        out.writeByte(JAVA);
+        out.writeVarInt(bytes.size());
+        out.writeBytes(bytes.toByteArray());
+    }
+
+    // =================== 解码 ===================
+
+    /**
+     * 是否为本编解码器写入的数据
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= HEADER_LENGTH
+                && ((data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)) == MAGIC;
+    }
+
+    public Object decode(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new IllegalArgumentException("不是二进制缓存格式");
+        }
+        BinaryInput in;
+        if ((data[4] & FLAG_LZ4) != 0) {
+            BinaryInput header = new BinaryInput(data, HEADER_LENGTH, data.length);
+            int length = header.readVarInt();
+            int offset = HEADER_LENGTH + varIntSize(length);
+            byte[] raw = new byte[length];
+            decompressor.decompress(data, offset, raw, 0, length);
+            in = new BinaryInput(raw, 0, length);
+        } else {
+            in = new BinaryInput(data, HEADER_LENGTH, data.length);
+        }
+        return readValue(in, new ArrayList<>(), 0);
+    }
+
+    private Object readValue(BinaryInput in, List<TypeRef> classes, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalStateException("缓存值嵌套过深");
+        }
+        byte tag = (byte) in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return in.readZigZagInt();
+            case LONG:
+                return in.readZigZagLong();
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLongBE());
+            case FLOAT:
+                return Float.intBitsToFloat(in.readIntBE());
+            case SHORT:
+                return (short) in.readZigZagInt();
+            case BYTE:
+                return (byte) in.readByte();
+            case CHAR:
+                return (char) in.readVarInt();
+            case STRING:
+                return in.readString();
+            case BIG_DECIMAL: {
+                int scale = in.readZigZagInt();
+                return new BigDecimal(new BigInteger(in.readBytes(in.readVarInt())), scale);
+            }
+            case BIG_INTEGER:
+                return new BigInteger(in.readBytes(in.readVarInt()));
+            case LOCAL_DATE_TIME: {
+                long seconds = in.readZigZagLong();
+                return LocalDateTime.ofEpochSecond(seconds, in.readVarInt(), ZoneOffset.UTC);
+            }
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readZigZagLong());
+            case INSTANT: {
+                long seconds = in.readZigZagLong();
+                return Instant.ofEpochSecond(seconds, in.readVarInt());
+            }
+            case DATE:
+                return new Date(in.readZigZagLong());
+            case BYTES:
+                return in.readBytes(in.readVarInt());
+            case LIST:
+            case SET: {
+                int size = in.readVarInt();
+                Collection<Object> collection = tag == LIST ? new ArrayList<>(size) : new LinkedHashSet<>(capacity(size));
+                for (int i = 0; i < size; i++) {
+                    collection.add(readValue(in, classes, depth + 1));
+                }
+                return collection;
+            }
+            case MAP: {
+                int size = in.readVarInt();
+                Map<Object, Object> map = new LinkedHashMap<>(capacity(size));
+                for (int i = 0; i < size; i++) {
+                    Object key = readValue(in, classes, depth + 1);
+                    map.put(key, readValue(in, classes, depth + 1));
+                }
+                return map;
+            }
+            case ENUM:
+                return readEnum(in, classes);
+            case OBJECT:
+                return readObject(in, classes, depth);
+            case JAVA:
+                return readJava(in.readBytes(in.readVarInt()));
+            default:
+                throw new IllegalStateException("未知的缓存值类型: " + tag);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readEnum(BinaryInput in, List<TypeRef> classes) {
+        TypeRef ref = readClass(in, classes, false);
+        return Enum.valueOf((Class<? extends Enum>) ref.type(), in.readString());
+    }
+
+    private Object readObject(BinaryInput in, List<TypeRef> classes, int depth) {
+        ClassSchema schema = readClass(in, classes, true).schema();
+        try {
+            Object instance = schema.newInstance();
+            for (Field field : schema.fields) {
+                field.set(instance, adapt(field, readValue(in, classes, depth + 1)));
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("缓存对象创建失败: " + schema.type.getName(), e);
+        }
+    }
+
+    private TypeRef readClass(BinaryInput in, List<TypeRef> classes, boolean object) {
+        int code = in.readVarInt();
+        if (code > 0) {
+            return classes.get(code - 1);
+        }
+        int id = in.readVarInt();
+        Class<?> type;
+        if (id != 0) {
+            type = registry.typeOf(id);
+        } else {
+            String name = in.readString();
+            try {
+                type = Class.forName(name, false, Thread.currentThread().getContextClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("缓存类型不存在: " + name, e);
+            }
+        }
+        int fingerprint = in.readIntBE();
+        ClassSchema schema = null;
+        if (object) {
+            schema = schemaOf(type);
+            if (schema == null || schema.fingerprint != fingerprint) {
+                throw new IllegalStateException("缓存类型结构已变更: " + type.getName());
+            }
+        }
+        TypeRef ref = new TypeRef(type, schema);
+        classes.add(ref);
+        return ref;
+    }
+
+    /**
+     * 集合解码为ArrayList/LinkedHashSet/LinkedHashMap，字段声明为其他具体集合类型时转换一次
+     */
+    @SuppressWarnings("unchecked")
+    private static Object adapt(Field field, Object value) throws ReflectiveOperationException {
+        Class<?> type = field.getType();
+        if (value == null || type.isPrimitive() || type.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Collection<?> collection && Collection.class.isAssignableFrom(type)) {
+            Collection<Object> target = (Collection<Object>) type.getDeclaredConstructor().newInstance();
+            target.addAll(collection);
+            return target;
+        }
+        if (value instanceof Map<?, ?> map && Map.class.isAssignableFrom(type)) {
+            Map<Object, Object> target = (Map<Object, Object>) type.getDeclaredConstructor().newInstance();
+            target.putAll(map);
+            return target;
+        }
+        return value;
+    }
+
+    private static Object readJava(byte[] bytes) {
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return stream.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Java反序列化失败", e);
+        }
+    }
+
+    private ClassSchema schemaOf(Class<?> type) {
+        return schemas.computeIfAbsent(type, t -> Optional.ofNullable(ClassSchema.of(t))).orElse(null);
+    }
+
+    private static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f) + 1;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private record TypeRef(Class<?> type, ClassSchema schema) {
+    }
+}
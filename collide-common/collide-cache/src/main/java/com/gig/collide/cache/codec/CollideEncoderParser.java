@@ -0,0 +1,41 @@
+package com.gig.collide.cache.codec;
+
+import com.alicp.jetcache.anno.support.DefaultSpringEncoderParser;
+
+import java.util.function.Function;
+
+/**
+ * 在JetCache内置编码（java、kryo、fastjson2、bean:xxx等）之外识别 {@code collide}
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public class CollideEncoderParser extends DefaultSpringEncoderParser {
+
+    public static final String NAME = "collide";
+
+    private final CollideValueEncoder encoder;
+
+    private final CollideValueDecoder decoder;
+
+    public CollideEncoderParser(CollideBinaryCodec codec) {
+        this.encoder = new CollideValueEncoder(codec);
+        this.decoder = new CollideValueDecoder(codec);
+    }
+
+    @Override
+    public Function<Object, byte[]> parseEncoder(String valueEncoder) {
+        if (NAME.equalsIgnoreCase(valueEncoder)) {
+            return encoder;
+        }
+        return super.parseEncoder(valueEncoder);
+    }
+
+    @Override
+    public Function<byte[], Object> parseDecoder(String valueDecoder) {
+        if (NAME.equalsIgnoreCase(valueDecoder)) {
+            return decoder;
+        }
+        return super.parseDecoder(valueDecoder);
+    }
+}
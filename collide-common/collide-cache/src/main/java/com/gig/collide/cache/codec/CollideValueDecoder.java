@@ -0,0 +1,29 @@
+package com.gig.collide.cache.codec;
+
+import com.alicp.jetcache.support.JavaValueDecoder;
+
+import java.util.function.Function;
+
+/**
+ * JetCache远程缓存值解码器，配置 {@code valueDecoder: collide} 启用
+ * 切换编码前写入的Java序列化数据仍按Java格式解码，切换期间无需清空缓存
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public class CollideValueDecoder implements Function<byte[], Object> {
+
+    private final CollideBinaryCodec codec;
+
+    public CollideValueDecoder(CollideBinaryCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Object apply(byte[] data) {
+        if (CollideBinaryCodec.isEncoded(data)) {
+            return codec.decode(data);
+        }
+        return JavaValueDecoder.INSTANCE.apply(data);
+    }
+}
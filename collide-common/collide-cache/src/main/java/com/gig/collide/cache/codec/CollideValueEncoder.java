@@ -0,0 +1,23 @@
+package com.gig.collide.cache.codec;
+
+import java.util.function.Function;
+
+/**
+ * JetCache远程缓存值编码器，配置 {@code valueEncoder: collide} 启用
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public class CollideValueEncoder implements Function<Object, byte[]> {
+
+    private final CollideBinaryCodec codec;
+
+    public CollideValueEncoder(CollideBinaryCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] apply(Object value) {
+        return codec.encode(value);
+    }
+}
@@ -1,6 +1,12 @@
 package com.gig.collide.cache.config;
 
 import com.alicp.jetcache.anno.config.EnableMethodCache;
+import com.alicp.jetcache.anno.support.EncoderParser;
+import com.gig.collide.cache.codec.CacheTypeRegistry;
+import com.gig.collide.cache.codec.CollideBinaryCodec;
+import com.gig.collide.cache.codec.CollideEncoderParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -12,4 +18,22 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @EnableMethodCache(basePackages = "com.gig.collide")
 public class CacheConfiguration {
+
+    /**
+     * 远程缓存二进制编解码，类型编号表只能在末尾追加
+     */
+    @Bean
+    public CollideBinaryCodec collideBinaryCodec(
+            @Value("${collide.cache.codec.registered-types:}") String[] registeredTypes,
+            @Value("${collide.cache.codec.compress-threshold:1024}") int compressThreshold) {
+        return new CollideBinaryCodec(new CacheTypeRegistry(registeredTypes), compressThreshold);
+    }
+
+    /**
+     * 替换JetCache默认的编码解析，使 valueEncoder/valueDecoder 支持 collide
+     */
+    @Bean
+    public EncoderParser collideEncoderParser(CollideBinaryCodec collideBinaryCodec) {
+        return new CollideEncoderParser(collideBinaryCodec);
+    }
 }
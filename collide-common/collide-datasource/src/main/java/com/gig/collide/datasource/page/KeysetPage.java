@@ -0,0 +1,23 @@
+package com.gig.collide.datasource.page;
+
+import com.gig.collide.base.response.CursorPageResponse;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 游标分页结果
+ *
+ * @param records    当前页记录
+ * @param nextCursor 下一页游标，没有更多时为 null
+ * @param total      总数，未统计时为 null
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public record KeysetPage<T>(List<T> records, String nextCursor, Long total) {
+
+    public <R> CursorPageResponse<R> toResponse(Function<T, R> converter) {
+        return CursorPageResponse.of(records.stream().map(converter).collect(Collectors.toList()), nextCursor, total);
+    }
+}
@@ -0,0 +1,123 @@
+package com.gig.collide.datasource.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.gig.collide.base.request.CursorPageRequest;
+import com.gig.collide.base.request.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页查询条件
+ * 用 (排序键, ID) 定位代替 OFFSET，翻到多深都只扫描一页数据；多查一条用来判断是否还有下一页
+ *
+ * <p>XML 中的用法（按时间倒序，参数名为 seek）：</p>
+ * <pre>
+ * &lt;if test="seek.cursor != null"&gt;
+ *     AND (create_time &amp;lt; #{seek.cursor.sortTime}
+ *          OR (create_time = #{seek.cursor.sortTime} AND id &amp;lt; #{seek.cursor.id}))
+ * &lt;/if&gt;
+ * ORDER BY create_time DESC, id DESC
+ * LIMIT #{seek.limit}
+ * </pre>
+ * 需要 (过滤列..., 排序列, id) 的联合索引，否则定位条件无法走索引
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+public final class KeysetQuery {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final PageCursor cursor;
+
+    private final int pageSize;
+
+    private final boolean withTotal;
+
+    private KeysetQuery(PageCursor cursor, int pageSize, boolean withTotal) {
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+        this.withTotal = withTotal;
+    }
+
+    /**
+     * @throws com.gig.collide.base.exception.BizException 游标格式不正确
+     */
+    public static KeysetQuery of(CursorPageRequest request) {
+        if (request == null) {
+            return new KeysetQuery(null, DEFAULT_PAGE_SIZE, false);
+        }
+        return of(request.getCursor(), request.getPageSize(), request.isWithTotal());
+    }
+
+    public static KeysetQuery of(String cursor, int pageSize, boolean withTotal) {
+        int size = pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        return new KeysetQuery(PageCursor.decode(cursor), size, withTotal);
+    }
+
+    /**
+     * 为 Lambda 条件追加按时间排序的定位条件、排序和 LIMIT
+     *
+     * @param timeColumn 排序时间列
+     * @param idColumn   主键列，排序键相同时用于定位
+     * @param desc       是否倒序
+     */
+    public <T> LambdaQueryWrapper<T> apply(LambdaQueryWrapper<T> wrapper, SFunction<T, LocalDateTime> timeColumn,
+                                           SFunction<T, Long> idColumn, boolean desc) {
+        if (cursor != null) {
+            LocalDateTime time = cursor.getSortTime();
+            long id = cursor.getId();
+            if (desc) {
+                wrapper.and(w -> w.lt(timeColumn, time).or(o -> o.eq(timeColumn, time).lt(idColumn, id)));
+            } else {
+                wrapper.and(w -> w.gt(timeColumn, time).or(o -> o.eq(timeColumn, time).gt(idColumn, id)));
+            }
+        }
+        wrapper.orderBy(true, !desc, timeColumn).orderBy(true, !desc, idColumn);
+        wrapper.last("LIMIT " + getLimit());
+        return wrapper;
+    }
+
+    /**
+     * 把多查一条的结果裁剪为一页并生成下一页游标
+     *
+     * @param rows     按 {@link #getLimit()} 查出的记录
+     * @param cursorOf 由记录生成游标
+     * @param total    总数，未统计时传 null
+     */
+    public <T> KeysetPage<T> toPage(List<T> rows, Function<T, PageCursor> cursorOf, Long total) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null, total);
+        }
+        List<T> page = new ArrayList<>(rows.subList(0, pageSize));
+        return new KeysetPage<>(page, cursorOf.apply(page.get(pageSize - 1)).encode(), total);
+    }
+
+    /**
+     * 上一页最后一条的位置，第一页为 null
+     */
+    public PageCursor getCursor() {
+        return cursor;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * 实际查询条数，比页面大小多一条
+     */
+    public int getLimit() {
+        return pageSize + 1;
+    }
+
+    public boolean isWithTotal() {
+        return withTotal;
+    }
+}
@@ -0,0 +1,38 @@
+package com.gig.collide.limiter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 限流规则
+ * 一次批量限流判定中的单个维度，例如按用户、按IP、按接口
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class LimitSpec {
+
+    /**
+     * 限流的key（通常是用户ID、IP地址等）
+     */
+    private final String key;
+
+    /**
+     * 限流的数量（请求次数上限）
+     */
+    private final int limit;
+
+    /**
+     * 窗口大小，单位为秒
+     */
+    private final int windowSize;
+
+    public static LimitSpec of(String key, int limit, int windowSize) {
+        return new LimitSpec(key, limit, windowSize);
+    }
+}
@@ -0,0 +1,31 @@
+package com.gig.collide.limiter;
+
+/**
+ * 限流算法
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * GCRA（通用信元速率算法），每个key只存一个理论到达时间，内存恒定
+     */
+    GCRA,
+
+    /**
+     * 固定窗口计数器，每个窗口一个计数key
+     */
+    FIXED_WINDOW,
+
+    /**
+     * 本地令牌桶 + Redis分批租借，大部分请求无需访问Redis
+     */
+    LOCAL_LEASE,
+
+    /**
+     * 滑动窗口（ZSET），精确但内存与QPS线性相关，仅用于兼容
+     */
+    SLIDING_WINDOW
+}
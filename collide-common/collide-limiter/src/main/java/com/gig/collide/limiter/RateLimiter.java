@@ -1,5 +1,7 @@
 package com.gig.collide.limiter;
 
+import java.util.List;
+
 /**
  * 限流服务接口
  *
@@ -19,6 +21,15 @@ public interface RateLimiter {
      */
     Boolean tryAcquire(String key, int limit, int windowSize);
 
+    /**
+     * 批量判断多个维度是否都可以通过限流检查，一次 Redis 调用完成且全有或全无：
+     * 任一维度被限流时所有维度都不计数
+     *
+     * @param specs 限流规则列表，key 不应重复
+     * @return true-全部允许通过，false-至少一个维度被限流
+     */
+    Boolean tryAcquireAll(List<LimitSpec> specs);
+
     /**
      * 获取剩余可用次数
      *
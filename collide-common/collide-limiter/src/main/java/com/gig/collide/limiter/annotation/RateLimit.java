@@ -0,0 +1,51 @@
+package com.gig.collide.limiter.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明式限流注解
+ * 同一方法可重复声明多个维度（如用户、IP、接口），所有维度通过一次 tryAcquireAll 全有或全无地判定，
+ * 任一维度被限流时抛出 API_RATE_LIMIT 业务异常
+ *
+ * <pre>
+ * &#64;RateLimit(name = "like:user", key = "#request.userId", limit = 10, windowSize = 60)
+ * &#64;RateLimit(name = "like:api", limit = 1000, windowSize = 1)
+ * </pre>
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RateLimits.class)
+public @interface RateLimit {
+
+    /**
+     * 限流维度名称，作为限流 key 的前缀，也用于按前缀路由限流算法；
+     * 同一方法上的全部维度必须路由到同一算法
+     */
+    String name();
+
+    /**
+     * 限流 key 的 SpEL 表达式，可引用方法参数（如 #userId、#request.ip），为空时按方法整体限流；
+     * 表达式结果为空时拒绝请求并抛出 PARAM_REQUIRED 业务异常
+     */
+    String key() default "";
+
+    /**
+     * 窗口内允许的请求次数
+     */
+    int limit();
+
+    /**
+     * 窗口大小，单位为秒
+     */
+    int windowSize() default 1;
+}
@@ -0,0 +1,22 @@
+package com.gig.collide.limiter.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link RateLimit} 的容器注解，支持同一方法声明多个限流维度
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimits {
+
+    RateLimit[] value();
+}
@@ -0,0 +1,96 @@
+package com.gig.collide.limiter.aspect;
+
+import com.gig.collide.base.exception.BizException;
+import com.gig.collide.base.exception.CommonErrorCode;
+import com.gig.collide.limiter.LimitSpec;
+import com.gig.collide.limiter.RateLimiter;
+import com.gig.collide.limiter.annotation.RateLimit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 声明式限流切面
+ * 解析方法上的全部 {@link RateLimit}，合并为一次 tryAcquireAll 调用；
+ * 顺序紧随 FacadeAspect 之后，被限流时抛出的业务异常由 FacadeAspect 转换为失败响应
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Aspect
+@Order(Integer.MIN_VALUE + 1)
+@RequiredArgsConstructor
+public class RateLimitAspect {
+
+    private final RateLimiter rateLimiter;
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 已解析的 SpEL 表达式缓存，避免每次调用重复解析
+     */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    /**
+     * 方法上的限流注解缓存
+     */
+    private final Map<Method, Set<RateLimit>> annotationCache = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.gig.collide.limiter.annotation.RateLimit) || @annotation(com.gig.collide.limiter.annotation.RateLimits)")
+    public Object rateLimit(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Set<RateLimit> rateLimits = annotationCache.computeIfAbsent(method,
+            m -> AnnotatedElementUtils.findMergedRepeatableAnnotations(m, RateLimit.class));
+
+        List<LimitSpec> specs = new ArrayList<>(rateLimits.size());
+        for (RateLimit rateLimit : rateLimits) {
+            specs.add(LimitSpec.of(buildKey(rateLimit, method, pjp.getArgs()), rateLimit.limit(), rateLimit.windowSize()));
+        }
+
+        if (!Boolean.TRUE.equals(rateLimiter.tryAcquireAll(specs))) {
+            log.warn("接口限流: method={}.{}, specs={}", method.getDeclaringClass().getSimpleName(), method.getName(), specs);
+            throw new BizException(CommonErrorCode.API_RATE_LIMIT);
+        }
+        return pjp.proceed();
+    }
+
+    private String buildKey(RateLimit rateLimit, Method method, Object[] args) {
+        if (StringUtils.isBlank(rateLimit.key())) {
+            return rateLimit.name() + ":" + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(null, method, args, nameDiscoverer);
+        Expression expression = expressionCache.computeIfAbsent(rateLimit.key(), parser::parseExpression);
+        String value = expression.getValue(context, String.class);
+        if (StringUtils.isBlank(value)) {
+            // 不能退化为所有调用方共用的 name:null 计数
+            log.warn("限流 key 为空，拒绝请求: method={}.{}, name={}, key={}",
+                method.getDeclaringClass().getSimpleName(), method.getName(), rateLimit.name(), rateLimit.key());
+            throw new BizException("限流 key 为空: " + rateLimit.key(), CommonErrorCode.PARAM_REQUIRED);
+        }
+        return rateLimit.name() + ":" + value;
+    }
+}
@@ -1,16 +1,28 @@
 package com.gig.collide.limiter.config;
 
+import com.gig.collide.limiter.RateLimitAlgorithm;
 import com.gig.collide.limiter.RateLimiter;
+import com.gig.collide.limiter.aspect.RateLimitAspect;
+import com.gig.collide.limiter.impl.FixedWindowRateLimiter;
+import com.gig.collide.limiter.impl.GcraRateLimiter;
+import com.gig.collide.limiter.impl.LocalLeasingRateLimiter;
+import com.gig.collide.limiter.impl.RoutingRateLimiter;
 import com.gig.collide.limiter.impl.SlidingWindowRateLimiter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 限流器自动配置
+ * 按 collide.limiter.routes 为不同 key 前缀选择限流算法，未配置的 key 使用默认算法
  *
  * @author Collide Team
  * @version 1.0
@@ -19,12 +31,29 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 @Slf4j
 @AutoConfiguration
 @ConditionalOnClass({StringRedisTemplate.class})
+@EnableConfigurationProperties(LimiterProperties.class)
 public class LimiterAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public RateLimiter rateLimiter(StringRedisTemplate redisTemplate) {
-        log.info("初始化滑动窗口限流器组件");
-        return new SlidingWindowRateLimiter(redisTemplate);
+    public RateLimiter rateLimiter(StringRedisTemplate redisTemplate, LimiterProperties properties) {
+        Map<RateLimitAlgorithm, RateLimiter> limiters = new EnumMap<>(RateLimitAlgorithm.class);
+        limiters.put(RateLimitAlgorithm.GCRA, new GcraRateLimiter(redisTemplate));
+        limiters.put(RateLimitAlgorithm.FIXED_WINDOW, new FixedWindowRateLimiter(redisTemplate));
+        limiters.put(RateLimitAlgorithm.LOCAL_LEASE,
+            new LocalLeasingRateLimiter(redisTemplate, properties.getLeaseChunkSize()));
+        limiters.put(RateLimitAlgorithm.SLIDING_WINDOW, new SlidingWindowRateLimiter(redisTemplate));
+
+        Map<String, RateLimiter> routes = new LinkedHashMap<>();
+        properties.getRoutes().forEach((prefix, algorithm) -> routes.put(prefix, limiters.get(algorithm)));
+
+        log.info("初始化限流器组件: 默认算法={}, 前缀路由={}", properties.getDefaultAlgorithm(), properties.getRoutes());
+        return new RoutingRateLimiter(routes, limiters.get(properties.getDefaultAlgorithm()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimitAspect rateLimitAspect(RateLimiter rateLimiter) {
+        return new RateLimitAspect(rateLimiter);
     }
-} 
\ No newline at end of file
+}
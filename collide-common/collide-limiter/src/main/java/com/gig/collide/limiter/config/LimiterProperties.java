@@ -0,0 +1,58 @@
+package com.gig.collide.limiter.config;
+
+import com.gig.collide.limiter.RateLimitAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 限流器配置
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@ConfigurationProperties(prefix = LimiterProperties.PREFIX)
+public class LimiterProperties {
+    public static final String PREFIX = "collide.limiter";
+
+    /**
+     * 默认限流算法
+     */
+    private RateLimitAlgorithm defaultAlgorithm = RateLimitAlgorithm.GCRA;
+
+    /**
+     * 按 key 前缀指定限流算法，最长前缀优先
+     */
+    private Map<String, RateLimitAlgorithm> routes = new LinkedHashMap<>();
+
+    /**
+     * 本地预准入限流器每次从 Redis 租借的令牌数
+     */
+    private int leaseChunkSize = 20;
+
+    public RateLimitAlgorithm getDefaultAlgorithm() {
+        return defaultAlgorithm;
+    }
+
+    public void setDefaultAlgorithm(RateLimitAlgorithm defaultAlgorithm) {
+        this.defaultAlgorithm = defaultAlgorithm;
+    }
+
+    public Map<String, RateLimitAlgorithm> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RateLimitAlgorithm> routes) {
+        this.routes = routes;
+    }
+
+    public int getLeaseChunkSize() {
+        return leaseChunkSize;
+    }
+
+    public void setLeaseChunkSize(int leaseChunkSize) {
+        this.leaseChunkSize = leaseChunkSize;
+    }
+}
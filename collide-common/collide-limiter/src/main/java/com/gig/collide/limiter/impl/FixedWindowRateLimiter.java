@@ -0,0 +1,154 @@
+package com.gig.collide.limiter.impl;
+
+import com.gig.collide.limiter.LimitSpec;
+import com.gig.collide.limiter.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 固定窗口限流器实现
+ * 每个 key 一个计数器，窗口内首次计数时设置过期时间，INCRBY 判定后超限回退，窗口结束自动过期
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FixedWindowRateLimiter implements RateLimiter {
+
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String LIMIT_KEY_PREFIX = "collide:limit:fixed:";
+
+    /**
+     * Redis Lua 脚本：固定窗口计数，返回 {是否允许, 剩余可用次数}
+     */
+    private static final String FIXED_WINDOW_SCRIPT = """
+        local key = KEYS[1]
+        local limit = tonumber(ARGV[1])
+        local windowSize = tonumber(ARGV[2])
+        local permits = tonumber(ARGV[3])
+
+        local current = redis.call('INCRBY', key, permits)
+        if current == permits then
+            redis.call('EXPIRE', key, windowSize)
+        end
+
+        if current > limit then
+            redis.call('DECRBY', key, permits)
+            return {0, math.max(0, limit - current + permits)}
+        end
+        return {1, limit - current}
+        """;
+
+    /**
+     * Redis Lua 脚本：批量固定窗口计数，先判定所有 key 再统一计数，全有或全无
+     * 每个 key 依次为 limit、windowSize；返回 0 表示全部允许，否则为首个被限流的 key 序号
+     */
+    private static final String FIXED_WINDOW_ALL_SCRIPT = """
+        for i = 1, #KEYS do
+            local limit = tonumber(ARGV[i * 2 - 1])
+            local used = tonumber(redis.call('GET', KEYS[i]) or '0')
+            if used + 1 > limit then
+                return i
+            end
+        end
+
+        for i = 1, #KEYS do
+            if redis.call('INCR', KEYS[i]) == 1 then
+                redis.call('EXPIRE', KEYS[i], ARGV[i * 2])
+            end
+        end
+        return 0
+        """;
+
+    private final DefaultRedisScript<Long> fixedWindowAllScript = new DefaultRedisScript<>(FIXED_WINDOW_ALL_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<List> fixedWindowScript = new DefaultRedisScript<>(FIXED_WINDOW_SCRIPT, List.class);
+
+    @Override
+    public Boolean tryAcquire(String key, int limit, int windowSize) {
+        try {
+            List<Long> result = redisTemplate.execute(
+                fixedWindowScript,
+                Collections.singletonList(LIMIT_KEY_PREFIX + key),
+                String.valueOf(limit),
+                String.valueOf(windowSize),
+                "1"
+            );
+
+            if (result != null && !result.isEmpty()) {
+                boolean allowed = result.get(0) == 1L;
+                if (!allowed) {
+                    log.debug("限流触发: key={}, limit={}, windowSize={}s", key, limit, windowSize);
+                }
+                return allowed;
+            }
+
+            return false;
+        } catch (Exception e) {
+            log.error("限流检查异常: key={}", key, e);
+            // 异常情况下默认允许通过
+            return true;
+        }
+    }
+
+    @Override
+    public Boolean tryAcquireAll(List<LimitSpec> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return true;
+        }
+        try {
+            List<String> keys = new ArrayList<>(specs.size());
+            List<String> args = new ArrayList<>(specs.size() * 2);
+            for (LimitSpec spec : specs) {
+                keys.add(LIMIT_KEY_PREFIX + spec.getKey());
+                args.add(String.valueOf(spec.getLimit()));
+                args.add(String.valueOf(spec.getWindowSize()));
+            }
+
+            Long rejected = redisTemplate.execute(fixedWindowAllScript, keys, args.toArray());
+            if (rejected == null) {
+                return false;
+            }
+            if (rejected != 0L) {
+                log.debug("限流触发: spec={}", specs.get(rejected.intValue() - 1));
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量限流检查异常: specs={}", specs, e);
+            // 异常情况下默认允许通过
+            return true;
+        }
+    }
+
+    @Override
+    public Long getAvailableTokens(String key, int limit, int windowSize) {
+        try {
+            String current = redisTemplate.opsForValue().get(LIMIT_KEY_PREFIX + key);
+            long used = current == null ? 0L : Long.parseLong(current);
+            return Math.max(0L, limit - used);
+        } catch (Exception e) {
+            log.error("获取可用令牌数异常: key={}", key, e);
+            return (long) limit;
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        try {
+            redisTemplate.delete(LIMIT_KEY_PREFIX + key);
+            log.debug("重置限流计数: key={}", key);
+        } catch (Exception e) {
+            log.error("重置限流计数异常: key={}", key, e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.gig.collide.limiter.impl;
+
+import com.gig.collide.limiter.LimitSpec;
+import com.gig.collide.limiter.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GCRA 限流器实现
+ * 基于 Redis 实现的通用信元速率算法（等价于令牌桶），每个 key 只保存一个理论到达时间（TAT），
+ * 内存占用与 QPS 无关，每次判定只需一次 EVAL
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GcraRateLimiter implements RateLimiter {
+
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String LIMIT_KEY_PREFIX = "collide:limit:gcra:";
+
+    /**
+     * Redis Lua 脚本：GCRA 限流
+     * 发射间隔 = 窗口 / 上限，允许突发 = 整个窗口；返回 {是否允许, 剩余可用次数}
+     */
+    private static final String GCRA_SCRIPT = """
+        local key = KEYS[1]
+        local limit = tonumber(ARGV[1])
+        local windowMillis = tonumber(ARGV[2]) * 1000
+        local currentTime = tonumber(ARGV[3])
+        local permits = tonumber(ARGV[4])
+        local interval = windowMillis / limit
+
+        local tat = tonumber(redis.call('GET', key) or currentTime)
+        if tat < currentTime then
+            tat = currentTime
+        end
+
+        local newTat = tat + interval * permits
+        if newTat - windowMillis > currentTime then
+            return {0, math.floor((windowMillis - (tat - currentTime)) / interval)}
+        end
+
+        redis.call('SET', key, string.format('%.0f', newTat), 'PX', math.ceil(newTat - currentTime))
+        return {1, math.floor((windowMillis - (newTat - currentTime)) / interval)}
+        """;
+
+    /**
+     * Redis Lua 脚本：批量 GCRA 限流，先判定所有 key 再统一写入，全有或全无
+     * ARGV[1] 为当前时间，之后每个 key 依次为 limit、windowSize；返回 0 表示全部允许，否则为首个被限流的 key 序号
+     */
+    private static final String GCRA_ALL_SCRIPT = """
+        local currentTime = tonumber(ARGV[1])
+        local newTats = {}
+
+        for i = 1, #KEYS do
+            local limit = tonumber(ARGV[i * 2])
+            local windowMillis = tonumber(ARGV[i * 2 + 1]) * 1000
+            local interval = windowMillis / limit
+
+            local tat = tonumber(redis.call('GET', KEYS[i]) or currentTime)
+            if tat < currentTime then
+                tat = currentTime
+            end
+
+            local newTat = tat + interval
+            if newTat - windowMillis > currentTime then
+                return i
+            end
+            newTats[i] = newTat
+        end
+
+        for i = 1, #KEYS do
+            redis.call('SET', KEYS[i], string.format('%.0f', newTats[i]), 'PX', math.ceil(newTats[i] - currentTime))
+        end
+        return 0
+        """;
+
+    /**
+     * Redis Lua 脚本：只读计算剩余可用次数
+     */
+    private static final String AVAILABLE_SCRIPT = """
+        local limit = tonumber(ARGV[1])
+        local windowMillis = tonumber(ARGV[2]) * 1000
+        local currentTime = tonumber(ARGV[3])
+        local interval = windowMillis / limit
+
+        local tat = tonumber(redis.call('GET', KEYS[1]) or currentTime)
+        if tat < currentTime then
+            tat = currentTime
+        end
+        return math.floor((windowMillis - (tat - currentTime)) / interval)
+        """;
+
+    private final DefaultRedisScript<List> gcraScript = new DefaultRedisScript<>(GCRA_SCRIPT, List.class);
+
+    private final DefaultRedisScript<Long> gcraAllScript = new DefaultRedisScript<>(GCRA_ALL_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> availableScript = new DefaultRedisScript<>(AVAILABLE_SCRIPT, Long.class);
+
+    @Override
+    public Boolean tryAcquire(String key, int limit, int windowSize) {
+        try {
+            List<Long> result = redisTemplate.execute(
+                gcraScript,
+                Collections.singletonList(LIMIT_KEY_PREFIX + key),
+                String.valueOf(limit),
+                String.valueOf(windowSize),
+                String.valueOf(System.currentTimeMillis()),
+                "1"
+            );
+
+            if (result != null && !result.isEmpty()) {
+                boolean allowed = result.get(0) == 1L;
+                if (!allowed) {
+                    log.debug("限流触发: key={}, limit={}, windowSize={}s", key, limit, windowSize);
+                }
+                return allowed;
+            }
+
+            return false;
+        } catch (Exception e) {
+            log.error("限流检查异常: key={}", key, e);
+            // 异常情况下默认允许通过
+            return true;
+        }
+    }
+
+    @Override
+    public Boolean tryAcquireAll(List<LimitSpec> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return true;
+        }
+        try {
+            List<String> keys = new ArrayList<>(specs.size());
+            List<String> args = new ArrayList<>(specs.size() * 2 + 1);
+            args.add(String.valueOf(System.currentTimeMillis()));
+            for (LimitSpec spec : specs) {
+                keys.add(LIMIT_KEY_PREFIX + spec.getKey());
+                args.add(String.valueOf(spec.getLimit()));
+                args.add(String.valueOf(spec.getWindowSize()));
+            }
+
+            Long rejected = redisTemplate.execute(gcraAllScript, keys, args.toArray());
+            if (rejected == null) {
+                return false;
+            }
+            if (rejected != 0L) {
+                log.debug("限流触发: spec={}", specs.get(rejected.intValue() - 1));
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量限流检查异常: specs={}", specs, e);
+            // 异常情况下默认允许通过
+            return true;
+        }
+    }
+
+    @Override
+    public Long getAvailableTokens(String key, int limit, int windowSize) {
+        try {
+            Long available = redisTemplate.execute(
+                availableScript,
+                Collections.singletonList(LIMIT_KEY_PREFIX + key),
+                String.valueOf(limit),
+                String.valueOf(windowSize),
+                String.valueOf(System.currentTimeMillis())
+            );
+            return available == null ? (long) limit : Math.max(0L, Math.min(limit, available));
+        } catch (Exception e) {
+            log.error("获取可用令牌数异常: key={}", key, e);
+            return (long) limit;
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        try {
+            redisTemplate.delete(LIMIT_KEY_PREFIX + key);
+            log.debug("重置限流计数: key={}", key);
+        } catch (Exception e) {
+            log.error("重置限流计数异常: key={}", key, e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.gig.collide.limiter.impl;
+
+import com.gig.collide.limiter.LimitSpec;
+import com.gig.collide.limiter.RateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 本地预准入限流器实现
+ * 在 JVM 内为每个 key 维护一个本地令牌桶，令牌按块从 Redis 固定窗口计数器中租借，
+ * 本地桶有余量时 tryAcquire 不访问 Redis；窗口切换时未用完的租借令牌作废，
+ * 因此所有节点放行总数不会超过上限，代价是最多少放行 节点数 × 租借块大小 个请求
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+public class LocalLeasingRateLimiter implements RateLimiter {
+
+    private static final String LIMIT_KEY_PREFIX = "collide:limit:lease:";
+
+    /**
+     * 单个 key 的租借块不超过上限的 1/LEASE_RATIO，避免单节点占满整个窗口
+     */
+    private static final int LEASE_RATIO = 10;
+
+    /**
+     * Redis Lua 脚本：从当前窗口租借最多 chunk 个令牌，返回实际租借数量
+     */
+    private static final String LEASE_SCRIPT = """
+        local key = KEYS[1]
+        local limit = tonumber(ARGV[1])
+        local windowSize = tonumber(ARGV[2])
+        local chunk = tonumber(ARGV[3])
+
+        local used = tonumber(redis.call('GET', key) or '0')
+        local grant = math.min(chunk, limit - used)
+        if grant <= 0 then
+            return 0
+        end
+
+        redis.call('INCRBY', key, grant)
+        if used == 0 then
+            redis.call('EXPIRE', key, windowSize)
+        end
+        return grant
+        """;
+
+    /**
+     * Redis Lua 脚本：批量租借，所有 key 至少能租到 1 个令牌时才统一租借，全有或全无
+     * 每个 key 依次为 limit、windowSize、chunk；返回 {0, 各 key 租借数量...}，被限流时返回 {首个被限流的 key 序号}
+     */
+    private static final String LEASE_ALL_SCRIPT = """
+        local used = {}
+        for i = 1, #KEYS do
+            local limit = tonumber(ARGV[i * 3 - 2])
+            used[i] = tonumber(redis.call('GET', KEYS[i]) or '0')
+            if used[i] >= limit then
+                return {i}
+            end
+        end
+
+        local result = {0}
+        for i = 1, #KEYS do
+            local limit = tonumber(ARGV[i * 3 - 2])
+            local chunk = tonumber(ARGV[i * 3])
+            local grant = math.min(chunk, limit - used[i])
+            redis.call('INCRBY', KEYS[i], grant)
+            if used[i] == 0 then
+                redis.call('EXPIRE', KEYS[i], ARGV[i * 3 - 1])
+            end
+            result[i + 1] = grant
+        end
+        return result
+        """;
+
+    private final DefaultRedisScript<Long> leaseScript = new DefaultRedisScript<>(LEASE_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<List> leaseAllScript = new DefaultRedisScript<>(LEASE_ALL_SCRIPT, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final int leaseChunkSize;
+
+    private final Cache<String, LeaseBucket> buckets;
+
+    public LocalLeasingRateLimiter(StringRedisTemplate redisTemplate, int leaseChunkSize) {
+        this.redisTemplate = redisTemplate;
+        this.leaseChunkSize = Math.max(1, leaseChunkSize);
+        this.buckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+    }
+
+    @Override
+    public Boolean tryAcquire(String key, int limit, int windowSize) {
+        LeaseBucket bucket = buckets.get(key, k -> new LeaseBucket());
+        long windowId = windowId(windowSize);
+
+        synchronized (bucket) {
+            bucket.roll(windowId, windowSize);
+
+            if (bucket.available > 0) {
+                bucket.available--;
+                return true;
+            }
+            if (bucket.exhausted) {
+                log.debug("限流触发(本地): key={}, limit={}, windowSize={}s", key, limit, windowSize);
+                return false;
+            }
+
+            try {
+                Long granted = redisTemplate.execute(
+                    leaseScript,
+                    Collections.singletonList(windowKey(key, windowId)),
+                    String.valueOf(limit),
+                    String.valueOf(windowSize),
+                    String.valueOf(chunkSize(limit))
+                );
+
+                if (granted != null && granted > 0) {
+                    bucket.available = granted - 1;
+                    return true;
+                }
+
+                // 当前窗口已租借完，本窗口内不再访问 Redis
+                bucket.exhausted = true;
+                log.debug("限流触发: key={}, limit={}, windowSize={}s", key, limit, windowSize);
+                return false;
+            } catch (Exception e) {
+                log.error("限流检查异常: key={}", key, e);
+                // 异常情况下默认允许通过
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 先从各本地桶预扣令牌，本地不足的维度再一次性向 Redis 批量租借；
+     * 任一维度被限流时归还已预扣的本地令牌，同一时刻只持有一个桶的锁
+     */
+    @Override
+    public Boolean tryAcquireAll(List<LimitSpec> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return true;
+        }
+
+        int size = specs.size();
+        LeaseBucket[] specBuckets = new LeaseBucket[size];
+        long[] windowIds = new long[size];
+        boolean[] taken = new boolean[size];
+        List<Integer> leasing = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            LimitSpec spec = specs.get(i);
+            specBuckets[i] = buckets.get(spec.getKey(), k -> new LeaseBucket());
+            windowIds[i] = windowId(spec.getWindowSize());
+
+            synchronized (specBuckets[i]) {
+                specBuckets[i].roll(windowIds[i], spec.getWindowSize());
+                if (specBuckets[i].available > 0) {
+                    specBuckets[i].available--;
+                    taken[i] = true;
+                    continue;
+                }
+                if (specBuckets[i].exhausted) {
+                    log.debug("限流触发(本地): spec={}", spec);
+                    refund(specBuckets, windowIds, taken);
+                    return false;
+                }
+            }
+            leasing.add(i);
+        }
+
+        if (leasing.isEmpty()) {
+            return true;
+        }
+
+        try {
+            List<String> keys = new ArrayList<>(leasing.size());
+            List<String> args = new ArrayList<>(leasing.size() * 3);
+            for (int i : leasing) {
+                LimitSpec spec = specs.get(i);
+                keys.add(windowKey(spec.getKey(), windowIds[i]));
+                args.add(String.valueOf(spec.getLimit()));
+                args.add(String.valueOf(spec.getWindowSize()));
+                args.add(String.valueOf(chunkSize(spec.getLimit())));
+            }
+
+            List<Long> result = redisTemplate.execute(leaseAllScript, keys, args.toArray());
+            if (result == null || result.isEmpty()) {
+                refund(specBuckets, windowIds, taken);
+                return false;
+            }
+
+            long rejected = result.get(0);
+            if (rejected != 0L) {
+                int index = leasing.get((int) rejected - 1);
+                synchronized (specBuckets[index]) {
+                    if (specBuckets[index].windowId == windowIds[index]) {
+                        // 当前窗口已租借完，本窗口内不再访问 Redis
+                        specBuckets[index].exhausted = true;
+                    }
+                }
+                log.debug("限流触发: spec={}", specs.get(index));
+                refund(specBuckets, windowIds, taken);
+                return false;
+            }
+
+            for (int j = 0; j < leasing.size(); j++) {
+                int index = leasing.get(j);
+                synchronized (specBuckets[index]) {
+                    // 租借期间窗口已切换的令牌直接作废
+                    if (specBuckets[index].windowId == windowIds[index]) {
+                        specBuckets[index].available += result.get(j + 1) - 1;
+                    }
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量限流检查异常: specs={}", specs, e);
+            // 异常情况下默认允许通过
+            return true;
+        }
+    }
+
+    @Override
+    public Long getAvailableTokens(String key, int limit, int windowSize) {
+        long windowId = windowId(windowSize);
+        long localAvailable = 0L;
+        LeaseBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            synchronized (bucket) {
+                bucket.roll(windowId, windowSize);
+                localAvailable = bucket.available;
+            }
+        }
+
+        try {
+            String used = redisTemplate.opsForValue().get(windowKey(key, windowId));
+            long remaining = limit - (used == null ? 0L : Long.parseLong(used));
+            return Math.max(0L, remaining + localAvailable);
+        } catch (Exception e) {
+            log.error("获取可用令牌数异常: key={}", key, e);
+            return (long) limit;
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        try {
+            LeaseBucket bucket = buckets.getIfPresent(key);
+            buckets.invalidate(key);
+            if (bucket != null && bucket.windowSize > 0) {
+                redisTemplate.delete(windowKey(key, windowId(bucket.windowSize)));
+            }
+            log.debug("重置限流计数: key={}", key);
+        } catch (Exception e) {
+            log.error("重置限流计数异常: key={}", key, e);
+        }
+    }
+
+    /**
+     * 归还预扣的本地令牌，窗口已切换的不再归还
+     */
+    private void refund(LeaseBucket[] specBuckets, long[] windowIds, boolean[] taken) {
+        for (int i = 0; i < taken.length; i++) {
+            if (!taken[i]) {
+                continue;
+            }
+            synchronized (specBuckets[i]) {
+                if (specBuckets[i].windowId == windowIds[i]) {
+                    specBuckets[i].available++;
+                }
+            }
+        }
+    }
+
+    private int chunkSize(int limit) {
+        return Math.max(1, Math.min(leaseChunkSize, limit / LEASE_RATIO));
+    }
+
+    private long windowId(int windowSize) {
+        return System.currentTimeMillis() / (windowSize * 1000L);
+    }
+
+    private String windowKey(String key, long windowId) {
+        return LIMIT_KEY_PREFIX + key + ":" + windowId;
+    }
+
+    /**
+     * 本地令牌桶，只持有当前窗口租借到的令牌
+     */
+    private static final class LeaseBucket {
+
+        private long windowId = -1L;
+
+        private int windowSize;
+
+        private long available;
+
+        private boolean exhausted;
+
+        private void roll(long currentWindowId, int currentWindowSize) {
+            if (windowId != currentWindowId || windowSize != currentWindowSize) {
+                windowId = currentWindowId;
+                windowSize = currentWindowSize;
+                available = 0L;
+                exhausted = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gig.collide.limiter.impl;
+
+import com.gig.collide.limiter.LimitSpec;
+import com.gig.collide.limiter.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按 key 前缀路由的限流器
+ * 按最长前缀匹配选择限流算法，未匹配的 key 使用默认限流器
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class RoutingRateLimiter implements RateLimiter {
+
+    private final List<Map.Entry<String, RateLimiter>> routes;
+
+    private final RateLimiter defaultLimiter;
+
+    public RoutingRateLimiter(Map<String, RateLimiter> routes, RateLimiter defaultLimiter) {
+        this.routes = new ArrayList<>(routes.entrySet());
+        // 最长前缀优先
+        this.routes.sort(Comparator.comparingInt((Map.Entry<String, RateLimiter> e) -> e.getKey().length()).reversed());
+        this.defaultLimiter = defaultLimiter;
+    }
+
+    @Override
+    public Boolean tryAcquire(String key, int limit, int windowSize) {
+        return route(key).tryAcquire(key, limit, windowSize);
+    }
+
+    /**
+     * 所有 key 必须路由到同一算法，整体委托以保持一次调用且全有或全无。
+     * 跨算法的规则无法原子判定，后续算法拒绝时前面的算法已计数，因此直接拒绝这类配置
+     *
+     * @throws IllegalArgumentException 规则路由到多个算法
+     */
+    @Override
+    public Boolean tryAcquireAll(List<LimitSpec> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return true;
+        }
+
+        RateLimiter limiter = route(specs.get(0).getKey());
+        for (int i = 1; i < specs.size(); i++) {
+            if (route(specs.get(i).getKey()) != limiter) {
+                throw new IllegalArgumentException("批量限流规则路由到了不同的限流算法，无法全有或全无地判定: " + specs);
+            }
+        }
+        return limiter.tryAcquireAll(specs);
+    }
+
+    @Override
+    public Long getAvailableTokens(String key, int limit, int windowSize) {
+        return route(key).getAvailableTokens(key, limit, windowSize);
+    }
+
+    @Override
+    public void reset(String key) {
+        route(key).reset(key);
+    }
+
+    /**
+     * 选择 key 对应的限流器
+     *
+     * @param key 限流的key
+     * @return 限流器
+     */
+    public RateLimiter route(String key) {
+        for (Map.Entry<String, RateLimiter> route : routes) {
+            if (key.startsWith(route.getKey())) {
+                return route.getValue();
+            }
+        }
+        return defaultLimiter;
+    }
+}
@@ -1,12 +1,15 @@
 package com.gig.collide.limiter.impl;
 
+import com.gig.collide.limiter.LimitSpec;
 import com.gig.collide.limiter.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,16 +56,54 @@ public class SlidingWindowRateLimiter implements RateLimiter {
         end
         """;
 
+    /**
+     * Redis Lua 脚本：批量滑动窗口限流，先判定所有 key 再统一记录，全有或全无
+     * ARGV[1] 为当前时间，之后每个 key 依次为 limit、windowSize；返回 0 表示全部允许，否则为首个被限流的 key 序号
+     */
+    private static final String SLIDING_WINDOW_ALL_SCRIPT = """
+        local currentTime = tonumber(ARGV[1])
+
+        for i = 1, #KEYS do
+            local limit = tonumber(ARGV[i * 2])
+            local windowSize = tonumber(ARGV[i * 2 + 1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', currentTime - windowSize * 1000)
+            if redis.call('ZCARD', KEYS[i]) >= limit then
+                return i
+            end
+        end
+
+        for i = 1, #KEYS do
+            redis.call('ZADD', KEYS[i], currentTime, currentTime)
+            redis.call('EXPIRE', KEYS[i], ARGV[i * 2 + 1])
+        end
+        return 0
+        """;
+
+    /**
+     * Redis Lua 脚本：清理过期记录并返回剩余可用次数，一次往返完成
+     */
+    private static final String AVAILABLE_SCRIPT = """
+        local limit = tonumber(ARGV[1])
+        local expireTime = tonumber(ARGV[3]) - tonumber(ARGV[2]) * 1000
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', expireTime)
+        return math.max(0, limit - redis.call('ZCARD', KEYS[1]))
+        """;
+
     private final DefaultRedisScript<java.util.List> slidingWindowScript = 
         new DefaultRedisScript<>(SLIDING_WINDOW_SCRIPT, java.util.List.class);
 
+    private final DefaultRedisScript<Long> slidingWindowAllScript =
+        new DefaultRedisScript<>(SLIDING_WINDOW_ALL_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> availableScript = new DefaultRedisScript<>(AVAILABLE_SCRIPT, Long.class);
+
     @Override
     public Boolean tryAcquire(String key, int limit, int windowSize) {
         try {
             String limitKey = LIMIT_KEY_PREFIX + key;
             long currentTime = System.currentTimeMillis();
             
-            java.util.List<Long> result = redisTemplate.execute(
+            List<Long> result = redisTemplate.execute(
                 slidingWindowScript,
                 Collections.singletonList(limitKey),
                 String.valueOf(limit),
@@ -87,22 +128,47 @@ public class SlidingWindowRateLimiter implements RateLimiter {
     }
 
     @Override
-    public Long getAvailableTokens(String key, int limit, int windowSize) {
+    public Boolean tryAcquireAll(List<LimitSpec> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return true;
+        }
         try {
-            String limitKey = LIMIT_KEY_PREFIX + key;
-            long currentTime = System.currentTimeMillis();
-            long expireTime = currentTime - windowSize * 1000L;
-            
-            // 移除过期记录
-            redisTemplate.opsForZSet().removeRangeByScore(limitKey, Double.NEGATIVE_INFINITY, expireTime);
-            
-            // 获取当前窗口内的请求数量
-            Long currentCount = redisTemplate.opsForZSet().zCard(limitKey);
-            if (currentCount == null) {
-                currentCount = 0L;
+            List<String> keys = new ArrayList<>(specs.size());
+            List<String> args = new ArrayList<>(specs.size() * 2 + 1);
+            args.add(String.valueOf(System.currentTimeMillis()));
+            for (LimitSpec spec : specs) {
+                keys.add(LIMIT_KEY_PREFIX + spec.getKey());
+                args.add(String.valueOf(spec.getLimit()));
+                args.add(String.valueOf(spec.getWindowSize()));
             }
-            
-            return Math.max(0L, limit - currentCount);
+
+            Long rejected = redisTemplate.execute(slidingWindowAllScript, keys, args.toArray());
+            if (rejected == null) {
+                return false;
+            }
+            if (rejected != 0L) {
+                log.debug("限流触发: spec={}", specs.get(rejected.intValue() - 1));
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量限流检查异常: specs={}", specs, e);
+            // 异常情况下默认允许通过
+            return true;
+        }
+    }
+
+    @Override
+    public Long getAvailableTokens(String key, int limit, int windowSize) {
+        try {
+            Long available = redisTemplate.execute(
+                availableScript,
+                Collections.singletonList(LIMIT_KEY_PREFIX + key),
+                String.valueOf(limit),
+                String.valueOf(windowSize),
+                String.valueOf(System.currentTimeMillis())
+            );
+            return available == null ? (long) limit : available;
         } catch (Exception e) {
             log.error("获取可用令牌数异常: key={}", key, e);
             return (long) limit;
@@ -0,0 +1,127 @@
+package com.gig.collide.limiter.benchmark;
+
+import com.gig.collide.limiter.RateLimiter;
+import com.gig.collide.limiter.impl.FixedWindowRateLimiter;
+import com.gig.collide.limiter.impl.GcraRateLimiter;
+import com.gig.collide.limiter.impl.LocalLeasingRateLimiter;
+import com.gig.collide.limiter.impl.SlidingWindowRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流算法基准测试
+ * 对比 ZSET 滑动窗口、GCRA、固定窗口、本地预准入四种实现的 tryAcquire 吞吐，需要可访问的 Redis：
+ * <pre>
+ * mvn -pl collide-common/collide-limiter test-compile exec:java \
+ *     -Dexec.classpathScope=test -Dexec.mainClass=com.gig.collide.limiter.benchmark.RateLimiterBenchmark \
+ *     -Dredis.host=127.0.0.1 -Dredis.port=6379 -Dredis.password=
+ * </pre>
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+public class RateLimiterBenchmark {
+
+    /**
+     * 每个窗口的上限，设置得足够大让大部分请求放行，测的是判定路径本身的开销
+     */
+    private static final int LIMIT = 1_000_000;
+
+    private static final int WINDOW_SECONDS = 60;
+
+    @Param({"1", "1000"})
+    public int keyCount;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private RateLimiter slidingWindow;
+
+    private RateLimiter gcra;
+
+    private RateLimiter fixedWindow;
+
+    private RateLimiter localLease;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+            System.getProperty("redis.host", "127.0.0.1"), Integer.getInteger("redis.port", 6379));
+        String password = System.getProperty("redis.password", "");
+        if (!password.isEmpty()) {
+            configuration.setPassword(password);
+        }
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        slidingWindow = new SlidingWindowRateLimiter(redisTemplate);
+        gcra = new GcraRateLimiter(redisTemplate);
+        fixedWindow = new FixedWindowRateLimiter(redisTemplate);
+        localLease = new LocalLeasingRateLimiter(redisTemplate, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (int i = 0; i < keyCount; i++) {
+            String key = key(i);
+            slidingWindow.reset(key);
+            gcra.reset(key);
+            fixedWindow.reset(key);
+            localLease.reset(key);
+        }
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public Boolean slidingWindowZset() {
+        return slidingWindow.tryAcquire(nextKey(), LIMIT, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public Boolean gcra() {
+        return gcra.tryAcquire(nextKey(), LIMIT, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public Boolean fixedWindow() {
+        return fixedWindow.tryAcquire(nextKey(), LIMIT, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public Boolean localLease() {
+        return localLease.tryAcquire(nextKey(), LIMIT, WINDOW_SECONDS);
+    }
+
+    private String nextKey() {
+        return key(java.util.concurrent.ThreadLocalRandom.current().nextInt(keyCount));
+    }
+
+    private String key(int index) {
+        return "benchmark:" + index;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(RateLimiterBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -12,7 +12,7 @@ import java.util.concurrent.TimeUnit;
 public interface DistributedLock {
 
     /**
-     * 尝试获取锁
+     * 尝试获取锁，不等待
      *
      * @param key     锁的唯一标识
      * @param timeout 超时时间
@@ -21,10 +21,30 @@ public interface DistributedLock {
      */
     boolean tryLock(String key, long timeout, TimeUnit unit);
 
+    /**
+     * 尝试获取锁，锁被占用时最多等待 waitTime
+     * 同一线程可重入，每次成功获取都需要对应一次 unlock
+     *
+     * @param key       锁的唯一标识
+     * @param waitTime  最长等待时间
+     * @param leaseTime 持有时间，小于等于 0 时由看门狗自动续期直到释放
+     * @param unit      时间单位
+     * @return 是否获取成功
+     */
+    boolean tryLock(String key, long waitTime, long leaseTime, TimeUnit unit);
+
+    /**
+     * 当前线程是否持有锁
+     *
+     * @param key 锁的唯一标识
+     * @return 是否持有
+     */
+    boolean isHeldByCurrentThread(String key);
+
     /**
      * 释放锁
      *
      * @param key 锁的唯一标识
      */
     void unlock(String key);
-} 
\ No newline at end of file
+}
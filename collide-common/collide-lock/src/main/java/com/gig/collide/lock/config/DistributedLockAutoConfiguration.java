@@ -1,13 +1,19 @@
 package com.gig.collide.lock.config;
 
 import com.gig.collide.lock.DistributedLock;
-import com.gig.collide.lock.impl.RedisDistributedLock;
+import com.gig.collide.lock.impl.ReentrantRedisDistributedLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * 分布式锁自动配置
@@ -19,12 +25,30 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 @Slf4j
 @AutoConfiguration
 @ConditionalOnClass({StringRedisTemplate.class})
+@EnableConfigurationProperties(LockProperties.class)
 public class DistributedLockAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public DistributedLock distributedLock(StringRedisTemplate redisTemplate) {
-        log.info("初始化 Redis 分布式锁组件");
-        return new RedisDistributedLock(redisTemplate);
+    public DistributedLock distributedLock(StringRedisTemplate redisTemplate, LockProperties properties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("初始化 Redis 分布式锁组件: watchdogTimeout={}ms", properties.getWatchdogTimeout());
+        return new ReentrantRedisDistributedLock(redisTemplate, properties.getWatchdogTimeout(),
+            meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
     }
-} 
\ No newline at end of file
+
+    /**
+     * 订阅锁释放通知，唤醒本节点等待中的线程
+     */
+    @Bean
+    public RedisMessageListenerContainer distributedLockListenerContainer(StringRedisTemplate redisTemplate,
+                                                                          DistributedLock distributedLock) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        if (distributedLock instanceof ReentrantRedisDistributedLock reentrantLock) {
+            container.addMessageListener(reentrantLock,
+                new PatternTopic(ReentrantRedisDistributedLock.CHANNEL_PREFIX + "*"));
+        }
+        return container;
+    }
+}
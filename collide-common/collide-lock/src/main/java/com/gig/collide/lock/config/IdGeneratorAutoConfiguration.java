@@ -0,0 +1,50 @@
+package com.gig.collide.lock.config;
+
+import com.gig.collide.base.id.FixedWorkerIdAssigner;
+import com.gig.collide.base.id.SnowflakeIdGenerator;
+import com.gig.collide.base.id.WorkerIdAssigner;
+import com.gig.collide.lock.id.IdGeneratorProperties;
+import com.gig.collide.lock.id.RedisWorkerIdAssigner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 分布式ID生成器自动配置
+ * 只在 collide.id.enabled=true 的服务中生效，其他依赖本模块的服务不会占用 workerId 租约；
+ * 未指定 collide.id.worker-id 时通过 Redis 租约分配 workerId
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+@AutoConfiguration
+@ConditionalOnProperty(prefix = IdGeneratorProperties.PREFIX, name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+public class IdGeneratorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WorkerIdAssigner workerIdAssigner(IdGeneratorProperties properties,
+                                             ObjectProvider<StringRedisTemplate> redisTemplate) {
+        if (properties.getWorkerId() >= 0) {
+            log.info("使用固定 workerId: {}", properties.getWorkerId());
+            return new FixedWorkerIdAssigner(properties.getWorkerId());
+        }
+        return new RedisWorkerIdAssigner(redisTemplate.getObject(), properties.getLeaseMs(),
+            properties.getMaxClockBackwardMs());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SnowflakeIdGenerator snowflakeIdGenerator(WorkerIdAssigner workerIdAssigner,
+                                                     IdGeneratorProperties properties) {
+        return new SnowflakeIdGenerator(workerIdAssigner, properties.getBlockSize(),
+            properties.getBlockMaxAgeMs(), properties.getMaxClockBackwardMs());
+    }
+}
@@ -0,0 +1,28 @@
+package com.gig.collide.lock.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 分布式锁配置
+ *
+ * @author Collide Team
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@ConfigurationProperties(prefix = LockProperties.PREFIX)
+public class LockProperties {
+    public static final String PREFIX = "collide.lock";
+
+    /**
+     * 看门狗模式下的锁持有时间（毫秒），每 1/3 周期续期一次
+     */
+    private long watchdogTimeout = 30_000L;
+
+    public long getWatchdogTimeout() {
+        return watchdogTimeout;
+    }
+
+    public void setWatchdogTimeout(long watchdogTimeout) {
+        this.watchdogTimeout = watchdogTimeout;
+    }
+}
@@ -0,0 +1,92 @@
+package com.gig.collide.lock.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 分布式ID生成器配置
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@ConfigurationProperties(prefix = IdGeneratorProperties.PREFIX)
+public class IdGeneratorProperties {
+    public static final String PREFIX = "collide.id";
+
+    /**
+     * 是否启用ID生成器，需要生成业务单号的服务显式开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 固定 workerId，小于 0 时通过 Redis 租约分配
+     */
+    private int workerId = -1;
+
+    /**
+     * workerId 租约时长（毫秒），每 1/3 周期续期一次
+     */
+    private long leaseMs = 30_000L;
+
+    /**
+     * 平台线程每次预取的ID数量
+     */
+    private int blockSize = 8;
+
+    /**
+     * 预取ID的最长保留时间（毫秒），超过后丢弃，避免ID时间戳明显落后
+     */
+    private long blockMaxAgeMs = 100L;
+
+    /**
+     * 可容忍的时钟回拨（毫秒）
+     */
+    private long maxClockBackwardMs = 1_000L;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(int workerId) {
+        this.workerId = workerId;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public void setLeaseMs(long leaseMs) {
+        this.leaseMs = leaseMs;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public long getBlockMaxAgeMs() {
+        return blockMaxAgeMs;
+    }
+
+    public void setBlockMaxAgeMs(long blockMaxAgeMs) {
+        this.blockMaxAgeMs = blockMaxAgeMs;
+    }
+
+    public long getMaxClockBackwardMs() {
+        return maxClockBackwardMs;
+    }
+
+    public void setMaxClockBackwardMs(long maxClockBackwardMs) {
+        this.maxClockBackwardMs = maxClockBackwardMs;
+    }
+}
@@ -0,0 +1,182 @@
+package com.gig.collide.lock.id;
+
+import com.gig.collide.base.id.SnowflakeIdGenerator;
+import com.gig.collide.base.id.WorkerIdAssigner;
+import com.gig.collide.base.id.WorkerLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Redis 租约的 workerId 分配器
+ * <ul>
+ *     <li>分配：从随机位置开始依次尝试 SET NX PX，跳过 floor 尚未到达的 workerId</li>
+ *     <li>续期：每 1/3 租期续期一次，同时把 floor 推到当前时间 + 租期 + 回拨容忍，
+ *     覆盖本实例在租约失效前可能生成的最大时间戳</li>
+ *     <li>丢失：续期发现租约已被占用时重新分配，续期异常时租约自然过期，生成器随即暂停</li>
+ *     <li>归还：停机时删除租约，floor 写为最后生成的时间戳 + 1，下一个持有者可立即使用</li>
+ * </ul>
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+public class RedisWorkerIdAssigner implements WorkerIdAssigner, DisposableBean {
+
+    /**
+     * 租约和 floor 共用 {worker} 哈希标签，集群模式下脚本可同时访问
+     */
+    private static final String LEASE_KEY_PREFIX = "collide:id:{worker}:";
+
+    private static final String FLOOR_KEY = "collide:id:{worker}:floor";
+
+    /**
+     * floor 未到达返回 -2，已被占用返回 -1，成功返回原 floor
+     */
+    private static final String ACQUIRE_SCRIPT = """
+        local floor = tonumber(redis.call('HGET', KEYS[2], ARGV[3]) or '0')
+        if floor > tonumber(ARGV[4]) then
+            return -2
+        end
+        if not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+            return -1
+        end
+        redis.call('HSET', KEYS[2], ARGV[3], ARGV[5])
+        return floor
+        """;
+
+    /**
+     * 持有者一致时续期并推进 floor
+     */
+    private static final String RENEW_SCRIPT = """
+        if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+            return 0
+        end
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        redis.call('HSET', KEYS[2], ARGV[3], ARGV[4])
+        return 1
+        """;
+
+    /**
+     * 持有者一致时删除租约并写入最终 floor
+     */
+    private static final String RELEASE_SCRIPT = """
+        if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+            return 0
+        end
+        redis.call('DEL', KEYS[1])
+        redis.call('HSET', KEYS[2], ARGV[2], ARGV[3])
+        return 1
+        """;
+
+    private final DefaultRedisScript<Long> acquireScript = new DefaultRedisScript<>(ACQUIRE_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> renewScript = new DefaultRedisScript<>(RENEW_SCRIPT, Long.class);
+
+    private final DefaultRedisScript<Long> releaseScript = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final long leaseMs;
+
+    private final long maxClockBackwardMs;
+
+    private final String token = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService renewExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("collide-id-worker-lease").daemon().factory());
+
+    private volatile WorkerLease lease;
+
+    private volatile boolean released;
+
+    public RedisWorkerIdAssigner(StringRedisTemplate redisTemplate, long leaseMs, long maxClockBackwardMs) {
+        this.redisTemplate = redisTemplate;
+        this.leaseMs = leaseMs;
+        this.maxClockBackwardMs = maxClockBackwardMs;
+        this.lease = acquire(ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+        log.info("workerId 分配成功: workerId={}, leaseMs={}", lease.workerId(), leaseMs);
+        long period = Math.max(leaseMs / 3, 1L);
+        renewExecutor.scheduleWithFixedDelay(this::renew, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public WorkerLease current() {
+        return lease;
+    }
+
+    @Override
+    public synchronized void release(long lastTimestamp) {
+        if (released) {
+            return;
+        }
+        released = true;
+        renewExecutor.shutdownNow();
+        WorkerLease current = lease;
+        try {
+            redisTemplate.execute(releaseScript, List.of(leaseKey(current.workerId()), FLOOR_KEY),
+                    token, String.valueOf(current.workerId()), String.valueOf(lastTimestamp + 1));
+            log.info("workerId 已归还: workerId={}", current.workerId());
+        } catch (Exception e) {
+            log.warn("workerId 归还失败，等待租约过期: workerId={}", current.workerId(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // 生成器未归还时按当前时间归还，floor 仍不低于已生成的时间戳
+        release(System.currentTimeMillis() + maxClockBackwardMs);
+    }
+
+    private void renew() {
+        if (released) {
+            return;
+        }
+        WorkerLease current = lease;
+        long start = System.currentTimeMillis();
+        try {
+            Long renewed = redisTemplate.execute(renewScript, List.of(leaseKey(current.workerId()), FLOOR_KEY),
+                    token, String.valueOf(leaseMs), String.valueOf(current.workerId()), String.valueOf(floor(start)));
+            if (renewed != null && renewed == 1L) {
+                lease = new WorkerLease(current.workerId(), current.notBefore(), start + leaseMs);
+                return;
+            }
+            log.warn("workerId 租约已丢失，重新分配: workerId={}", current.workerId());
+            lease = acquire(current.workerId());
+            log.info("workerId 重新分配成功: workerId={}", lease.workerId());
+        } catch (Exception e) {
+            log.error("workerId 租约续期失败: workerId={}", current.workerId(), e);
+        }
+    }
+
+    private WorkerLease acquire(int startWorkerId) {
+        int size = SnowflakeIdGenerator.MAX_WORKER_ID + 1;
+        for (int i = 0; i < size; i++) {
+            int workerId = (startWorkerId + i) % size;
+            long start = System.currentTimeMillis();
+            Long floor = redisTemplate.execute(acquireScript, List.of(leaseKey(workerId), FLOOR_KEY),
+                    token, String.valueOf(leaseMs), String.valueOf(workerId),
+                    String.valueOf(start), String.valueOf(floor(start)));
+            if (floor != null && floor >= 0) {
+                return new WorkerLease(workerId, floor, start + leaseMs);
+            }
+        }
+        throw new IllegalStateException("没有可用的 workerId，最多支持 " + size + " 个实例");
+    }
+
+    private long floor(long now) {
+        return now + leaseMs + maxClockBackwardMs;
+    }
+
+    private static String leaseKey(int workerId) {
+        return LEASE_KEY_PREFIX + workerId;
+    }
+}
@@ -0,0 +1,98 @@
+package com.gig.collide.mq.consumer;
+
+import com.alibaba.fastjson2.JSONException;
+import com.gig.collide.mq.param.MessageBody;
+import com.gig.collide.mq.param.UserProfileChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.messaging.Message;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 用户资料变更消息消费基类
+ * 子类标注 {@code @Configuration}，只需实现 {@link #applyProfile} 回填本模块的冗余昵称、头像。
+ * 事件在用户资料事务提交后发送，携带变更后的资料，消费时不再回查用户服务，
+ * 避免读到其他节点本地缓存中的旧资料并写回表中；回填完成前由各模块读取时的资料覆盖保证展示正确。
+ * 消息可能乱序或重投递，按用户记录已回填的最大变更时间，早于它的事件直接丢弃，避免旧资料覆盖新资料
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Slf4j
+public abstract class AbstractUserProfileConsumer extends AbstractStreamConsumer {
+
+    private static final String WATERMARK_KEY_PREFIX = "collide:profile:watermark:";
+
+    /**
+     * 变更时间不早于水位时推进水位并放行，相等时放行以便失败重试
+     */
+    private static final DefaultRedisScript<Long> ACCEPT_SCRIPT = new DefaultRedisScript<>("""
+            local last = redis.call('GET', KEYS[1])
+            if last and tonumber(last) > tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 水位按应用隔离，各模块独立判断
+     */
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    /**
+     * 水位保留时间（秒），需覆盖消息队列的最长重投递间隔
+     */
+    @Value("${collide.mq.profile.watermark-ttl-seconds:86400}")
+    private long watermarkTtlSeconds;
+
+    @Bean
+    public Consumer<Message<MessageBody>> userUpdated() {
+        return message -> {
+            UserProfileChangedEvent event;
+            try {
+                event = getMessage(message, UserProfileChangedEvent.class);
+            } catch (JSONException e) {
+                // 旧版本消息体只有用户ID，不含资料，跳过；读取时的资料覆盖保证展示不受影响
+                log.warn("用户资料变更消息格式不支持，跳过回填: identifier={}", getIdentifier(message));
+                return;
+            }
+            if (event == null || event.getUserId() == null) {
+                log.warn("用户资料变更消息缺少用户ID，跳过回填: identifier={}", getIdentifier(message));
+                return;
+            }
+            if (event.getUpdateTime() != null && !accept(event.getUserId(), event.getUpdateTime())) {
+                log.info("用户资料变更消息早于已回填的版本，跳过: userId={}, updateTime={}, identifier={}",
+                        event.getUserId(), event.getUpdateTime(), getIdentifier(message));
+                return;
+            }
+            applyProfile(event.getUserId(), event.getNickname(), event.getAvatar());
+        };
+    }
+
+    /**
+     * 回填本模块的冗余资料，失败时抛出异常由消息队列重试；已完成的批次不会重复写入
+     *
+     * @param userId   用户ID
+     * @param nickname 变更后的昵称
+     * @param avatar   变更后的头像
+     */
+    protected abstract void applyProfile(Long userId, String nickname, String avatar);
+
+    private boolean accept(Long userId, long updateTime) {
+        Long accepted = stringRedisTemplate.execute(ACCEPT_SCRIPT,
+                List.of(WATERMARK_KEY_PREFIX + applicationName + ":" + userId),
+                String.valueOf(updateTime), String.valueOf(watermarkTtlSeconds));
+        return accepted != null && accepted == 1L;
+    }
+}
@@ -0,0 +1,37 @@
+package com.gig.collide.mq.param;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 关注关系变更事件
+ * 关注、取消关注在同一主题上发送，消费方按 {@link #changeTime} 丢弃比已处理事件更早的变更，
+ * 消息乱序时不会用旧的关注状态覆盖新的状态
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class FollowChangedEvent {
+
+    /**
+     * 关注者ID
+     */
+    private Long followerId;
+
+    /**
+     * 被关注者ID
+     */
+    private Long followeeId;
+
+    /**
+     * true 关注，false 取消关注
+     */
+    private Boolean followed;
+
+    /**
+     * 变更时间（毫秒）
+     */
+    private Long changeTime;
+}
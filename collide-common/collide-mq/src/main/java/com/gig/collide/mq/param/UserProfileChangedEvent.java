@@ -0,0 +1,37 @@
+package com.gig.collide.mq.param;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 用户资料变更事件
+ * 携带变更后的昵称、头像，消费方直接回填，不再回查用户服务；
+ * 变更时间用于消费方丢弃乱序或重投递到达的旧事件
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+@Data
+@Accessors(chain = true)
+public class UserProfileChangedEvent {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 变更后的昵称
+     */
+    private String nickname;
+
+    /**
+     * 变更后的头像
+     */
+    private String avatar;
+
+    /**
+     * 资料变更时间（毫秒时间戳）
+     */
+    private Long updateTime;
+}
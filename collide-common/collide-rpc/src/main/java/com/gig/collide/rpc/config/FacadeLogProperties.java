@@ -0,0 +1,92 @@
+package com.gig.collide.rpc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Facade 日志配置
+ */
+@ConfigurationProperties(prefix = FacadeLogProperties.PREFIX)
+public class FacadeLogProperties {
+    public static final String PREFIX = "collide.rpc.facade-log";
+
+    /**
+     * 成功调用的默认日志采样率，0~1
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * 按方法指定采样率，key 为 类名.方法名（类名不含包名）
+     */
+    private Map<String, Double> methodSampleRates = new HashMap<>();
+
+    /**
+     * 慢调用阈值（毫秒），超过时和失败调用一样输出完整参数和响应
+     */
+    private long slowThresholdMs = 1000L;
+
+    /**
+     * 采样日志中参数的最大长度
+     */
+    private int maxArgLength = 512;
+
+    /**
+     * 失败和慢调用日志中参数、响应各自的最大长度，渲染到上限即停止
+     */
+    private int maxFullLength = 16384;
+
+    /**
+     * 日志环形缓冲区大小，向上取整为 2 的幂
+     */
+    private int bufferSize = 8192;
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Map<String, Double> getMethodSampleRates() {
+        return methodSampleRates;
+    }
+
+    public void setMethodSampleRates(Map<String, Double> methodSampleRates) {
+        this.methodSampleRates = methodSampleRates;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public int getMaxArgLength() {
+        return maxArgLength;
+    }
+
+    public void setMaxArgLength(int maxArgLength) {
+        this.maxArgLength = maxArgLength;
+    }
+
+    public int getMaxFullLength() {
+        return maxFullLength;
+    }
+
+    public void setMaxFullLength(int maxFullLength) {
+        this.maxFullLength = maxFullLength;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
@@ -1,7 +1,13 @@
 package com.gig.collide.rpc.config;
 
 import com.gig.collide.rpc.facade.FacadeAspect;
+import com.gig.collide.rpc.facade.FacadeLogDispatcher;
+import com.gig.collide.rpc.facade.FacadeMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.dubbo.config.spring.context.annotation.EnableDubbo;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,11 +16,25 @@ import org.springframework.context.annotation.Configuration;
  */
 @EnableDubbo
 @Configuration
+@EnableConfigurationProperties(FacadeLogProperties.class)
 public class RpcConfiguration {
 
     @Bean
-    public FacadeAspect facadeAspect() {
-        return new FacadeAspect();
+    public FacadeLogDispatcher facadeLogDispatcher(FacadeLogProperties facadeLogProperties) {
+        return new FacadeLogDispatcher(facadeLogProperties);
+    }
+
+    /**
+     * 引入 collide-prometheus 时注册到 Prometheus，否则只在本地统计
+     */
+    @Bean
+    public FacadeMetrics facadeMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new FacadeMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
     }
-}
 
+    @Bean
+    public FacadeAspect facadeAspect(FacadeLogProperties facadeLogProperties, FacadeLogDispatcher facadeLogDispatcher,
+                                     FacadeMetrics facadeMetrics) {
+        return new FacadeAspect(facadeLogProperties, facadeLogDispatcher, facadeMetrics);
+    }
+}
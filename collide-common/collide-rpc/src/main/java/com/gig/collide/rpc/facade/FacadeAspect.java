@@ -5,7 +5,7 @@ import com.gig.collide.base.exception.SystemException;
 import com.gig.collide.base.response.BaseResponse;
 import com.gig.collide.base.response.ResponseCode;
 import com.gig.collide.base.utils.BeanValidator;
-import com.alibaba.fastjson2.JSON;
+import com.gig.collide.rpc.config.FacadeLogProperties;
 import jakarta.validation.ValidationException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
@@ -15,59 +15,154 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.core.annotation.Order;
-import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Facade的切面处理类，统一统计进行参数校验及异常捕获
+ * 所有 @DubboService 实现类的公共方法都会记录日志和调用指标；参数校验和把异常转换为失败响应
+ * 只作用于标注了 @Facade 的方法，其余方法的异常在记录后原样抛出
  */
 @Aspect
-@Component
 @Order(Integer.MIN_VALUE)
 public class FacadeAspect {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FacadeAspect.class);
 
-    @Around("@annotation(com.gig.collide.rpc.facade.Facade)")
-    public Object facade(ProceedingJoinPoint pjp) throws Exception {
+    private final FacadeLogProperties logProperties;
+
+    private final FacadeLogDispatcher logDispatcher;
+
+    private final FacadeMetrics facadeMetrics;
+
+    /**
+     * 方法日志采样率缓存
+     */
+    private final Map<Method, Double> sampleRates = new ConcurrentHashMap<>();
+
+    /**
+     * 失败响应的无参构造器缓存
+     */
+    private final Map<Class<?>, Constructor<?>> responseConstructors = new ConcurrentHashMap<>();
+
+    /**
+     * 响应类型上的 getSuccess 方法，没有时为 null
+     */
+    private static final ClassValue<Method> SUCCESS_GETTERS = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                Method getter = type.getMethod("getSuccess");
+                return getter.getReturnType() == Boolean.class || getter.getReturnType() == boolean.class
+                        ? getter : null;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    public FacadeAspect(FacadeLogProperties logProperties, FacadeLogDispatcher logDispatcher,
+                        FacadeMetrics facadeMetrics) {
+        this.logProperties = logProperties;
+        this.logDispatcher = logDispatcher;
+        this.facadeMetrics = facadeMetrics;
+    }
+
+    @Around("@annotation(com.gig.collide.rpc.facade.Facade) "
+            + "|| (execution(public * *(..)) && @within(org.apache.dubbo.config.annotation.DubboService))")
+    public Object facade(ProceedingJoinPoint pjp) throws Throwable {
 
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
+        long startNanos = System.nanoTime();
 
         Method method = ((MethodSignature) pjp.getSignature()).getMethod();
         Object[] args = pjp.getArgs();
+        FacadeMetrics.MethodMeters meters = facadeMetrics.start(method);
+        String outcome = FacadeMetrics.OUTCOME_FAILURE;
+        boolean facade = isFacade(method, pjp.getTarget());
 
         Class returnType = ((MethodSignature) pjp.getSignature()).getMethod().getReturnType();
 
-        //循环遍历所有参数，进行参数校验
-        for (Object parameter : args) {
+        try {
+            //循环遍历所有参数，进行参数校验
+            if (facade) {
+                for (Object parameter : args) {
+                    try {
+                        BeanValidator.validateObject(parameter);
+                    } catch (ValidationException e) {
+                        outcome = FacadeMetrics.OUTCOME_VALIDATION_FAILURE;
+                        printLog(stopWatch, method, args, "failed to validate", null, e);
+                        return getFailedResponse(returnType, e);
+                    }
+                }
+            }
+
             try {
-                BeanValidator.validateObject(parameter);
-            } catch (ValidationException e) {
-                printLog(stopWatch, method, args, "failed to validate", null, e);
-                return getFailedResponse(returnType, e);
+                // 目标方法执行
+                Object response = pjp.proceed();
+                enrichObject(response);
+                if (!Boolean.FALSE.equals(responseSuccess(response))) {
+                    outcome = FacadeMetrics.OUTCOME_SUCCESS;
+                }
+                printLog(stopWatch, method, args, "end to execute", response, null);
+                return response;
+            } catch (Throwable throwable) {
+                printLog(stopWatch, method, args, "failed to execute", null, throwable);
+                if (!facade) {
+                    throw throwable;
+                }
+                // 如果执行异常，则返回一个失败的response
+                return getFailedResponse(returnType, throwable);
             }
+        } finally {
+            facadeMetrics.stop(meters, System.nanoTime() - startNanos, outcome);
         }
+    }
 
+    private static boolean isFacade(Method method, Object target) {
+        if (method.isAnnotationPresent(Facade.class)) {
+            return true;
+        }
+        return target != null && AopUtils.getMostSpecificMethod(method, target.getClass())
+                .isAnnotationPresent(Facade.class);
+    }
+
+    /**
+     * 响应是否成功，支持 BaseResponse 以及带 getSuccess 方法的响应（如 Result）
+     *
+     * @param response 响应
+     * @return 是否成功，无法判断时为 null
+     */
+    static Boolean responseSuccess(Object response) {
+        if (response == null) {
+            return null;
+        }
+        if (response instanceof BaseResponse baseResponse) {
+            return baseResponse.isSuccess();
+        }
+        Method getter = SUCCESS_GETTERS.get(response.getClass());
+        if (getter == null) {
+            return null;
+        }
         try {
-            // 目标方法执行
-            Object response = pjp.proceed();
-            enrichObject(response);
-            printLog(stopWatch, method, args, "end to execute", response, null);
-            return response;
-        } catch (Throwable throwable) {
-            // 如果执行异常，则返回一个失败的response
-            printLog(stopWatch, method, args, "failed to execute", null, throwable);
-            return getFailedResponse(returnType, throwable);
+            return (Boolean) getter.invoke(response);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
         }
     }
 
     /**
      * 日志打印
+     * 失败和慢调用输出完整参数和响应，其余调用按方法采样且参数截断；未命中采样时不做任何序列化，
+     * 命中时在请求线程把参数和响应渲染为有长度上限的快照，日志输出由 FacadeLogDispatcher 异步完成
      *
      * @param stopWatch
      * @param method
@@ -78,63 +173,28 @@ public class FacadeAspect {
     private void printLog(StopWatch stopWatch, Method method, Object[] args, String action, Object response,
                           Throwable throwable) {
         try {
-            //因为此处有JSON.toJSONString，可能会有异常，需要进行捕获，避免影响主干流程
-            LOGGER.info(getInfoMessage(action, stopWatch, method, args, response, throwable), throwable);
-            // 如果校验失败，则返回一个失败的response
+            if (!LOGGER.isInfoEnabled()) {
+                return;
+            }
+            long cost = stopWatch.getTime();
+            Boolean success = throwable != null ? Boolean.FALSE : responseSuccess(response);
+            boolean full = Boolean.FALSE.equals(success) || cost >= logProperties.getSlowThresholdMs();
+            if (!full && ThreadLocalRandom.current().nextDouble() >= sampleRate(method)) {
+                return;
+            }
+            int limit = full ? logProperties.getMaxFullLength() : logProperties.getMaxArgLength();
+            String argsText = FacadeLogSnapshot.render(args, limit);
+            String responseText = full && response != null ? FacadeLogSnapshot.render(response, limit) : null;
+            logDispatcher.publish(new FacadeLogEvent(action, method.getName(), cost, success, argsText,
+                    responseText, throwable));
         } catch (Exception e1) {
             LOGGER.error("log failed", e1);
         }
     }
 
-    /**
-     * 统一格式输出，方便做日志统计
-     * <p>
-     * *** 如果调整此处的格式，需要同步调整日志监控 ***
-     *
-     * @param action    行为
-     * @param stopWatch 耗时
-     * @param method    方法
-     * @param args      参数
-     * @param response  响应
-     * @return 拼接后的字符串
-     */
-    private String getInfoMessage(String action, StopWatch stopWatch, Method method, Object[] args, Object response,
-                                  Throwable exception) {
-
-        StringBuilder stringBuilder = new StringBuilder(action);
-        stringBuilder.append(" ,method = ");
-        stringBuilder.append(method.getName());
-        stringBuilder.append(" ,cost = ");
-        stringBuilder.append(stopWatch.getTime()).append(" ms");
-        if (response instanceof BaseResponse) {
-            stringBuilder.append(" ,success = ");
-            stringBuilder.append(((BaseResponse) response).getSuccess());
-        }
-        if (exception != null) {
-            stringBuilder.append(" ,success = ");
-            stringBuilder.append(false);
-        }
-        stringBuilder.append(" ,args = ");
-        stringBuilder.append(JSON.toJSONString(Arrays.toString(args)));
-
-        if (response != null) {
-            stringBuilder.append(" ,resp = ");
-            stringBuilder.append(JSON.toJSONString(response));
-        }
-
-        if (exception != null) {
-            stringBuilder.append(" ,exception = ");
-            stringBuilder.append(exception.getMessage());
-        }
-
-        if (response instanceof BaseResponse) {
-            BaseResponse baseResponse = (BaseResponse) response;
-            if (!baseResponse.getSuccess()) {
-                stringBuilder.append(" , execute_failed");
-            }
-        }
-
-        return stringBuilder.toString();
+    private double sampleRate(Method method) {
+        return sampleRates.computeIfAbsent(method, m -> logProperties.getMethodSampleRates().getOrDefault(
+                m.getDeclaringClass().getSimpleName() + "." + m.getName(), logProperties.getSampleRate()));
     }
 
     /**
@@ -165,8 +225,9 @@ public class FacadeAspect {
             throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
 
         //如果返回值的类型为BaseResponse 的子类，则创建一个通用的失败响应
-        if (returnType.getDeclaredConstructor().newInstance() instanceof BaseResponse) {
-            BaseResponse response = (BaseResponse) returnType.getDeclaredConstructor().newInstance();
+        if (BaseResponse.class.isAssignableFrom(returnType)) {
+            BaseResponse response = (BaseResponse) responseConstructors
+                    .computeIfAbsent(returnType, FacadeAspect::getResponseConstructor).newInstance();
             response.setSuccess(false);
             if (throwable instanceof BizException bizException) {
                 response.setResponseMessage(bizException.getErrorCode().getMessage());
@@ -186,4 +247,12 @@ public class FacadeAspect {
                 "failed to getFailedResponse , returnType (" + returnType + ") is not instanceof BaseResponse");
         return null;
     }
+
+    private static Constructor<?> getResponseConstructor(Class<?> returnType) {
+        try {
+            return returnType.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("no default constructor for " + returnType, e);
+        }
+    }
 }
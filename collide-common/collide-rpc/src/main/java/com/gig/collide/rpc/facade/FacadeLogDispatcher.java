@@ -0,0 +1,114 @@
+package com.gig.collide.rpc.facade;
+
+import com.gig.collide.rpc.config.FacadeLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Facade 日志异步输出
+ * 请求线程只把已渲染的事件放入环形缓冲区，日志写入在单独的守护线程中完成；
+ * 输出线程空闲时挂起，由发布线程在其挂起期间写入事件后唤醒，空闲时不做周期性轮询；
+ * 缓冲区满时丢弃事件并定期汇报丢弃数量
+ */
+public class FacadeLogDispatcher implements DisposableBean {
+
+    /**
+     * 沿用 FacadeAspect 的 logger，保持日志监控配置不变
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FacadeAspect.class);
+
+    /**
+     * 空闲挂起的最长时间，兜底检查缓冲区和汇报丢弃数量；正常情况下由 publish 唤醒
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final FacadeLogRingBuffer<FacadeLogEvent> buffer;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    /**
+     * 输出线程是否准备挂起，为 true 时发布线程写入事件后需要唤醒它
+     */
+    private volatile boolean idle;
+
+    public FacadeLogDispatcher(FacadeLogProperties properties) {
+        this.buffer = new FacadeLogRingBuffer<>(properties.getBufferSize());
+        this.worker = new Thread(this::run, "collide-facade-log");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 发布日志事件，不阻塞调用线程
+     *
+     * @param event 日志事件
+     */
+    public void publish(FacadeLogEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+            return;
+        }
+        if (idle) {
+            idle = false;
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (!drain()) {
+                reportDropped();
+                // 先标记空闲再复查一次缓冲区：复查前写入的事件在这里输出，之后写入的事件的发布线程一定能看到标记并唤醒
+                idle = true;
+                if (!drain() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+        drain();
+        reportDropped();
+    }
+
+    /**
+     * 输出缓冲区中的全部事件
+     *
+     * @return 是否输出了事件
+     */
+    private boolean drain() {
+        boolean drained = false;
+        FacadeLogEvent event;
+        while ((event = buffer.poll()) != null) {
+            drained = true;
+            try {
+                LOGGER.info(event.render(), event.exception());
+            } catch (Exception e) {
+                LOGGER.error("log failed", e);
+            }
+        }
+        return drained;
+    }
+
+    private void reportDropped() {
+        long count = dropped.sumThenReset();
+        if (count > 0) {
+            LOGGER.warn("facade log buffer full, dropped {} events", count);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,52 @@
+package com.gig.collide.rpc.facade;
+
+/**
+ * Facade 调用日志事件
+ * 参数和响应已在请求线程渲染为有长度上限的字符串，日志线程只做拼接，不再访问业务对象
+ *
+ * @param action     行为
+ * @param methodName 方法名
+ * @param cost       耗时（毫秒）
+ * @param success    响应是否成功，无法判断时为 null
+ * @param args       参数快照
+ * @param response   响应快照，只在失败或慢调用时输出
+ * @param exception  异常
+ */
+public record FacadeLogEvent(String action, String methodName, long cost, Boolean success, String args,
+                             String response, Throwable exception) {
+
+    /**
+     * 统一格式输出，方便做日志统计
+     * <p>
+     * *** 如果调整此处的格式，需要同步调整日志监控 ***
+     *
+     * @return 拼接后的字符串
+     */
+    public String render() {
+        StringBuilder stringBuilder = new StringBuilder(action);
+        stringBuilder.append(" ,method = ");
+        stringBuilder.append(methodName);
+        stringBuilder.append(" ,cost = ");
+        stringBuilder.append(cost).append(" ms");
+        if (success != null) {
+            stringBuilder.append(" ,success = ");
+            stringBuilder.append(success);
+        }
+        stringBuilder.append(" ,args = ");
+        stringBuilder.append(args);
+
+        if (response != null) {
+            stringBuilder.append(" ,resp = ");
+            stringBuilder.append(response);
+        }
+
+        if (exception != null) {
+            stringBuilder.append(" ,exception = ");
+            stringBuilder.append(exception.getMessage());
+        } else if (Boolean.FALSE.equals(success)) {
+            stringBuilder.append(" , execute_failed");
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,212 @@
+package com.gig.collide.rpc.facade;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 参数和响应的日志快照
+ * 在请求线程上把对象渲染为有长度上限的 JSON 风格字符串，写满上限即停止遍历，
+ * 大对象不会被完整序列化；生成的字符串不可变，之后对象再被修改也不影响日志内容
+ */
+final class FacadeLogSnapshot {
+
+    private static final String TRUNCATED = "...(truncated)";
+
+    private static final int MAX_DEPTH = 8;
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                }
+            }
+            return fields.toArray(Field[]::new);
+        }
+    };
+
+    private final StringBuilder out = new StringBuilder();
+
+    private final int limit;
+
+    private boolean truncated;
+
+    private FacadeLogSnapshot(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @param value 参数数组或响应
+     * @param limit 最大长度，超出部分截断并标记
+     * @return 快照字符串
+     */
+    static String render(Object value, int limit) {
+        FacadeLogSnapshot snapshot = new FacadeLogSnapshot(Math.max(limit, 16));
+        try {
+            snapshot.write(value, 0);
+        } catch (RuntimeException e) {
+            // 对象在渲染过程中被其他线程修改，保留已渲染的部分
+            snapshot.truncated = true;
+        }
+        if (snapshot.truncated) {
+            snapshot.out.append(TRUNCATED);
+        }
+        return snapshot.out.toString();
+    }
+
+    private void write(Object value, int depth) {
+        if (full()) {
+            return;
+        }
+        if (value == null) {
+            append("null");
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum<?>
+                || value instanceof TemporalAccessor || value instanceof Date || value instanceof UUID) {
+            writeString(value instanceof Enum<?> e ? e.name() : value.toString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            append(value.toString());
+        } else if (value instanceof byte[] bytes) {
+            writeString("<" + bytes.length + " bytes>");
+        } else if (value instanceof Optional<?> optional) {
+            write(optional.orElse(null), depth);
+        } else if (depth >= MAX_DEPTH) {
+            append("\"...\"");
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            append("[");
+            for (int i = 0; i < length && !full(); i++) {
+                if (i > 0) {
+                    append(",");
+                }
+                write(Array.get(value, i), depth + 1);
+            }
+            append("]");
+        } else if (value instanceof Collection<?> collection) {
+            append("[");
+            boolean first = true;
+            for (Object element : collection) {
+                if (full()) {
+                    break;
+                }
+                if (!first) {
+                    append(",");
+                }
+                first = false;
+                write(element, depth + 1);
+            }
+            append("]");
+        } else if (value instanceof Map<?, ?> map) {
+            append("{");
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (full()) {
+                    break;
+                }
+                if (!first) {
+                    append(",");
+                }
+                first = false;
+                writeString(String.valueOf(entry.getKey()));
+                append(":");
+                write(entry.getValue(), depth + 1);
+            }
+            append("}");
+        } else {
+            writeBean(value, depth);
+        }
+    }
+
+    private void writeBean(Object value, int depth) {
+        Class<?> type = value.getClass();
+        Field[] fields = type.getName().startsWith("java.") ? null : FIELDS.get(type);
+        if (fields == null) {
+            writeString(value.toString());
+            return;
+        }
+        append("{");
+        boolean first = true;
+        for (Field field : fields) {
+            if (full()) {
+                break;
+            }
+            Object fieldValue;
+            try {
+                fieldValue = field.get(value);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+            if (fieldValue == null) {
+                continue;
+            }
+            if (!first) {
+                append(",");
+            }
+            first = false;
+            writeString(field.getName());
+            append(":");
+            write(fieldValue, depth + 1);
+        }
+        append("}");
+    }
+
+    private void writeString(String value) {
+        append("\"");
+        for (int i = 0; i < value.length() && !full(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\r' -> append("\\r");
+                case '\t' -> append("\\t");
+                default -> appendChar(c);
+            }
+        }
+        append("\"");
+    }
+
+    private boolean full() {
+        return truncated;
+    }
+
+    private void appendChar(char c) {
+        if (out.length() >= limit) {
+            truncated = true;
+            return;
+        }
+        out.append(c);
+    }
+
+    private void append(String text) {
+        if (truncated) {
+            return;
+        }
+        int room = limit - out.length();
+        if (text.length() > room) {
+            out.append(text, 0, Math.max(room, 0));
+            truncated = true;
+        } else {
+            out.append(text);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.gig.collide.rpc.facade;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Facade 调用指标
+ * <ul>
+ *     <li>collide.facade.invocation：按 service（Facade 接口）、method、outcome 统计的耗时直方图，计数即吞吐量</li>
+ *     <li>collide.facade.inflight：按 service、method 统计的执行中请求数</li>
+ * </ul>
+ * 直方图按 Prometheus 的 histogram 桶导出，可直接用 histogram_quantile 计算 p99
+ */
+public class FacadeMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    public static final String OUTCOME_FAILURE = "failure";
+
+    public static final String OUTCOME_VALIDATION_FAILURE = "validation_failure";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    public FacadeMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 开始一次调用，执行中请求数加一
+     *
+     * @param method 方法
+     * @return 方法指标，调用结束时传给 {@link #stop}
+     */
+    public MethodMeters start(Method method) {
+        MethodMeters meters = methodMeters.computeIfAbsent(method, this::register);
+        meters.inflight.incrementAndGet();
+        return meters;
+    }
+
+    /**
+     * 结束一次调用，记录耗时并将执行中请求数减一
+     *
+     * @param meters    方法指标
+     * @param costNanos 耗时（纳秒）
+     * @param outcome   调用结果
+     */
+    public void stop(MethodMeters meters, long costNanos, String outcome) {
+        meters.inflight.decrementAndGet();
+        Timer timer = switch (outcome) {
+            case OUTCOME_SUCCESS -> meters.success;
+            case OUTCOME_VALIDATION_FAILURE -> meters.validationFailure;
+            default -> meters.failure;
+        };
+        timer.record(costNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private MethodMeters register(Method method) {
+        String service = serviceName(method);
+        String methodName = method.getName();
+        AtomicInteger inflight = new AtomicInteger();
+        Gauge.builder("collide.facade.inflight", inflight, AtomicInteger::get)
+                .description("Facade 执行中请求数")
+                .tag("service", service)
+                .tag("method", methodName)
+                .register(meterRegistry);
+        return new MethodMeters(inflight,
+                timer(service, methodName, OUTCOME_SUCCESS),
+                timer(service, methodName, OUTCOME_FAILURE),
+                timer(service, methodName, OUTCOME_VALIDATION_FAILURE));
+    }
+
+    private Timer timer(String service, String method, String outcome) {
+        return Timer.builder("collide.facade.invocation")
+                .description("Facade 调用耗时")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 优先使用声明该方法的 Facade 接口名，找不到时使用实现类名
+     */
+    private static String serviceName(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        for (Class<?> facadeInterface : declaringClass.getInterfaces()) {
+            try {
+                facadeInterface.getMethod(method.getName(), method.getParameterTypes());
+                return facadeInterface.getSimpleName();
+            } catch (NoSuchMethodException ignored) {
+                // 继续查找下一个接口
+            }
+        }
+        return declaringClass.getSimpleName();
+    }
+
+    /**
+     * 单个方法的指标
+     */
+    public static final class MethodMeters {
+
+        private final AtomicInteger inflight;
+
+        private final Timer success;
+
+        private final Timer failure;
+
+        private final Timer validationFailure;
+
+        private MethodMeters(AtomicInteger inflight, Timer success, Timer failure, Timer validationFailure) {
+            this.inflight = inflight;
+            this.success = success;
+            this.failure = failure;
+            this.validationFailure = validationFailure;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.gig.collide.rpc.facade;
+
+import com.gig.collide.rpc.config.FacadeLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.dubbo.config.annotation.DubboService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * FacadeAspect 对 @DubboService 实现类记录调用指标
+ *
+ * @author Collide Team
+ * @version 2.0.0
+ */
+class FacadeMetricsTest {
+
+    private MeterRegistry meterRegistry;
+
+    private FacadeLogDispatcher logDispatcher;
+
+    private DemoFacadeService facadeService;
+
+    private double inflightDuringCall = -1;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        FacadeLogProperties properties = new FacadeLogProperties();
+        logDispatcher = new FacadeLogDispatcher(properties);
+        FacadeAspect aspect = new FacadeAspect(properties, logDispatcher, new FacadeMetrics(meterRegistry));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new DemoFacadeServiceImpl());
+        proxyFactory.addAspect(aspect);
+        facadeService = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        logDispatcher.destroy();
+    }
+
+    @Test
+    void recordsTimerAndInflightForSuccessfulCall() {
+        DemoResult result = facadeService.query(1L);
+
+        assertEquals(Boolean.TRUE, result.getSuccess());
+        assertEquals(1.0, inflightDuringCall);
+        assertEquals(0.0, inflight("query"));
+        assertEquals(1L, timer("query", FacadeMetrics.OUTCOME_SUCCESS).count());
+        assertEquals(0L, timer("query", FacadeMetrics.OUTCOME_FAILURE).count());
+    }
+
+    @Test
+    void countsFailedResultAsFailure() {
+        DemoResult result = facadeService.query(-1L);
+
+        assertEquals(Boolean.FALSE, result.getSuccess());
+        assertEquals(0.0, inflight("query"));
+        assertEquals(1L, timer("query", FacadeMetrics.OUTCOME_FAILURE).count());
+    }
+
+    @Test
+    void rethrowsAndRecordsExceptionFromNonFacadeMethod() {
+        assertThrows(IllegalStateException.class, () -> facadeService.fail());
+
+        assertEquals(0.0, inflight("fail"));
+        assertEquals(1L, timer("fail", FacadeMetrics.OUTCOME_FAILURE).count());
+    }
+
+    private double inflight(String method) {
+        return meterRegistry.get("collide.facade.inflight")
+                .tag("service", "DemoFacadeService")
+                .tag("method", method)
+                .gauge()
+                .value();
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get("collide.facade.invocation")
+                .tag("service", "DemoFacadeService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    public interface DemoFacadeService {
+
+        DemoResult query(Long id);
+
+        void fail();
+    }
+
+    public static class DemoResult {
+
+        private final Boolean success;
+
+        DemoResult(Boolean success) {
+            this.success = success;
+        }
+
+        public Boolean getSuccess() {
+            return success;
+        }
+    }
+
+    @DubboService(version = "1.0.0")
+    class DemoFacadeServiceImpl implements DemoFacadeService {
+
+        @Override
+        public DemoResult query(Long id) {
+            inflightDuringCall = inflight("query");
+            return new DemoResult(id > 0);
+        }
+
+        @Override
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
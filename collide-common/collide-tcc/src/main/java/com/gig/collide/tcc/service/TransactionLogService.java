@@ -108,6 +108,17 @@ public class TransactionLogService extends ServiceImpl<TransactionLogMapper, Tra
         return new TransactionCancelResponse(false, "CANCEL_FAILED", "CANCEL_FAILED");
     }
 
+    /**
+     * 查询事务记录的当前状态
+     *
+     * @param tccRequest
+     * @return 不存在时返回null
+     */
+    public TransActionLogState getTransactionState(TccRequest tccRequest) {
+        TransactionLog existTransactionLog = getExistTransLog(tccRequest);
+        return existTransactionLog == null ? null : existTransactionLog.getState();
+    }
+
     private TransactionLog getExistTransLog(TccRequest request) {
         QueryWrapper<TransactionLog> queryWrapper = new QueryWrapper<TransactionLog>();
         queryWrapper.eq("transaction_id", request.getTransactionId());
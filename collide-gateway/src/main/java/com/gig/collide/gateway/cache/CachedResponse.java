@@ -0,0 +1,50 @@
+package com.gig.collide.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 网关缓存的响应
+ * 只缓存 200 响应，因此不保存状态码
+ *
+ * @param path        请求路径，用于按内容失效
+ * @param contentType 响应类型
+ * @param body        响应体
+ * @param etag        响应体摘要
+ * @param freshUntil  新鲜期截止时间，之前直接命中
+ * @param staleUntil  过期可用截止时间，新鲜期之后到此时间前先返回旧值并后台刷新
+ * @author GIG Team
+ * @version 2.0.0
+ */
+public record CachedResponse(String path, MediaType contentType, byte[] body, String etag,
+                             long freshUntil, long staleUntil) {
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean isUsable(long now) {
+        return now < staleUntil;
+    }
+
+    /**
+     * 结束新鲜期，下次访问返回旧值并触发刷新
+     */
+    public CachedResponse expire() {
+        return new CachedResponse(path, contentType, body, etag, 0L, staleUntil);
+    }
+
+    /**
+     * 路径中是否含有指定的段，如 /api/v1/content/123 含有 123
+     */
+    public boolean hasPathSegment(String segment) {
+        int from = 0;
+        while ((from = path.indexOf(segment, from)) >= 0) {
+            int end = from + segment.length();
+            if (from > 0 && path.charAt(from - 1) == '/' && (end == path.length() || path.charAt(end) == '/')) {
+                return true;
+            }
+            from = end;
+        }
+        return false;
+    }
+}
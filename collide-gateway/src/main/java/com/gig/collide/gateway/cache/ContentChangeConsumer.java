@@ -0,0 +1,34 @@
+package com.gig.collide.gateway.cache;
+
+import com.gig.collide.mq.consumer.AbstractStreamConsumer;
+import com.gig.collide.mq.param.MessageBody;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.function.Consumer;
+
+/**
+ * 内容变更消息消费者，失效网关响应缓存
+ * 消息体为内容ID；每个网关实例各自持有缓存，绑定需配置为广播消费
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ContentChangeConsumer extends AbstractStreamConsumer {
+
+    private final ResponseCacheStore cacheStore;
+
+    @Bean
+    public Consumer<Message<MessageBody>> contentUpdated() {
+        return message -> cacheStore.invalidateContent(getMessage(message, Long.class), false);
+    }
+
+    @Bean
+    public Consumer<Message<MessageBody>> contentDeleted() {
+        return message -> cacheStore.invalidateContent(getMessage(message, Long.class), true);
+    }
+}
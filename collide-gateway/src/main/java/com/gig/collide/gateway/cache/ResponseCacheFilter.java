@@ -0,0 +1,395 @@
+package com.gig.collide.gateway.cache;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 公开读接口的网关响应缓存
+ * <ul>
+ *     <li>范围：只处理配置路径上的 GET 请求；默认跳过携带登录令牌的请求，避免缓存个性化结果</li>
+ *     <li>命中：新鲜期内直接返回；过期可用期内先返回旧值，同时经本机回环请求后台刷新</li>
+ *     <li>合并：同一个键同时只有一个请求访问下游，其余请求等待其结果，等待超时或结果不可缓存时各自访问下游</li>
+ *     <li>协商：响应带 ETag，请求的 If-None-Match 匹配时返回 304</li>
+ *     <li>存储：只缓存 200 且业务结果成功（JSON 响应的 success 不为 false）的响应，
+ *     带 no-store、private 或 Set-Cookie 的响应不缓存；刷新失败时保留原缓存</li>
+ * </ul>
+ * 缓存失效由 {@link ContentChangeConsumer} 根据内容变更消息驱动
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 缓存状态响应头：HIT、STALE、COALESCED、MISS
+     */
+    static final String CACHE_STATUS_HEADER = "X-Collide-Cache";
+
+    /**
+     * 后台刷新请求头，值为本实例启动时生成的随机令牌，外部请求无法伪造
+     */
+    private static final String REVALIDATE_HEADER = "X-Collide-Cache-Revalidate";
+
+    private static final String TOKEN_NAME = "satoken";
+
+    private final ResponseCacheStore cacheStore;
+
+    private final WebClient.Builder webClientBuilder;
+
+    @Value("${collide.gateway.response-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 可缓存的路径，未配置时不缓存任何请求
+     */
+    @Value("${collide.gateway.response-cache.paths:}")
+    private String[] paths;
+
+    /**
+     * 新鲜期（毫秒）
+     */
+    @Value("${collide.gateway.response-cache.fresh-ttl-ms:5000}")
+    private long freshTtlMs;
+
+    /**
+     * 新鲜期之后的过期可用期（毫秒）
+     */
+    @Value("${collide.gateway.response-cache.stale-ttl-ms:30000}")
+    private long staleTtlMs;
+
+    /**
+     * 单个响应体的最大缓存字节数
+     */
+    @Value("${collide.gateway.response-cache.max-body-bytes:262144}")
+    private int maxBodyBytes;
+
+    /**
+     * 合并请求等待首个请求结果的超时时间（毫秒）
+     */
+    @Value("${collide.gateway.response-cache.coalesce-timeout-ms:3000}")
+    private long coalesceTimeoutMs;
+
+    /**
+     * 是否缓存携带登录令牌的请求，只有公开接口的响应与登录用户无关时才可开启
+     */
+    @Value("${collide.gateway.response-cache.cache-authenticated:false}")
+    private boolean cacheAuthenticated;
+
+    @Value("${server.port:9501}")
+    private int serverPort;
+
+    /**
+     * 后台刷新请求的目标地址，需指向本实例；未配置时使用 http://127.0.0.1:{server.port}，
+     * 网关监听在其他网卡、开启 HTTPS 或配置了 context-path 时需显式配置
+     */
+    @Value("${collide.gateway.response-cache.revalidate-base-url:}")
+    private String revalidateBaseUrl;
+
+    private final String revalidateToken = UUID.randomUUID().toString();
+
+    /**
+     * 正在访问下游的请求，值为首个请求的结果
+     */
+    private final Map<String, Sinks.One<CachedResponse>> inflight = new ConcurrentHashMap<>();
+
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private List<PathPattern> patterns;
+
+    private WebClient loopback;
+
+    @PostConstruct
+    public void init() {
+        patterns = Arrays.stream(paths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        loopback = webClientBuilder.build();
+        if (revalidateBaseUrl == null || revalidateBaseUrl.isBlank()) {
+            revalidateBaseUrl = "http://127.0.0.1:" + serverPort;
+        } else if (revalidateBaseUrl.endsWith("/")) {
+            revalidateBaseUrl = revalidateBaseUrl.substring(0, revalidateBaseUrl.length() - 1);
+        }
+        log.info("网关响应缓存: enabled={}, 路径数={}, fresh={}ms, stale={}ms, 刷新地址={}",
+                enabled, patterns.size(), freshTtlMs, staleTtlMs, revalidateBaseUrl);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || !HttpMethod.GET.equals(request.getMethod()) || !cacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        if (revalidateToken.equals(request.getHeaders().getFirst(REVALIDATE_HEADER))) {
+            ServerWebExchange forwarded = exchange.mutate()
+                    .request(builder -> builder.headers(headers -> headers.remove(REVALIDATE_HEADER)))
+                    .build();
+            return load(forwarded, chain, key);
+        }
+
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cacheStore.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            return write(exchange, cached, "HIT");
+        }
+        if (cached != null && cached.isUsable(now)) {
+            revalidate(key, request);
+            return write(exchange, cached, "STALE");
+        }
+        return load(exchange, chain, key);
+    }
+
+    @Override
+    public int getOrder() {
+        // 必须在写响应过滤器之前，才能包装响应并取得响应体
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    // =================== 内部方法 ===================
+
+    /**
+     * 访问下游，同一个键只有首个请求真正发出
+     */
+    private Mono<Void> load(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inflight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .timeout(Duration.ofMillis(coalesceTimeoutMs))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .onErrorReturn(Optional.empty())
+                    .flatMap(result -> result.isPresent()
+                            ? write(exchange, result.get(), "COALESCED")
+                            : chain.filter(exchange));
+        }
+
+        ServerHttpResponse response = new CachingResponse(exchange, key, sink);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inflight.remove(key, sink);
+                    // 下游失败或响应不可缓存时通知等待的请求各自访问下游
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * 经本机回环请求刷新缓存，请求走完整的路由和负载均衡，同一个键同时只刷新一次。
+     * 下游失败或返回业务失败时响应不写入缓存，原缓存在过期可用期内继续使用
+     */
+    private void revalidate(String key, ServerHttpRequest request) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        URI source = request.getURI();
+        String rawQuery = source.getRawQuery();
+        URI target = URI.create(revalidateBaseUrl + source.getRawPath()
+                + (rawQuery == null ? "" : "?" + rawQuery));
+        loopback.get()
+                .uri(target)
+                .header(REVALIDATE_HEADER, revalidateToken)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(coalesceTimeoutMs))
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(
+                        entity -> log.debug("网关响应缓存已刷新: key={}", key),
+                        e -> log.warn("网关响应缓存刷新失败: key={}, error={}", key, e.getMessage()));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        if (notModified(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private boolean cacheable(ServerHttpRequest request) {
+        if (!cacheAuthenticated && (request.getHeaders().containsKey(TOKEN_NAME)
+                || request.getCookies().containsKey(TOKEN_NAME))) {
+            return false;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 路径加按参数名排序的查询参数，参数顺序不同的相同请求共用一个键
+     */
+    private static String cacheKey(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(request.getQueryParams()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean storable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * JSON 响应的 success 为 false 时视为业务失败，不缓存；无法解析的 JSON 同样不缓存。
+     * 非 JSON 响应和不带 success 字段的 JSON 对象按 HTTP 状态判断
+     */
+    private static boolean successful(MediaType contentType, byte[] body) {
+        if (contentType == null || !(MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || contentType.getSubtype().endsWith("+json"))) {
+            return true;
+        }
+        int start = 0;
+        while (start < body.length && Character.isWhitespace(body[start])) {
+            start++;
+        }
+        if (start == body.length) {
+            return false;
+        }
+        if (body[start] == '[') {
+            return true;
+        }
+        try {
+            JSONObject result = JSON.parseObject(body);
+            return result != null && !Boolean.FALSE.equals(result.getBoolean("success"));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String etagOf(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    /**
+     * 取得下游响应体：写入缓存、通知等待的请求，再按 If-None-Match 返回 304 或原响应
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+
+        private final String key;
+
+        private final Sinks.One<CachedResponse> sink;
+
+        CachingResponse(ServerWebExchange exchange, String key, Sinks.One<CachedResponse> sink) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || headers.getContentLength() > maxBodyBytes || !storable(headers)) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String etag = etagOf(bytes);
+                if (bytes.length <= maxBodyBytes && successful(headers.getContentType(), bytes)) {
+                    long now = System.currentTimeMillis();
+                    CachedResponse cached = new CachedResponse(request.getPath().value(), headers.getContentType(),
+                            bytes, etag, now + freshTtlMs, now + freshTtlMs + staleTtlMs);
+                    cacheStore.put(key, cached);
+                    sink.tryEmitValue(cached);
+                }
+
+                headers.setETag(etag);
+                headers.set(CACHE_STATUS_HEADER, "MISS");
+                if (notModified(request, etag)) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    return setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(publisher -> publisher));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gig.collide.gateway.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 网关响应缓存存储
+ * 按访问顺序淘汰的有界 LRU，条目数超过上限时移除最久未访问的条目
+ *
+ * @author GIG Team
+ * @version 2.0.0
+ */
+@Slf4j
+@Component
+public class ResponseCacheStore {
+
+    /**
+     * 最大缓存条目数
+     */
+    @Value("${collide.gateway.response-cache.max-entries:2000}")
+    private int maxEntries;
+
+    /**
+     * 内容变更时需要失效的路径
+     */
+    @Value("${collide.gateway.response-cache.invalidate-paths:/api/v1/content/**}")
+    private String[] invalidatePaths;
+
+    private List<PathPattern> invalidatePatterns;
+
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @PostConstruct
+    public void init() {
+        invalidatePatterns = Arrays.stream(invalidatePaths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    public CachedResponse get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public void put(String key, CachedResponse response) {
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+    }
+
+    /**
+     * 内容变更后失效相关响应
+     * 路径中含有该内容ID的条目直接移除；其余受影响条目结束新鲜期，下次访问返回旧值并后台刷新
+     * 内容删除时受影响条目全部移除，避免列表中继续出现已删除的内容
+     *
+     * @param contentId 内容ID
+     * @param deleted   是否为删除
+     */
+    public void invalidateContent(Long contentId, boolean deleted) {
+        String segment = String.valueOf(contentId);
+        int evicted = 0;
+        int expired = 0;
+        synchronized (entries) {
+            Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, CachedResponse> entry = iterator.next();
+                CachedResponse response = entry.getValue();
+                if (!affected(response.path())) {
+                    continue;
+                }
+                if (deleted || response.hasPathSegment(segment)) {
+                    iterator.remove();
+                    evicted++;
+                } else if (response.freshUntil() > 0) {
+                    entry.setValue(response.expire());
+                    expired++;
+                }
+            }
+        }
+        log.debug("网关响应缓存已失效: contentId={}, deleted={}, evicted={}, expired={}",
+                contentId, deleted, evicted, expired);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean affected(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : invalidatePatterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+-- ==========================================
+-- 评论模块游标分页索引 - 增量脚本
+-- 目标评论按 (create_time, id) 倒序定位下一页，过滤列在前、排序列在后
+-- 指定父评论和不指定父评论两种查询各用一个索引，status 固定为 NORMAL
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_comment`
+    ADD KEY `idx_target_parent_status_time` (`target_id`, `parent_comment_id`, `status`, `create_time`, `id`),
+    ADD KEY `idx_target_status_time_id` (`target_id`, `status`, `create_time`, `id`);
@@ -0,0 +1,9 @@
+-- ==========================================
+-- 评论模块用户资料回填索引 - 增量脚本
+-- 用户改昵称、头像后按回复目标用户分批回填冗余字段，按 (reply_to_user_id, id) 定位下一批
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_comment`
+    ADD KEY `idx_reply_to_user_id` (`reply_to_user_id`);
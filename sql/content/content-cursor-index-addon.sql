@@ -0,0 +1,9 @@
+-- ==========================================
+-- 内容模块游标分页索引 - 增量脚本
+-- 作者内容按 (create_time, id) 倒序定位下一页
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_content`
+    ADD KEY `idx_author_time_id` (`author_id`, `create_time`, `id`);
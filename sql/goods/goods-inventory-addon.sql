@@ -0,0 +1,38 @@
+-- ==========================================
+-- 商品模块库存预占 - 增量脚本
+-- TCC 事务记录表，库存预占/确认/释放的幂等、空回滚和防悬挂依赖此表
+-- 对应 collide-tcc 模块的 TransactionLog 实体
+-- ==========================================
+
+USE collide;
+
+CREATE TABLE IF NOT EXISTS `transaction_log`
+(
+    `id`              BIGINT      NOT NULL AUTO_INCREMENT COMMENT '主键',
+    `transaction_id`  VARCHAR(64) NOT NULL COMMENT '事务ID（如订单号）',
+    `business_scene`  VARCHAR(64) NOT NULL COMMENT '业务场景：STOCK_RESERVE-库存预占',
+    `business_module` VARCHAR(64) NOT NULL COMMENT '业务模块：GOODS',
+    `state`           VARCHAR(20) NOT NULL COMMENT '状态：TRY、CONFIRM、CANCEL',
+    `cancel_type`     VARCHAR(64) COMMENT '取消类型：EMPTY_CANCEL、CANCEL_AFTER_TRY_SUCCESS、CANCEL_AFTER_CONFIRM_SUCCESS',
+    `deleted`         INT         NOT NULL DEFAULT 0 COMMENT '是否删除',
+    `lock_version`    INT         NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
+    `gmt_create`      DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `gmt_modified`    DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_transaction` (`transaction_id`, `business_scene`, `business_module`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='TCC事务记录表';
+
+-- 库存增量回写批次记录：批次ID与库存增量在同一事务内写入，重试回写同一批次时跳过
+CREATE TABLE IF NOT EXISTS `t_goods_stock_flush`
+(
+    `batch_id`    VARCHAR(64)   NOT NULL COMMENT '回写批次ID',
+    `goods_count` INT           NOT NULL COMMENT '本批商品数',
+    `overdrawn`   VARCHAR(2048) COMMENT '扣减超出数据库库存的商品及超出量，有值说明 Redis 与数据库出现漂移',
+    `create_time` DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '回写时间',
+
+    PRIMARY KEY (`batch_id`),
+    KEY `idx_create_time` (`create_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='库存回写批次记录表';
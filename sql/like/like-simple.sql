@@ -31,4 +31,20 @@ CREATE TABLE `t_like` (
   KEY `idx_user_id` (`user_id`),
   KEY `idx_like_type` (`like_type`),
   KEY `idx_status` (`status`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='点赞主表'; 
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='点赞主表'; 
+
+-- 点赞计数物化表（写后刷盘，替代实时 COUNT 查询）
+DROP TABLE IF EXISTS `t_like_count`;
+CREATE TABLE `t_like_count` (
+  `id`           BIGINT       NOT NULL AUTO_INCREMENT COMMENT '计数ID',
+  `counter_type` VARCHAR(20)  NOT NULL                COMMENT '计数维度：TARGET（目标被点赞数）、USER（用户点赞数）',
+  `owner_id`     BIGINT       NOT NULL                COMMENT '计数归属ID：目标对象ID或用户ID',
+  `like_type`    VARCHAR(20)  NOT NULL                COMMENT '点赞类型：CONTENT、COMMENT、DYNAMIC',
+  `like_count`   BIGINT       NOT NULL DEFAULT 0      COMMENT '点赞数量',
+  `create_time`  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time`  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_counter` (`counter_type`, `owner_id`, `like_type`),
+  KEY `idx_update_time` (`update_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='点赞计数物化表';
@@ -0,0 +1,9 @@
+-- ==========================================
+-- 私信模块游标分页索引 - 增量脚本
+-- 聊天记录两个方向分别按 (create_time, id) 倒序定位后合并
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_message`
+    ADD KEY `idx_sender_receiver_time` (`sender_id`, `receiver_id`, `create_time`, `id`);
@@ -0,0 +1,9 @@
+-- ==========================================
+-- 订单模块游标分页索引 - 增量脚本
+-- 用户订单按 (create_time, id) 倒序定位下一页
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_order`
+    ADD KEY `idx_user_time_id` (`user_id`, `create_time`, `id`);
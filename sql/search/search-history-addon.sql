@@ -0,0 +1,15 @@
+-- ==========================================
+-- 搜索模块搜索历史批量写入 - 增量脚本
+-- 同一用户的同一关键词只保留一条记录（保留最新的一条），
+-- 批量写入通过 INSERT ... ON DUPLICATE KEY UPDATE 刷新搜索类型、结果数和时间
+-- ==========================================
+
+USE collide;
+
+DELETE h1 FROM `t_search_history` h1
+INNER JOIN `t_search_history` h2
+    ON h1.user_id = h2.user_id AND h1.keyword = h2.keyword AND h1.id < h2.id;
+
+ALTER TABLE `t_search_history`
+    ADD UNIQUE KEY `uk_user_keyword` (`user_id`, `keyword`),
+    ADD KEY `idx_user_time` (`user_id`, `create_time`);
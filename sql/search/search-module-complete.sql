@@ -99,6 +99,7 @@ CREATE TABLE `t_search_statistics` (
     `hot_score`         DECIMAL(10,2) NOT NULL DEFAULT 0.00                                   COMMENT '热度评分（基于搜索频次和时间衰减）',
     `rank_score`        DECIMAL(10,2) NOT NULL DEFAULT 0.00                                   COMMENT '排名分数',
     `trend_score`       DECIMAL(10,2) NOT NULL DEFAULT 0.00                                   COMMENT '趋势分数（上升/下降趋势）',
+    `trend_manual_until` DATETIME    DEFAULT NULL                                              COMMENT '手工趋势分保留截止时间',
     
     -- 时间统计
     `first_search_time` DATETIME     DEFAULT NULL                                              COMMENT '首次搜索时间',
@@ -29,6 +29,7 @@ CREATE TABLE `t_hot_search` (
   `keyword`     VARCHAR(200) NOT NULL                COMMENT '搜索关键词',
   `search_count` BIGINT      NOT NULL DEFAULT 0     COMMENT '搜索次数',
   `trend_score` DECIMAL(10,2) NOT NULL DEFAULT 0.00 COMMENT '趋势分数',
+  `trend_manual_until` DATETIME DEFAULT NULL      COMMENT '手工趋势分保留截止时间',
   `status`      VARCHAR(20)  NOT NULL DEFAULT 'active' COMMENT '状态：active、inactive',
   `create_time` TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
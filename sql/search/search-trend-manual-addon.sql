@@ -0,0 +1,10 @@
+-- ==========================================
+-- 搜索模块手工趋势分保留 - 增量脚本
+-- 管理员手工设置的趋势分记录保留截止时间，
+-- 保留期内定时落库任务不覆盖也不清零该关键词的趋势分
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_hot_search`
+    ADD COLUMN `trend_manual_until` DATETIME DEFAULT NULL COMMENT '手工趋势分保留截止时间' AFTER `trend_score`;
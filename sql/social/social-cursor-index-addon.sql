@@ -0,0 +1,9 @@
+-- ==========================================
+-- 社交动态模块游标分页索引 - 增量脚本
+-- 重建动态流收件箱、发件箱时按作者逐个读取近期动态，按 (create_time, id) 倒序
+-- ==========================================
+
+USE collide;
+
+ALTER TABLE `t_social_dynamic`
+    ADD KEY `idx_user_time_id` (`user_id`, `create_time`, `id`);
@@ -0,0 +1,34 @@
+-- ==========================================
+-- 用户模块钱包流水与热点子账户 - 增量脚本
+-- t_wallet_ledger：只追加的钱包流水，用户ID + 业务ID + 类型唯一，用于幂等
+-- t_wallet_sub_account：热点收款账户的子账户，入账分散写入，由结算任务合并回 t_user_wallet
+-- ==========================================
+
+USE collide;
+
+CREATE TABLE IF NOT EXISTS `t_wallet_ledger` (
+    `id`           BIGINT        NOT NULL AUTO_INCREMENT COMMENT '流水ID',
+    `user_id`      BIGINT        NOT NULL                COMMENT '用户ID',
+    `business_id`  VARCHAR(64)                           COMMENT '业务ID（订单号等），为空时不做幂等',
+    `entry_type`   VARCHAR(20)   NOT NULL                COMMENT '类型：income、expense、freeze、unfreeze',
+    `amount`       DECIMAL(15,2) NOT NULL                COMMENT '金额',
+    `sub_account`  INT           NOT NULL DEFAULT -1     COMMENT '入账子账户，-1 表示主账户',
+    `description`  VARCHAR(255)                          COMMENT '描述',
+    `create_time`  TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_business_entry` (`user_id`, `business_id`, `entry_type`),
+    KEY `idx_user_time` (`user_id`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='钱包流水表';
+
+CREATE TABLE IF NOT EXISTS `t_wallet_sub_account` (
+    `id`           BIGINT        NOT NULL AUTO_INCREMENT COMMENT '主键',
+    `user_id`      BIGINT        NOT NULL                COMMENT '用户ID',
+    `shard`        INT           NOT NULL                COMMENT '子账户序号',
+    `balance`      DECIMAL(15,2) NOT NULL DEFAULT 0.00   COMMENT '待结算金额',
+    `update_time`  TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_user_shard` (`user_id`, `shard`),
+    KEY `idx_balance` (`balance`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='钱包子账户表（热点账户入账分散）';